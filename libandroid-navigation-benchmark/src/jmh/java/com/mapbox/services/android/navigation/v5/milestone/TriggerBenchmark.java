@@ -0,0 +1,96 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.navigation.BenchmarkRoutes;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating {@link Trigger} statements for each {@link RouteProgress} along a route, with a
+ * {@link TriggerContext} and with a {@link MilestoneEngine}.
+ * <p>
+ * The {@link TriggerProperty} sparse array isn't benchmarked, as {@link android.util.SparseArray} relies on
+ * the Android runtime and can't be created on the JVM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TriggerBenchmark {
+
+  private static final int PROGRESSES_PER_STEP = 10;
+
+  @Param({
+    BenchmarkRoutes.LONG_STEP,
+    BenchmarkRoutes.DISTANCE_CONGESTION_ANNOTATION,
+    BenchmarkRoutes.TWO_LEG_ROUTE
+  })
+  public String fixtureName;
+
+  private RouteProgress[] routeProgresses;
+  private Trigger.Statement statement;
+  private List<Milestone> milestones;
+  private MilestoneEngine milestoneEngine;
+  private int progressIndex;
+
+  @Setup
+  public void setUp() throws IOException {
+    DirectionsRoute route = BenchmarkRoutes.loadRoute(fixtureName);
+    routeProgresses = BenchmarkRoutes.buildRouteProgresses(route, PROGRESSES_PER_STEP);
+    statement = Trigger.any(
+      Trigger.all(
+        Trigger.neq(TriggerProperty.NEW_STEP, TriggerProperty.FALSE),
+        Trigger.eq(TriggerProperty.FIRST_STEP, TriggerProperty.TRUE)
+      ),
+      Trigger.all(
+        Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 400d),
+        Trigger.lte(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 400d)
+      ),
+      Trigger.all(
+        Trigger.eq(TriggerProperty.LAST_LEG, TriggerProperty.TRUE),
+        Trigger.lt(TriggerProperty.STEP_DURATION_REMAINING_SECONDS, 15d)
+      )
+    );
+    milestones = new ArrayList<>();
+    milestones.add(new StepMilestone.Builder().setTrigger(statement).build());
+    milestones.add(new StepMilestone.Builder().setTrigger(
+      Trigger.lte(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 100d)).build());
+    milestones.add(new RouteMilestone.Builder().setTrigger(
+      Trigger.eq(TriggerProperty.STEP_INDEX, 1)).build());
+    milestoneEngine = new MilestoneEngine();
+  }
+
+  @Benchmark
+  public boolean evaluateTriggerContext() {
+    int index = nextProgressIndex();
+    return statement.isOccurring(TriggerContext.create(previousProgress(index), routeProgresses[index]));
+  }
+
+  @Benchmark
+  public List<Milestone> findTriggeredMilestones() {
+    int index = nextProgressIndex();
+    return milestoneEngine.findTriggeredMilestones(milestones, previousProgress(index), routeProgresses[index]);
+  }
+
+  private int nextProgressIndex() {
+    int index = progressIndex;
+    progressIndex = (progressIndex + 1) % routeProgresses.length;
+    return index;
+  }
+
+  private RouteProgress previousProgress(int index) {
+    return routeProgresses[index == 0 ? 0 : index - 1];
+  }
+}
@@ -0,0 +1,101 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds the routes and navigation states used by the benchmarks, from the fixtures in the
+ * navigation library test resources.
+ */
+public class BenchmarkRoutes {
+
+  public static final String LONG_STEP = "long_step.json";
+  public static final String DISTANCE_CONGESTION_ANNOTATION = "directions_distance_congestion_annotation.json";
+  public static final String TWO_LEG_ROUTE = "directions_two_leg_route.json";
+
+  private static final String UTF_8 = "UTF-8";
+  private static final int FIRST_ROUTE = 0;
+  private static final double ONE_SECOND_IN_MILLISECONDS = 1000d;
+
+  public static DirectionsRoute loadRoute(String fixtureName) throws IOException {
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    InputStream inputStream = BenchmarkRoutes.class.getClassLoader().getResourceAsStream(fixtureName);
+    if (inputStream == null) {
+      throw new IOException("Missing benchmark fixture " + fixtureName);
+    }
+    try (Reader reader = new InputStreamReader(inputStream, UTF_8)) {
+      DirectionsResponse response = gson.fromJson(reader, DirectionsResponse.class);
+      return response.routes().get(FIRST_ROUTE);
+    }
+  }
+
+  /**
+   * Builds the statuses the navigator would report while driving along the whole route, with the given
+   * number of statuses evenly spread along each step.
+   */
+  static NavigationStatus[] buildStatuses(DirectionsRoute route, int statusesPerStep) {
+    List<NavigationStatus> statuses = new ArrayList<>();
+    List<RouteLeg> legs = route.legs();
+    for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+      RouteLeg leg = legs.get(legIndex);
+      double legDistanceRemaining = leg.distance();
+      double legDurationRemaining = leg.duration();
+      List<LegStep> steps = leg.steps();
+      for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+        LegStep step = steps.get(stepIndex);
+        for (int i = 0; i < statusesPerStep; i++) {
+          double fractionTraveled = (double) i / statusesPerStep;
+          double stepDistanceTraveled = step.distance() * fractionTraveled;
+          double stepDurationTraveled = step.duration() * fractionTraveled;
+          statuses.add(buildStatus(legIndex, stepIndex, step.distance() - stepDistanceTraveled,
+            legDistanceRemaining - stepDistanceTraveled, legDurationRemaining - stepDurationTraveled));
+        }
+        legDistanceRemaining -= step.distance();
+        legDurationRemaining -= step.duration();
+      }
+    }
+    return statuses.toArray(new NavigationStatus[statuses.size()]);
+  }
+
+  /**
+   * Builds the progress along the whole route, as {@link NavigationRouteProcessor} would while driving it.
+   */
+  public static RouteProgress[] buildRouteProgresses(DirectionsRoute route, int progressesPerStep) {
+    NavigationStatus[] statuses = buildStatuses(route, progressesPerStep);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+    NavigationRouteProcessor routeProcessor = new NavigationRouteProcessor();
+    RouteProgress[] routeProgresses = new RouteProgress[statuses.length];
+    for (int i = 0; i < statuses.length; i++) {
+      routeProgresses[i] = routeProcessor.buildNewRouteProgress(statuses[i], routeGeometryIndex);
+    }
+    return routeProgresses;
+  }
+
+  private static NavigationStatus buildStatus(int legIndex, int stepIndex, double stepDistanceRemaining,
+                                              double legDistanceRemaining, double legDurationRemaining) {
+    NavigationStatus status = mock(NavigationStatus.class);
+    when(status.getLegIndex()).thenReturn(legIndex);
+    when(status.getStepIndex()).thenReturn(stepIndex);
+    when(status.getRemainingStepDistance()).thenReturn((float) stepDistanceRemaining);
+    when(status.getRemainingLegDistance()).thenReturn((float) legDistanceRemaining);
+    when(status.getRemainingLegDuration()).thenReturn((int) (legDurationRemaining * ONE_SECOND_IN_MILLISECONDS));
+    return status;
+  }
+}
@@ -0,0 +1,125 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.v4.util.Pair;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * The {@link NavigationHelper} calculations done when the user reaches a new step, and the
+ * annotation lookup done with each update, cycling through every step of the route.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NavigationHelperBenchmark {
+
+  private static final int ANNOTATION_LOOKUPS = 100;
+  private static final int FIRST_LEG = 0;
+
+  @Param({
+    BenchmarkRoutes.LONG_STEP,
+    BenchmarkRoutes.DISTANCE_CONGESTION_ANNOTATION,
+    BenchmarkRoutes.TWO_LEG_ROUTE
+  })
+  public String fixtureName;
+
+  private List<LegStep> steps;
+  private List<List<Point>> stepPoints;
+  private List<List<StepIntersection>> stepIntersections;
+  private RouteLeg leg;
+  private LegAnnotationIndex legAnnotationIndex;
+  private double[] legDistancesRemaining;
+  private int stepIndex;
+  private int annotationIndex;
+
+  @Setup
+  public void setUp() throws IOException {
+    DirectionsRoute route = BenchmarkRoutes.loadRoute(fixtureName);
+    steps = new ArrayList<>();
+    for (RouteLeg routeLeg : route.legs()) {
+      steps.addAll(routeLeg.steps());
+    }
+    stepPoints = new ArrayList<>();
+    stepIntersections = new ArrayList<>();
+    for (int i = 0; i < steps.size(); i++) {
+      LegStep upcomingStep = i + 1 < steps.size() ? steps.get(i + 1) : null;
+      stepPoints.add(PolylineUtils.decode(steps.get(i).geometry(), PRECISION_6));
+      stepIntersections.add(NavigationHelper.createIntersectionsList(steps.get(i), upcomingStep));
+    }
+    leg = route.legs().get(FIRST_LEG);
+    legAnnotationIndex = LegAnnotationIndex.create(leg);
+    legDistancesRemaining = new double[ANNOTATION_LOOKUPS];
+    for (int i = 0; i < ANNOTATION_LOOKUPS; i++) {
+      legDistancesRemaining[i] = leg.distance() * i / ANNOTATION_LOOKUPS;
+    }
+  }
+
+  @Benchmark
+  public List<Point> decodeStepPoints() {
+    return PolylineUtils.decode(nextStep().geometry(), PRECISION_6);
+  }
+
+  @Benchmark
+  public List<StepIntersection> createIntersectionsList() {
+    int index = nextStepIndex();
+    LegStep upcomingStep = index + 1 < steps.size() ? steps.get(index + 1) : null;
+    return NavigationHelper.createIntersectionsList(steps.get(index), upcomingStep);
+  }
+
+  @Benchmark
+  public List<Pair<StepIntersection, Double>> createDistancesToIntersections() {
+    int index = nextStepIndex();
+    return NavigationHelper.createDistancesToIntersections(stepPoints.get(index), stepIntersections.get(index));
+  }
+
+  @Benchmark
+  public CurrentLegAnnotation createCurrentAnnotation() {
+    return NavigationHelper.createCurrentAnnotation(null, leg, nextLegDistanceRemaining());
+  }
+
+  @Benchmark
+  public CurrentLegAnnotation createCurrentAnnotationFromIndex() {
+    if (legAnnotationIndex == null) {
+      return null;
+    }
+    return legAnnotationIndex.createCurrentAnnotation(null, nextLegDistanceRemaining());
+  }
+
+  private LegStep nextStep() {
+    return steps.get(nextStepIndex());
+  }
+
+  private int nextStepIndex() {
+    int index = stepIndex;
+    stepIndex = (stepIndex + 1) % steps.size();
+    return index;
+  }
+
+  private double nextLegDistanceRemaining() {
+    double legDistanceRemaining = legDistancesRemaining[annotationIndex];
+    annotationIndex = (annotationIndex + 1) % legDistancesRemaining.length;
+    return legDistanceRemaining;
+  }
+}
@@ -0,0 +1,64 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a {@link RouteProgress} from each navigator status along a route.
+ * <p>
+ * The statuses are mocks, as native statuses can't be created on the JVM, so the scores include the
+ * cost of reading a mock and are only comparable between runs of this benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NavigationRouteProcessorBenchmark {
+
+  private static final int STATUSES_PER_STEP = 10;
+
+  @Param({
+    BenchmarkRoutes.LONG_STEP,
+    BenchmarkRoutes.DISTANCE_CONGESTION_ANNOTATION,
+    BenchmarkRoutes.TWO_LEG_ROUTE
+  })
+  public String fixtureName;
+
+  private DirectionsRoute route;
+  private RouteGeometryIndex routeGeometryIndex;
+  private NavigationStatus[] statuses;
+  private NavigationRouteProcessor routeProcessor;
+  private int statusIndex;
+
+  @Setup
+  public void setUp() throws IOException {
+    route = BenchmarkRoutes.loadRoute(fixtureName);
+    routeGeometryIndex = RouteGeometryIndex.create(route);
+    statuses = BenchmarkRoutes.buildStatuses(route, STATUSES_PER_STEP);
+    routeProcessor = new NavigationRouteProcessor();
+  }
+
+  @Benchmark
+  public RouteProgress buildNewRouteProgress() {
+    NavigationStatus status = statuses[statusIndex];
+    statusIndex = (statusIndex + 1) % statuses.length;
+    return routeProcessor.buildNewRouteProgress(status, routeGeometryIndex);
+  }
+
+  @Benchmark
+  public RouteGeometryIndex createRouteGeometryIndex() {
+    return RouteGeometryIndex.create(route);
+  }
+}
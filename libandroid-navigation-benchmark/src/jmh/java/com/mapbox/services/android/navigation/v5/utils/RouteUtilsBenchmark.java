@@ -0,0 +1,69 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.navigation.BenchmarkRoutes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the current {@link BannerInstructions} at positions spread along each step of a route.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteUtilsBenchmark {
+
+  private static final int POSITIONS_PER_STEP = 10;
+
+  @Param({
+    BenchmarkRoutes.LONG_STEP,
+    BenchmarkRoutes.DISTANCE_CONGESTION_ANNOTATION,
+    BenchmarkRoutes.TWO_LEG_ROUTE
+  })
+  public String fixtureName;
+
+  private RouteUtils routeUtils;
+  private List<LegStep> steps;
+  private double[] stepDistancesRemaining;
+  private int positionIndex;
+
+  @Setup
+  public void setUp() throws IOException {
+    DirectionsRoute route = BenchmarkRoutes.loadRoute(fixtureName);
+    List<LegStep> routeSteps = new ArrayList<>();
+    for (RouteLeg leg : route.legs()) {
+      routeSteps.addAll(leg.steps());
+    }
+    steps = new ArrayList<>();
+    stepDistancesRemaining = new double[routeSteps.size() * POSITIONS_PER_STEP];
+    for (LegStep step : routeSteps) {
+      for (int i = 0; i < POSITIONS_PER_STEP; i++) {
+        stepDistancesRemaining[steps.size()] = step.distance() * i / POSITIONS_PER_STEP;
+        steps.add(step);
+      }
+    }
+    routeUtils = new RouteUtils();
+  }
+
+  @Benchmark
+  public BannerInstructions findCurrentBannerInstructions() {
+    int index = positionIndex;
+    positionIndex = (positionIndex + 1) % stepDistancesRemaining.length;
+    return routeUtils.findCurrentBannerInstructions(steps.get(index), stepDistancesRemaining[index]);
+  }
+}
@@ -6,11 +6,9 @@ import android.content.Intent;
 import android.content.SharedPreferences;
 import android.preference.PreferenceManager;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
+import com.mapbox.services.android.navigation.v5.utils.RouteJsonUtils;
 
 /**
  * Use this class to launch the navigation UI
@@ -51,7 +49,7 @@ public class NavigationLauncher {
    * Used to extract the route used to launch the drop-in UI.
    * <p>
    * Extracts the route {@link String} from {@link SharedPreferences} and converts
-   * it back to a {@link DirectionsRoute} object with {@link Gson}.
+   * it back to a {@link DirectionsRoute} object with {@link RouteJsonUtils}.
    *
    * @param context to retrieve {@link SharedPreferences}
    * @return {@link DirectionsRoute} stored when launching
@@ -59,12 +57,11 @@ public class NavigationLauncher {
   static DirectionsRoute extractRoute(Context context) {
     SharedPreferences preferences = PreferenceManager.getDefaultSharedPreferences(context);
     String directionsRouteJson = preferences.getString(NavigationConstants.NAVIGATION_VIEW_ROUTE_KEY, "");
-    return DirectionsRoute.fromJson(directionsRouteJson);
+    return RouteJsonUtils.fromJson(directionsRouteJson);
   }
 
   private static void storeDirectionsRouteValue(NavigationLauncherOptions options, SharedPreferences.Editor editor) {
-    editor.putString(NavigationConstants.NAVIGATION_VIEW_ROUTE_KEY, new GsonBuilder()
-      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create().toJson(options.directionsRoute()));
+    editor.putString(NavigationConstants.NAVIGATION_VIEW_ROUTE_KEY, RouteJsonUtils.toJson(options.directionsRoute()));
   }
 
   private static void storeConfiguration(NavigationLauncherOptions options, SharedPreferences.Editor editor) {
@@ -82,6 +82,7 @@ public class NavigationViewModel extends AndroidViewModel {
   private int timeFormatType;
   private boolean isRunning;
   private boolean isChangingConfigurations;
+  private boolean isSpeculativeReroutingEnabled;
 
   public NavigationViewModel(Application application) {
     super(application);
@@ -180,6 +181,7 @@ public class NavigationViewModel extends AndroidViewModel {
     navigationOptions = navigationOptions.toBuilder().isFromNavigationUi(true).build();
     initializeLanguage(options);
     initializeTimeFormat(navigationOptions);
+    isSpeculativeReroutingEnabled = options.enableSpeculativeRerouting();
     initializeDistanceFormatter(options);
     initializeNavigationSpeechPlayer(options);
     if (!isRunning) {
@@ -300,6 +302,9 @@ public class NavigationViewModel extends AndroidViewModel {
       instructionModel.setValue(new InstructionModel(distanceFormatter, routeProgress));
       summaryModel.setValue(new SummaryModel(getApplication(), distanceFormatter, routeProgress, timeFormatType));
       navigationLocation.setValue(location);
+      if (isSpeculativeReroutingEnabled) {
+        navigationViewRouteEngine.prefetchRoutesFromRouteProgress(routeProgress);
+      }
     }
   };
 
@@ -389,6 +394,7 @@ public class NavigationViewModel extends AndroidViewModel {
   }
 
   private void endNavigation() {
+    navigationViewRouteEngine.cancelRouteCall();
     if (navigation != null) {
       navigation.onDestroy();
     }
@@ -62,6 +62,8 @@ public abstract class NavigationViewOptions extends NavigationUiOptions {
   @Nullable
   public abstract LocationEngine locationEngine();
 
+  public abstract boolean enableSpeculativeRerouting();
+
   @AutoValue.Builder
   public abstract static class Builder {
 
@@ -103,6 +105,19 @@ public abstract class NavigationViewOptions extends NavigationUiOptions {
 
     public abstract Builder locationEngine(LocationEngine locationEngine);
 
+    /**
+     * If enabled, routes are requested from the roads a driver could wrongly take when approaching a
+     * complex maneuver, such as a fork or a roundabout, so going off route down one of them is
+     * rerouted without waiting for a new request. This uses more requests of the Directions API.
+     * <p>
+     * This is disabled by default.
+     *
+     * @param enableSpeculativeRerouting true to prefetch routes near complex maneuvers
+     * @return this builder for chaining options together
+     * @since 0.23.0
+     */
+    public abstract Builder enableSpeculativeRerouting(boolean enableSpeculativeRerouting);
+
     public abstract NavigationViewOptions build();
   }
 
@@ -110,6 +125,7 @@ public abstract class NavigationViewOptions extends NavigationUiOptions {
     return new AutoValue_NavigationViewOptions.Builder()
       .navigationOptions(MapboxNavigationOptions.builder().build())
       .shouldSimulateRoute(false)
-      .waynameChipEnabled(true);
+      .waynameChipEnabled(true)
+      .enableSpeculativeRerouting(false);
   }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.mapbox.services.android.navigation.ui.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.navigation.RouteChangeListener;
+
+class MapRouteChangeListener implements RouteChangeListener {
+
+  private final NavigationMapRoute mapRoute;
+
+  MapRouteChangeListener(NavigationMapRoute mapRoute) {
+    this.mapRoute = mapRoute;
+  }
+
+  @Override
+  public void onRouteChange(DirectionsRoute directionsRoute) {
+    mapRoute.showPrimaryRoute(directionsRoute);
+  }
+}
@@ -40,6 +40,7 @@ import com.mapbox.services.android.navigation.ui.v5.R;
 import com.mapbox.services.android.navigation.ui.v5.utils.MapImageUtils;
 import com.mapbox.services.android.navigation.ui.v5.utils.MapUtils;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation;
+import com.mapbox.services.android.navigation.v5.navigation.RouteChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.turf.TurfConstants;
@@ -173,6 +174,7 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
   private Feature arrowShaftGeoJsonFeature = Feature.fromGeometry(Point.fromLngLat(0, 0));
   private Feature arrowHeadGeoJsonFeature = Feature.fromGeometry(Point.fromLngLat(0, 0));
   private ProgressChangeListener progressChangeListener = new MapRouteProgressChangeListener(this);
+  private RouteChangeListener routeChangeListener = new MapRouteChangeListener(this);
 
   /**
    * Construct an instance of {@link NavigationMapRoute}.
@@ -330,11 +332,27 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
   public void addProgressChangeListener(MapboxNavigation navigation) {
     this.navigation = navigation;
     navigation.addProgressChangeListener(progressChangeListener);
+    navigation.addRouteChangeListener(routeChangeListener);
   }
 
   public void removeProgressChangeListener(MapboxNavigation navigation) {
     if (navigation != null) {
       navigation.removeProgressChangeListener(progressChangeListener);
+      navigation.removeRouteChangeListener(routeChangeListener);
+    }
+  }
+
+  /**
+   * Shows the given route as the primary route, keeping the other routes drawn as alternatives if it
+   * is one of them, or drawing it alone otherwise.
+   */
+  void showPrimaryRoute(DirectionsRoute directionsRoute) {
+    int routeIndex = directionsRoutes.indexOf(directionsRoute);
+    if (routeIndex < 0) {
+      addRoute(directionsRoute);
+    } else if (routeIndex != primaryRouteIndex) {
+      primaryRouteIndex = routeIndex;
+      updateRoute();
     }
   }
 
@@ -910,6 +928,7 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
     mapboxMap.addOnMapClickListener(this);
     if (navigation != null) {
       navigation.addProgressChangeListener(progressChangeListener);
+      navigation.addRouteChangeListener(routeChangeListener);
     }
     mapView.addOnMapChangedListener(this);
   }
@@ -1032,6 +1051,7 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
   public void onStart() {
     if (navigation != null) {
       navigation.addProgressChangeListener(progressChangeListener);
+      navigation.addRouteChangeListener(routeChangeListener);
     }
   }
 
@@ -1048,6 +1068,7 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
   public void onStop() {
     if (navigation != null) {
       navigation.removeProgressChangeListener(progressChangeListener);
+      navigation.removeRouteChangeListener(routeChangeListener);
     }
   }
 
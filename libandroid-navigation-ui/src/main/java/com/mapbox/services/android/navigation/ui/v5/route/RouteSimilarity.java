@@ -0,0 +1,202 @@
+package com.mapbox.services.android.navigation.ui.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.Point;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds which of several routes is the most similar to a route, for instance the route being
+ * navigated when new routes are received.
+ * <p>
+ * Routes are compared on the roads they share: each step is identified by its road name and the
+ * location of its maneuver, and the distance of the steps found in only one of the two routes adds
+ * up to their dissimilarity. A candidate is dropped as soon as its dissimilarity reaches the one of
+ * the best candidate so far. Routes without steps are compared on their leg summaries instead, with
+ * an edit distance bounded by the best candidate so far.
+ */
+class RouteSimilarity {
+
+  private static final String STEP_KEY_FORMAT = "%s|%.4f,%.4f";
+  private static final int MOST_SIMILAR_FIRST_ROUTE = 0;
+
+  /**
+   * @param chosenRoute to compare the routes with
+   * @param routes      to compare, at least one
+   * @return index of the route most similar to the chosen route, the first one on ties
+   */
+  int findMostSimilarRouteIndex(DirectionsRoute chosenRoute, List<DirectionsRoute> routes) {
+    Map<String, Double> chosenStepDistances = buildStepDistances(chosenRoute);
+    if (chosenStepDistances.isEmpty() || !haveSteps(routes)) {
+      return findMostSimilarSummaryIndex(chosenRoute, routes);
+    }
+    double chosenDistance = sumDistances(chosenStepDistances);
+    int mostSimilarIndex = MOST_SIMILAR_FIRST_ROUTE;
+    double lowestDissimilarity = Double.MAX_VALUE;
+    for (int index = 0; index < routes.size(); index++) {
+      double dissimilarity = calculateStepDissimilarity(chosenStepDistances, chosenDistance, routes.get(index),
+        lowestDissimilarity);
+      if (dissimilarity < lowestDissimilarity) {
+        lowestDissimilarity = dissimilarity;
+        mostSimilarIndex = index;
+      }
+    }
+    return mostSimilarIndex;
+  }
+
+  /**
+   * Computes the optimal string alignment distance, the Damerau-Levenshtein distance where
+   * adjacent characters can be swapped, only as far as the given maximum. Cells further than the
+   * maximum from the diagonal are skipped, and the computation stops once a whole row exceeds it.
+   *
+   * @param source      to compare
+   * @param target      to compare
+   * @param maxDistance beyond which the exact distance isn't needed
+   * @return the distance if at most the maximum, otherwise a value greater than the maximum
+   */
+  static int calculateBoundedEditDistance(String source, String target, int maxDistance) {
+    int sourceLength = source.length();
+    int targetLength = target.length();
+    int band = Math.min(maxDistance, Math.max(sourceLength, targetLength));
+    int exceeded = band + 1;
+    if (Math.abs(sourceLength - targetLength) > band) {
+      return exceeded;
+    }
+    int[] beforePreviousRow = new int[targetLength + 1];
+    int[] previousRow = new int[targetLength + 1];
+    int[] currentRow = new int[targetLength + 1];
+    for (int column = 0; column <= targetLength; column++) {
+      previousRow[column] = column <= band ? column : exceeded;
+    }
+    for (int row = 1; row <= sourceLength; row++) {
+      int firstColumn = Math.max(1, row - band);
+      int lastColumn = Math.min(targetLength, row + band);
+      currentRow[0] = Math.min(row, exceeded);
+      currentRow[firstColumn - 1] = firstColumn == 1 ? currentRow[0] : exceeded;
+      int rowMinimum = currentRow[firstColumn - 1];
+      char sourceCharacter = source.charAt(row - 1);
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        char targetCharacter = target.charAt(column - 1);
+        int replaceCost = sourceCharacter == targetCharacter ? 0 : 1;
+        int distance = Math.min(Math.min(previousRow[column] + 1, currentRow[column - 1] + 1),
+          previousRow[column - 1] + replaceCost);
+        if (row > 1 && column > 1 && sourceCharacter == target.charAt(column - 2)
+          && source.charAt(row - 2) == targetCharacter) {
+          distance = Math.min(distance, beforePreviousRow[column - 2] + 1);
+        }
+        currentRow[column] = Math.min(distance, exceeded);
+        rowMinimum = Math.min(rowMinimum, currentRow[column]);
+      }
+      if (lastColumn < targetLength) {
+        currentRow[lastColumn + 1] = exceeded;
+      }
+      if (rowMinimum > band) {
+        return exceeded;
+      }
+      int[] recycledRow = beforePreviousRow;
+      beforePreviousRow = previousRow;
+      previousRow = currentRow;
+      currentRow = recycledRow;
+    }
+    return previousRow[targetLength];
+  }
+
+  /**
+   * @return the distance of the steps found in only one of the routes, or a value at least the
+   * given bound once it is reached
+   */
+  private double calculateStepDissimilarity(Map<String, Double> chosenStepDistances, double chosenDistance,
+                                            DirectionsRoute route, double bound) {
+    double dissimilarity = 0;
+    double sharedChosenDistance = 0;
+    Map<String, Double> unmatchedChosenSteps = new HashMap<>(chosenStepDistances);
+    for (RouteLeg leg : route.legs()) {
+      for (LegStep step : leg.steps()) {
+        Double chosenStepDistance = unmatchedChosenSteps.remove(buildStepKey(step));
+        if (chosenStepDistance != null) {
+          sharedChosenDistance += chosenStepDistance;
+        } else {
+          dissimilarity += step.distance();
+          if (dissimilarity >= bound) {
+            return dissimilarity;
+          }
+        }
+      }
+    }
+    return dissimilarity + chosenDistance - sharedChosenDistance;
+  }
+
+  private int findMostSimilarSummaryIndex(DirectionsRoute chosenRoute, List<DirectionsRoute> routes) {
+    String chosenSummary = buildSummary(chosenRoute);
+    int mostSimilarIndex = MOST_SIMILAR_FIRST_ROUTE;
+    int lowestDistance = Integer.MAX_VALUE;
+    for (int index = 0; index < routes.size(); index++) {
+      int distance = calculateBoundedEditDistance(chosenSummary, buildSummary(routes.get(index)), lowestDistance - 1);
+      if (distance < lowestDistance) {
+        lowestDistance = distance;
+        mostSimilarIndex = index;
+      }
+    }
+    return mostSimilarIndex;
+  }
+
+  private Map<String, Double> buildStepDistances(DirectionsRoute route) {
+    Map<String, Double> stepDistances = new HashMap<>();
+    if (route.legs() == null) {
+      return stepDistances;
+    }
+    for (RouteLeg leg : route.legs()) {
+      if (leg.steps() == null) {
+        continue;
+      }
+      for (LegStep step : leg.steps()) {
+        String key = buildStepKey(step);
+        Double distance = stepDistances.get(key);
+        stepDistances.put(key, distance == null ? step.distance() : distance + step.distance());
+      }
+    }
+    return stepDistances;
+  }
+
+  private boolean haveSteps(List<DirectionsRoute> routes) {
+    for (DirectionsRoute route : routes) {
+      if (route.legs() == null) {
+        return false;
+      }
+      for (RouteLeg leg : route.legs()) {
+        if (leg.steps() == null || leg.steps().isEmpty()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private double sumDistances(Map<String, Double> stepDistances) {
+    double total = 0;
+    for (double distance : stepDistances.values()) {
+      total += distance;
+    }
+    return total;
+  }
+
+  private String buildStepKey(LegStep step) {
+    Point location = step.maneuver().location();
+    return String.format(Locale.US, STEP_KEY_FORMAT, step.name(), location.longitude(), location.latitude());
+  }
+
+  private String buildSummary(DirectionsRoute route) {
+    StringBuilder summary = new StringBuilder();
+    if (route.legs() != null) {
+      for (RouteLeg leg : route.legs()) {
+        summary.append(leg.summary());
+      }
+    }
+    return summary.toString();
+  }
+}
@@ -7,7 +7,6 @@ import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.RouteOptions;
 import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.ui.v5.NavigationViewOptions;
@@ -23,6 +22,7 @@ public class ViewRouteFetcher extends RouteFetcher implements RouteListener {
   private static final int ONE_ROUTE = 1;
 
   private final ViewRouteListener listener;
+  private final RouteSimilarity routeSimilarity = new RouteSimilarity();
   private RouteOptions routeOptions;
   private DirectionsRoute currentRoute;
   private Location rawLocation;
@@ -131,26 +131,7 @@ public class ViewRouteFetcher extends RouteFetcher implements RouteListener {
   }
 
   private DirectionsRoute findMostSimilarRoute(DirectionsRoute chosenRoute, List<DirectionsRoute> routes) {
-    int routeIndex = 0;
-    String chosenRouteLegDescription = obtainRouteLegDescriptionFrom(chosenRoute);
-    int minSimilarity = Integer.MAX_VALUE;
-    for (int index = 0; index < routes.size(); index++) {
-      String routeLegDescription = obtainRouteLegDescriptionFrom(routes.get(index));
-      int currentSimilarity = DamerauLevenshteinAlgorithm.execute(chosenRouteLegDescription, routeLegDescription);
-      if (currentSimilarity < minSimilarity) {
-        minSimilarity = currentSimilarity;
-        routeIndex = index;
-      }
-    }
+    int routeIndex = routeSimilarity.findMostSimilarRouteIndex(chosenRoute, routes);
     return routes.get(routeIndex);
   }
-
-  private String obtainRouteLegDescriptionFrom(DirectionsRoute route) {
-    List<RouteLeg> routeLegs = route.legs();
-    StringBuilder routeLegDescription = new StringBuilder();
-    for (RouteLeg leg : routeLegs) {
-      routeLegDescription.append(leg.summary());
-    }
-    return routeLegDescription.toString();
-  }
 }
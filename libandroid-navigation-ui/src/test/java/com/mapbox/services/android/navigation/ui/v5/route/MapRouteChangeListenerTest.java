@@ -0,0 +1,22 @@
+package com.mapbox.services.android.navigation.ui.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class MapRouteChangeListenerTest {
+
+  @Test
+  public void onRouteChange_newRouteIsShownAsPrimaryRoute() {
+    NavigationMapRoute mapRoute = mock(NavigationMapRoute.class);
+    MapRouteChangeListener routeChangeListener = new MapRouteChangeListener(mapRoute);
+    DirectionsRoute newRoute = mock(DirectionsRoute.class);
+
+    routeChangeListener.onRouteChange(newRoute);
+
+    verify(mapRoute).showPrimaryRoute(newRoute);
+  }
+}
@@ -0,0 +1,136 @@
+package com.mapbox.services.android.navigation.ui.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.ui.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteSimilarityTest extends BaseTest {
+
+  @Test
+  public void calculateBoundedEditDistance_returnsEditDistance() {
+    int distance = RouteSimilarity.calculateBoundedEditDistance("kitten", "sitting", Integer.MAX_VALUE);
+
+    assertEquals(3, distance);
+  }
+
+  @Test
+  public void calculateBoundedEditDistance_adjacentSwapCostsOne() {
+    int distance = RouteSimilarity.calculateBoundedEditDistance("ab", "ba", Integer.MAX_VALUE);
+
+    assertEquals(1, distance);
+  }
+
+  @Test
+  public void calculateBoundedEditDistance_distanceOverMaximumExceedsIt() {
+    int distance = RouteSimilarity.calculateBoundedEditDistance("kitten", "sitting", 2);
+
+    assertTrue(distance > 2);
+  }
+
+  @Test
+  public void calculateBoundedEditDistance_matchesFullComputation() {
+    Random random = new Random(42);
+    for (int attempt = 0; attempt < 500; attempt++) {
+      String source = buildRandomString(random);
+      String target = buildRandomString(random);
+      int maxDistance = random.nextInt(8);
+      int expected = calculateEditDistance(source, target);
+
+      int distance = RouteSimilarity.calculateBoundedEditDistance(source, target, maxDistance);
+
+      if (expected <= maxDistance) {
+        assertEquals(source + " / " + target, expected, distance);
+      } else {
+        assertTrue(source + " / " + target, distance > maxDistance);
+      }
+    }
+  }
+
+  @Test
+  public void findMostSimilarRouteIndex_routeSharingRoadsIsChosen() throws Exception {
+    DirectionsRoute chosenRoute = buildTestDirectionsRoute();
+    DirectionsRoute otherRoute = renameSteps(chosenRoute, "Other Street");
+    RouteSimilarity routeSimilarity = new RouteSimilarity();
+
+    int index = routeSimilarity.findMostSimilarRouteIndex(chosenRoute, Arrays.asList(otherRoute, chosenRoute));
+
+    assertEquals(1, index);
+  }
+
+  @Test
+  public void findMostSimilarRouteIndex_routesWithoutStepsAreComparedOnSummaries() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    DirectionsRoute chosenRoute = summarizeWithoutSteps(route, "Main Street, Broadway");
+    List<DirectionsRoute> routes = Arrays.asList(
+      summarizeWithoutSteps(route, "Elm Street, Oak Avenue"),
+      summarizeWithoutSteps(route, "Main Street, Broad Way"),
+      summarizeWithoutSteps(route, "Main Street")
+    );
+    RouteSimilarity routeSimilarity = new RouteSimilarity();
+
+    int index = routeSimilarity.findMostSimilarRouteIndex(chosenRoute, routes);
+
+    assertEquals(1, index);
+  }
+
+  private DirectionsRoute renameSteps(DirectionsRoute route, String name) {
+    List<RouteLeg> legs = new ArrayList<>();
+    for (RouteLeg leg : route.legs()) {
+      List<LegStep> steps = new ArrayList<>();
+      for (LegStep step : leg.steps()) {
+        steps.add(step.toBuilder().name(name).build());
+      }
+      legs.add(leg.toBuilder().steps(steps).build());
+    }
+    return route.toBuilder().legs(legs).build();
+  }
+
+  private DirectionsRoute summarizeWithoutSteps(DirectionsRoute route, String summary) {
+    RouteLeg leg = route.legs().get(0).toBuilder()
+      .summary(summary)
+      .steps(Collections.<LegStep>emptyList())
+      .build();
+    return route.toBuilder().legs(Collections.singletonList(leg)).build();
+  }
+
+  private String buildRandomString(Random random) {
+    int length = random.nextInt(10);
+    StringBuilder builder = new StringBuilder(length);
+    for (int index = 0; index < length; index++) {
+      builder.append((char) ('a' + random.nextInt(3)));
+    }
+    return builder.toString();
+  }
+
+  private int calculateEditDistance(String source, String target) {
+    int[][] table = new int[source.length() + 1][target.length() + 1];
+    for (int row = 0; row <= source.length(); row++) {
+      for (int column = 0; column <= target.length(); column++) {
+        if (row == 0 || column == 0) {
+          table[row][column] = row + column;
+          continue;
+        }
+        int replaceCost = source.charAt(row - 1) == target.charAt(column - 1) ? 0 : 1;
+        table[row][column] = Math.min(Math.min(table[row - 1][column] + 1, table[row][column - 1] + 1),
+          table[row - 1][column - 1] + replaceCost);
+        if (row > 1 && column > 1 && source.charAt(row - 1) == target.charAt(column - 2)
+          && source.charAt(row - 2) == target.charAt(column - 1)) {
+          table[row][column] = Math.min(table[row][column], table[row - 2][column - 2] + 1);
+        }
+      }
+    }
+    return table[source.length()][target.length()];
+  }
+}
@@ -0,0 +1,139 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+import android.util.Xml;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+
+/**
+ * Reads the track points of a GPX trace one at a time with an {@link XmlPullParser}, so only the
+ * current point is held in memory.
+ * <p>
+ * Besides the position and time, the elevation, speed, course and horizontal dilution of precision
+ * of a point are read when present, either as elements of the point or of its extensions. The
+ * accuracy of a location is estimated from the horizontal dilution of precision.
+ */
+class GpxLocationReader implements ReplayLocationReader {
+
+  private static final String TAG_TRACK_POINT = "trkpt";
+  private static final String TAG_TIME = "time";
+  private static final String TAG_ELEVATION = "ele";
+  private static final String TAG_SPEED = "speed";
+  private static final String TAG_COURSE = "course";
+  private static final String TAG_BEARING = "bearing";
+  private static final String TAG_HDOP = "hdop";
+  private static final String ATTR_LATITUDE = "lat";
+  private static final String ATTR_LONGITUDE = "lon";
+  private static final String GPX_LOCATION_NAME = "GPX Generated Location";
+  /**
+   * Typical error in meters of a position with a dilution of precision of 1.
+   */
+  private static final float USER_EQUIVALENT_RANGE_ERROR = 5f;
+  private static final long NO_TIME = 0L;
+
+  private final InputStream inputStream;
+  private final XmlPullParser parser;
+
+  GpxLocationReader(InputStream inputStream) throws IOException {
+    this.inputStream = inputStream;
+    this.parser = Xml.newPullParser();
+    try {
+      parser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, true);
+      parser.setInput(inputStream, null);
+    } catch (XmlPullParserException exception) {
+      throw new IOException(exception);
+    }
+  }
+
+  @Nullable
+  @Override
+  public Location nextLocation() throws IOException {
+    try {
+      return readNextTrackPoint();
+    } catch (XmlPullParserException | ParseException | NumberFormatException exception) {
+      throw new IOException(exception);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+  @Nullable
+  private Location readNextTrackPoint() throws XmlPullParserException, IOException, ParseException {
+    int event = parser.next();
+    while (event != XmlPullParser.END_DOCUMENT) {
+      if (event == XmlPullParser.START_TAG && isTrackPoint()) {
+        return readTrackPoint();
+      }
+      event = parser.next();
+    }
+    return null;
+  }
+
+  private Location readTrackPoint() throws XmlPullParserException, IOException, ParseException {
+    Location location = new Location(GPX_LOCATION_NAME);
+    location.setLatitude(Double.parseDouble(readAttribute(ATTR_LATITUDE)));
+    location.setLongitude(Double.parseDouble(readAttribute(ATTR_LONGITUDE)));
+    location.setTime(NO_TIME);
+    int depth = parser.getDepth();
+    int event = parser.next();
+    while (!(event == XmlPullParser.END_TAG && parser.getDepth() == depth)) {
+      if (event == XmlPullParser.END_DOCUMENT) {
+        throw new XmlPullParserException("Unterminated track point", parser, null);
+      }
+      if (event == XmlPullParser.START_TAG) {
+        readTrackPointElement(location, parser.getName());
+      }
+      event = parser.next();
+    }
+    return location;
+  }
+
+  private void readTrackPointElement(Location location, String name) throws XmlPullParserException,
+    IOException, ParseException {
+    switch (name) {
+      case TAG_TIME:
+        location.setTime(GpxTimeParser.parse(parser.nextText()));
+        break;
+      case TAG_ELEVATION:
+        location.setAltitude(Double.parseDouble(parser.nextText().trim()));
+        break;
+      case TAG_SPEED:
+        location.setSpeed(Float.parseFloat(parser.nextText().trim()));
+        break;
+      case TAG_COURSE:
+      case TAG_BEARING:
+        location.setBearing(Float.parseFloat(parser.nextText().trim()));
+        break;
+      case TAG_HDOP:
+        location.setAccuracy(Float.parseFloat(parser.nextText().trim()) * USER_EQUIVALENT_RANGE_ERROR);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private String readAttribute(String name) throws XmlPullParserException {
+    String value = parser.getAttributeValue(null, name);
+    if (value == null) {
+      throw new XmlPullParserException("Track point without " + name, parser, null);
+    }
+    return value;
+  }
+
+  /**
+   * Only track points of the default namespace are read, while their elements, such as the
+   * {@code <gpxtpx:speed>} of an extension, are matched by local name whatever their namespace.
+   */
+  private boolean isTrackPoint() throws XmlPullParserException {
+    return parser.getPrefix() == null && TAG_TRACK_POINT.equals(parser.getName());
+  }
+}
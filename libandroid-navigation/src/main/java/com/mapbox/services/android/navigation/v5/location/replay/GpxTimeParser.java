@@ -0,0 +1,116 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import java.text.ParseException;
+
+/**
+ * Parses the ISO 8601 times of GPX files, such as {@code 2009-10-17T18:37:26Z}, without a
+ * {@link java.text.SimpleDateFormat}. Fractional seconds and time zone offsets are supported, and
+ * times without a zone are read as UTC.
+ */
+class GpxTimeParser {
+
+  private static final int DATE_TIME_LENGTH = 19;
+  private static final int YEAR_START = 0;
+  private static final int MONTH_START = 5;
+  private static final int DAY_START = 8;
+  private static final int HOUR_START = 11;
+  private static final int MINUTE_START = 14;
+  private static final int SECOND_START = 17;
+  private static final int OFFSET_MINUTE_START = 4;
+  private static final int OFFSET_LENGTH = 6;
+  private static final int YEAR_LENGTH = 4;
+  private static final int FIELD_LENGTH = 2;
+  private static final int MILLISECOND_DIGITS = 3;
+  private static final int DECIMAL = 10;
+  private static final long MILLISECONDS_PER_SECOND = 1000L;
+  private static final long SECONDS_PER_MINUTE = 60L;
+  private static final long SECONDS_PER_HOUR = 3600L;
+  private static final long SECONDS_PER_DAY = 86400L;
+  private static final int DAYS_PER_ERA = 146097;
+  private static final int YEARS_PER_ERA = 400;
+  private static final int DAYS_FROM_YEAR_ZERO_TO_EPOCH = 719468;
+
+  private GpxTimeParser() {
+    // Utility class
+  }
+
+  /**
+   * @param text an ISO 8601 date and time
+   * @return the time in milliseconds since the epoch
+   * @throws ParseException if the text is not a supported date and time
+   */
+  static long parse(String text) throws ParseException {
+    String time = text.trim();
+    if (time.length() < DATE_TIME_LENGTH || time.charAt(MONTH_START - 1) != '-'
+      || time.charAt(DAY_START - 1) != '-' || time.charAt(HOUR_START - 1) != 'T'
+      || time.charAt(MINUTE_START - 1) != ':' || time.charAt(SECOND_START - 1) != ':') {
+      throw new ParseException("Unparseable time: " + time, 0);
+    }
+    int year = parseNumber(time, YEAR_START, YEAR_LENGTH);
+    int month = parseNumber(time, MONTH_START, FIELD_LENGTH);
+    int day = parseNumber(time, DAY_START, FIELD_LENGTH);
+    long seconds = daysFromCivil(year, month, day) * SECONDS_PER_DAY
+      + parseNumber(time, HOUR_START, FIELD_LENGTH) * SECONDS_PER_HOUR
+      + parseNumber(time, MINUTE_START, FIELD_LENGTH) * SECONDS_PER_MINUTE
+      + parseNumber(time, SECOND_START, FIELD_LENGTH);
+
+    int index = DATE_TIME_LENGTH;
+    long milliseconds = 0;
+    if (index < time.length() && time.charAt(index) == '.') {
+      index++;
+      int digits = 0;
+      while (index < time.length() && Character.isDigit(time.charAt(index))) {
+        if (digits < MILLISECOND_DIGITS) {
+          milliseconds = milliseconds * DECIMAL + Character.digit(time.charAt(index), DECIMAL);
+          digits++;
+        }
+        index++;
+      }
+      for (; digits < MILLISECOND_DIGITS; digits++) {
+        milliseconds *= DECIMAL;
+      }
+    }
+    seconds -= parseOffset(time, index);
+    return seconds * MILLISECONDS_PER_SECOND + milliseconds;
+  }
+
+  /**
+   * @return offset from UTC in seconds of the zone starting at the given index
+   */
+  private static long parseOffset(String time, int index) throws ParseException {
+    if (index == time.length() || (index == time.length() - 1 && time.charAt(index) == 'Z')) {
+      return 0;
+    }
+    char sign = time.charAt(index);
+    if ((sign != '+' && sign != '-') || time.length() - index != OFFSET_LENGTH) {
+      throw new ParseException("Unparseable time zone: " + time, index);
+    }
+    long offset = parseNumber(time, index + 1, FIELD_LENGTH) * SECONDS_PER_HOUR
+      + parseNumber(time, index + OFFSET_MINUTE_START, FIELD_LENGTH) * SECONDS_PER_MINUTE;
+    return sign == '+' ? offset : -offset;
+  }
+
+  private static int parseNumber(String time, int start, int length) throws ParseException {
+    int value = 0;
+    for (int index = start; index < start + length; index++) {
+      int digit = Character.digit(time.charAt(index), DECIMAL);
+      if (digit < 0) {
+        throw new ParseException("Unparseable time: " + time, index);
+      }
+      value = value * DECIMAL + digit;
+    }
+    return value;
+  }
+
+  /**
+   * @return number of days between 1970-01-01 and the given date of the proleptic Gregorian calendar
+   */
+  private static long daysFromCivil(int year, int month, int day) {
+    int shiftedYear = month <= 2 ? year - 1 : year;
+    int era = (shiftedYear >= 0 ? shiftedYear : shiftedYear - YEARS_PER_ERA + 1) / YEARS_PER_ERA;
+    int yearOfEra = shiftedYear - era * YEARS_PER_ERA;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return (long) era * DAYS_PER_ERA + dayOfEra - DAYS_FROM_YEAR_ZERO_TO_EPOCH;
+  }
+}
@@ -0,0 +1,86 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+/**
+ * Reads the locations of a JSON trace, in the format mapped by {@link ReplayJsonRouteLocationMapper},
+ * one element of its {@code locations} array at a time, so only the current location is held in memory.
+ */
+class JsonLocationReader implements ReplayLocationReader {
+
+  private static final String LOCATIONS = "locations";
+  private static final String UTF_8 = "UTF-8";
+
+  private final JsonReader jsonReader;
+  private final TypeAdapter<ReplayLocationDto> locationAdapter;
+  private boolean isStarted;
+  private boolean isFinished;
+
+  JsonLocationReader(InputStream inputStream, Gson gson) throws IOException {
+    this.jsonReader = new JsonReader(new InputStreamReader(inputStream, UTF_8));
+    this.locationAdapter = gson.getAdapter(ReplayLocationDto.class);
+  }
+
+  @Nullable
+  @Override
+  public Location nextLocation() throws IOException {
+    try {
+      return readNextLocation();
+    } catch (JsonParseException | IllegalStateException exception) {
+      throw new IOException(exception);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    jsonReader.close();
+  }
+
+  @Nullable
+  private Location readNextLocation() throws IOException {
+    if (!isStarted) {
+      isStarted = true;
+      isFinished = !moveToLocations();
+    }
+    if (isFinished) {
+      return null;
+    }
+    if (!jsonReader.hasNext()) {
+      jsonReader.endArray();
+      isFinished = true;
+      return null;
+    }
+    ReplayLocationDto sample = locationAdapter.read(jsonReader);
+    if (sample == null) {
+      throw new IOException("Null location in JSON trace");
+    }
+    return ReplayJsonRouteLocationMapper.toLocation(sample);
+  }
+
+  /**
+   * Skips the other members of the trace, such as its route, until the start of the locations.
+   *
+   * @return false if the trace has no locations
+   */
+  private boolean moveToLocations() throws IOException {
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      if (LOCATIONS.equals(jsonReader.nextName())) {
+        jsonReader.beginArray();
+        return true;
+      }
+      jsonReader.skipValue();
+    }
+    return false;
+  }
+}
@@ -0,0 +1,141 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.location.LocationManager;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of binary location traces, as written by {@link LocationTraceWriter}.
+ * <p>
+ * A trace starts with a {@value #HEADER_SIZE} byte header: a magic number, the format version, the
+ * size of a record, the number of records and the times of the first and last ones. It's followed
+ * by fixed-width records of {@value #RECORD_SIZE} bytes in time order, so the record of any index
+ * is found without reading the others, and the records of a time with a binary search:
+ * <ul>
+ * <li>time in milliseconds, as a long</li>
+ * <li>latitude and longitude in degrees times 10<sup>7</sup>, as ints</li>
+ * <li>altitude in meters, speed in meters per second, bearing in degrees and accuracy in meters,
+ * as floats</li>
+ * <li>flags telling which of the altitude, speed, bearing and accuracy are set, as a byte</li>
+ * <li>provider identifier, as a byte</li>
+ * <li>two reserved bytes</li>
+ * </ul>
+ * All values are big-endian.
+ */
+class LocationTraceFormat {
+
+  static final String FILE_EXTENSION = ".trace";
+  static final int MAGIC = 0x4d42544c; // MBTL
+  static final short VERSION = 1;
+  static final int HEADER_SIZE = 32;
+  static final int RECORD_SIZE = 36;
+  static final int VERSION_POSITION = 4;
+  static final int RECORD_SIZE_POSITION = 6;
+  private static final double COORDINATE_SCALE = 1E7;
+  private static final int HAS_ALTITUDE = 1;
+  private static final int HAS_SPEED = 1 << 1;
+  private static final int HAS_BEARING = 1 << 2;
+  private static final int HAS_ACCURACY = 1 << 3;
+  private static final short RESERVED = 0;
+  private static final String UNKNOWN_PROVIDER = "unknown";
+  private static final String FUSED_PROVIDER = "fused";
+  private static final String[] PROVIDERS = {
+    UNKNOWN_PROVIDER,
+    LocationManager.GPS_PROVIDER,
+    LocationManager.NETWORK_PROVIDER,
+    LocationManager.PASSIVE_PROVIDER,
+    FUSED_PROVIDER
+  };
+
+  private LocationTraceFormat() {
+    // Utility class
+  }
+
+  static void writeHeader(ByteBuffer buffer, int recordCount, long startTime, long endTime) {
+    buffer.putInt(MAGIC);
+    buffer.putShort(VERSION);
+    buffer.putShort((short) RECORD_SIZE);
+    buffer.putInt(recordCount);
+    buffer.putInt(RESERVED);
+    buffer.putLong(startTime);
+    buffer.putLong(endTime);
+  }
+
+  static void writeRecord(ByteBuffer buffer, Location location) {
+    int flags = 0;
+    flags |= location.hasAltitude() ? HAS_ALTITUDE : 0;
+    flags |= location.hasSpeed() ? HAS_SPEED : 0;
+    flags |= location.hasBearing() ? HAS_BEARING : 0;
+    flags |= location.hasAccuracy() ? HAS_ACCURACY : 0;
+    buffer.putLong(location.getTime());
+    buffer.putInt(scaleCoordinate(location.getLatitude()));
+    buffer.putInt(scaleCoordinate(location.getLongitude()));
+    buffer.putFloat((float) location.getAltitude());
+    buffer.putFloat(location.getSpeed());
+    buffer.putFloat(location.getBearing());
+    buffer.putFloat(location.getAccuracy());
+    buffer.put((byte) flags);
+    buffer.put(findProviderId(location.getProvider()));
+    buffer.putShort(RESERVED);
+  }
+
+  static long readTime(ByteBuffer buffer, int index) {
+    return buffer.getLong(findRecordPosition(index));
+  }
+
+  static Location readRecord(ByteBuffer buffer, int index) {
+    int position = findRecordPosition(index);
+    long time = buffer.getLong(position);
+    double latitude = buffer.getInt(position + 8) / COORDINATE_SCALE;
+    double longitude = buffer.getInt(position + 12) / COORDINATE_SCALE;
+    float altitude = buffer.getFloat(position + 16);
+    float speed = buffer.getFloat(position + 20);
+    float bearing = buffer.getFloat(position + 24);
+    float accuracy = buffer.getFloat(position + 28);
+    int flags = buffer.get(position + 32);
+    int providerId = buffer.get(position + 33);
+
+    Location location = new Location(findProvider(providerId));
+    location.setTime(time);
+    location.setLatitude(latitude);
+    location.setLongitude(longitude);
+    if ((flags & HAS_ALTITUDE) != 0) {
+      location.setAltitude(altitude);
+    }
+    if ((flags & HAS_SPEED) != 0) {
+      location.setSpeed(speed);
+    }
+    if ((flags & HAS_BEARING) != 0) {
+      location.setBearing(bearing);
+    }
+    if ((flags & HAS_ACCURACY) != 0) {
+      location.setAccuracy(accuracy);
+    }
+    return location;
+  }
+
+  private static int findRecordPosition(int index) {
+    return HEADER_SIZE + index * RECORD_SIZE;
+  }
+
+  private static int scaleCoordinate(double coordinate) {
+    return (int) Math.round(coordinate * COORDINATE_SCALE);
+  }
+
+  private static byte findProviderId(String provider) {
+    for (int id = 0; id < PROVIDERS.length; id++) {
+      if (PROVIDERS[id].equals(provider)) {
+        return (byte) id;
+      }
+    }
+    return 0;
+  }
+
+  private static String findProvider(int providerId) {
+    if (providerId < 0 || providerId >= PROVIDERS.length) {
+      return UNKNOWN_PROVIDER;
+    }
+    return PROVIDERS[providerId];
+  }
+}
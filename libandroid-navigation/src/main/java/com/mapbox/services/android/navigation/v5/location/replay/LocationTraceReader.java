@@ -0,0 +1,103 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+
+/**
+ * Reads a binary location trace, as written by {@link LocationTraceWriter}, through a memory
+ * mapping of its file. Opening a trace only checks its header, whatever its length, and any
+ * location can be read or sought to without reading the ones before it.
+ * <p>
+ * The number of locations is found from the size of the file, so a trace which wasn't closed is
+ * read up to its last complete location.
+ */
+class LocationTraceReader implements ReplayLocationReader {
+
+  private static final String INVALID_TRACE = "Not a location trace: %s";
+  private static final String UNSUPPORTED_VERSION = "Unsupported location trace version %d: %s";
+
+  private final ByteBuffer buffer;
+  private final int locationCount;
+  private int nextIndex;
+
+  LocationTraceReader(File traceFile) throws IOException {
+    RandomAccessFile file = new RandomAccessFile(traceFile, "r");
+    try {
+      FileChannel channel = file.getChannel();
+      if (channel.size() < LocationTraceFormat.HEADER_SIZE) {
+        throw new IOException(String.format(Locale.US, INVALID_TRACE, traceFile));
+      }
+      // The mapping stays valid once the file is closed
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } finally {
+      file.close();
+    }
+    checkHeader(traceFile);
+    locationCount = (buffer.capacity() - LocationTraceFormat.HEADER_SIZE) / LocationTraceFormat.RECORD_SIZE;
+  }
+
+  @Nullable
+  @Override
+  public synchronized Location nextLocation() {
+    if (nextIndex >= locationCount) {
+      return null;
+    }
+    return LocationTraceFormat.readRecord(buffer, nextIndex++);
+  }
+
+  /**
+   * Nothing needs to happen here since the file is closed once mapped.
+   */
+  @Override
+  public void close() {
+  }
+
+  int retrieveLocationCount() {
+    return locationCount;
+  }
+
+  Location readLocation(int index) {
+    if (index < 0 || index >= locationCount) {
+      throw new IndexOutOfBoundsException("Location " + index + " of " + locationCount);
+    }
+    return LocationTraceFormat.readRecord(buffer, index);
+  }
+
+  /**
+   * Moves to the first location recorded at or after the given time, found with a binary search.
+   * Seeking past the end of the trace leaves no location to read.
+   *
+   * @param recordedTime in milliseconds, as recorded in {@link Location#getTime()}
+   */
+  synchronized void seekTo(long recordedTime) {
+    int low = 0;
+    int high = locationCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (LocationTraceFormat.readTime(buffer, middle) < recordedTime) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    nextIndex = low;
+  }
+
+  private void checkHeader(File traceFile) throws IOException {
+    if (buffer.getInt(0) != LocationTraceFormat.MAGIC) {
+      throw new IOException(String.format(Locale.US, INVALID_TRACE, traceFile));
+    }
+    short version = buffer.getShort(LocationTraceFormat.VERSION_POSITION);
+    if (version != LocationTraceFormat.VERSION
+      || buffer.getShort(LocationTraceFormat.RECORD_SIZE_POSITION) != LocationTraceFormat.RECORD_SIZE) {
+      throw new IOException(String.format(Locale.US, UNSUPPORTED_VERSION, version, traceFile));
+    }
+  }
+}
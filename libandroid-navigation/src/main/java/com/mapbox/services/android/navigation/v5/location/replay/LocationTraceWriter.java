@@ -0,0 +1,124 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes locations to a compact binary trace, which can be replayed with
+ * {@link ReplayTraceLocationEngine#assignLocationTrace(File)} or loaded with {@link ReplayTraceLoader}.
+ * <p>
+ * Each location takes 36 bytes, against a few hundred for GPX or JSON, and a trace of any length
+ * is opened without being parsed. Locations are buffered and written a few kilobytes at a time.
+ * A trace which wasn't closed, for instance because the app was killed, can still be read up to
+ * its last written location.
+ *
+ * @since 0.23.0
+ */
+public class LocationTraceWriter implements Closeable {
+
+  private static final int BUFFERED_RECORD_COUNT = 128;
+  private static final long NO_TIME = 0L;
+
+  private final RandomAccessFile file;
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+  private int locationCount;
+  private long startTime = NO_TIME;
+  private long endTime = NO_TIME;
+  private boolean isClosed;
+
+  /**
+   * Creates a trace in the given file, replacing any existing content.
+   *
+   * @param traceFile to write to, usually with a {@code .trace} extension
+   * @throws IOException if the file can't be written
+   * @since 0.23.0
+   */
+  public LocationTraceWriter(@NonNull File traceFile) throws IOException {
+    this.file = new RandomAccessFile(traceFile, "rw");
+    this.channel = file.getChannel();
+    this.buffer = ByteBuffer.allocate(BUFFERED_RECORD_COUNT * LocationTraceFormat.RECORD_SIZE);
+    file.setLength(0);
+    writeHeader();
+    channel.position(LocationTraceFormat.HEADER_SIZE);
+  }
+
+  /**
+   * Adds a location to the trace. Locations older than the last one written are skipped, so the
+   * trace stays in time order.
+   *
+   * @param location to add
+   * @throws IOException if the trace can't be written or was closed
+   * @since 0.23.0
+   */
+  public synchronized void write(@NonNull Location location) throws IOException {
+    if (isClosed) {
+      throw new IOException("Location trace closed");
+    }
+    if (locationCount > 0 && location.getTime() < endTime) {
+      return;
+    }
+    if (locationCount == 0) {
+      startTime = location.getTime();
+    }
+    endTime = location.getTime();
+    LocationTraceFormat.writeRecord(buffer, location);
+    locationCount++;
+    if (!buffer.hasRemaining()) {
+      flushBuffer();
+    }
+  }
+
+  /**
+   * @return number of locations written so far
+   * @since 0.23.0
+   */
+  public synchronized int retrieveLocationCount() {
+    return locationCount;
+  }
+
+  /**
+   * Writes the buffered locations and completes the header of the trace.
+   *
+   * @throws IOException if the trace can't be written
+   * @since 0.23.0
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    try {
+      flushBuffer();
+      writeHeader();
+    } finally {
+      file.close();
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private void writeHeader() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(LocationTraceFormat.HEADER_SIZE);
+    LocationTraceFormat.writeHeader(header, locationCount, startTime, endTime);
+    header.flip();
+    long position = 0;
+    while (header.hasRemaining()) {
+      position += channel.write(header, position);
+    }
+  }
+}
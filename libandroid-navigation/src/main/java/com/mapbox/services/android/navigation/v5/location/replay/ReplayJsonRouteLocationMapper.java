@@ -34,22 +34,26 @@ class ReplayJsonRouteLocationMapper {
   private List<Location> mapReplayLocations() {
     List<Location> locations = new ArrayList<>(replayLocations.size());
     for (ReplayLocationDto sample : replayLocations) {
-      Location location = new Location(REPLAY);
-      location.setLongitude(sample.getLongitude());
-      location.setAccuracy(sample.getHorizontalAccuracyMeters());
-      location.setBearing((float) sample.getBearing());
-      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-        location.setVerticalAccuracyMeters(sample.getVerticalAccuracyMeters());
-      }
-      location.setSpeed((float) sample.getSpeed());
-      location.setLatitude(sample.getLatitude());
-      location.setAltitude(sample.getAltitude());
-      Date date = sample.getDate();
-      if (date != null) {
-        location.setTime(date.getTime());
-      }
-      locations.add(location);
+      locations.add(toLocation(sample));
     }
     return locations;
   }
+
+  static Location toLocation(ReplayLocationDto sample) {
+    Location location = new Location(REPLAY);
+    location.setLongitude(sample.getLongitude());
+    location.setAccuracy(sample.getHorizontalAccuracyMeters());
+    location.setBearing((float) sample.getBearing());
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+      location.setVerticalAccuracyMeters(sample.getVerticalAccuracyMeters());
+    }
+    location.setSpeed((float) sample.getSpeed());
+    location.setLatitude(sample.getLatitude());
+    location.setAltitude(sample.getAltitude());
+    Date date = sample.getDate();
+    if (date != null) {
+      location.setTime(date.getTime());
+    }
+    return location;
+  }
 }
@@ -8,13 +8,34 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 
+/**
+ * Dispatches recorded locations with the same gaps between them as when they were recorded,
+ * divided by the playback rate.
+ * <p>
+ * Each location is dispatched as a copy whose time is rewritten to the time it is replayed at, so the
+ * replayed locations are as far apart in time as they are dispatched, whatever the playback rate. With
+ * {@link #UNLIMITED_PLAYBACK_RATE}, the recorded gaps are ignored: locations are dispatched one every
+ * {@value #UNLIMITED_DISPATCH_INTERVAL_IN_MILLISECONDS} milliseconds, so the main thread and the queue of
+ * the navigator keep up, and given the time they are dispatched at.
+ */
 class ReplayLocationDispatcher implements Runnable {
 
+  static final float REAL_TIME_PLAYBACK_RATE = 1f;
+  static final float UNLIMITED_PLAYBACK_RATE = Float.POSITIVE_INFINITY;
   private static final String NON_NULL_AND_NON_EMPTY_LOCATION_LIST_REQUIRED = "Non-null and non-empty location list "
     + "required.";
   private static final int HEAD = 0;
+  private static final long DO_NOT_DELAY = 0L;
+  static final long UNLIMITED_DISPATCH_INTERVAL_IN_MILLISECONDS = 25L;
+  private static final long NOT_STARTED = -1L;
   private List<Location> locationsToReplay;
   private Location current;
+  private long currentRecordedTime;
+  private float playbackRate = REAL_TIME_PLAYBACK_RATE;
+  private long recordedStartTime;
+  private long replayStartTime = NOT_STARTED;
+  private long lastReplayTime = NOT_STARTED;
+  private boolean isIdle;
   private Handler handler;
   private CopyOnWriteArraySet<ReplayLocationListener> replayLocationListeners;
 
@@ -37,6 +58,7 @@ class ReplayLocationDispatcher implements Runnable {
 
   @Override
   public void run() {
+    currentRecordedTime = current.getTime();
     dispatchLocation(current);
     scheduleNextDispatch();
   }
@@ -48,6 +70,33 @@ class ReplayLocationDispatcher implements Runnable {
 
   void pause() {
     stopDispatching();
+    restartTimeline();
+  }
+
+  /**
+   * @param playbackRate how many times faster than recorded locations are dispatched, or
+   *                     {@link #UNLIMITED_PLAYBACK_RATE} to dispatch them as fast as they are used
+   */
+  void updatePlaybackRate(float playbackRate) {
+    this.playbackRate = playbackRate;
+    restartTimeline();
+  }
+
+  /**
+   * Skips the locations recorded before the given time and dispatches the next one right away.
+   * Locations which were already dispatched can't be replayed again, so seeking to an earlier time
+   * continues with the next location.
+   *
+   * @param recordedTime in milliseconds, as recorded in {@link Location#getTime()}
+   */
+  void seekTo(long recordedTime) {
+    stopDispatching();
+    while (current.getTime() < recordedTime && !locationsToReplay.isEmpty()) {
+      current = locationsToReplay.remove(HEAD);
+    }
+    restartTimeline();
+    isIdle = false;
+    handler.postDelayed(this, DO_NOT_DELAY);
   }
 
   void update(@NonNull List<Location> locationsToReplay) {
@@ -56,11 +105,16 @@ class ReplayLocationDispatcher implements Runnable {
     initialize();
   }
 
+  /**
+   * Adds locations to replay after the ones given before. If every location was already dispatched,
+   * dispatching continues with the added locations. Otherwise the location waiting to be dispatched
+   * is kept, and the added locations follow it.
+   *
+   * @param toReplay locations recorded after the ones given before
+   */
   void add(@NonNull List<Location> toReplay) {
-    boolean shouldRedispatch = locationsToReplay.isEmpty();
     addLocations(toReplay);
-    if (shouldRedispatch) {
-      stopDispatching();
+    if (isIdle) {
       scheduleNextDispatch();
     }
   }
@@ -82,6 +136,11 @@ class ReplayLocationDispatcher implements Runnable {
 
   private void initialize() {
     current = locationsToReplay.remove(HEAD);
+    restartTimeline();
+  }
+
+  private void restartTimeline() {
+    replayStartTime = NOT_STARTED;
   }
 
   private void addLocations(List<Location> toReplay) {
@@ -89,23 +148,50 @@ class ReplayLocationDispatcher implements Runnable {
   }
 
   private void dispatchLocation(Location location) {
+    Location replayedLocation = new Location(location);
+    updateReplayTime(replayedLocation);
     for (ReplayLocationListener listener : replayLocationListeners) {
-      listener.onLocationReplay(location);
+      listener.onLocationReplay(replayedLocation);
     }
   }
 
+  private void updateReplayTime(Location location) {
+    long now = System.currentTimeMillis();
+    long replayTime;
+    if (replayStartTime == NOT_STARTED || playbackRate == UNLIMITED_PLAYBACK_RATE) {
+      replayStartTime = now;
+      recordedStartTime = currentRecordedTime;
+      replayTime = now;
+    } else {
+      replayTime = replayStartTime + scaleToPlaybackRate(currentRecordedTime - recordedStartTime);
+    }
+    // Keeps replayed locations in order if the recording or a seek went back in time
+    replayTime = Math.max(replayTime, lastReplayTime);
+    lastReplayTime = replayTime;
+    location.setTime(replayTime);
+  }
+
   private void scheduleNextDispatch() {
     if (locationsToReplay.isEmpty()) {
       stopDispatching();
+      isIdle = true;
       return;
     }
-    long currentTime = current.getTime();
+    isIdle = false;
+    long currentTime = currentRecordedTime;
     current = locationsToReplay.remove(HEAD);
     long nextTime = current.getTime();
-    long diff = nextTime - currentTime;
+    long diff = scaleToPlaybackRate(nextTime - currentTime);
     handler.postDelayed(this, diff);
   }
 
+  private long scaleToPlaybackRate(long recordedDuration) {
+    if (playbackRate == UNLIMITED_PLAYBACK_RATE) {
+      return UNLIMITED_DISPATCH_INTERVAL_IN_MILLISECONDS;
+    }
+    return Math.max(DO_NOT_DELAY, (long) (recordedDuration / playbackRate));
+  }
+
   private void clearLocations() {
     locationsToReplay.clear();
   }
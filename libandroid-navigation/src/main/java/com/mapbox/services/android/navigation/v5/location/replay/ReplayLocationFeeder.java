@@ -0,0 +1,169 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import timber.log.Timber;
+
+/**
+ * Reads a trace in batches on a background executor while it is being replayed, so replay starts
+ * with the first batch and only a couple of batches are held in memory at a time.
+ * <p>
+ * Batches are handed to the {@link Listener} on the callback executor, which is expected to be the
+ * thread locations are replayed on. The next batch is read once no more than a batch of the
+ * locations handed over is left to replay, as reported with {@link #onLocationReplayed()}.
+ */
+class ReplayLocationFeeder {
+
+  static final int BATCH_SIZE = 100;
+
+  private final ReplayLocationReader reader;
+  private final Executor readExecutor;
+  private final Executor callbackExecutor;
+  private final Listener listener;
+  private int queuedLocationCount;
+  private int readGeneration;
+  private boolean isReading;
+  private boolean isFinished;
+  private boolean isClosed;
+
+  ReplayLocationFeeder(ReplayLocationReader reader, Executor readExecutor, Executor callbackExecutor,
+                       Listener listener) {
+    this.reader = reader;
+    this.readExecutor = readExecutor;
+    this.callbackExecutor = callbackExecutor;
+    this.listener = listener;
+  }
+
+  void start() {
+    readNextBatch();
+  }
+
+  void onLocationReplayed() {
+    if (queuedLocationCount > 0) {
+      queuedLocationCount--;
+    }
+    readNextBatch();
+  }
+
+  /**
+   * Drops the batches being read and reads again once the reader was moved by the given action,
+   * which runs on the read executor. The locations already handed over are left to the listener.
+   * <p>
+   * Only for readers which can still be read once closed, as the reader is closed after its last
+   * location was read.
+   *
+   * @param moveReader moving the reader, for instance to another time of the trace
+   */
+  void restartAfter(final Runnable moveReader) {
+    if (isClosed) {
+      return;
+    }
+    readGeneration++;
+    queuedLocationCount = 0;
+    isFinished = false;
+    isReading = true;
+    final int generation = readGeneration;
+    readExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        moveReader.run();
+        readBatch(generation);
+      }
+    });
+  }
+
+  /**
+   * Stops reading and closes the reader. Batches already being read are dropped.
+   */
+  void close() {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    readExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        closeReader();
+      }
+    });
+  }
+
+  private void readNextBatch() {
+    if (isReading || isFinished || isClosed || queuedLocationCount > BATCH_SIZE) {
+      return;
+    }
+    isReading = true;
+    final int generation = readGeneration;
+    readExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        readBatch(generation);
+      }
+    });
+  }
+
+  private void readBatch(final int generation) {
+    final List<Location> batch = new ArrayList<>(BATCH_SIZE);
+    IOException error = null;
+    try {
+      Location location;
+      while (batch.size() < BATCH_SIZE && (location = reader.nextLocation()) != null) {
+        batch.add(location);
+      }
+    } catch (IOException exception) {
+      error = exception;
+    }
+    final IOException readError = error;
+    final boolean isLastBatch = batch.size() < BATCH_SIZE || readError != null;
+    if (isLastBatch) {
+      closeReader();
+    }
+    callbackExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        onBatchRead(generation, batch, isLastBatch, readError);
+      }
+    });
+  }
+
+  private void onBatchRead(int generation, List<Location> batch, boolean isLastBatch, IOException error) {
+    if (generation != readGeneration) {
+      // Read before a restart, which is reading another batch already
+      return;
+    }
+    isReading = false;
+    isFinished = isLastBatch;
+    if (isClosed) {
+      return;
+    }
+    if (!batch.isEmpty()) {
+      queuedLocationCount += batch.size();
+      listener.onLocationsRead(batch);
+    }
+    if (error != null) {
+      listener.onReadError(error);
+    }
+    readNextBatch();
+  }
+
+  private void closeReader() {
+    try {
+      reader.close();
+    } catch (IOException exception) {
+      Timber.e(exception, "Failed to close the replayed trace");
+    }
+  }
+
+  interface Listener {
+
+    void onLocationsRead(@NonNull List<Location> locations);
+
+    void onReadError(@NonNull IOException exception);
+  }
+}
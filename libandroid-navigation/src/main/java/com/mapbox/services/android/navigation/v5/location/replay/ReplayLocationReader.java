@@ -0,0 +1,21 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the locations of a recorded trace one at a time, so a trace can be replayed while it is
+ * still being read and without holding all of it in memory.
+ */
+interface ReplayLocationReader extends Closeable {
+
+  /**
+   * @return the next location of the trace, or null once every location has been read
+   * @throws IOException if the trace can't be read or is invalid
+   */
+  @Nullable
+  Location nextLocation() throws IOException;
+}
@@ -18,9 +18,17 @@ import java.util.List;
 
 public class ReplayRouteLocationEngine extends LocationEngine implements Runnable {
 
+  /**
+   * Playback rate replaying locations as fast as navigation keeps up with, whatever the recorded gaps
+   * between them: one every 25 milliseconds.
+   *
+   * @since 0.23.0
+   */
+  public static final float UNLIMITED_PLAYBACK_RATE = ReplayLocationDispatcher.UNLIMITED_PLAYBACK_RATE;
   private static final int HEAD = 0;
   private static final int MOCKED_POINTS_LEFT_THRESHOLD = 5;
   private static final int ONE_SECOND_IN_MILLISECONDS = 1000;
+  private static final int ONE_LOCATION = 1;
   private static final int FORTY_FIVE_KM_PER_HOUR = 45;
   private static final int DEFAULT_SPEED = FORTY_FIVE_KM_PER_HOUR;
   private static final int ONE_SECOND = 1;
@@ -29,10 +37,12 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
   private static final int ZERO = 0;
   private static final String SPEED_MUST_BE_GREATER_THAN_ZERO_KM_H = "Speed must be greater than 0 km/h.";
   private static final String DELAY_MUST_BE_GREATER_THAN_ZERO_SECONDS = "Delay must be greater than 0 seconds.";
+  private static final String PLAYBACK_RATE_MUST_BE_GREATER_THAN_ZERO = "Playback rate must be greater than 0.";
   private static final String REPLAY_ROUTE = "ReplayRouteLocation";
   private ReplayRouteLocationConverter converter;
   private int speed = DEFAULT_SPEED;
   private int delay = DEFAULT_DELAY;
+  private float playbackRate = ReplayLocationDispatcher.REAL_TIME_PLAYBACK_RATE;
   private Handler handler;
   private List<Location> mockedLocations;
   private ReplayLocationDispatcher dispatcher;
@@ -89,6 +99,46 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
     this.delay = customDelayInSeconds;
   }
 
+  /**
+   * Replays the route faster or slower than real time, for instance 10 to replay ten seconds of
+   * the route each second. The time of each replayed location is that of the device when it is
+   * replayed, so route processing sees locations as far apart in time as they are replayed.
+   * <p>
+   * With {@link #UNLIMITED_PLAYBACK_RATE}, locations are replayed one every 25 milliseconds.
+   *
+   * @param playbackRate greater than 0, where 1 is real time
+   * @since 0.23.0
+   */
+  public void updatePlaybackRate(float playbackRate) {
+    if (!(playbackRate > 0)) {
+      throw new IllegalArgumentException(PLAYBACK_RATE_MUST_BE_GREATER_THAN_ZERO);
+    }
+    this.playbackRate = playbackRate;
+    if (dispatcher != null) {
+      dispatcher.updatePlaybackRate(playbackRate);
+    }
+  }
+
+  /**
+   * Continues the replay from the first location of the route mocked at or after the given time,
+   * skipping the ones before. Locations already replayed can't be replayed again, so seeking to an
+   * earlier time continues with the next location.
+   *
+   * @param recordedTime in milliseconds, as given to the mocked locations of the route
+   * @since 0.23.0
+   */
+  public void seekTo(long recordedTime) {
+    if (dispatcher == null) {
+      return;
+    }
+    handler.removeCallbacks(this);
+    while (!mockedLocations.isEmpty() && mockedLocations.get(HEAD).getTime() < recordedTime) {
+      mockedLocations.remove(HEAD);
+    }
+    dispatcher.seekTo(recordedTime);
+    scheduleNextDispatch();
+  }
+
   @Override
   public void run() {
     List<Location> nextMockedLocations = converter.toLocations();
@@ -178,6 +228,7 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
       dispatcher.removeReplayLocationListener(replayLocationListener);
     }
     dispatcher = new ReplayLocationDispatcher(mockedLocations);
+    dispatcher.updatePlaybackRate(playbackRate);
     dispatcher.addReplayLocationListener(replayLocationListener);
 
     return dispatcher;
@@ -207,12 +258,19 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
     if (currentMockedPoints == ZERO) {
       handler.postDelayed(this, DO_NOT_DELAY);
     } else if (currentMockedPoints <= MOCKED_POINTS_LEFT_THRESHOLD) {
-      handler.postDelayed(this, ONE_SECOND_IN_MILLISECONDS);
+      handler.postDelayed(this, calculateRefillDelay(ONE_LOCATION));
     } else {
-      handler.postDelayed(this, (currentMockedPoints - MOCKED_POINTS_LEFT_THRESHOLD) * ONE_SECOND_IN_MILLISECONDS);
+      handler.postDelayed(this, calculateRefillDelay(currentMockedPoints - MOCKED_POINTS_LEFT_THRESHOLD));
     }
   }
 
+  private long calculateRefillDelay(int locationCount) {
+    long realTimeDelay = locationCount * ONE_SECOND_IN_MILLISECONDS;
+    // Locations are never dispatched faster than one per interval, even with an unlimited playback rate
+    long minimumDelay = locationCount * ReplayLocationDispatcher.UNLIMITED_DISPATCH_INTERVAL_IN_MILLISECONDS;
+    return Math.max(minimumDelay, (long) (realTimeDelay / playbackRate));
+  }
+
   private void initializeLastLocation() {
     if (lastLocation == null) {
       lastLocation = new Location(REPLAY_ROUTE);
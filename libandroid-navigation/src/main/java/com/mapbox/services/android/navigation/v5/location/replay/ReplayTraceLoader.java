@@ -0,0 +1,105 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Loads the locations of a recorded drive from a file, either a GPX trace, a JSON trace in the
+ * format replayed by {@link ReplayJsonRouteLocationMapper} or a binary trace written by
+ * {@link LocationTraceWriter}.
+ * <p>
+ * Loading happens on the calling thread, so a loader can be used off the main thread to read
+ * many traces at once.
+ *
+ * @since 0.23.0
+ */
+public class ReplayTraceLoader {
+
+  private static final String GPX_EXTENSION = ".gpx";
+  private static final String JSON_EXTENSION = ".json";
+  private static final String UNSUPPORTED_TRACE_FILE = "Unsupported trace file: %s";
+  private static final String EMPTY_TRACE_FILE = "Trace file without locations: %s";
+
+  private final Gson gson = new Gson();
+
+  /**
+   * @param file to check
+   * @return true if the file has an extension of a supported trace format
+   * @since 0.23.0
+   */
+  public boolean isTrace(@NonNull File file) {
+    String name = file.getName().toLowerCase(Locale.US);
+    return file.isFile() && (name.endsWith(GPX_EXTENSION) || name.endsWith(JSON_EXTENSION)
+      || name.endsWith(LocationTraceFormat.FILE_EXTENSION));
+  }
+
+  /**
+   * Reads every location of the given trace file, in the order they were recorded.
+   *
+   * @param traceFile a GPX, JSON or binary trace
+   * @return the locations of the trace
+   * @throws IOException if the file can't be read or is not a valid trace
+   * @since 0.23.0
+   */
+  @NonNull
+  public List<Location> load(@NonNull File traceFile) throws IOException {
+    String name = traceFile.getName().toLowerCase(Locale.US);
+    if (name.endsWith(LocationTraceFormat.FILE_EXTENSION)) {
+      return loadLocationTrace(traceFile);
+    }
+    InputStream inputStream = new FileInputStream(traceFile);
+    try {
+      List<Location> locations;
+      if (name.endsWith(GPX_EXTENSION)) {
+        locations = loadGpx(inputStream);
+      } else if (name.endsWith(JSON_EXTENSION)) {
+        locations = loadJson(inputStream);
+      } else {
+        throw new IOException(String.format(Locale.US, UNSUPPORTED_TRACE_FILE, traceFile));
+      }
+      if (locations == null || locations.isEmpty()) {
+        throw new IOException(String.format(Locale.US, EMPTY_TRACE_FILE, traceFile));
+      }
+      return locations;
+    } finally {
+      inputStream.close();
+    }
+  }
+
+  private List<Location> loadGpx(InputStream inputStream) throws IOException {
+    return new GpxParser().parseGpx(inputStream);
+  }
+
+  private List<Location> loadLocationTrace(File traceFile) throws IOException {
+    LocationTraceReader reader = new LocationTraceReader(traceFile);
+    int locationCount = reader.retrieveLocationCount();
+    if (locationCount == 0) {
+      throw new IOException(String.format(Locale.US, EMPTY_TRACE_FILE, traceFile));
+    }
+    List<Location> locations = new ArrayList<>(locationCount);
+    for (int index = 0; index < locationCount; index++) {
+      locations.add(reader.readLocation(index));
+    }
+    return locations;
+  }
+
+  private List<Location> loadJson(InputStream inputStream) throws IOException {
+    JsonLocationReader reader = new JsonLocationReader(inputStream, gson);
+    List<Location> locations = new ArrayList<>();
+    Location location;
+    while ((location = reader.nextLocation()) != null) {
+      locations.add(location);
+    }
+    return locations;
+  }
+}
@@ -0,0 +1,262 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.annotation.SuppressLint;
+import android.location.Location;
+import android.os.Handler;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.mapbox.android.core.location.LocationEngine;
+import com.mapbox.android.core.location.LocationEngineListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import timber.log.Timber;
+
+/**
+ * Replays a recorded trace, with the same gaps between locations as when they were recorded.
+ * <p>
+ * The trace is read while it is replayed: replay starts as soon as its first locations are read,
+ * and only a few hundred locations are held in memory at a time, however long the trace is.
+ *
+ * @since 0.23.0
+ */
+public class ReplayTraceLocationEngine extends LocationEngine {
+
+  private static final String PLAYBACK_RATE_MUST_BE_GREATER_THAN_ZERO = "Playback rate must be greater than 0.";
+  private static final Executor TRACE_READ_EXECUTOR = Executors.newSingleThreadExecutor();
+  private final Gson gson = new Gson();
+  private final Handler handler;
+  private final Executor readExecutor;
+  private final Executor callbackExecutor = new Executor() {
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+      handler.post(runnable);
+    }
+  };
+  private float playbackRate = ReplayLocationDispatcher.REAL_TIME_PLAYBACK_RATE;
+  private ReplayLocationFeeder feeder;
+  private LocationTraceReader locationTraceReader;
+  private ReplayLocationDispatcher dispatcher;
+  private Location lastLocation;
+  private final ReplayLocationListener replayLocationListener = new ReplayLocationListener() {
+    @Override
+    public void onLocationReplay(Location location) {
+      for (LocationEngineListener listener : locationListeners) {
+        listener.onLocationChanged(location);
+      }
+      lastLocation = location;
+      if (feeder != null) {
+        feeder.onLocationReplayed();
+      }
+    }
+  };
+  private final ReplayLocationFeeder.Listener feederListener = new ReplayLocationFeeder.Listener() {
+    @Override
+    public void onLocationsRead(@NonNull List<Location> locations) {
+      if (dispatcher == null) {
+        dispatcher = new ReplayLocationDispatcher(locations);
+        dispatcher.updatePlaybackRate(playbackRate);
+        dispatcher.addReplayLocationListener(replayLocationListener);
+        dispatcher.run();
+      } else {
+        dispatcher.add(locations);
+      }
+    }
+
+    @Override
+    public void onReadError(@NonNull IOException exception) {
+      Timber.e(exception, "Failed to read the replayed trace");
+    }
+  };
+
+  /**
+   * Creates an engine replaying on the thread it was created on, which must have a looper.
+   *
+   * @since 0.23.0
+   */
+  public ReplayTraceLocationEngine() {
+    this(new Handler(), TRACE_READ_EXECUTOR);
+  }
+
+  // For testing only
+  ReplayTraceLocationEngine(Handler handler, Executor readExecutor) {
+    this.handler = handler;
+    this.readExecutor = readExecutor;
+  }
+
+  /**
+   * Replays the track points of a GPX trace, in place of any trace being replayed. The stream is
+   * read in the background and closed once read.
+   *
+   * @param gpxInputStream of the GPX trace
+   * @since 0.23.0
+   */
+  public void assignGpx(@NonNull InputStream gpxInputStream) {
+    try {
+      assign(new GpxLocationReader(gpxInputStream));
+    } catch (IOException exception) {
+      Timber.e(exception, "Failed to read the replayed trace");
+    }
+  }
+
+  /**
+   * Replays a JSON trace, whose {@code locations} array holds the recorded locations, in place of
+   * any trace being replayed. The stream is read in the background and closed once read.
+   *
+   * @param jsonInputStream of the JSON trace
+   * @since 0.23.0
+   */
+  public void assignJson(@NonNull InputStream jsonInputStream) {
+    try {
+      assign(new JsonLocationReader(jsonInputStream, gson));
+    } catch (IOException exception) {
+      Timber.e(exception, "Failed to read the replayed trace");
+    }
+  }
+
+  /**
+   * Replays a binary trace written by {@link LocationTraceWriter}, in place of any trace being
+   * replayed. The file is memory-mapped, so replay starts right away whatever the length of the
+   * trace, and can be moved to any time of the trace with {@link #seekTo(long)}.
+   *
+   * @param traceFile of the binary trace
+   * @since 0.23.0
+   */
+  public void assignLocationTrace(@NonNull File traceFile) {
+    try {
+      LocationTraceReader reader = new LocationTraceReader(traceFile);
+      assign(reader);
+      locationTraceReader = reader;
+    } catch (IOException exception) {
+      Timber.e(exception, "Failed to read the replayed trace");
+    }
+  }
+
+  /**
+   * Continues the replay from the first location recorded at or after the given time. A binary
+   * trace can be replayed from any time, earlier or later. Other traces can only skip forward, to
+   * the locations already read.
+   *
+   * @param recordedTime in milliseconds, as recorded in the trace
+   * @since 0.23.0
+   */
+  public void seekTo(final long recordedTime) {
+    if (locationTraceReader != null && feeder != null) {
+      stopDispatcher();
+      final LocationTraceReader reader = locationTraceReader;
+      feeder.restartAfter(new Runnable() {
+        @Override
+        public void run() {
+          reader.seekTo(recordedTime);
+        }
+      });
+    } else if (dispatcher != null) {
+      dispatcher.seekTo(recordedTime);
+    }
+  }
+
+  /**
+   * Replays the trace faster or slower than real time, for instance 10 to replay ten seconds of
+   * the trace each second.
+   *
+   * @param playbackRate greater than 0, where 1 is real time
+   * @since 0.23.0
+   */
+  public void updatePlaybackRate(float playbackRate) {
+    if (!(playbackRate > 0)) {
+      throw new IllegalArgumentException(PLAYBACK_RATE_MUST_BE_GREATER_THAN_ZERO);
+    }
+    this.playbackRate = playbackRate;
+    if (dispatcher != null) {
+      dispatcher.updatePlaybackRate(playbackRate);
+    }
+  }
+
+  /**
+   * Connect all the location listeners.
+   */
+  @Override
+  public void activate() {
+    for (LocationEngineListener listener : locationListeners) {
+      listener.onConnected();
+    }
+  }
+
+  /**
+   * Stops replaying and reading the trace.
+   */
+  @Override
+  public void deactivate() {
+    stop();
+  }
+
+  /**
+   * While the {@link ReplayTraceLocationEngine} is in use, you are always connected to it.
+   *
+   * @return true.
+   */
+  @Override
+  public boolean isConnected() {
+    return true;
+  }
+
+  @SuppressLint("MissingPermission")
+  @Override
+  @Nullable
+  public Location getLastLocation() {
+    return lastLocation;
+  }
+
+  /**
+   * Nothing needs to happen here since we are replaying a recorded trace.
+   */
+  @Override
+  public void requestLocationUpdates() {
+
+  }
+
+  /**
+   * Removes location updates for the LocationListener.
+   */
+  @Override
+  public void removeLocationUpdates() {
+    for (LocationEngineListener listener : locationListeners) {
+      locationListeners.remove(listener);
+    }
+  }
+
+  @Override
+  public Type obtainType() {
+    return Type.MOCK;
+  }
+
+  void assign(ReplayLocationReader reader) {
+    stop();
+    feeder = new ReplayLocationFeeder(reader, readExecutor, callbackExecutor, feederListener);
+    feeder.start();
+  }
+
+  private void stop() {
+    if (feeder != null) {
+      feeder.close();
+      feeder = null;
+    }
+    locationTraceReader = null;
+    stopDispatcher();
+  }
+
+  private void stopDispatcher() {
+    if (dispatcher != null) {
+      dispatcher.stop();
+      dispatcher.removeReplayLocationListener(replayLocationListener);
+      dispatcher = null;
+    }
+  }
+}
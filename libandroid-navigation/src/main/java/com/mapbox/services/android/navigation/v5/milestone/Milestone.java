@@ -1,5 +1,7 @@
 package com.mapbox.services.android.navigation.v5.milestone;
 
+import android.support.annotation.Nullable;
+
 import com.mapbox.services.android.navigation.v5.exception.NavigationException;
 import com.mapbox.services.android.navigation.v5.instruction.Instruction;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
@@ -55,6 +57,30 @@ public abstract class Milestone {
   public abstract boolean isOccurring(RouteProgress previousRouteProgress,
                                       RouteProgress routeProgress);
 
+  /**
+   * Same as {@link #isOccurring(RouteProgress, RouteProgress)}, with the {@link TriggerProperty} values
+   * of this update already held in a {@link TriggerContext} that can be shared by every milestone.
+   * <p>
+   * Milestones using a {@link Trigger.Statement} should override this to validate the trigger with
+   * the given context.
+   *
+   * @param previousRouteProgress last locations generated {@link RouteProgress} object used to
+   *                              determine certain {@link TriggerProperty}s
+   * @param routeProgress         used to determine certain {@link TriggerProperty}s
+   * @param triggerContext        created from the same {@link RouteProgress} objects
+   * @return true if the milestone trigger's valid, else false
+   * @since 0.23.0
+   */
+  public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                             TriggerContext triggerContext) {
+    return isOccurring(previousRouteProgress, routeProgress);
+  }
+
+  @Nullable
+  Trigger.Statement retrieveTrigger() {
+    return builder == null ? null : builder.getTrigger();
+  }
+
   /**
    * Build a new {@link Milestone}
    *
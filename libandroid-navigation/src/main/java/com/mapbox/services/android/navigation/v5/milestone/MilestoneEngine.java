@@ -0,0 +1,103 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the {@link Milestone}s occurring with each new {@link RouteProgress}.
+ * <p>
+ * The {@link Trigger.Statement} of each milestone is compiled once, when the milestone is first given to
+ * the engine. Triggers are grouped by the {@link TriggerProperty}s they read, and a trigger is not evaluated
+ * again while none of its properties have changed since the previous update.
+ * <p>
+ * An engine keeps state between updates, so it should be given every update from a single thread.
+ *
+ * @since 0.23.0
+ */
+public class MilestoneEngine {
+
+  private final Map<Trigger.Statement, TriggerProgram> programs = new IdentityHashMap<>();
+  private final List<TriggerGroup> groups = new ArrayList<>();
+  private final List<Milestone> milestones = new ArrayList<>();
+  private TriggerContext previousContext;
+  private long update;
+
+  /**
+   * Validates each of the given milestones against the new {@link RouteProgress}.
+   *
+   * @param milestones            to be validated, in the order they should be returned
+   * @param previousRouteProgress last generated {@link RouteProgress}
+   * @param routeProgress         the new {@link RouteProgress}
+   * @return the milestones which are occurring
+   * @since 0.23.0
+   */
+  public List<Milestone> findTriggeredMilestones(List<Milestone> milestones, RouteProgress previousRouteProgress,
+                                                 RouteProgress routeProgress) {
+    updateMilestones(milestones);
+    update++;
+    TriggerContext triggerContext = TriggerContext.create(previousRouteProgress, routeProgress, update, programs);
+    updateGroups(triggerContext);
+    previousContext = triggerContext;
+
+    List<Milestone> triggeredMilestones = new ArrayList<>();
+    for (Milestone milestone : milestones) {
+      if (milestone.isOccurring(previousRouteProgress, routeProgress, triggerContext)) {
+        triggeredMilestones.add(milestone);
+      }
+    }
+    return triggeredMilestones;
+  }
+
+  private void updateMilestones(List<Milestone> milestones) {
+    if (isSameMilestones(milestones)) {
+      return;
+    }
+    this.milestones.clear();
+    this.milestones.addAll(milestones);
+    programs.clear();
+    groups.clear();
+    Map<Integer, TriggerGroup> groupsByProperties = new HashMap<>();
+    for (Milestone milestone : milestones) {
+      Trigger.Statement trigger = milestone.retrieveTrigger();
+      if (trigger == null || programs.containsKey(trigger)) {
+        continue;
+      }
+      TriggerProgram program = TriggerProgram.compile(trigger);
+      TriggerGroup group = groupsByProperties.get(program.retrieveProperties());
+      if (group == null) {
+        group = new TriggerGroup(program.retrieveProperties());
+        groupsByProperties.put(program.retrieveProperties(), group);
+        groups.add(group);
+      }
+      program.updateGroup(group);
+      programs.put(trigger, program);
+    }
+  }
+
+  private boolean isSameMilestones(List<Milestone> milestones) {
+    if (this.milestones.size() != milestones.size()) {
+      return false;
+    }
+    for (int i = 0; i < milestones.size(); i++) {
+      if (this.milestones.get(i) != milestones.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void updateGroups(TriggerContext triggerContext) {
+    if (groups.isEmpty()) {
+      return;
+    }
+    int changedProperties = triggerContext.findChangedProperties(previousContext);
+    for (TriggerGroup group : groups) {
+      group.update(changedProperties);
+    }
+  }
+}
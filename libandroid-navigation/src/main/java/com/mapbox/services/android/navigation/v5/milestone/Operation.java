@@ -77,4 +77,69 @@ class Operation {
     return valueOne[0].doubleValue() <= valueTwo.doubleValue();
   }
 
+  static boolean greaterThan(TriggerContext context, int key, TriggerValue valueTwo) {
+    if (context.isPair(key)) {
+      if (valueTwo.isTrue()) {
+        return context.retrieveValue(key) > context.retrieveComparedValue(key);
+      } else {
+        return context.retrieveValue(key) <= context.retrieveComparedValue(key);
+      }
+    }
+    return context.retrieveValue(key) > valueTwo.value();
+  }
+
+  static boolean lessThan(TriggerContext context, int key, TriggerValue valueTwo) {
+    if (context.isPair(key)) {
+      if (valueTwo.isTrue()) {
+        return context.retrieveValue(key) < context.retrieveComparedValue(key);
+      } else {
+        return context.retrieveValue(key) >= context.retrieveComparedValue(key);
+      }
+    }
+    return context.retrieveValue(key) < valueTwo.value();
+  }
+
+  static boolean notEqual(TriggerContext context, int key, TriggerValue valueTwo) {
+    if (context.isPair(key)) {
+      if (valueTwo.isTrue()) {
+        return context.retrieveValue(key) != context.retrieveComparedValue(key);
+      } else {
+        return context.retrieveValue(key) == context.retrieveComparedValue(key);
+      }
+    }
+    return !valueTwo.isEqualTo(context, key);
+  }
+
+  static boolean equal(TriggerContext context, int key, TriggerValue valueTwo) {
+    if (context.isPair(key)) {
+      if (valueTwo.isTrue()) {
+        return context.retrieveValue(key) == context.retrieveComparedValue(key);
+      } else {
+        return context.retrieveValue(key) != context.retrieveComparedValue(key);
+      }
+    }
+    return valueTwo.isEqualTo(context, key);
+  }
+
+  static boolean greaterThanEqual(TriggerContext context, int key, TriggerValue valueTwo) {
+    if (context.isPair(key)) {
+      if (valueTwo.isTrue()) {
+        return context.retrieveValue(key) >= context.retrieveComparedValue(key);
+      } else {
+        return context.retrieveValue(key) < context.retrieveComparedValue(key);
+      }
+    }
+    return context.retrieveValue(key) >= valueTwo.value();
+  }
+
+  static boolean lessThanEqual(TriggerContext context, int key, TriggerValue valueTwo) {
+    if (context.isPair(key)) {
+      if (valueTwo.isTrue()) {
+        return context.retrieveValue(key) <= context.retrieveComparedValue(key);
+      } else {
+        return context.retrieveValue(key) > context.retrieveComparedValue(key);
+      }
+    }
+    return context.retrieveValue(key) <= valueTwo.value();
+  }
 }
@@ -21,9 +21,15 @@ public class RouteMilestone extends Milestone {
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    return isOccurring(previousRouteProgress, routeProgress,
+      TriggerContext.create(previousRouteProgress, routeProgress));
+  }
+
+  @Override
+  public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                             TriggerContext triggerContext) {
 
-    if (builder.getTrigger().isOccurring(
-      TriggerProperty.getSparseArray(previousRouteProgress, routeProgress)) && !called) {
+    if (triggerContext.isOccurring(builder.getTrigger()) && !called) {
       called = true;
       return true;
     }
@@ -22,6 +22,13 @@ public class StepMilestone extends Milestone {
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    return isOccurring(previousRouteProgress, routeProgress,
+      TriggerContext.create(previousRouteProgress, routeProgress));
+  }
+
+  @Override
+  public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                             TriggerContext triggerContext) {
 
     // Determine if the step index has changed and set called accordingly. This prevents multiple calls to
     // onMilestoneEvent per Step.
@@ -33,8 +40,7 @@ public class StepMilestone extends Milestone {
     if (called) {
       return false;
     }
-    if (builder.getTrigger().isOccurring(
-      TriggerProperty.getSparseArray(previousRouteProgress, routeProgress))) {
+    if (triggerContext.isOccurring(builder.getTrigger())) {
       called = true;
       return true;
     }
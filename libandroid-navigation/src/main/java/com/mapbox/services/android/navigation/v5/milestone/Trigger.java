@@ -34,6 +34,28 @@ public class Trigger {
      * @since 0.4.0
      */
     public abstract boolean isOccurring(SparseArray<Number[]> statementObjects);
+
+    /**
+     * Validates whether the statement meets the specified trigger criteria, reading the current
+     * property values from the given {@link TriggerContext}.
+     * <p>
+     * Statements which don't override this are validated with {@link #isOccurring(SparseArray)}.
+     *
+     * @param triggerContext holding the current value of each {@link TriggerProperty}
+     * @return true if the statement is valid, otherwise false
+     * @since 0.23.0
+     */
+    public boolean isOccurring(TriggerContext triggerContext) {
+      return isOccurring(triggerContext.retrieveStatementObjects());
+    }
+
+    /**
+     * Adds this statement to a {@link TriggerProgram}. Statements which can't be compiled, such as
+     * statements created outside the SDK, leave the program evaluating the statement tree as is.
+     */
+    void compile(TriggerProgram.Builder builder) {
+      builder.addUncompiledStatement();
+    }
   }
 
   /*
@@ -62,6 +84,25 @@ public class Trigger {
       }
       return all;
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      boolean all = true;
+      for (Statement statement : statements) {
+        if (!statement.isOccurring(triggerContext)) {
+          all = false;
+        }
+      }
+      return all;
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      for (Statement statement : statements) {
+        statement.compile(builder);
+      }
+      builder.addAll(statements.length);
+    }
   }
 
   /**
@@ -85,6 +126,24 @@ public class Trigger {
       }
       return true;
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      for (Statement statement : statements) {
+        if (statement.isOccurring(triggerContext)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      for (Statement statement : statements) {
+        statement.compile(builder);
+      }
+      builder.addNone(statements.length);
+    }
   }
 
   /**
@@ -108,6 +167,24 @@ public class Trigger {
       }
       return false;
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      for (Statement statement : statements) {
+        if (statement.isOccurring(triggerContext)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      for (Statement statement : statements) {
+        statement.compile(builder);
+      }
+      builder.addAny(statements.length);
+    }
   }
 
   /*
@@ -123,16 +200,31 @@ public class Trigger {
   private static class GreaterThanStatement extends Statement {
     private final int key;
     private final Object value;
+    private final TriggerValue triggerValue;
 
     GreaterThanStatement(int key, Object value) {
       this.key = key;
       this.value = value;
+      this.triggerValue = new TriggerValue(value);
     }
 
     @Override
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.greaterThan(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      if (!hasPrimitiveValues(triggerContext, key, triggerValue)) {
+        return isOccurring(triggerContext.retrieveStatementObjects());
+      }
+      return Operation.greaterThan(triggerContext, key, triggerValue);
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      builder.addGreaterThan(key, triggerValue);
+    }
   }
 
   /**
@@ -144,16 +236,31 @@ public class Trigger {
   private static class GreaterThanEqualStatement extends Statement {
     private final int key;
     private final Object value;
+    private final TriggerValue triggerValue;
 
     GreaterThanEqualStatement(int key, Object value) {
       this.key = key;
       this.value = value;
+      this.triggerValue = new TriggerValue(value);
     }
 
     @Override
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.greaterThanEqual(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      if (!hasPrimitiveValues(triggerContext, key, triggerValue)) {
+        return isOccurring(triggerContext.retrieveStatementObjects());
+      }
+      return Operation.greaterThanEqual(triggerContext, key, triggerValue);
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      builder.addGreaterThanEqual(key, triggerValue);
+    }
   }
 
   /**
@@ -164,16 +271,31 @@ public class Trigger {
   private static class LessThanStatement extends Statement {
     private final int key;
     private final Object value;
+    private final TriggerValue triggerValue;
 
     LessThanStatement(int key, Object value) {
       this.key = key;
       this.value = value;
+      this.triggerValue = new TriggerValue(value);
     }
 
     @Override
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.lessThan(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      if (!hasPrimitiveValues(triggerContext, key, triggerValue)) {
+        return isOccurring(triggerContext.retrieveStatementObjects());
+      }
+      return Operation.lessThan(triggerContext, key, triggerValue);
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      builder.addLessThan(key, triggerValue);
+    }
   }
 
   /**
@@ -185,16 +307,31 @@ public class Trigger {
   private static class LessThanEqualStatement extends Statement {
     private final int key;
     private final Object value;
+    private final TriggerValue triggerValue;
 
     LessThanEqualStatement(int key, Object value) {
       this.key = key;
       this.value = value;
+      this.triggerValue = new TriggerValue(value);
     }
 
     @Override
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.lessThanEqual(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      if (!hasPrimitiveValues(triggerContext, key, triggerValue)) {
+        return isOccurring(triggerContext.retrieveStatementObjects());
+      }
+      return Operation.lessThanEqual(triggerContext, key, triggerValue);
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      builder.addLessThanEqual(key, triggerValue);
+    }
   }
 
   /**
@@ -205,16 +342,31 @@ public class Trigger {
   private static class NotEqualStatement extends Statement {
     private final int key;
     private final Object[] values;
+    private final TriggerValue triggerValue;
 
     NotEqualStatement(int key, Object... values) {
       this.key = key;
       this.values = values;
+      this.triggerValue = new TriggerValue(values[0]);
     }
 
     @Override
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.notEqual(statementObjects.get(key), (Number) values[0]);
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      if (!hasPrimitiveValues(triggerContext, key, triggerValue)) {
+        return isOccurring(triggerContext.retrieveStatementObjects());
+      }
+      return Operation.notEqual(triggerContext, key, triggerValue);
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      builder.addNotEqual(key, triggerValue);
+    }
   }
 
   /**
@@ -225,16 +377,39 @@ public class Trigger {
   private static class EqualStatement extends Statement {
     private final int key;
     private final Object value;
+    private final TriggerValue triggerValue;
 
     EqualStatement(int key, Object value) {
       this.key = key;
       this.value = value;
+      this.triggerValue = new TriggerValue(value);
     }
 
     @Override
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.equal(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    public boolean isOccurring(TriggerContext triggerContext) {
+      if (!hasPrimitiveValues(triggerContext, key, triggerValue)) {
+        return isOccurring(triggerContext.retrieveStatementObjects());
+      }
+      return Operation.equal(triggerContext, key, triggerValue);
+    }
+
+    @Override
+    void compile(TriggerProgram.Builder builder) {
+      builder.addEqual(key, triggerValue);
+    }
+  }
+
+  /**
+   * Unknown properties and non numeric values are left to {@link Statement#isOccurring(SparseArray)},
+   * so they fail the same way with either evaluation.
+   */
+  private static boolean hasPrimitiveValues(TriggerContext triggerContext, int key, TriggerValue triggerValue) {
+    return triggerContext.hasProperty(key) && triggerValue.isNumber();
   }
 
   /**
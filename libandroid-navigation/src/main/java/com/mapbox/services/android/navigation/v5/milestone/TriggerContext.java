@@ -0,0 +1,208 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
+
+import java.util.Map;
+
+/**
+ * Holds the current value of each {@link TriggerProperty} as primitives, so the same values can be
+ * shared by every {@link Trigger.Statement} evaluated for a {@link RouteProgress} update.
+ * <p>
+ * Values are computed the first time a statement reads them. A context should only be used on the
+ * thread that created it.
+ *
+ * @since 0.23.0
+ */
+public final class TriggerContext {
+
+  private static final int PROPERTY_COUNT = TriggerProperty.NEXT_STEP_DURATION_SECONDS + 1;
+  private static final byte NO_PROPERTY = 0;
+  private static final byte DECIMAL_PROPERTY = 1;
+  private static final byte INTEGER_PROPERTY = 2;
+  private static final byte INTEGER_PAIR_PROPERTY = 3;
+  private static final int FIRST_INDEX = 0;
+  private static final int TWO_STEPS = 2;
+  private static final int ONE_LEG = 1;
+  private static final long NO_UPDATE = 0;
+  private static final int SUPPORTED_PROPERTIES = 1 << TriggerProperty.STEP_DURATION_REMAINING_SECONDS
+    | 1 << TriggerProperty.STEP_DISTANCE_REMAINING_METERS
+    | 1 << TriggerProperty.STEP_DISTANCE_TOTAL_METERS
+    | 1 << TriggerProperty.STEP_DURATION_TOTAL_SECONDS
+    | 1 << TriggerProperty.STEP_DISTANCE_TRAVELED_METERS
+    | 1 << TriggerProperty.STEP_INDEX
+    | 1 << TriggerProperty.NEW_STEP
+    | 1 << TriggerProperty.LAST_STEP
+    | 1 << TriggerProperty.FIRST_STEP
+    | 1 << TriggerProperty.NEXT_STEP_DISTANCE_METERS
+    | 1 << TriggerProperty.NEXT_STEP_DURATION_SECONDS
+    | 1 << TriggerProperty.FIRST_LEG
+    | 1 << TriggerProperty.LAST_LEG;
+
+  private final RouteProgress previousRouteProgress;
+  private final RouteProgress routeProgress;
+  private final long update;
+  private final Map<Trigger.Statement, TriggerProgram> programs;
+  private final double[] values = new double[PROPERTY_COUNT];
+  private final double[] comparedValues = new double[PROPERTY_COUNT];
+  private final byte[] types = new byte[PROPERTY_COUNT];
+  private boolean hasValues;
+  private SparseArray<Number[]> statementObjects;
+
+  private TriggerContext(RouteProgress previousRouteProgress, RouteProgress routeProgress, long update,
+                         Map<Trigger.Statement, TriggerProgram> programs) {
+    this.previousRouteProgress = previousRouteProgress;
+    this.routeProgress = routeProgress;
+    this.update = update;
+    this.programs = programs;
+  }
+
+  /**
+   * Creates a context for evaluating triggers against the given progress update.
+   *
+   * @param previousRouteProgress last generated {@link RouteProgress}, used for {@link TriggerProperty#NEW_STEP}
+   * @param routeProgress         used to determine the remaining {@link TriggerProperty}s
+   * @return a new context
+   * @since 0.23.0
+   */
+  public static TriggerContext create(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    return new TriggerContext(previousRouteProgress, routeProgress, NO_UPDATE, null);
+  }
+
+  /**
+   * Creates a context for the given update number, which evaluates statements with their compiled
+   * {@link TriggerProgram} if one exists.
+   */
+  static TriggerContext create(RouteProgress previousRouteProgress, RouteProgress routeProgress, long update,
+                               Map<Trigger.Statement, TriggerProgram> programs) {
+    return new TriggerContext(previousRouteProgress, routeProgress, update, programs);
+  }
+
+  static boolean isSupportedProperty(int key) {
+    return key >= FIRST_INDEX && key < PROPERTY_COUNT && (SUPPORTED_PROPERTIES & 1 << key) != 0;
+  }
+
+  /**
+   * Validates the given statement against this context, with its compiled {@link TriggerProgram}
+   * when the context was created by a {@link MilestoneEngine}.
+   */
+  boolean isOccurring(Trigger.Statement statement) {
+    TriggerProgram program = programs == null ? null : programs.get(statement);
+    if (program == null) {
+      return statement.isOccurring(this);
+    }
+    return program.isOccurring(this);
+  }
+
+  long retrieveUpdate() {
+    return update;
+  }
+
+  /**
+   * @param previousContext of the previous update, or null if there is none
+   * @return bits set at the key of each property whose value differs from the previous context
+   */
+  int findChangedProperties(TriggerContext previousContext) {
+    if (previousContext == null) {
+      return TriggerProgram.ALL_PROPERTIES;
+    }
+    computeValues();
+    previousContext.computeValues();
+    int changedProperties = TriggerProgram.NO_PROPERTIES;
+    for (int key = FIRST_INDEX; key < PROPERTY_COUNT; key++) {
+      boolean isChanged = types[key] != previousContext.types[key]
+        || values[key] != previousContext.values[key]
+        || comparedValues[key] != previousContext.comparedValues[key];
+      if (isChanged) {
+        changedProperties |= 1 << key;
+      }
+    }
+    return changedProperties;
+  }
+
+  boolean hasProperty(int key) {
+    return key >= FIRST_INDEX && key < PROPERTY_COUNT && retrieveType(key) != NO_PROPERTY;
+  }
+
+  boolean isPair(int key) {
+    return retrieveType(key) == INTEGER_PAIR_PROPERTY;
+  }
+
+  boolean isInteger(int key) {
+    return retrieveType(key) == INTEGER_PROPERTY;
+  }
+
+  double retrieveValue(int key) {
+    computeValues();
+    return values[key];
+  }
+
+  double retrieveComparedValue(int key) {
+    computeValues();
+    return comparedValues[key];
+  }
+
+  /**
+   * The same values in the format used by {@link Trigger.Statement#isOccurring(SparseArray)}, built
+   * only if a statement without a primitive evaluation needs them.
+   */
+  SparseArray<Number[]> retrieveStatementObjects() {
+    if (statementObjects == null) {
+      statementObjects = TriggerProperty.getSparseArray(previousRouteProgress, routeProgress);
+    }
+    return statementObjects;
+  }
+
+  private byte retrieveType(int key) {
+    computeValues();
+    return types[key];
+  }
+
+  private void computeValues() {
+    if (hasValues) {
+      return;
+    }
+    hasValues = true;
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    RouteStepProgress stepProgress = legProgress.currentStepProgress();
+    LegStep currentStep = legProgress.currentStep();
+    LegStep upcomingStep = legProgress.upComingStep();
+    int stepIndex = legProgress.stepIndex();
+    int legIndex = routeProgress.legIndex();
+
+    putDecimal(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, currentStep.distance());
+    putDecimal(TriggerProperty.STEP_DURATION_TOTAL_SECONDS, currentStep.duration());
+    putDecimal(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, stepProgress.distanceRemaining());
+    putDecimal(TriggerProperty.STEP_DURATION_REMAINING_SECONDS, stepProgress.durationRemaining());
+    putDecimal(TriggerProperty.STEP_DISTANCE_TRAVELED_METERS, stepProgress.distanceTraveled());
+    putInteger(TriggerProperty.STEP_INDEX, stepIndex);
+    putIntegerPair(TriggerProperty.NEW_STEP, previousRouteProgress.currentLegProgress().stepIndex(), stepIndex);
+    putIntegerPair(TriggerProperty.LAST_STEP, stepIndex, routeProgress.currentLeg().steps().size() - TWO_STEPS);
+    putIntegerPair(TriggerProperty.FIRST_STEP, stepIndex, FIRST_INDEX);
+    putDecimal(TriggerProperty.NEXT_STEP_DURATION_SECONDS, upcomingStep != null ? upcomingStep.duration() : 0);
+    putDecimal(TriggerProperty.NEXT_STEP_DISTANCE_METERS, upcomingStep != null ? upcomingStep.distance() : 0);
+    // Shares its key with STEP_DISTANCE_TRAVELED_METERS and replaces it, as in TriggerProperty#getSparseArray
+    putIntegerPair(TriggerProperty.FIRST_LEG, legIndex, FIRST_INDEX);
+    putIntegerPair(TriggerProperty.LAST_LEG, legIndex, routeProgress.directionsRoute().legs().size() - ONE_LEG);
+  }
+
+  private void putDecimal(int key, double value) {
+    types[key] = DECIMAL_PROPERTY;
+    values[key] = value;
+  }
+
+  private void putInteger(int key, int value) {
+    types[key] = INTEGER_PROPERTY;
+    values[key] = value;
+  }
+
+  private void putIntegerPair(int key, int value, int comparedValue) {
+    types[key] = INTEGER_PAIR_PROPERTY;
+    values[key] = value;
+    comparedValues[key] = comparedValue;
+  }
+}
@@ -0,0 +1,23 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+/**
+ * Milestone triggers reading the same {@link TriggerProperty}s, which are all unchanged if none of
+ * those properties changed since the previous update.
+ */
+class TriggerGroup {
+
+  private final int properties;
+  private boolean isUnchanged;
+
+  TriggerGroup(int properties) {
+    this.properties = properties;
+  }
+
+  void update(int changedProperties) {
+    isUnchanged = (properties & changedProperties) == TriggerProgram.NO_PROPERTIES;
+  }
+
+  boolean isUnchanged() {
+    return isUnchanged;
+  }
+}
@@ -0,0 +1,207 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Trigger.Statement} tree compiled into a flat list of operations in postfix order, which
+ * is evaluated with a single loop rather than a virtual call for each statement.
+ * <p>
+ * Trees holding statements which can't be compiled, such as custom statements, are evaluated as is.
+ * <p>
+ * The program also knows which {@link TriggerProperty}s it reads. The previous result is returned if the
+ * program was already evaluated for this update, or for the previous update with none of those properties
+ * changed since.
+ */
+class TriggerProgram {
+
+  static final int ALL_PROPERTIES = -1;
+  static final int NO_PROPERTIES = 0;
+
+  private static final byte EQUAL = 0;
+  private static final byte NOT_EQUAL = 1;
+  private static final byte GREATER_THAN = 2;
+  private static final byte GREATER_THAN_EQUAL = 3;
+  private static final byte LESS_THAN = 4;
+  private static final byte LESS_THAN_EQUAL = 5;
+  private static final byte ALL = 6;
+  private static final byte ANY = 7;
+  private static final byte NONE = 8;
+  private static final long NOT_EVALUATED = Long.MIN_VALUE;
+  private static final long ONE_UPDATE = 1;
+
+  private final byte[] operations;
+  private final int[] arguments;
+  private final TriggerValue[] values;
+  private final Trigger.Statement statement;
+  private final boolean isCompiled;
+  private final int properties;
+  private final boolean[] stack;
+  private TriggerGroup group;
+  private long lastUpdate = NOT_EVALUATED;
+  private boolean lastResult;
+
+  private TriggerProgram(Trigger.Statement statement, Builder builder) {
+    this.statement = statement;
+    isCompiled = builder.isCompilable;
+    int size = builder.operations.size();
+    operations = new byte[size];
+    arguments = new int[size];
+    values = builder.values.toArray(new TriggerValue[size]);
+    for (int i = 0; i < size; i++) {
+      operations[i] = builder.operations.get(i);
+      arguments[i] = builder.arguments.get(i);
+    }
+    properties = isCompiled ? builder.properties : ALL_PROPERTIES;
+    stack = new boolean[size];
+  }
+
+  static TriggerProgram compile(Trigger.Statement statement) {
+    Builder builder = new Builder();
+    statement.compile(builder);
+    return new TriggerProgram(statement, builder);
+  }
+
+  int retrieveProperties() {
+    return properties;
+  }
+
+  void updateGroup(TriggerGroup group) {
+    this.group = group;
+  }
+
+  boolean isOccurring(TriggerContext triggerContext) {
+    long update = triggerContext.retrieveUpdate();
+    boolean isSameUpdate = lastUpdate == update;
+    boolean isUnchangedSincePreviousUpdate = group != null && group.isUnchanged()
+      && lastUpdate == update - ONE_UPDATE;
+    boolean isPreviousResultValid = lastUpdate != NOT_EVALUATED && (isSameUpdate || isUnchangedSincePreviousUpdate);
+    if (!isPreviousResultValid) {
+      lastResult = evaluate(triggerContext);
+    }
+    lastUpdate = update;
+    return lastResult;
+  }
+
+  private boolean evaluate(TriggerContext triggerContext) {
+    if (!isCompiled) {
+      return statement.isOccurring(triggerContext);
+    }
+    int stackSize = 0;
+    for (int i = 0; i < operations.length; i++) {
+      byte operation = operations[i];
+      if (operation == ALL || operation == ANY || operation == NONE) {
+        int count = arguments[i];
+        stackSize -= count;
+        stack[stackSize] = evaluateCompound(operation, stackSize, count);
+      } else {
+        stack[stackSize] = evaluateComparison(operation, arguments[i], values[i], triggerContext);
+      }
+      stackSize++;
+    }
+    return stack[0];
+  }
+
+  private boolean evaluateCompound(byte operation, int first, int count) {
+    boolean all = true;
+    boolean any = false;
+    for (int i = first; i < first + count; i++) {
+      all &= stack[i];
+      any |= stack[i];
+    }
+    if (operation == ALL) {
+      return all;
+    } else if (operation == ANY) {
+      return any;
+    }
+    return !any;
+  }
+
+  private boolean evaluateComparison(byte operation, int key, TriggerValue value, TriggerContext triggerContext) {
+    switch (operation) {
+      case EQUAL:
+        return Operation.equal(triggerContext, key, value);
+      case NOT_EQUAL:
+        return Operation.notEqual(triggerContext, key, value);
+      case GREATER_THAN:
+        return Operation.greaterThan(triggerContext, key, value);
+      case GREATER_THAN_EQUAL:
+        return Operation.greaterThanEqual(triggerContext, key, value);
+      case LESS_THAN:
+        return Operation.lessThan(triggerContext, key, value);
+      default:
+        return Operation.lessThanEqual(triggerContext, key, value);
+    }
+  }
+
+  /**
+   * Collects the operations of a program while {@link Trigger.Statement#compile(Builder)} walks the
+   * statement tree.
+   */
+  static class Builder {
+
+    private final List<Byte> operations = new ArrayList<>();
+    private final List<Integer> arguments = new ArrayList<>();
+    private final List<TriggerValue> values = new ArrayList<>();
+    private int properties = NO_PROPERTIES;
+    private boolean isCompilable = true;
+
+    void addEqual(int key, TriggerValue value) {
+      addComparison(EQUAL, key, value);
+    }
+
+    void addNotEqual(int key, TriggerValue value) {
+      addComparison(NOT_EQUAL, key, value);
+    }
+
+    void addGreaterThan(int key, TriggerValue value) {
+      addComparison(GREATER_THAN, key, value);
+    }
+
+    void addGreaterThanEqual(int key, TriggerValue value) {
+      addComparison(GREATER_THAN_EQUAL, key, value);
+    }
+
+    void addLessThan(int key, TriggerValue value) {
+      addComparison(LESS_THAN, key, value);
+    }
+
+    void addLessThanEqual(int key, TriggerValue value) {
+      addComparison(LESS_THAN_EQUAL, key, value);
+    }
+
+    /**
+     * Marks the tree as not compilable, for statements which can only be evaluated as is.
+     */
+    void addUncompiledStatement() {
+      isCompilable = false;
+    }
+
+    void addAll(int count) {
+      add(ALL, count, null);
+    }
+
+    void addAny(int count) {
+      add(ANY, count, null);
+    }
+
+    void addNone(int count) {
+      add(NONE, count, null);
+    }
+
+    private void addComparison(byte operation, int key, TriggerValue value) {
+      if (!TriggerContext.isSupportedProperty(key) || !value.isNumber()) {
+        addUncompiledStatement();
+        return;
+      }
+      add(operation, key, value);
+      properties |= 1 << key;
+    }
+
+    private void add(byte operation, int argument, TriggerValue value) {
+      operations.add(operation);
+      arguments.add(argument);
+      values.add(value);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+/**
+ * The value a {@link Trigger.Statement} compares a {@link TriggerProperty} against, unboxed once
+ * when the statement is created.
+ */
+class TriggerValue {
+
+  private final boolean isNumber;
+  private final boolean isInteger;
+  private final boolean isDecimal;
+  private final boolean isTrue;
+  private final double value;
+
+  TriggerValue(Object value) {
+    isNumber = value instanceof Number;
+    isInteger = value instanceof Integer;
+    isDecimal = value instanceof Double;
+    isTrue = isInteger && (Integer) value == TriggerProperty.TRUE;
+    this.value = isNumber ? ((Number) value).doubleValue() : 0;
+  }
+
+  boolean isNumber() {
+    return isNumber;
+  }
+
+  boolean isTrue() {
+    return isTrue;
+  }
+
+  double value() {
+    return value;
+  }
+
+  /**
+   * Matches {@link Number#equals(Object)} between the property and this value, which are only equal
+   * if both are of the same type.
+   */
+  boolean isEqualTo(TriggerContext context, int key) {
+    double propertyValue = context.retrieveValue(key);
+    if (context.isInteger(key)) {
+      return isInteger && propertyValue == value;
+    }
+    return isDecimal && Double.doubleToLongBits(propertyValue) == Double.doubleToLongBits(value);
+  }
+}
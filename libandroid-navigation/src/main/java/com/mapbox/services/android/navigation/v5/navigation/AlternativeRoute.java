@@ -0,0 +1,68 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.Date;
+
+/**
+ * A route the user may take instead of the one being navigated. It has its own {@link MapboxNavigator},
+ * given the same locations as the navigated route, so its status is always up to date. Its
+ * {@link RouteProgress} is only built when asked for, once the user is off the navigated route.
+ */
+class AlternativeRoute {
+
+  private final DirectionsRoute route;
+  private final RouteGeometryIndex routeGeometryIndex;
+  private final MapboxNavigator mapboxNavigator;
+  private final NavigationRouteProcessor routeProcessor = new NavigationRouteProcessor();
+  private NavigationStatus status;
+  private RouteProgress routeProgress;
+
+  AlternativeRoute(DirectionsRoute route, RouteGeometryIndex routeGeometryIndex, MapboxNavigator mapboxNavigator) {
+    this.route = route;
+    this.routeGeometryIndex = routeGeometryIndex;
+    this.mapboxNavigator = mapboxNavigator;
+  }
+
+  void updateStatus(long timeInMilliseconds, long lagInMilliseconds) {
+    status = mapboxNavigator.retrieveStatus(new Date(timeInMilliseconds), lagInMilliseconds);
+    routeProgress = null;
+  }
+
+  DirectionsRoute retrieveRoute() {
+    return route;
+  }
+
+  RouteGeometryIndex retrieveRouteGeometryIndex() {
+    return routeGeometryIndex;
+  }
+
+  MapboxNavigator retrieveMapboxNavigator() {
+    return mapboxNavigator;
+  }
+
+  /**
+   * @return status of the last update, or null if there hasn't been one
+   */
+  @Nullable
+  NavigationStatus retrieveStatus() {
+    return status;
+  }
+
+  /**
+   * Builds the progress of the last update the first time it is asked for.
+   *
+   * @return progress of the last update, or null if there hasn't been one
+   */
+  @Nullable
+  RouteProgress retrieveRouteProgress() {
+    if (routeProgress == null && status != null) {
+      routeProgress = routeProcessor.buildNewRouteProgress(status, routeGeometryIndex);
+    }
+    return routeProgress;
+  }
+}
@@ -0,0 +1,103 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@link AlternativeRoute}s tracked alongside the route being navigated.
+ * <p>
+ * Locations are given from the location thread, while statuses are updated and routes are switched
+ * on the route processor thread.
+ */
+class AlternativeRoutes {
+
+  private final List<AlternativeRoute> alternativeRoutes = new CopyOnWriteArrayList<>();
+
+  /**
+   * Tracks the given routes in place of the current ones, whose navigators are released.
+   */
+  void updateRoutes(List<AlternativeRoute> alternativeRoutes) {
+    List<AlternativeRoute> previousRoutes = retrieveRoutes();
+    this.alternativeRoutes.clear();
+    this.alternativeRoutes.addAll(alternativeRoutes);
+    previousRoutes.removeAll(alternativeRoutes);
+    release(previousRoutes);
+  }
+
+  /**
+   * Stops tracking every route and releases their navigators.
+   */
+  void clear() {
+    List<AlternativeRoute> previousRoutes = retrieveRoutes();
+    alternativeRoutes.clear();
+    release(previousRoutes);
+  }
+
+  boolean isEmpty() {
+    return alternativeRoutes.isEmpty();
+  }
+
+  List<AlternativeRoute> retrieveRoutes() {
+    return new ArrayList<>(alternativeRoutes);
+  }
+
+  void updateLocation(Location location) {
+    for (AlternativeRoute alternativeRoute : alternativeRoutes) {
+      alternativeRoute.retrieveMapboxNavigator().updateLocation(location);
+    }
+  }
+
+  void updateLocations(List<Location> locations) {
+    for (AlternativeRoute alternativeRoute : alternativeRoutes) {
+      alternativeRoute.retrieveMapboxNavigator().updateLocations(locations);
+    }
+  }
+
+  /**
+   * Turns history recording on or off for the navigators which don't already match, so the history
+   * recorded since they were created is kept.
+   */
+  void updateHistoryRecording(boolean isEnabled) {
+    for (AlternativeRoute alternativeRoute : alternativeRoutes) {
+      MapboxNavigator mapboxNavigator = alternativeRoute.retrieveMapboxNavigator();
+      if (mapboxNavigator.isHistoryEnabled() != isEnabled) {
+        mapboxNavigator.toggleHistory(isEnabled);
+      }
+    }
+  }
+
+  void toggleHistory(boolean isEnabled) {
+    for (AlternativeRoute alternativeRoute : alternativeRoutes) {
+      alternativeRoute.retrieveMapboxNavigator().toggleHistory(isEnabled);
+    }
+  }
+
+  void updateStatus(long timeInMilliseconds, long lagInMilliseconds) {
+    for (AlternativeRoute alternativeRoute : alternativeRoutes) {
+      alternativeRoute.updateStatus(timeInMilliseconds, lagInMilliseconds);
+    }
+  }
+
+  /**
+   * Puts the previously navigated route in the place of the alternative which was taken, so it is still
+   * tracked if the user goes back to it.
+   *
+   * @param takenRoute    alternative which is now navigated
+   * @param previousRoute route which was navigated until now
+   */
+  void replace(AlternativeRoute takenRoute, AlternativeRoute previousRoute) {
+    int index = alternativeRoutes.indexOf(takenRoute);
+    if (index >= 0) {
+      alternativeRoutes.set(index, previousRoute);
+    }
+  }
+
+  private void release(List<AlternativeRoute> routes) {
+    for (AlternativeRoute route : routes) {
+      route.retrieveMapboxNavigator().release();
+    }
+  }
+}
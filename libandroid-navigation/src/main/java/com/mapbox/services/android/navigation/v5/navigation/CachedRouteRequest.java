@@ -0,0 +1,108 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.MapboxDirections;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+
+import java.util.concurrent.Executor;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Answers the request of a {@link NavigationRoute} from its {@link DirectionsCache} when the route
+ * was cached, and otherwise from the network, caching the response.
+ * <p>
+ * The cache is read and written on the disk executor, and the callback is notified on the callback
+ * executor, which is expected to be the thread Retrofit notifies callbacks on.
+ */
+class CachedRouteRequest {
+
+  private static final String RESPONSE_CODE_OK = "Ok";
+
+  private final MapboxDirections mapboxDirections;
+  private final DirectionsCache directionsCache;
+  private final Executor diskExecutor;
+  private final Executor callbackExecutor;
+
+  CachedRouteRequest(MapboxDirections mapboxDirections, DirectionsCache directionsCache,
+                     Executor diskExecutor, Executor callbackExecutor) {
+    this.mapboxDirections = mapboxDirections;
+    this.directionsCache = directionsCache;
+    this.diskExecutor = diskExecutor;
+    this.callbackExecutor = callbackExecutor;
+  }
+
+  void enqueue(final Callback<DirectionsResponse> callback) {
+    final Call<DirectionsResponse> call = mapboxDirections.cloneCall();
+    final String key = DirectionsCache.buildKey(call.request().url());
+    final String accessToken = DirectionsCache.retrieveAccessToken(call.request().url());
+    diskExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        DirectionsResponse cachedResponse = directionsCache.retrieve(key, accessToken);
+        if (cachedResponse == null) {
+          mapboxDirections.enqueueCall(new CachingCallback(key, callback));
+          return;
+        }
+        notifyCachedResponse(call, cachedResponse, callback);
+        if (directionsCache.shouldRevalidate()) {
+          mapboxDirections.enqueueCall(new CachingCallback(key, null));
+        }
+      }
+    });
+  }
+
+  private void notifyCachedResponse(final Call<DirectionsResponse> call, final DirectionsResponse response,
+                                    final Callback<DirectionsResponse> callback) {
+    callbackExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        callback.onResponse(call, Response.success(response));
+      }
+    });
+  }
+
+  private void cache(final String key, Response<DirectionsResponse> response) {
+    final DirectionsResponse body = response.body();
+    if (!response.isSuccessful() || body == null || !RESPONSE_CODE_OK.equals(body.code())
+      || body.routes() == null || body.routes().isEmpty()) {
+      return;
+    }
+    diskExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        directionsCache.store(key, body);
+      }
+    });
+  }
+
+  /**
+   * Caches successful responses before handing them to the callback, if any.
+   */
+  private class CachingCallback implements Callback<DirectionsResponse> {
+
+    private final String key;
+    private final Callback<DirectionsResponse> callback;
+
+    CachingCallback(String key, Callback<DirectionsResponse> callback) {
+      this.key = key;
+      this.callback = callback;
+    }
+
+    @Override
+    public void onResponse(Call<DirectionsResponse> call, Response<DirectionsResponse> response) {
+      cache(key, response);
+      if (callback != null) {
+        callback.onResponse(call, response);
+      }
+    }
+
+    @Override
+    public void onFailure(Call<DirectionsResponse> call, Throwable throwable) {
+      if (callback != null) {
+        callback.onFailure(call, throwable);
+      }
+    }
+  }
+}
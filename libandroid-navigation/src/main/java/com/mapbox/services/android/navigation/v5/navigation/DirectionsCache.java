@@ -0,0 +1,319 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import okhttp3.HttpUrl;
+import timber.log.Timber;
+
+/**
+ * Keeps the directions responses of {@link NavigationRoute} requests on disk, so requesting the
+ * same route again is answered right away, without going to the network.
+ * <p>
+ * Responses are kept for the given time to live, and the least recently used ones are deleted once
+ * all of them take more than the given size budget. Requests are matched once normalized: the
+ * coordinates are rounded to about a meter and the access token is left out, while the profile,
+ * annotations, exclusions, approaches and any other parameter of the request have to be the same.
+ * <p>
+ * The access token and request identifier are removed from the route options before a response is
+ * written. A response read back gets the access token of the request it answers, and no request
+ * identifier, as it doesn't answer the request it was first received for.
+ * <p>
+ * With revalidation, a request answered from the cache is still sent to the network in the
+ * background, and the fresh response replaces the cached one for the next time.
+ *
+ * @since 0.23.0
+ */
+public class DirectionsCache {
+
+  private static final String FILE_SUFFIX = ".directions";
+  private static final String ACCESS_TOKEN_PARAMETER = "access_token";
+  private static final String REQUEST_UUID_PROPERTY = "uuid";
+  private static final String NO_ACCESS_TOKEN = "";
+  private static final String NO_REQUEST_UUID = "";
+  private static final String COORDINATE_SEPARATOR = ";";
+  private static final String LONGITUDE_LATITUDE_SEPARATOR = ",";
+  private static final String COORDINATE_FORMAT = "%.5f";
+  private static final String KEY_DIGEST_ALGORITHM = "SHA-1";
+  private static final String INVALID_SIZE_BUDGET = "Size budget must be greater than 0.";
+  private static final String INVALID_TIME_TO_LIVE = "Time to live must be greater than 0.";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final FilenameFilter RESPONSE_FILE_FILTER = new FilenameFilter() {
+    @Override
+    public boolean accept(File directory, String name) {
+      return name.endsWith(FILE_SUFFIX);
+    }
+  };
+  private static final Comparator<File> LEAST_RECENTLY_USED_FIRST = new Comparator<File>() {
+    @Override
+    public int compare(File first, File second) {
+      long firstUsed = first.lastModified();
+      long secondUsed = second.lastModified();
+      return firstUsed < secondUsed ? -1 : (firstUsed == secondUsed ? 0 : 1);
+    }
+  };
+
+  private final File directory;
+  private final long sizeBudgetInBytes;
+  private final long timeToLiveInMillis;
+  private final boolean revalidate;
+  private final NavigationClock clock;
+
+  /**
+   * Creates a cache keeping its responses in the given directory, which should be used by this
+   * cache only.
+   *
+   * @param directory          where responses are written, created if needed
+   * @param sizeBudgetInBytes  of all the responses, beyond which the least recently used are deleted
+   * @param timeToLiveInMillis after which a response is no longer served
+   * @param revalidate         true to still request routes answered from the cache in the background
+   * @since 0.23.0
+   */
+  public DirectionsCache(@NonNull File directory, long sizeBudgetInBytes, long timeToLiveInMillis,
+                         boolean revalidate) {
+    this(directory, sizeBudgetInBytes, timeToLiveInMillis, revalidate, new SystemNavigationClock());
+  }
+
+  DirectionsCache(File directory, long sizeBudgetInBytes, long timeToLiveInMillis, boolean revalidate,
+                  NavigationClock clock) {
+    if (sizeBudgetInBytes <= 0) {
+      throw new IllegalArgumentException(INVALID_SIZE_BUDGET);
+    }
+    if (timeToLiveInMillis <= 0) {
+      throw new IllegalArgumentException(INVALID_TIME_TO_LIVE);
+    }
+    this.directory = directory;
+    this.sizeBudgetInBytes = sizeBudgetInBytes;
+    this.timeToLiveInMillis = timeToLiveInMillis;
+    this.revalidate = revalidate;
+    this.clock = clock;
+  }
+
+  /**
+   * Deletes every cached response.
+   *
+   * @since 0.23.0
+   */
+  public synchronized void clear() {
+    for (File file : retrieveFiles()) {
+      deleteFile(file);
+    }
+  }
+
+  boolean shouldRevalidate() {
+    return revalidate;
+  }
+
+  /**
+   * @param requestUrl of a directions request
+   * @return the request without its access token and with rounded coordinates, equal for requests
+   * which can be answered with the same response
+   */
+  static String buildKey(HttpUrl requestUrl) {
+    HttpUrl.Builder urlBuilder = requestUrl.newBuilder().removeAllQueryParameters(ACCESS_TOKEN_PARAMETER);
+    List<String> segments = requestUrl.pathSegments();
+    if (!segments.isEmpty()) {
+      int coordinatesIndex = segments.size() - 1;
+      urlBuilder.setPathSegment(coordinatesIndex, roundCoordinates(segments.get(coordinatesIndex)));
+    }
+    HttpUrl url = urlBuilder.build();
+    List<String> parameterNames = new ArrayList<>(url.queryParameterNames());
+    Collections.sort(parameterNames);
+    StringBuilder key = new StringBuilder(url.encodedPath());
+    for (String name : parameterNames) {
+      for (String value : url.queryParameterValues(name)) {
+        key.append('&').append(name).append('=').append(value);
+      }
+    }
+    return key.toString();
+  }
+
+  /**
+   * @param requestUrl of a directions request
+   * @return the access token of the request, or an empty string if it has none
+   */
+  static String retrieveAccessToken(HttpUrl requestUrl) {
+    String accessToken = requestUrl.queryParameter(ACCESS_TOKEN_PARAMETER);
+    return accessToken != null ? accessToken : NO_ACCESS_TOKEN;
+  }
+
+  /**
+   * @param key         of the request, built with {@link #buildKey(HttpUrl)}
+   * @param accessToken of the request, set in the route options of the cached response
+   * @return the cached response, or null if there is none or it expired
+   */
+  @Nullable
+  synchronized DirectionsResponse retrieve(String key, String accessToken) {
+    File file = new File(directory, buildFileName(key));
+    if (!file.isFile()) {
+      return null;
+    }
+    try {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+      try {
+        String storedKey = reader.readLine();
+        long storedTime = Long.parseLong(reader.readLine());
+        if (!key.equals(storedKey) || clock.currentTimeMillis() - storedTime >= timeToLiveInMillis) {
+          deleteFile(file);
+          return null;
+        }
+        DirectionsResponse response = DirectionsResponse.fromJson(reader.readLine());
+        file.setLastModified(clock.currentTimeMillis());
+        return updateRouteOptions(response, accessToken);
+      } finally {
+        reader.close();
+      }
+    } catch (IOException | RuntimeException exception) {
+      Timber.e(exception, "Failed to read the cached directions response");
+      deleteFile(file);
+      return null;
+    }
+  }
+
+  /**
+   * Caches the response of the request, then deletes the least recently used responses over the
+   * size budget.
+   *
+   * @param key      of the request, built with {@link #buildKey(HttpUrl)}
+   * @param response to cache
+   */
+  synchronized void store(String key, DirectionsResponse response) {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      Timber.e("Failed to create the directions cache directory %s", directory);
+      return;
+    }
+    File file = new File(directory, buildFileName(key));
+    try {
+      Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+      try {
+        writer.write(key);
+        writer.write('\n');
+        writer.write(String.valueOf(clock.currentTimeMillis()));
+        writer.write('\n');
+        writer.write(updateRouteOptions(response, NO_ACCESS_TOKEN).toJson());
+      } finally {
+        writer.close();
+      }
+      file.setLastModified(clock.currentTimeMillis());
+    } catch (IOException exception) {
+      Timber.e(exception, "Failed to cache the directions response");
+      deleteFile(file);
+    }
+    deleteFilesOverBudget(file);
+  }
+
+  /**
+   * @return the response with the given access token and no request identifier in the route options
+   */
+  private static DirectionsResponse updateRouteOptions(DirectionsResponse response, String accessToken) {
+    List<DirectionsRoute> routes = new ArrayList<>(response.routes().size());
+    boolean hasRouteOptions = false;
+    for (DirectionsRoute route : response.routes()) {
+      RouteOptions routeOptions = route.routeOptions();
+      if (routeOptions != null) {
+        hasRouteOptions = true;
+        // Route options can't be copied with a builder, so they're updated through their JSON
+        JsonObject routeOptionsJson = new JsonParser().parse(routeOptions.toJson()).getAsJsonObject();
+        routeOptionsJson.addProperty(ACCESS_TOKEN_PARAMETER, accessToken);
+        routeOptionsJson.addProperty(REQUEST_UUID_PROPERTY, NO_REQUEST_UUID);
+        route = route.toBuilder().routeOptions(RouteOptions.fromJson(routeOptionsJson.toString())).build();
+      }
+      routes.add(route);
+    }
+    return hasRouteOptions ? response.toBuilder().routes(routes).build() : response;
+  }
+
+  private static String roundCoordinates(String coordinates) {
+    String[] points = coordinates.split(COORDINATE_SEPARATOR, -1);
+    StringBuilder rounded = new StringBuilder(coordinates.length());
+    for (int index = 0; index < points.length; index++) {
+      if (index > 0) {
+        rounded.append(COORDINATE_SEPARATOR);
+      }
+      String[] values = points[index].split(LONGITUDE_LATITUDE_SEPARATOR, -1);
+      try {
+        for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+          values[valueIndex] = String.format(Locale.US, COORDINATE_FORMAT, Double.parseDouble(values[valueIndex]));
+        }
+        rounded.append(values[0]);
+        for (int valueIndex = 1; valueIndex < values.length; valueIndex++) {
+          rounded.append(LONGITUDE_LATITUDE_SEPARATOR).append(values[valueIndex]);
+        }
+      } catch (NumberFormatException exception) {
+        // Not a coordinate, kept as requested
+        rounded.append(points[index]);
+      }
+    }
+    return rounded.toString();
+  }
+
+  private static String buildFileName(String key) {
+    try {
+      byte[] digest = MessageDigest.getInstance(KEY_DIGEST_ALGORITHM).digest(key.getBytes(UTF_8));
+      StringBuilder fileName = new StringBuilder(digest.length * 2 + FILE_SUFFIX.length());
+      for (byte value : digest) {
+        fileName.append(String.format(Locale.US, "%02x", value));
+      }
+      return fileName.append(FILE_SUFFIX).toString();
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private List<File> retrieveFiles() {
+    File[] files = directory.listFiles(RESPONSE_FILE_FILTER);
+    if (files == null) {
+      return Collections.emptyList();
+    }
+    return new ArrayList<>(Arrays.asList(files));
+  }
+
+  private void deleteFilesOverBudget(File storedFile) {
+    List<File> files = retrieveFiles();
+    Collections.sort(files, LEAST_RECENTLY_USED_FIRST);
+    long totalSize = 0;
+    for (File file : files) {
+      totalSize += file.length();
+    }
+    for (File file : files) {
+      if (totalSize <= sizeBudgetInBytes) {
+        break;
+      }
+      if (!file.equals(storedFile)) {
+        totalSize -= file.length();
+        deleteFile(file);
+      }
+    }
+  }
+
+  private void deleteFile(File file) {
+    if (file.exists() && !file.delete()) {
+      Timber.w("Failed to delete the cached directions response %s", file);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.navigator.FixLocation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded single-producer / single-consumer queue of {@link FixLocation}s, which neither side
+ * blocks on.
+ * <p>
+ * {@link #offer(FixLocation)} must only be called from one thread at a time, and so must
+ * {@link #poll()}, but the two may be called concurrently.
+ */
+class FixLocationQueue {
+
+  private final FixLocation[] buffer;
+  private final int mask;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * @param capacity of the queue, rounded up to the next power of two
+   */
+  FixLocationQueue(int capacity) {
+    int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+    buffer = new FixLocation[size];
+    mask = size - 1;
+  }
+
+  /**
+   * @param fixLocation to be added to the end of the queue
+   * @return true if it was added, false if the queue is full
+   */
+  boolean offer(FixLocation fixLocation) {
+    long currentTail = tail.get();
+    if (currentTail - head.get() == buffer.length) {
+      return false;
+    }
+    buffer[(int) (currentTail & mask)] = fixLocation;
+    tail.lazySet(currentTail + 1);
+    return true;
+  }
+
+  /**
+   * @return the oldest fix in the queue, or null if it is empty
+   */
+  @Nullable
+  FixLocation poll() {
+    long currentHead = head.get();
+    if (currentHead == tail.get()) {
+      return null;
+    }
+    int index = (int) (currentHead & mask);
+    FixLocation fixLocation = buffer[index];
+    buffer[index] = null;
+    head.lazySet(currentHead + 1);
+    return fixLocation;
+  }
+
+  int size() {
+    return (int) (tail.get() - head.get());
+  }
+
+  int capacity() {
+    return buffer.length;
+  }
+}
@@ -0,0 +1,188 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import timber.log.Timber;
+
+/**
+ * Drains the history of the navigator to compressed files, so it doesn't grow in memory however
+ * long navigation lasts.
+ * <p>
+ * Each drain is appended to the current file as its own gzip member, followed by a new line, so a
+ * file decompresses to the history documents of its drains, oldest first, and stays readable up to
+ * its last drain if the app is killed. A new file is started once the current one reaches the file
+ * size limit, and the oldest files are deleted once all of them take more than the retention budget.
+ * <p>
+ * When navigation switches to the navigator of an alternative route, the recorder follows it. What the
+ * replaced navigator recorded since the last drain is taken right away, before the navigator can be
+ * released, and written with the next drain.
+ */
+class HistoryRecorder {
+
+  private static final String FILE_PREFIX = "history_";
+  private static final String FILE_SUFFIX = ".json.gz";
+  private static final byte[] DRAIN_SEPARATOR = {'\n'};
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final FilenameFilter HISTORY_FILE_FILTER = new FilenameFilter() {
+    @Override
+    public boolean accept(File directory, String name) {
+      return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+  };
+
+  private final List<String> replacedHistories = new ArrayList<>();
+  private MapboxNavigator navigator;
+  private final File directory;
+  private final long fileSizeLimitInBytes;
+  private final long retentionBudgetInBytes;
+  private final NavigationClock clock;
+  private File currentFile;
+  private boolean isStarted;
+
+  HistoryRecorder(MapboxNavigator navigator, File directory, long fileSizeLimitInBytes,
+                  long retentionBudgetInBytes, NavigationClock clock) {
+    this.navigator = navigator;
+    this.directory = directory;
+    this.fileSizeLimitInBytes = fileSizeLimitInBytes;
+    this.retentionBudgetInBytes = retentionBudgetInBytes;
+    this.clock = clock;
+  }
+
+  /**
+   * Starts recording the history of the navigator, dropping any history recorded before.
+   */
+  synchronized void start() {
+    isStarted = true;
+    navigator.toggleHistory(true);
+  }
+
+  /**
+   * Records the history of the given navigator from now on, in place of the current one, whose history
+   * since the last drain is kept for the next drain.
+   *
+   * @param navigator which replaced the current one
+   */
+  synchronized void updateNavigator(MapboxNavigator navigator) {
+    if (navigator == this.navigator) {
+      return;
+    }
+    replacedHistories.add(this.navigator.drainHistory());
+    this.navigator = navigator;
+    if (isStarted && !navigator.isHistoryEnabled()) {
+      navigator.toggleHistory(true);
+    }
+  }
+
+  /**
+   * Writes the history recorded since the last drain to the current file, then deletes the oldest
+   * files over the retention budget.
+   */
+  void drain() {
+    List<String> histories;
+    synchronized (this) {
+      histories = new ArrayList<>(replacedHistories);
+      replacedHistories.clear();
+      histories.add(navigator.drainHistory());
+    }
+    for (String history : histories) {
+      write(history);
+    }
+  }
+
+  private void write(String history) {
+    if (history == null || history.isEmpty()) {
+      return;
+    }
+    try {
+      writeHistory(history.getBytes(UTF_8));
+    } catch (IOException exception) {
+      Timber.e(exception, "Failed to write the navigation history");
+      currentFile = null;
+    }
+    deleteFilesOverBudget();
+  }
+
+  /**
+   * @return the history files, oldest first
+   */
+  List<File> retrieveFiles() {
+    File[] files = directory.listFiles(HISTORY_FILE_FILTER);
+    if (files == null) {
+      return Collections.emptyList();
+    }
+    Arrays.sort(files);
+    return new ArrayList<>(Arrays.asList(files));
+  }
+
+  private void writeHistory(byte[] history) throws IOException {
+    File file = obtainCurrentFile();
+    OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(file, true));
+    try {
+      outputStream.write(history);
+      outputStream.write(DRAIN_SEPARATOR);
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  private File obtainCurrentFile() throws IOException {
+    if (currentFile == null || currentFile.length() >= fileSizeLimitInBytes) {
+      currentFile = createFile();
+    }
+    return currentFile;
+  }
+
+  private File createFile() throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Failed to create the history directory " + directory);
+    }
+    // Named after their creation time, and always after the newest file, so names sort from oldest to newest
+    long time = clock.currentTimeMillis();
+    List<File> files = retrieveFiles();
+    if (!files.isEmpty()) {
+      time = Math.max(time, parseFileTime(files.get(files.size() - 1)) + 1);
+    }
+    return new File(directory, buildFileName(time));
+  }
+
+  private long parseFileTime(File file) {
+    String name = file.getName();
+    try {
+      return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    } catch (NumberFormatException exception) {
+      return 0L;
+    }
+  }
+
+  private String buildFileName(long time) {
+    return String.format(Locale.US, "%s%019d%s", FILE_PREFIX, time, FILE_SUFFIX);
+  }
+
+  private void deleteFilesOverBudget() {
+    List<File> files = retrieveFiles();
+    long totalSize = 0;
+    for (File file : files) {
+      totalSize += file.length();
+    }
+    for (File file : files) {
+      if (totalSize <= retentionBudgetInBytes || file.equals(currentFile)) {
+        break;
+      }
+      totalSize -= file.length();
+      if (!file.delete()) {
+        Timber.w("Failed to delete the history file %s", file);
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+
+/**
+ * Drains the navigator history with a {@link HistoryRecorder} at a fixed interval, on its own
+ * background thread so writing files never delays route processing.
+ */
+class HistoryRecorderThread extends HandlerThread {
+
+  private static final String HISTORY_RECORDER_THREAD_NAME = "mapbox_navigation_history_thread";
+  private final HistoryRecorder recorder;
+  private final long drainIntervalInMilliseconds;
+  private Handler workerHandler;
+  private final Runnable drainRunnable = new Runnable() {
+    @Override
+    public void run() {
+      recorder.drain();
+      workerHandler.postDelayed(this, drainIntervalInMilliseconds);
+    }
+  };
+
+  HistoryRecorderThread(HistoryRecorder recorder, long drainIntervalInMilliseconds) {
+    super(HISTORY_RECORDER_THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
+    this.recorder = recorder;
+    this.drainIntervalInMilliseconds = drainIntervalInMilliseconds;
+  }
+
+  @Override
+  public synchronized void start() {
+    super.start();
+    if (workerHandler == null) {
+      workerHandler = new Handler(getLooper());
+    }
+    workerHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        recorder.start();
+      }
+    });
+    workerHandler.postDelayed(drainRunnable, drainIntervalInMilliseconds);
+  }
+
+  /**
+   * Drains the history recorded since the last drain before the thread quits.
+   */
+  @Override
+  public boolean quit() {
+    if (!isAlive()) {
+      return super.quit();
+    }
+    workerHandler.removeCallbacks(drainRunnable);
+    workerHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        recorder.drain();
+        HistoryRecorderThread.super.quit();
+      }
+    });
+    return true;
+  }
+}
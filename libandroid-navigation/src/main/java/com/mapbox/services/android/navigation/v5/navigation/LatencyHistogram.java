@@ -0,0 +1,80 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Counts durations in microseconds into a fixed number of buckets, so recording never allocates.
+ * <p>
+ * Values below {@value #LINEAR_BUCKET_COUNT} have a bucket each, while every larger power of two is
+ * split into {@value #SUB_BUCKET_COUNT} buckets, so percentiles are exact for small values and within
+ * an eighth of the value for larger ones.
+ */
+class LatencyHistogram {
+
+  private static final int LINEAR_BUCKET_COUNT = 16;
+  private static final int LINEAR_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 8;
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int MAX_EXPONENT = 62;
+  private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT
+    + (MAX_EXPONENT - LINEAR_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+  private static final int P50 = 50;
+  private static final int P95 = 95;
+  private static final int P99 = 99;
+  private static final int ONE_HUNDRED_PERCENT = 100;
+
+  private final long[] buckets = new long[BUCKET_COUNT];
+  private long count;
+  private long max;
+
+  synchronized void record(long valueInMicroseconds) {
+    long value = Math.max(0, valueInMicroseconds);
+    buckets[findBucket(value)]++;
+    count++;
+    max = Math.max(max, value);
+  }
+
+  synchronized long retrieveCount() {
+    return count;
+  }
+
+  /**
+   * @param percent of the recorded values which are lower or equal to the returned value
+   * @return the upper bound of the bucket holding the percentile, or 0 if nothing was recorded
+   */
+  synchronized long findPercentile(int percent) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (count * percent + ONE_HUNDRED_PERCENT - 1) / ONE_HUNDRED_PERCENT);
+    long total = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      total += buckets[bucket];
+      if (total >= rank) {
+        return Math.min(findUpperBound(bucket), max);
+      }
+    }
+    return max;
+  }
+
+  synchronized StageLatency buildStageLatency() {
+    return StageLatency.create(count, findPercentile(P50), findPercentile(P95), findPercentile(P99), max);
+  }
+
+  static int findBucket(long value) {
+    if (value < LINEAR_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return LINEAR_BUCKET_COUNT + (exponent - LINEAR_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  static long findUpperBound(int bucket) {
+    if (bucket < LINEAR_BUCKET_COUNT) {
+      return bucket;
+    }
+    int exponent = (bucket - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + LINEAR_BUCKET_BITS;
+    long subBucket = (bucket - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    return (1L << exponent) + subBucket * width + width - 1;
+  }
+}
@@ -0,0 +1,216 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.MaxSpeed;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the {@link LegAnnotation} data of a {@link RouteLeg} in primitive arrays, so the
+ * {@link CurrentLegAnnotation} for a distance along the leg can be found with a binary search.
+ * <p>
+ * Congestion and maxspeed values repeat heavily along a leg, so they are stored as codes into
+ * a table of the distinct values found in the leg.
+ */
+class LegAnnotationIndex {
+
+  private static final int FIRST_ANNOTATION = 0;
+  private static final int ONE_INDEX = 1;
+  private static final int NO_VALUE = -1;
+  private static final int MAX_BYTE_CODES = 0xFF;
+  private static final int MAX_SHORT_CODES = 0xFFFF;
+
+  private final double legDistance;
+  private final double[] distances;
+  private final double[] distancesToAnnotation;
+  @Nullable
+  private final double[] durations;
+  @Nullable
+  private final double[] speeds;
+  @Nullable
+  private final byte[] congestionCodes;
+  private final String[] congestionLevels;
+  @Nullable
+  private final short[] maxspeedCodes;
+  private final MaxSpeed[] maxspeeds;
+
+  private LegAnnotationIndex(double legDistance, List<Double> distanceList, LegAnnotation legAnnotation) {
+    this.legDistance = legDistance;
+    distances = toPrimitiveArray(distanceList);
+    distancesToAnnotation = sumDistancesToAnnotation(distances);
+    durations = legAnnotation.duration() == null ? null : toPrimitiveArray(legAnnotation.duration());
+    speeds = legAnnotation.speed() == null ? null : toPrimitiveArray(legAnnotation.speed());
+
+    List<String> congestionList = legAnnotation.congestion();
+    List<String> congestionTable = new ArrayList<>();
+    congestionCodes = congestionList == null ? null : encodeCongestion(congestionList, congestionTable);
+    congestionLevels = congestionTable.toArray(new String[congestionTable.size()]);
+
+    List<MaxSpeed> maxspeedList = legAnnotation.maxspeed();
+    List<MaxSpeed> maxspeedTable = new ArrayList<>();
+    maxspeedCodes = maxspeedList == null ? null : encodeMaxspeed(maxspeedList, maxspeedTable);
+    maxspeeds = maxspeedTable.toArray(new MaxSpeed[maxspeedTable.size()]);
+  }
+
+  /**
+   * Creates a new index for the annotations of the given leg.
+   *
+   * @param leg holding each list of annotations
+   * @return the index, or null if the leg was not requested with distance annotations
+   */
+  @Nullable
+  static LegAnnotationIndex create(@NonNull RouteLeg leg) {
+    LegAnnotation legAnnotation = leg.annotation();
+    if (legAnnotation == null) {
+      return null;
+    }
+    List<Double> distanceList = legAnnotation.distance();
+    if (distanceList == null || distanceList.isEmpty()) {
+      return null;
+    }
+    double legDistance = leg.distance() == null ? 0 : leg.distance();
+    return new LegAnnotationIndex(legDistance, distanceList, legAnnotation);
+  }
+
+  int size() {
+    return distances.length;
+  }
+
+  /**
+   * Finds the index of the annotation being traveled along, which is the first annotation
+   * ending beyond the given distance.
+   *
+   * @param legDistanceTraveled distance in meters traveled along the leg
+   * @return index of the current annotation, or the first index if the distance is beyond the leg
+   */
+  int findAnnotationIndex(double legDistanceTraveled) {
+    int low = FIRST_ANNOTATION;
+    int high = distances.length - ONE_INDEX;
+    int annotationIndex = NO_VALUE;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      double distanceToAnnotationEnd = distancesToAnnotation[middle] + distances[middle];
+      if (distanceToAnnotationEnd > legDistanceTraveled) {
+        annotationIndex = middle;
+        high = middle - ONE_INDEX;
+      } else {
+        low = middle + ONE_INDEX;
+      }
+    }
+    return annotationIndex == NO_VALUE ? FIRST_ANNOTATION : annotationIndex;
+  }
+
+  /**
+   * Creates the current set of annotation data for the user's position along the leg.
+   * <p>
+   * If the user is still on the annotation given as the current one, it is returned
+   * as is rather than building a new one. It must belong to this same leg.
+   *
+   * @param currentLegAnnotation current annotation being traveled along, from this leg
+   * @param legDistanceRemaining to determine the new set of annotations
+   * @return a current set of annotation data for the user's position along the leg
+   */
+  @NonNull
+  CurrentLegAnnotation createCurrentAnnotation(@Nullable CurrentLegAnnotation currentLegAnnotation,
+                                               double legDistanceRemaining) {
+    double legDistanceTraveled = legDistance - legDistanceRemaining;
+    int annotationIndex = findAnnotationIndex(legDistanceTraveled);
+    boolean isSameAnnotation = currentLegAnnotation != null && currentLegAnnotation.index() == annotationIndex;
+    if (isSameAnnotation) {
+      return currentLegAnnotation;
+    }
+    return buildCurrentAnnotation(annotationIndex);
+  }
+
+  private CurrentLegAnnotation buildCurrentAnnotation(int annotationIndex) {
+    CurrentLegAnnotation.Builder annotationBuilder = CurrentLegAnnotation.builder()
+      .index(annotationIndex)
+      .distance(distances[annotationIndex])
+      .distanceToAnnotation(distancesToAnnotation[annotationIndex]);
+    if (durations != null) {
+      annotationBuilder.duration(valueAt(durations, annotationIndex));
+    }
+    if (speeds != null) {
+      annotationBuilder.speed(valueAt(speeds, annotationIndex));
+    }
+    if (maxspeedCodes != null && annotationIndex < maxspeedCodes.length) {
+      int maxspeedCode = maxspeedCodes[annotationIndex] & MAX_SHORT_CODES;
+      annotationBuilder.maxspeed(maxspeedCode < maxspeeds.length ? maxspeeds[maxspeedCode] : null);
+    }
+    if (congestionCodes != null && annotationIndex < congestionCodes.length) {
+      int congestionCode = congestionCodes[annotationIndex] & MAX_BYTE_CODES;
+      annotationBuilder.congestion(congestionCode < congestionLevels.length ? congestionLevels[congestionCode] : null);
+    }
+    return annotationBuilder.build();
+  }
+
+  @Nullable
+  private static Double valueAt(double[] values, int index) {
+    if (index >= values.length || Double.isNaN(values[index])) {
+      return null;
+    }
+    return values[index];
+  }
+
+  private static double[] toPrimitiveArray(List<Double> values) {
+    double[] primitiveValues = new double[values.size()];
+    for (int i = 0; i < primitiveValues.length; i++) {
+      Double value = values.get(i);
+      primitiveValues[i] = value == null ? Double.NaN : value;
+    }
+    return primitiveValues;
+  }
+
+  private static double[] sumDistancesToAnnotation(double[] distances) {
+    double[] distancesToAnnotation = new double[distances.length];
+    for (int i = ONE_INDEX; i < distances.length; i++) {
+      double previousDistance = Double.isNaN(distances[i - ONE_INDEX]) ? 0 : distances[i - ONE_INDEX];
+      distancesToAnnotation[i] = distancesToAnnotation[i - ONE_INDEX] + previousDistance;
+    }
+    return distancesToAnnotation;
+  }
+
+  /**
+   * Codes past the end of the table are decoded as null. The Directions API only returns a
+   * handful of congestion levels, so the table never fills up in practice.
+   */
+  private static byte[] encodeCongestion(List<String> congestionList, List<String> congestionTable) {
+    Map<String, Integer> codes = new HashMap<>();
+    byte[] congestionCodes = new byte[congestionList.size()];
+    for (int i = 0; i < congestionCodes.length; i++) {
+      congestionCodes[i] = (byte) findCode(congestionList.get(i), codes, congestionTable, MAX_BYTE_CODES);
+    }
+    return congestionCodes;
+  }
+
+  private static short[] encodeMaxspeed(List<MaxSpeed> maxspeedList, List<MaxSpeed> maxspeedTable) {
+    Map<MaxSpeed, Integer> codes = new HashMap<>();
+    short[] maxspeedCodes = new short[maxspeedList.size()];
+    for (int i = 0; i < maxspeedCodes.length; i++) {
+      maxspeedCodes[i] = (short) findCode(maxspeedList.get(i), codes, maxspeedTable, MAX_SHORT_CODES);
+    }
+    return maxspeedCodes;
+  }
+
+  private static <T> int findCode(@Nullable T value, Map<T, Integer> codes, List<T> table, int maxCode) {
+    Integer code = codes.get(value);
+    if (code != null) {
+      return code;
+    }
+    if (table.size() >= maxCode) {
+      return maxCode;
+    }
+    int newCode = table.size();
+    table.add(value);
+    codes.put(value, newCode);
+    return newCode;
+  }
+}
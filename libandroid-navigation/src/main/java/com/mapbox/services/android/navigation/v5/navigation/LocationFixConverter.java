@@ -0,0 +1,56 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+/**
+ * Converts Android {@link Location}s to and from the {@link NavigationFix}es of a {@link NavigationEngine},
+ * where the engine meets Android.
+ */
+final class LocationFixConverter {
+
+  private LocationFixConverter() {
+    // Class should not be initialized.
+  }
+
+  @Nullable
+  static NavigationFix toFix(@Nullable Location location) {
+    if (location == null) {
+      return null;
+    }
+    return NavigationFix.create(
+      location.getTime(),
+      location.getLatitude(),
+      location.getLongitude(),
+      location.hasSpeed() ? location.getSpeed() : Float.NaN,
+      location.hasBearing() ? location.getBearing() : Float.NaN,
+      location.hasAltitude() ? location.getAltitude() : Double.NaN,
+      location.hasAccuracy() ? location.getAccuracy() : Float.NaN,
+      location.getProvider()
+    );
+  }
+
+  @Nullable
+  static Location toLocation(@Nullable NavigationFix fix) {
+    if (fix == null) {
+      return null;
+    }
+    Location location = new Location(fix.provider());
+    location.setTime(fix.time());
+    location.setLatitude(fix.latitude());
+    location.setLongitude(fix.longitude());
+    if (fix.hasSpeed()) {
+      location.setSpeed(fix.speed());
+    }
+    if (fix.hasBearing()) {
+      location.setBearing(fix.bearing());
+    }
+    if (fix.hasAltitude()) {
+      location.setAltitude(fix.altitude());
+    }
+    if (fix.hasAccuracy()) {
+      location.setAccuracy(fix.accuracy());
+    }
+    return location;
+  }
+}
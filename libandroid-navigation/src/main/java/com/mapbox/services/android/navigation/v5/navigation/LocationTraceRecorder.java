@@ -0,0 +1,93 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.location.replay.LocationTraceWriter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import timber.log.Timber;
+
+/**
+ * Writes the locations given to the navigator to a {@link LocationTraceWriter} on its own thread, so
+ * the threads delivering locations never wait for the disk.
+ * <p>
+ * Locations are copied when recorded, since callers may change them afterwards.
+ */
+class LocationTraceRecorder {
+
+  private final LocationTraceWriter writer;
+  private final ExecutorService executor;
+  private volatile boolean isFailed;
+  private boolean isStopped;
+
+  LocationTraceRecorder(LocationTraceWriter writer) {
+    this(writer, Executors.newSingleThreadExecutor());
+  }
+
+  // For testing only
+  LocationTraceRecorder(LocationTraceWriter writer, ExecutorService executor) {
+    this.writer = writer;
+    this.executor = executor;
+  }
+
+  synchronized void record(Location location) {
+    if (isStopped || isFailed) {
+      return;
+    }
+    final Location copy = new Location(location);
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        write(copy);
+      }
+    });
+  }
+
+  synchronized void record(List<Location> locations) {
+    for (Location location : locations) {
+      record(location);
+    }
+  }
+
+  /**
+   * Writes the locations recorded until now, then completes the trace. Locations recorded
+   * afterwards are skipped.
+   */
+  synchronized void stop() {
+    if (isStopped) {
+      return;
+    }
+    isStopped = true;
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        close();
+      }
+    });
+    executor.shutdown();
+  }
+
+  private void write(Location location) {
+    if (isFailed) {
+      return;
+    }
+    try {
+      writer.write(location);
+    } catch (IOException exception) {
+      Timber.e(exception, "Failed to write the location trace, it won't be written anymore");
+      isFailed = true;
+    }
+  }
+
+  private void close() {
+    try {
+      writer.close();
+    } catch (IOException exception) {
+      Timber.e(exception, "Failed to complete the location trace");
+    }
+  }
+}
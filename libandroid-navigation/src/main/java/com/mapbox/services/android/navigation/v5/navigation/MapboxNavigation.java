@@ -4,6 +4,7 @@ import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
 import android.content.ServiceConnection;
+import android.location.Location;
 import android.os.Build;
 import android.os.IBinder;
 import android.support.annotation.NonNull;
@@ -14,6 +15,8 @@ import com.mapbox.android.core.location.LocationEnginePriority;
 import com.mapbox.android.core.location.LocationEngineProvider;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.navigator.Navigator;
+import com.mapbox.services.android.navigation.v5.location.replay.LocationTraceWriter;
+import com.mapbox.services.android.navigation.v5.location.replay.ReplayTraceLocationEngine;
 import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener;
@@ -26,13 +29,19 @@ import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
 import com.mapbox.services.android.navigation.v5.utils.ValidationUtils;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import retrofit2.Callback;
 import timber.log.Timber;
@@ -56,8 +65,21 @@ public class MapboxNavigation implements ServiceConnection {
   private NavigationEngineFactory navigationEngineFactory;
   private NavigationTelemetry navigationTelemetry = null;
   private NavigationService navigationService;
-  private MapboxNavigator mapboxNavigator;
-  private DirectionsRoute directionsRoute;
+  private volatile MapboxNavigator mapboxNavigator;
+  private volatile DirectionsRoute directionsRoute;
+  private volatile RouteGeometryIndex routeGeometryIndex;
+  private final AlternativeRoutes alternativeRoutes = new AlternativeRoutes();
+  private final AtomicInteger routesGeneration = new AtomicInteger();
+  private volatile int navigatedRoutesGeneration;
+  private final ExecutorService routeExecutor = Executors.newSingleThreadExecutor();
+  private final RouteJsonCache routeJsonCache = new RouteJsonCache();
+  private final Object navigatorLock = new Object();
+  private final Object routeLock = new Object();
+  private volatile boolean isHistoryEnabled;
+  private NavigationPerformanceMonitor performanceMonitor;
+  private volatile LocationTraceRecorder locationTraceRecorder;
+  private HistoryRecorder historyRecorder;
+  private HistoryRecorderThread historyRecorderThread;
   private MapboxNavigationOptions options;
   private LocationEngine locationEngine = null;
   private Set<Milestone> milestones;
@@ -172,6 +194,12 @@ public class MapboxNavigation implements ServiceConnection {
     removeProgressChangeListener(null);
     removeMilestoneEventListener(null);
     removeNavigationEventListener(null);
+    removePerformanceListener(null);
+    removeRouteChangeListener(null);
+    stopLocationTraceRecording();
+    stopHistoryRecording();
+    routeExecutor.shutdown();
+    routeJsonCache.clear();
   }
 
   // Public APIs
@@ -326,7 +354,30 @@ public class MapboxNavigation implements ServiceConnection {
    * @since 0.1.0
    */
   public void startNavigation(@NonNull DirectionsRoute directionsRoute) {
-    startNavigationWith(directionsRoute);
+    startNavigationWith(directionsRoute, new ArrayList<DirectionsRoute>());
+  }
+
+  /**
+   * Calling this begins a new navigation session using the provided directions route, while also
+   * tracking the progress along each of the alternative routes.
+   * <p>
+   * Every alternative route is given the same locations as the navigated route. If the user goes off
+   * the navigated route onto one of the alternatives, navigation continues on that alternative right away
+   * instead of notifying an {@link OffRouteListener}, and the route they left is tracked as an alternative
+   * in its place. The new route can be found with {@link RouteProgress#directionsRoute()}.
+   * <p>
+   * Each alternative has its own navigator, so only routes the user is likely to take should be given.
+   * They are prepared in the background and tracked from then on. A {@link RouteChangeListener} is
+   * notified once the user takes one of them.
+   *
+   * @param directionsRoute   a {@link DirectionsRoute} that makes up the path your user should
+   *                          traverse along
+   * @param alternativeRoutes other routes to the same destination the user may take
+   * @since 0.23.0
+   */
+  public void startNavigation(@NonNull DirectionsRoute directionsRoute,
+                              @NonNull List<DirectionsRoute> alternativeRoutes) {
+    startNavigationWith(directionsRoute, alternativeRoutes);
   }
 
   /**
@@ -348,6 +399,8 @@ public class MapboxNavigation implements ServiceConnection {
     if (isServiceAvailable()) {
       applicationContext.unbindService(this);
       isBound = false;
+      clearAlternativeRoutes();
+      stopHistoryRecording();
       navigationService.endNavigation();
       navigationService.stopSelf();
       navigationEventDispatcher.onNavigationEvent(false);
@@ -542,6 +595,93 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.removeFasterRouteListener(fasterRouteListener);
   }
 
+  /**
+   * This adds a new performance listener which is invoked on the main thread with a
+   * {@link NavigationPerformanceSnapshot} every 60 route processing updates. It is only invoked if
+   * {@link MapboxNavigationOptions#enablePerformanceMonitoring()} is enabled.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param performanceListener an implementation of {@code NavigationPerformanceListener}
+   * @see NavigationPerformanceListener
+   * @since 0.23.0
+   */
+  public void addPerformanceListener(@NonNull NavigationPerformanceListener performanceListener) {
+    navigationEventDispatcher.addPerformanceListener(performanceListener);
+  }
+
+  /**
+   * This removes a specific performance listener by passing in the instance of it or you can pass in
+   * null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   * </p>
+   *
+   * @param performanceListener an implementation of {@code NavigationPerformanceListener} which currently
+   *                            exist in the performance listeners list
+   * @see NavigationPerformanceListener
+   * @since 0.23.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void removePerformanceListener(@Nullable NavigationPerformanceListener performanceListener) {
+    navigationEventDispatcher.removePerformanceListener(performanceListener);
+  }
+
+  /**
+   * This adds a new route change listener which is invoked when navigation continues on another route
+   * by itself, for instance once the user takes one of the alternative routes given to
+   * {@link #startNavigation(DirectionsRoute, List)}.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param routeChangeListener an implementation of {@code RouteChangeListener}
+   * @see RouteChangeListener
+   * @since 0.23.0
+   */
+  public void addRouteChangeListener(@NonNull RouteChangeListener routeChangeListener) {
+    navigationEventDispatcher.addRouteChangeListener(routeChangeListener);
+  }
+
+  /**
+   * This removes a specific route change listener by passing in the instance of it or you can pass in
+   * null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   * </p>
+   *
+   * @param routeChangeListener an implementation of {@code RouteChangeListener} which currently exist in
+   *                            the route change listeners list
+   * @see RouteChangeListener
+   * @since 0.23.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void removeRouteChangeListener(@Nullable RouteChangeListener routeChangeListener) {
+    navigationEventDispatcher.removeRouteChangeListener(routeChangeListener);
+  }
+
+  /**
+   * Returns the route processing timings recorded since this instance was created, if
+   * {@link MapboxNavigationOptions#enablePerformanceMonitoring()} is enabled.
+   *
+   * @return a snapshot of the recorded timings, or null if performance monitoring is disabled
+   * @since 0.23.0
+   */
+  @Nullable
+  public NavigationPerformanceSnapshot retrievePerformanceSnapshot() {
+    if (!performanceMonitor.isEnabled()) {
+      return null;
+    }
+    return performanceMonitor.buildSnapshot(mapboxNavigator.retrieveDroppedLocationCount());
+  }
+
   // Custom engines
 
   /**
@@ -710,12 +850,102 @@ public class MapboxNavigation implements ServiceConnection {
     navigationTelemetry.cancelFeedback(feedbackId);
   }
 
+  /**
+   * Gives a burst of locations to navigation at once, for instance several fixes from a high rate
+   * location provider, or locations replayed from a recorded trace.
+   * <p>
+   * Every location is used by the navigator, in the given order and with its own
+   * {@link Location#getTime()}, before the next route progress is calculated.
+   * This has no effect if navigation hasn't been started.
+   *
+   * @param locations to be used for navigation, oldest first
+   * @since 0.23.0
+   */
+  public void updateLocations(@NonNull List<Location> locations) {
+    if (isServiceAvailable()) {
+      navigationService.updateLocations(locations);
+    }
+  }
+
+  /**
+   * Lists the files the navigator history was written to, if
+   * {@link MapboxNavigationOptions#enableHistoryRecording()} is enabled now or was before.
+   * <p>
+   * Each file holds gzip compressed history documents, as returned by {@link #retrieveHistory()},
+   * one per drain and each followed by a new line. The last file may still be written to.
+   *
+   * @return the history files, oldest first
+   * @since 0.23.0
+   */
+  @NonNull
+  public List<File> retrieveHistoryFiles() {
+    if (historyRecorder == null) {
+      return new ArrayList<>();
+    }
+    return historyRecorder.retrieveFiles();
+  }
+
+  /**
+   * Gets the history recorded by the navigator of the route being navigated since history was
+   * toggled on. The navigators of the alternative routes record the same history, so the history
+   * is kept when the user takes one of them.
+   * <p>
+   * While {@link MapboxNavigationOptions#enableHistoryRecording()} is enabled and navigation is running,
+   * history is regularly drained to the files listed by {@link #retrieveHistoryFiles()}, so this only
+   * returns the history recorded since the last drain.
+   *
+   * @return a json representing the series of events that happened since history was toggled on
+   */
   public String retrieveHistory() {
     return mapboxNavigator.retrieveHistory();
   }
 
+  /**
+   * Toggles the recording of history on or off, for the route being navigated and its alternatives.
+   *
+   * <p>
+   * While {@link MapboxNavigationOptions#enableHistoryRecording()} is enabled and navigation is running,
+   * toggling resets the history not yet drained to the history files, and turning history off also
+   * stops it from being written to them until it is turned on again.
+   *
+   * @param isEnabled set this to true to turn on history recording and false to turn it off,
+   *                  toggling resets all history
+   */
   public void toggleHistory(boolean isEnabled) {
-    mapboxNavigator.toggleHistory(isEnabled);
+    synchronized (navigatorLock) {
+      isHistoryEnabled = isEnabled;
+      mapboxNavigator.toggleHistory(isEnabled);
+      alternativeRoutes.toggleHistory(isEnabled);
+    }
+  }
+
+  /**
+   * Starts writing every location given to the navigator to a compact binary trace, in
+   * place of any trace being recorded. The trace can be replayed with
+   * {@link ReplayTraceLocationEngine#assignLocationTrace(File)}.
+   *
+   * @param traceFile to write to, replacing any existing content
+   * @throws IOException if the file can't be written
+   * @since 0.23.0
+   */
+  public void startLocationTraceRecording(@NonNull File traceFile) throws IOException {
+    stopLocationTraceRecording();
+    locationTraceRecorder = new LocationTraceRecorder(new LocationTraceWriter(traceFile));
+  }
+
+  /**
+   * Stops writing locations and completes the trace being recorded, if any. This is also done
+   * in {@link #onDestroy()}.
+   *
+   * @since 0.23.0
+   */
+  public void stopLocationTraceRecording() {
+    LocationTraceRecorder recorder = locationTraceRecorder;
+    if (recorder == null) {
+      return;
+    }
+    locationTraceRecorder = null;
+    recorder.stop();
   }
 
   @Override
@@ -742,6 +972,17 @@ public class MapboxNavigation implements ServiceConnection {
     return directionsRoute;
   }
 
+  RouteGeometryIndex retrieveRouteGeometryIndex() {
+    return routeGeometryIndex;
+  }
+
+  /**
+   * @return true if the route navigation was last started with isn't navigated yet
+   */
+  boolean isRouteUpdatePending() {
+    return navigatedRoutesGeneration != routesGeneration.get();
+  }
+
   List<Milestone> getMilestones() {
     return new ArrayList<>(milestones);
   }
@@ -762,10 +1003,85 @@ public class MapboxNavigation implements ServiceConnection {
     return mapboxNavigator;
   }
 
+  AlternativeRoutes retrieveAlternativeRoutes() {
+    return alternativeRoutes;
+  }
+
+  NavigationPerformanceMonitor retrievePerformanceMonitor() {
+    return performanceMonitor;
+  }
+
+  /**
+   * Gives a new location to the navigator of the navigated route and of each alternative route.
+   */
+  void updateNavigatorLocation(Location location) {
+    recordLocationTrace(location);
+    synchronized (navigatorLock) {
+      mapboxNavigator.updateLocation(location);
+      alternativeRoutes.updateLocation(location);
+    }
+  }
+
+  /**
+   * Gives a burst of locations to the navigator of the navigated route and of each alternative route.
+   */
+  void updateNavigatorLocations(List<Location> locations) {
+    recordLocationTrace(locations);
+    synchronized (navigatorLock) {
+      mapboxNavigator.updateLocations(locations);
+      alternativeRoutes.updateLocations(locations);
+    }
+  }
+
+  private void recordLocationTrace(Location location) {
+    LocationTraceRecorder recorder = locationTraceRecorder;
+    if (recorder != null) {
+      recorder.record(location);
+    }
+  }
+
+  private void recordLocationTrace(List<Location> locations) {
+    LocationTraceRecorder recorder = locationTraceRecorder;
+    if (recorder != null) {
+      recorder.record(locations);
+    }
+  }
+
+  /**
+   * Navigates the given alternative from now on, and tracks the route navigated until now as an
+   * alternative in its place. Called from the route processor thread.
+   *
+   * @param alternativeRoute taken by the user
+   */
+  void switchToAlternativeRoute(AlternativeRoute alternativeRoute) {
+    synchronized (routeLock) {
+      synchronized (navigatorLock) {
+        AlternativeRoute previousRoute = new AlternativeRoute(routeGeometryIndex.route(), routeGeometryIndex,
+          mapboxNavigator);
+        alternativeRoutes.replace(alternativeRoute, previousRoute);
+        directionsRoute = alternativeRoute.retrieveRoute();
+        routeGeometryIndex = alternativeRoute.retrieveRouteGeometryIndex();
+        mapboxNavigator = alternativeRoute.retrieveMapboxNavigator();
+        if (historyRecorder != null) {
+          historyRecorder.updateNavigator(mapboxNavigator);
+        }
+      }
+    }
+  }
+
+  /**
+   * Called on the main thread once an alternative route has been switched to.
+   */
+  void onAlternativeRouteTaken(DirectionsRoute directionsRoute) {
+    navigationTelemetry.updateSessionRoute(directionsRoute);
+    navigationEventDispatcher.onRouteChange(directionsRoute);
+  }
+
   private void initializeForTest() {
     // Initialize event dispatcher and add internal listeners
     navigationEventDispatcher = new NavigationEventDispatcher();
     navigationEngineFactory = new NavigationEngineFactory();
+    performanceMonitor = new NavigationPerformanceMonitor(options.enablePerformanceMonitoring());
     initializeDefaultLocationEngine();
     initializeTelemetry();
 
@@ -787,8 +1103,10 @@ public class MapboxNavigation implements ServiceConnection {
     mapboxNavigator = new MapboxNavigator(new Navigator());
     navigationEventDispatcher = new NavigationEventDispatcher();
     navigationEngineFactory = new NavigationEngineFactory();
+    performanceMonitor = new NavigationPerformanceMonitor(options.enablePerformanceMonitoring());
     initializeDefaultLocationEngine();
     initializeTelemetry();
+    initializeHistoryRecorder();
 
     // Create and add default milestones if enabled.
     milestones = new HashSet<>();
@@ -798,6 +1116,29 @@ public class MapboxNavigation implements ServiceConnection {
     }
   }
 
+  private void initializeHistoryRecorder() {
+    File directory = new File(applicationContext.getFilesDir(), NavigationConstants.HISTORY_DIRECTORY);
+    historyRecorder = new HistoryRecorder(mapboxNavigator, directory,
+      NavigationConstants.HISTORY_FILE_SIZE_LIMIT_IN_BYTES, options.historyRetentionBudgetInBytes(),
+      new SystemNavigationClock());
+  }
+
+  private void startHistoryRecording() {
+    if (historyRecorder == null || historyRecorderThread != null || !options.enableHistoryRecording()) {
+      return;
+    }
+    historyRecorderThread = new HistoryRecorderThread(historyRecorder,
+      NavigationConstants.HISTORY_DRAIN_INTERVAL_IN_MILLISECONDS);
+    historyRecorderThread.start();
+  }
+
+  private void stopHistoryRecording() {
+    if (historyRecorderThread != null) {
+      historyRecorderThread.quit();
+      historyRecorderThread = null;
+    }
+  }
+
   private void initializeContext(Context context) {
     if (context == null || context.getApplicationContext() == null) {
       throw new IllegalArgumentException(NON_NULL_APPLICATION_CONTEXT_REQUIRED);
@@ -847,12 +1188,31 @@ public class MapboxNavigation implements ServiceConnection {
     }
   }
 
-  private void startNavigationWith(@NonNull DirectionsRoute directionsRoute) {
+  /**
+   * The route is indexed, serialized and set on the navigator in the background, followed by the
+   * alternatives. Setting it on the navigator only holds the route lock, so locations keep being
+   * queued meanwhile. Until then, the previous route is still navigated and returned by
+   * {@link #getRoute()}, unless navigation is only starting, in which case nothing is processed yet
+   * and the new route is returned right away.
+   */
+  private void startNavigationWith(@NonNull DirectionsRoute directionsRoute,
+                                   @NonNull List<DirectionsRoute> alternativeDirectionsRoutes) {
     ValidationUtils.validDirectionsRoute(directionsRoute, options.defaultMilestonesEnabled());
-    this.directionsRoute = directionsRoute;
-    mapboxNavigator.updateRoute(directionsRoute.toJson());
+    for (DirectionsRoute alternativeDirectionsRoute : alternativeDirectionsRoutes) {
+      ValidationUtils.validDirectionsRoute(alternativeDirectionsRoute, options.defaultMilestonesEnabled());
+    }
+    if (!isBound) {
+      synchronized (navigatorLock) {
+        this.directionsRoute = directionsRoute;
+        routeGeometryIndex = null;
+      }
+    }
+    clearAlternativeRoutes();
+    updateNavigatorRoute(directionsRoute);
+    buildAlternativeRoutes(alternativeDirectionsRoutes);
     if (!isBound) {
       navigationTelemetry.startSession(directionsRoute);
+      startHistoryRecording();
       startNavigationService();
       navigationEventDispatcher.onNavigationEvent(true);
     } else {
@@ -860,6 +1220,85 @@ public class MapboxNavigation implements ServiceConnection {
     }
   }
 
+  /**
+   * Indexes the route and sets it on the navigator on the route executor, unless navigation was
+   * stopped or started with another route in the meantime. The route and its index are then navigated
+   * together.
+   */
+  private void updateNavigatorRoute(final DirectionsRoute directionsRoute) {
+    final int generation = routesGeneration.get();
+    routeExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (generation != routesGeneration.get()) {
+          return;
+        }
+        RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(directionsRoute);
+        String routeJson = routeJsonCache.toJson(directionsRoute);
+        synchronized (routeLock) {
+          mapboxNavigator.updateRoute(routeJson);
+          synchronized (navigatorLock) {
+            MapboxNavigation.this.directionsRoute = directionsRoute;
+            routeGeometryIndex = geometryIndex;
+            navigatedRoutesGeneration = generation;
+          }
+        }
+      }
+    });
+  }
+
+  private void clearAlternativeRoutes() {
+    routesGeneration.incrementAndGet();
+    synchronized (navigatorLock) {
+      alternativeRoutes.clear();
+    }
+  }
+
+  /**
+   * Builds a navigator for each alternative route on the route executor, and tracks them
+   * unless navigation was stopped or started with other routes in the meantime.
+   */
+  private void buildAlternativeRoutes(List<DirectionsRoute> alternativeDirectionsRoutes) {
+    if (alternativeDirectionsRoutes.isEmpty()) {
+      return;
+    }
+    final int generation = routesGeneration.get();
+    final List<DirectionsRoute> directionsRoutes = new ArrayList<>(alternativeDirectionsRoutes);
+    routeExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        List<AlternativeRoute> alternatives = new ArrayList<>();
+        for (DirectionsRoute alternativeDirectionsRoute : directionsRoutes) {
+          alternatives.add(buildAlternativeRoute(alternativeDirectionsRoute));
+        }
+        updateAlternativeRoutes(generation, alternatives);
+      }
+    });
+  }
+
+  private AlternativeRoute buildAlternativeRoute(DirectionsRoute alternativeDirectionsRoute) {
+    MapboxNavigator alternativeNavigator = new MapboxNavigator(new Navigator());
+    if (isHistoryEnabled) {
+      alternativeNavigator.toggleHistory(true);
+    }
+    alternativeNavigator.updateRoute(routeJsonCache.toJson(alternativeDirectionsRoute));
+    RouteGeometryIndex alternativeGeometryIndex = RouteGeometryIndex.create(alternativeDirectionsRoute);
+    return new AlternativeRoute(alternativeDirectionsRoute, alternativeGeometryIndex, alternativeNavigator);
+  }
+
+  private void updateAlternativeRoutes(int generation, List<AlternativeRoute> alternatives) {
+    synchronized (navigatorLock) {
+      if (generation == routesGeneration.get()) {
+        alternativeRoutes.updateRoutes(alternatives);
+        alternativeRoutes.updateHistoryRecording(isHistoryEnabled);
+        return;
+      }
+    }
+    for (AlternativeRoute alternative : alternatives) {
+      alternative.retrieveMapboxNavigator().release();
+    }
+  }
+
   private void startNavigationService() {
     Intent intent = getServiceIntent();
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
@@ -0,0 +1,74 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+
+import java.util.Date;
+import java.util.List;
+
+class MapboxNavigationEngineInput implements NavigationEngineInput {
+
+  private final MapboxNavigation navigation;
+  private final NavigationEngineChecks engineChecks;
+
+  MapboxNavigationEngineInput(MapboxNavigation navigation) {
+    this.navigation = navigation;
+    this.engineChecks = new NavigationEngineFactoryChecks(navigation.retrieveEngineFactory());
+  }
+
+  @Override
+  public MapboxNavigationOptions options() {
+    return navigation.options();
+  }
+
+  @Override
+  public NavigationStatus retrieveStatus(Date date, long lagInMilliseconds) {
+    return navigation.retrieveMapboxNavigator().retrieveStatus(date, lagInMilliseconds);
+  }
+
+  @Override
+  public RouteGeometryIndex retrieveRouteGeometryIndex() {
+    return navigation.retrieveRouteGeometryIndex();
+  }
+
+  @Override
+  public boolean isRouteUpdatePending() {
+    return navigation.isRouteUpdatePending();
+  }
+
+  @Override
+  public AlternativeRoutes retrieveAlternativeRoutes() {
+    return navigation.retrieveAlternativeRoutes();
+  }
+
+  @Override
+  public NavigationEngineChecks retrieveEngineChecks() {
+    return engineChecks;
+  }
+
+  @Override
+  public List<Milestone> retrieveMilestones() {
+    return navigation.getMilestones();
+  }
+
+  @Override
+  public NavigationPerformanceMonitor retrievePerformanceMonitor() {
+    return navigation.retrievePerformanceMonitor();
+  }
+
+  @Override
+  public long retrieveDroppedLocationCount() {
+    return navigation.retrieveMapboxNavigator().retrieveDroppedLocationCount();
+  }
+
+  @Override
+  public void switchToAlternativeRoute(AlternativeRoute alternativeRoute) {
+    navigation.switchToAlternativeRoute(alternativeRoute);
+  }
+
+  @Override
+  public void onAlternativeRouteTaken(DirectionsRoute directionsRoute) {
+    navigation.onAlternativeRouteTaken(directionsRoute);
+  }
+}
@@ -60,6 +60,18 @@ public abstract class MapboxNavigationOptions {
 
   public abstract int navigationLocationEngineIntervalLagInMilliseconds();
 
+  public abstract boolean enableLocationDrivenProcessing();
+
+  public abstract int minimumProcessingIntervalInMilliseconds();
+
+  public abstract int idleProcessingIntervalInMilliseconds();
+
+  public abstract boolean enablePerformanceMonitoring();
+
+  public abstract boolean enableHistoryRecording();
+
+  public abstract long historyRetentionBudgetInBytes();
+
   public abstract Builder toBuilder();
 
   @AutoValue.Builder
@@ -107,6 +119,82 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder navigationLocationEngineIntervalLagInMilliseconds(int lagInMilliseconds);
 
+    /**
+     * If enabled, the route is processed as soon as a new location is received, rather than
+     * once every second. Processing is then limited to once every
+     * {@link #minimumProcessingIntervalInMilliseconds(int)} and falls back to once every
+     * {@link #idleProcessingIntervalInMilliseconds(int)} while no new locations are received.
+     * <p>
+     * This is disabled by default.
+     *
+     * @param enableLocationDrivenProcessing true to process the route with each new location
+     * @return this builder for chaining options together
+     * @since 0.23.0
+     */
+    public abstract Builder enableLocationDrivenProcessing(boolean enableLocationDrivenProcessing);
+
+    /**
+     * The minimum time between two route processing updates, used if
+     * {@link #enableLocationDrivenProcessing(boolean)} is enabled. Locations received
+     * more often than this are processed together in the next update.
+     *
+     * @param intervalInMilliseconds minimum time between updates
+     * @return this builder for chaining options together
+     * @since 0.23.0
+     */
+    public abstract Builder minimumProcessingIntervalInMilliseconds(int intervalInMilliseconds);
+
+    /**
+     * The time after which the route is processed again if no new location has been received,
+     * used if {@link #enableLocationDrivenProcessing(boolean)} is enabled.
+     *
+     * @param intervalInMilliseconds time between updates without new locations
+     * @return this builder for chaining options together
+     * @since 0.23.0
+     */
+    public abstract Builder idleProcessingIntervalInMilliseconds(int intervalInMilliseconds);
+
+    /**
+     * If enabled, the time taken by each stage of route processing is recorded, along with late
+     * and dropped updates. The results can be read with
+     * {@link MapboxNavigation#retrievePerformanceSnapshot()} or a
+     * {@link NavigationPerformanceListener}.
+     * <p>
+     * This is disabled by default.
+     *
+     * @param enablePerformanceMonitoring true to record route processing timings
+     * @return this builder for chaining options together
+     * @since 0.23.0
+     */
+    public abstract Builder enablePerformanceMonitoring(boolean enablePerformanceMonitoring);
+
+    /**
+     * If enabled, the history of the navigator is written to disk about once a minute while navigating, to
+     * compressed files of the application files which can be listed with
+     * {@link MapboxNavigation#retrieveHistoryFiles()}. The oldest files are deleted once they
+     * take more than {@link #historyRetentionBudgetInBytes(long)}.
+     * <p>
+     * {@link MapboxNavigation#retrieveHistory()} and {@link MapboxNavigation#toggleHistory(boolean)}
+     * shouldn't be used while this is enabled, as they reset the history being recorded.
+     * <p>
+     * This is disabled by default.
+     *
+     * @param enableHistoryRecording true to keep writing the navigator history to disk
+     * @return this builder for chaining options together
+     * @since 0.23.0
+     */
+    public abstract Builder enableHistoryRecording(boolean enableHistoryRecording);
+
+    /**
+     * The total size of the history files kept, used if {@link #enableHistoryRecording(boolean)}
+     * is enabled. Defaults to 20 MB.
+     *
+     * @param retentionBudgetInBytes total size of history files, oldest files being deleted first
+     * @return this builder for chaining options together
+     * @since 0.23.0
+     */
+    public abstract Builder historyRetentionBudgetInBytes(long retentionBudgetInBytes);
+
     public abstract MapboxNavigationOptions build();
   }
 
@@ -131,6 +219,12 @@ public abstract class MapboxNavigationOptions {
       .roundingIncrement(ROUNDING_INCREMENT_FIFTY)
       .timeFormatType(NavigationTimeFormat.NONE_SPECIFIED)
       .locationAcceptableAccuracyInMetersThreshold(NavigationConstants.ONE_HUNDRED_METER_ACCEPTABLE_ACCURACY_THRESHOLD)
-      .navigationLocationEngineIntervalLagInMilliseconds(NAVIGATION_LOCATION_ENGINE_INTERVAL_LAG);
+      .navigationLocationEngineIntervalLagInMilliseconds(NAVIGATION_LOCATION_ENGINE_INTERVAL_LAG)
+      .enableLocationDrivenProcessing(false)
+      .minimumProcessingIntervalInMilliseconds(NavigationConstants.MINIMUM_PROCESSING_INTERVAL_IN_MILLISECONDS)
+      .idleProcessingIntervalInMilliseconds(NavigationConstants.IDLE_PROCESSING_INTERVAL_IN_MILLISECONDS)
+      .enablePerformanceMonitoring(false)
+      .enableHistoryRecording(false)
+      .historyRetentionBudgetInBytes(NavigationConstants.HISTORY_RETENTION_BUDGET_IN_BYTES);
   }
 }
@@ -7,33 +7,102 @@ import com.mapbox.navigator.FixLocation;
 import com.mapbox.navigator.NavigationStatus;
 import com.mapbox.navigator.Navigator;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
+import timber.log.Timber;
+
+/**
+ * Wraps the native {@link Navigator}, which must only be used by one thread at a time.
+ * <p>
+ * New locations don't wait for the navigator. They are added to a {@link FixLocationQueue} and given
+ * to the navigator, in order, by the next call that holds the navigator, usually
+ * {@link #retrieveStatus(Date, long)} on the route processor thread. Locations may be given from
+ * several threads, such as the location engine callback and a batch of replayed locations: they
+ * are queued one producer at a time. Only a producer finding the queue full waits for the navigator,
+ * to drop the oldest queued location in favour of the newest.
+ */
 class MapboxNavigator {
 
+  private static final int LOCATION_QUEUE_CAPACITY = 64;
+  private static final long NO_TIME = 0L;
+
   private final Navigator navigator;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final FixLocationQueue locationQueue = new FixLocationQueue(LOCATION_QUEUE_CAPACITY);
+  private final Object producerLock = new Object();
+  private final AtomicLong droppedLocationCount = new AtomicLong();
+  private final AtomicLong contendedLockCount = new AtomicLong();
+  private final AtomicLong lockWaitTimeNanos = new AtomicLong();
+  private volatile boolean isHistoryEnabled;
 
   MapboxNavigator(Navigator navigator) {
     this.navigator = navigator;
   }
 
-  synchronized void updateRoute(String routeJson) {
-    // TODO route_index (Which route to follow) and leg_index (Which leg to follow) are hardcoded for now
-    navigator.setRoute(routeJson, 0, 0);
+  void updateRoute(String routeJson) {
+    acquireLock();
+    try {
+      drainLocationQueue();
+      // TODO route_index (Which route to follow) and leg_index (Which leg to follow) are hardcoded for now
+      navigator.setRoute(routeJson, 0, 0);
+    } finally {
+      lock.unlock();
+    }
   }
 
-  synchronized NavigationStatus retrieveStatus(Date date, long lagInMilliseconds) {
-    // We ask for a point slightly in the future to account for lag in location services
-    if (lagInMilliseconds > 0) {
-      date.setTime(date.getTime() + lagInMilliseconds);
+  NavigationStatus retrieveStatus(Date date, long lagInMilliseconds) {
+    acquireLock();
+    try {
+      drainLocationQueue();
+      // We ask for a point slightly in the future to account for lag in location services
+      if (lagInMilliseconds > 0) {
+        date.setTime(date.getTime() + lagInMilliseconds);
+      }
+      return navigator.getStatus(date);
+    } finally {
+      lock.unlock();
     }
-    return navigator.getStatus(date);
   }
 
+  /**
+   * Queues the location for the navigator without waiting for it. If the queue is full, the oldest
+   * queued location is dropped.
+   *
+   * @param raw location from the location engine
+   */
   void updateLocation(Location raw) {
-    FixLocation fixedLocation = buildFixLocationFromLocation(raw);
-    synchronized (this) {
-      navigator.updateLocation(fixedLocation);
+    FixLocation fixLocation = buildFixLocationFromLocation(raw);
+    synchronized (producerLock) {
+      queueFixLocation(fixLocation);
+    }
+  }
+
+  /**
+   * Queues a burst of locations for the navigator in the given order, each with its own
+   * timestamp, so none of them are lost between two status updates. If there are more locations
+   * than the queue has room for, the oldest are dropped, whether queued or in the burst.
+   *
+   * @param rawLocations from the location engine or a replay, oldest first
+   */
+  void updateLocations(List<Location> rawLocations) {
+    int size = rawLocations.size();
+    int firstIndex = Math.max(0, size - locationQueue.capacity());
+    if (firstIndex > 0) {
+      droppedLocationCount.addAndGet(firstIndex);
+      Timber.w("Too many locations for the navigator location queue, dropping %d.", firstIndex);
+    }
+    List<FixLocation> fixLocations = new ArrayList<>(size - firstIndex);
+    for (int i = firstIndex; i < size; i++) {
+      fixLocations.add(buildFixLocationFromLocation(rawLocations.get(i)));
+    }
+    synchronized (producerLock) {
+      for (FixLocation fixLocation : fixLocations) {
+        queueFixLocation(fixLocation);
+      }
     }
   }
 
@@ -44,8 +113,14 @@ class MapboxNavigator {
    * @return a json representing the series of events that happened since the last time
    * history was toggled on
    */
-  synchronized String retrieveHistory() {
-    return navigator.getHistory();
+  String retrieveHistory() {
+    acquireLock();
+    try {
+      drainLocationQueue();
+      return navigator.getHistory();
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
@@ -55,12 +130,84 @@ class MapboxNavigator {
    *                  toggling will reset all history call getHistory first before toggling
    *                  to retain a copy
    */
-  synchronized void toggleHistory(boolean isEnabled) {
-    navigator.toggleHistory(isEnabled);
+  void toggleHistory(boolean isEnabled) {
+    acquireLock();
+    try {
+      drainLocationQueue();
+      navigator.toggleHistory(isEnabled);
+      isHistoryEnabled = isEnabled;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  boolean isHistoryEnabled() {
+    return isHistoryEnabled;
+  }
+
+  /**
+   * Discards the queued locations and any recorded history, for a navigator which won't be used
+   * anymore. The native navigator is freed once it is no longer referenced.
+   */
+  void release() {
+    acquireLock();
+    try {
+      while (locationQueue.poll() != null) {
+        // Discarded, the navigator won't need them
+      }
+      if (isHistoryEnabled) {
+        navigator.toggleHistory(false);
+        isHistoryEnabled = false;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the history recorded since the last drain and, if history is still enabled, starts recording
+   * anew, without any call to the navigator in between, so consecutive drains hold every call once.
+   *
+   * @return a json representing the series of events that happened since the last drain
+   */
+  String drainHistory() {
+    acquireLock();
+    try {
+      drainLocationQueue();
+      String history = navigator.getHistory();
+      if (isHistoryEnabled) {
+        navigator.toggleHistory(false);
+        navigator.toggleHistory(true);
+      }
+      return history;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return number of locations dropped because the queue was full
+   */
+  long retrieveDroppedLocationCount() {
+    return droppedLocationCount.get();
+  }
+
+  /**
+   * @return number of times a call had to wait for another thread using the navigator
+   */
+  long retrieveContendedLockCount() {
+    return contendedLockCount.get();
+  }
+
+  /**
+   * @return total time in nanoseconds calls have waited for another thread using the navigator
+   */
+  long retrieveLockWaitTimeNanos() {
+    return lockWaitTimeNanos.get();
   }
 
   FixLocation buildFixLocationFromLocation(Location location) {
-    Date time = new Date();
+    Date time = buildTimeFrom(location);
     Point rawPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
     Float speed = checkFor(location.getSpeed());
     Float bearing = checkFor(location.getBearing());
@@ -79,6 +226,48 @@ class MapboxNavigator {
     );
   }
 
+  private Date buildTimeFrom(Location location) {
+    long time = location.getTime();
+    if (time == NO_TIME) {
+      return new Date();
+    }
+    return new Date(time);
+  }
+
+  private void queueFixLocation(FixLocation fixLocation) {
+    if (locationQueue.offer(fixLocation)) {
+      return;
+    }
+    // The consumer only polls while holding the lock, so the oldest fix can be dropped here
+    acquireLock();
+    try {
+      if (locationQueue.poll() != null) {
+        droppedLocationCount.incrementAndGet();
+        Timber.w("Navigator location queue is full, dropping oldest location.");
+      }
+      locationQueue.offer(fixLocation);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void acquireLock() {
+    if (lock.tryLock()) {
+      return;
+    }
+    long waitStart = System.nanoTime();
+    lock.lock();
+    contendedLockCount.incrementAndGet();
+    lockWaitTimeNanos.addAndGet(System.nanoTime() - waitStart);
+  }
+
+  private void drainLocationQueue() {
+    FixLocation fixLocation;
+    while ((fixLocation = locationQueue.poll()) != null) {
+      navigator.updateLocation(fixLocation);
+    }
+  }
+
   private Float checkFor(Float value) {
     if (value == 0.0) {
       return null;
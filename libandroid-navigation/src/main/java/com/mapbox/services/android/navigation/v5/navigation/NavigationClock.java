@@ -0,0 +1,18 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Source of time for a {@link NavigationEngine}, so it can be run faster than real time
+ * with a clock that is advanced by hand.
+ */
+interface NavigationClock {
+
+  /**
+   * @return the current wall clock time in milliseconds, used to request a navigator status
+   */
+  long currentTimeMillis();
+
+  /**
+   * @return monotonic time in milliseconds, used to schedule processing
+   */
+  long elapsedRealtime();
+}
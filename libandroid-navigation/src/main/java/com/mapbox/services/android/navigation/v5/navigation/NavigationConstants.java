@@ -198,6 +198,67 @@ public final class NavigationConstants {
    */
   static final int NAVIGATION_LOCATION_ENGINE_INTERVAL_LAG = 1500;
 
+  /**
+   * Default minimum time in milliseconds between two route processing updates when
+   * processing is driven by new locations.
+   *
+   * @since 0.23.0
+   */
+  static final int MINIMUM_PROCESSING_INTERVAL_IN_MILLISECONDS = 100;
+
+  /**
+   * Default time in milliseconds after which the route is processed again if no new
+   * location has been received, when processing is driven by new locations.
+   *
+   * @since 0.23.0
+   */
+  static final int IDLE_PROCESSING_INTERVAL_IN_MILLISECONDS = 5000;
+
+  /**
+   * Number of route processing updates between two performance snapshots given to a
+   * {@link NavigationPerformanceListener}, about once a minute with the default interval.
+   *
+   * @since 0.23.0
+   */
+  static final int PERFORMANCE_SNAPSHOT_INTERVAL_IN_UPDATES = 60;
+
+  /**
+   * Time in milliseconds a route processing update may start after it was scheduled before it
+   * counts as late in a {@link NavigationPerformanceSnapshot}.
+   *
+   * @since 0.23.0
+   */
+  static final int LATE_UPDATE_TOLERANCE_IN_MILLISECONDS = 50;
+
+  /**
+   * Time in milliseconds between two drains of the navigator history to disk, when history
+   * recording is enabled.
+   *
+   * @since 0.23.0
+   */
+  static final int HISTORY_DRAIN_INTERVAL_IN_MILLISECONDS = 60000;
+
+  /**
+   * Size in bytes after which a new history file is started, when history recording is enabled.
+   *
+   * @since 0.23.0
+   */
+  static final long HISTORY_FILE_SIZE_LIMIT_IN_BYTES = 1024 * 1024;
+
+  /**
+   * Default total size in bytes of the history files kept, when history recording is enabled.
+   *
+   * @since 0.23.0
+   */
+  static final long HISTORY_RETENTION_BUDGET_IN_BYTES = 20 * 1024 * 1024;
+
+  /**
+   * Name of the directory of the application files where history files are written.
+   *
+   * @since 0.23.0
+   */
+  static final String HISTORY_DIRECTORY = "mapbox_navigation_history";
+
   /**
    * Defines the minimum zoom level of the displayed map.
    */
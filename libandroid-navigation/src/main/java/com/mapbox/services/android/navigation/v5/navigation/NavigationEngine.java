@@ -0,0 +1,211 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneEngine;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Processes the navigated route with each update, without depending on Android.
+ * <p>
+ * Time comes from a {@link NavigationClock} and results are given to the {@link NavigationEngineListener}
+ * with a callback {@link Executor}. Whoever runs the engine calls {@link #process()} and schedules the
+ * next call with the delay it returns, which {@link RouteProcessorRunnable} does with a
+ * {@link android.os.Handler}. A simulation can instead advance its clock by that delay and process again
+ * right away.
+ * <p>
+ * Locations are given and reported as {@link NavigationFix}es, and the off route, snap and faster route
+ * checks come from the {@link NavigationEngineChecks} of the input. On Android, {@link RouteProcessorRunnable}
+ * and {@link NavigationEngineFactoryChecks} convert them to and from {@link android.location.Location}s.
+ * <p>
+ * Each stage of an update is timed with the {@link NavigationPerformanceMonitor} of the input, which
+ * does nothing unless performance monitoring is enabled.
+ */
+class NavigationEngine {
+
+  private final NavigationRouteProcessor routeProcessor;
+  private final NavigationEngineInput input;
+  private final NavigationClock clock;
+  private final Executor callbackExecutor;
+  private final NavigationEngineListener listener;
+  private final RouteProcessorCadence cadence;
+  private final NavigationPerformanceMonitor performanceMonitor;
+  private final MilestoneEngine milestoneEngine = new MilestoneEngine();
+  private volatile NavigationFix rawFix;
+
+  NavigationEngine(NavigationRouteProcessor routeProcessor, NavigationEngineInput input, NavigationClock clock,
+                   Executor callbackExecutor, NavigationEngineListener listener) {
+    this.routeProcessor = routeProcessor;
+    this.input = input;
+    this.clock = clock;
+    this.callbackExecutor = callbackExecutor;
+    this.listener = listener;
+    this.cadence = new RouteProcessorCadence(input.options());
+    this.performanceMonitor = input.retrievePerformanceMonitor();
+  }
+
+  /**
+   * @param rawFix the most recent fix, used by checks which need a raw location
+   */
+  void updateRawFix(NavigationFix rawFix) {
+    this.rawFix = rawFix;
+  }
+
+  boolean isLocationDriven() {
+    return cadence.isLocationDriven();
+  }
+
+  /**
+   * @return delay in milliseconds before the location given last should be processed
+   */
+  long retrieveDelayForNewLocation() {
+    return cadence.retrieveDelayForNewLocation(clock.elapsedRealtime());
+  }
+
+  /**
+   * Builds a new {@link RouteProgress} from the navigator status at the current time, and gives the
+   * results to the listener.
+   *
+   * @return delay in milliseconds before processing again if nothing else schedules it
+   */
+  long process() {
+    RouteGeometryIndex routeGeometryIndex = input.retrieveRouteGeometryIndex();
+    if (routeGeometryIndex == null) {
+      // The first route is still being set on the navigator
+      return cadence.retrieveDelayAfterProcessing();
+    }
+    long elapsedTime = clock.elapsedRealtime();
+    long updateStart = performanceMonitor.startUpdate(elapsedTime);
+    cadence.updateLastProcessedTime(elapsedTime);
+    MapboxNavigationOptions options = input.options();
+
+    Date date = new Date(clock.currentTimeMillis());
+    long lagInMilliseconds = options.navigationLocationEngineIntervalLagInMilliseconds();
+    AlternativeRoutes alternativeRoutes = input.retrieveAlternativeRoutes();
+    long stageStart = performanceMonitor.startStage();
+    alternativeRoutes.updateStatus(date.getTime(), lagInMilliseconds);
+    stageStart = performanceMonitor.endStage(NavigationPerformanceMonitor.STAGE_ALTERNATIVE_STATUS, stageStart);
+    NavigationStatus status = input.retrieveStatus(date, lagInMilliseconds);
+    stageStart = performanceMonitor.endStage(NavigationPerformanceMonitor.STAGE_STATUS, stageStart);
+    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(status, routeGeometryIndex);
+    stageStart = performanceMonitor.endStage(NavigationPerformanceMonitor.STAGE_ROUTE_PROGRESS, stageStart);
+
+    NavigationEngineChecks engineChecks = input.retrieveEngineChecks();
+    NavigationFix rawFix = this.rawFix;
+    // Checking the replaced route would report the user off route again, or trigger its milestones
+    boolean isRouteUpdatePending = input.isRouteUpdatePending();
+    boolean userOffRoute = !isRouteUpdatePending
+      && engineChecks.isUserOffRoute(options, status, rawFix, routeProgress);
+    if (userOffRoute) {
+      AlternativeRoute alternativeRoute = findTakenAlternativeRoute(options, alternativeRoutes, rawFix, engineChecks);
+      if (alternativeRoute != null) {
+        switchToAlternativeRoute(alternativeRoute);
+        status = alternativeRoute.retrieveStatus();
+        routeProgress = alternativeRoute.retrieveRouteProgress();
+        userOffRoute = false;
+      }
+    }
+    stageStart = performanceMonitor.endStage(NavigationPerformanceMonitor.STAGE_OFF_ROUTE, stageStart);
+    final NavigationFix snappedFix = engineChecks.findSnappedFix(status, rawFix, routeProgress);
+    stageStart = performanceMonitor.endStage(NavigationPerformanceMonitor.STAGE_SNAP, stageStart);
+    final boolean checkFasterRoute = options.enableFasterRouteDetection()
+      && !userOffRoute
+      && engineChecks.shouldCheckFasterRoute(snappedFix, routeProgress);
+    stageStart = performanceMonitor.endStage(NavigationPerformanceMonitor.STAGE_FASTER_ROUTE, stageStart);
+    final List<Milestone> milestones = isRouteUpdatePending
+      ? Collections.<Milestone>emptyList() : findTriggeredMilestones(routeProgress);
+    performanceMonitor.endStage(NavigationPerformanceMonitor.STAGE_MILESTONES, stageStart);
+
+    sendUpdateToListener(userOffRoute, milestones, snappedFix, checkFasterRoute, routeProgress);
+    routeProcessor.updatePreviousRouteProgress(routeProgress);
+    long delay = cadence.retrieveDelayAfterProcessing();
+    performanceMonitor.endUpdate(updateStart, clock.elapsedRealtime(), delay);
+    sendPerformanceSnapshotToListener();
+    return delay;
+  }
+
+  /**
+   * Only called once the user is off the navigated route, so the progress of the alternatives is only
+   * built then.
+   *
+   * @return the first alternative route the user is on, or null if they are off every alternative
+   */
+  @Nullable
+  private AlternativeRoute findTakenAlternativeRoute(MapboxNavigationOptions options,
+                                                     AlternativeRoutes alternativeRoutes,
+                                                     NavigationFix rawFix, NavigationEngineChecks engineChecks) {
+    for (AlternativeRoute alternativeRoute : alternativeRoutes.retrieveRoutes()) {
+      NavigationStatus status = alternativeRoute.retrieveStatus();
+      if (status == null) {
+        continue;
+      }
+      RouteProgress routeProgress = alternativeRoute.retrieveRouteProgress();
+      if (!engineChecks.isUserOffRoute(options, status, rawFix, routeProgress)) {
+        return alternativeRoute;
+      }
+    }
+    return null;
+  }
+
+  private void switchToAlternativeRoute(AlternativeRoute alternativeRoute) {
+    input.switchToAlternativeRoute(alternativeRoute);
+    final DirectionsRoute directionsRoute = alternativeRoute.retrieveRoute();
+    callbackExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        input.onAlternativeRouteTaken(directionsRoute);
+      }
+    });
+  }
+
+  private List<Milestone> findTriggeredMilestones(RouteProgress routeProgress) {
+    List<Milestone> milestones = input.retrieveMilestones();
+    if (milestones.isEmpty()) {
+      return Collections.emptyList();
+    }
+    RouteProgress previousRouteProgress = routeProcessor.retrievePreviousRouteProgress();
+    if (previousRouteProgress == null) {
+      previousRouteProgress = routeProgress;
+    }
+    return milestoneEngine.findTriggeredMilestones(milestones, previousRouteProgress, routeProgress);
+  }
+
+  private void sendUpdateToListener(final boolean userOffRoute, final List<Milestone> milestones,
+                                    final NavigationFix fix, final boolean checkFasterRoute,
+                                    final RouteProgress finalRouteProgress) {
+    final long dispatchStart = performanceMonitor.startStage();
+    callbackExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        performanceMonitor.endStage(NavigationPerformanceMonitor.STAGE_DISPATCH, dispatchStart);
+        listener.onNewRouteProgress(fix, finalRouteProgress);
+        listener.onMilestoneTrigger(milestones, finalRouteProgress);
+        listener.onUserOffRoute(fix, userOffRoute);
+        listener.onCheckFasterRoute(fix, finalRouteProgress, checkFasterRoute);
+      }
+    });
+  }
+
+  private void sendPerformanceSnapshotToListener() {
+    if (!performanceMonitor.isSnapshotDue()) {
+      return;
+    }
+    final NavigationPerformanceSnapshot snapshot = performanceMonitor.buildSnapshot(
+      input.retrieveDroppedLocationCount()
+    );
+    callbackExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        listener.onPerformanceSnapshot(snapshot);
+      }
+    });
+  }
+}
@@ -0,0 +1,29 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * The off route, snap and faster route checks a {@link NavigationEngine} runs with each update.
+ * <p>
+ * On Android these are the engines of a {@link NavigationEngineFactory}, adapted by
+ * {@link NavigationEngineFactoryChecks}, while simulations can provide their own.
+ */
+interface NavigationEngineChecks {
+
+  /**
+   * @param rawFix the most recent fix, or null if none was given yet
+   */
+  boolean isUserOffRoute(MapboxNavigationOptions options, NavigationStatus status, @Nullable NavigationFix rawFix,
+                         @Nullable RouteProgress routeProgress);
+
+  /**
+   * @param rawFix the most recent fix, or null if none was given yet
+   * @return the fix snapped to the route
+   */
+  NavigationFix findSnappedFix(NavigationStatus status, @Nullable NavigationFix rawFix, RouteProgress routeProgress);
+
+  boolean shouldCheckFasterRoute(NavigationFix snappedFix, RouteProgress routeProgress);
+}
@@ -0,0 +1,55 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.route.FasterRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
+
+/**
+ * Runs the {@link OffRoute}, {@link Snap} and {@link FasterRoute} engines of a {@link NavigationEngineFactory}
+ * for a {@link NavigationEngine}, converting its fixes to and from {@link Location}s. The engines are
+ * read with each check, so engines replaced while navigating are used right away.
+ */
+class NavigationEngineFactoryChecks implements NavigationEngineChecks {
+
+  private final NavigationEngineFactory engineFactory;
+
+  NavigationEngineFactoryChecks(NavigationEngineFactory engineFactory) {
+    this.engineFactory = engineFactory;
+  }
+
+  @Override
+  public boolean isUserOffRoute(MapboxNavigationOptions options, NavigationStatus status,
+                                @Nullable NavigationFix rawFix, @Nullable RouteProgress routeProgress) {
+    OffRoute offRoute = engineFactory.retrieveOffRouteEngine();
+    if (offRoute instanceof OffRouteDetector) {
+      return ((OffRouteDetector) offRoute).isUserOffRouteWith(status);
+    }
+    return offRoute.isUserOffRoute(LocationFixConverter.toLocation(rawFix), routeProgress, options);
+  }
+
+  @Override
+  public NavigationFix findSnappedFix(NavigationStatus status, @Nullable NavigationFix rawFix,
+                                      RouteProgress routeProgress) {
+    Snap snap = engineFactory.retrieveSnapEngine();
+    Location snappedLocation;
+    if (snap instanceof SnapToRoute) {
+      snappedLocation = ((SnapToRoute) snap).getSnappedLocationWith(status);
+    } else {
+      snappedLocation = snap.getSnappedLocation(LocationFixConverter.toLocation(rawFix), routeProgress);
+    }
+    return LocationFixConverter.toFix(snappedLocation);
+  }
+
+  @Override
+  public boolean shouldCheckFasterRoute(NavigationFix snappedFix, RouteProgress routeProgress) {
+    FasterRoute fasterRoute = engineFactory.retrieveFasterRouteEngine();
+    return fasterRoute.shouldCheckFasterRoute(LocationFixConverter.toLocation(snappedFix), routeProgress);
+  }
+}
@@ -0,0 +1,56 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Everything a {@link NavigationEngine} reads with each update: the status of the navigated route,
+ * the route itself and the engines and milestones to use with it.
+ * <p>
+ * On Android this is backed by {@link MapboxNavigation}, while simulations can provide statuses from
+ * any other source.
+ */
+interface NavigationEngineInput {
+
+  MapboxNavigationOptions options();
+
+  NavigationStatus retrieveStatus(Date date, long lagInMilliseconds);
+
+  @Nullable
+  RouteGeometryIndex retrieveRouteGeometryIndex();
+
+  /**
+   * @return true while a new route is being set in place of the one of
+   * {@link #retrieveRouteGeometryIndex()}, so the user isn't checked against the replaced route
+   */
+  boolean isRouteUpdatePending();
+
+  AlternativeRoutes retrieveAlternativeRoutes();
+
+  NavigationEngineChecks retrieveEngineChecks();
+
+  List<Milestone> retrieveMilestones();
+
+  NavigationPerformanceMonitor retrievePerformanceMonitor();
+
+  /**
+   * @return number of locations the navigator of the navigated route had to drop
+   */
+  long retrieveDroppedLocationCount();
+
+  /**
+   * Called from the processing thread when the user is on an alternative route instead.
+   */
+  void switchToAlternativeRoute(AlternativeRoute alternativeRoute);
+
+  /**
+   * Called with the callback executor once an alternative route has been switched to.
+   */
+  void onAlternativeRouteTaken(DirectionsRoute directionsRoute);
+}
@@ -0,0 +1,25 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+/**
+ * Given the results of each {@link NavigationEngine} update, with the callback executor of the engine.
+ * <p>
+ * On Android, {@link RouteProcessorRunnable} passes them on to a {@link RouteProcessorBackgroundThread.Listener}
+ * as {@link android.location.Location}s.
+ */
+interface NavigationEngineListener {
+
+  void onNewRouteProgress(NavigationFix fix, RouteProgress routeProgress);
+
+  void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress);
+
+  void onUserOffRoute(NavigationFix fix, boolean userOffRoute);
+
+  void onCheckFasterRoute(NavigationFix fix, RouteProgress routeProgress, boolean checkFasterRoute);
+
+  void onPerformanceSnapshot(NavigationPerformanceSnapshot snapshot);
+}
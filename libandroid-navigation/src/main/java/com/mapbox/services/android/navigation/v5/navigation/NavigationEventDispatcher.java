@@ -25,6 +25,8 @@ class NavigationEventDispatcher {
   private CopyOnWriteArrayList<ProgressChangeListener> progressChangeListeners;
   private CopyOnWriteArrayList<OffRouteListener> offRouteListeners;
   private CopyOnWriteArrayList<FasterRouteListener> fasterRouteListeners;
+  private CopyOnWriteArrayList<NavigationPerformanceListener> performanceListeners;
+  private CopyOnWriteArrayList<RouteChangeListener> routeChangeListeners;
   private NavigationMetricListener metricEventListener;
   private RouteUtils routeUtils;
 
@@ -38,6 +40,8 @@ class NavigationEventDispatcher {
     progressChangeListeners = new CopyOnWriteArrayList<>();
     offRouteListeners = new CopyOnWriteArrayList<>();
     fasterRouteListeners = new CopyOnWriteArrayList<>();
+    performanceListeners = new CopyOnWriteArrayList<>();
+    routeChangeListeners = new CopyOnWriteArrayList<>();
     this.routeUtils = routeUtils;
   }
 
@@ -131,6 +135,42 @@ class NavigationEventDispatcher {
     }
   }
 
+  void addPerformanceListener(@NonNull NavigationPerformanceListener performanceListener) {
+    if (performanceListeners.contains(performanceListener)) {
+      Timber.w("The specified NavigationPerformanceListener has already been added to the stack.");
+      return;
+    }
+    performanceListeners.add(performanceListener);
+  }
+
+  void removePerformanceListener(@Nullable NavigationPerformanceListener performanceListener) {
+    if (performanceListener == null) {
+      performanceListeners.clear();
+    } else if (!performanceListeners.contains(performanceListener)) {
+      Timber.w("The specified NavigationPerformanceListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      performanceListeners.remove(performanceListener);
+    }
+  }
+
+  void addRouteChangeListener(@NonNull RouteChangeListener routeChangeListener) {
+    if (routeChangeListeners.contains(routeChangeListener)) {
+      Timber.w("The specified RouteChangeListener has already been added to the stack.");
+      return;
+    }
+    routeChangeListeners.add(routeChangeListener);
+  }
+
+  void removeRouteChangeListener(@Nullable RouteChangeListener routeChangeListener) {
+    if (routeChangeListener == null) {
+      routeChangeListeners.clear();
+    } else if (!routeChangeListeners.contains(routeChangeListener)) {
+      Timber.w("The specified RouteChangeListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      routeChangeListeners.remove(routeChangeListener);
+    }
+  }
+
   void onMilestoneEvent(RouteProgress routeProgress, String instruction, Milestone milestone) {
     checkForArrivalEvent(routeProgress, milestone);
     for (MilestoneEventListener milestoneEventListener : milestoneEventListeners) {
@@ -166,6 +206,18 @@ class NavigationEventDispatcher {
     }
   }
 
+  void onPerformanceSnapshot(NavigationPerformanceSnapshot snapshot) {
+    for (NavigationPerformanceListener performanceListener : performanceListeners) {
+      performanceListener.onPerformanceSnapshot(snapshot);
+    }
+  }
+
+  void onRouteChange(DirectionsRoute directionsRoute) {
+    for (RouteChangeListener routeChangeListener : routeChangeListeners) {
+      routeChangeListener.onRouteChange(directionsRoute);
+    }
+  }
+
   void addMetricEventListeners(NavigationMetricListener eventListeners) {
     if (metricEventListener == null) {
       metricEventListener = eventListeners;
@@ -0,0 +1,67 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * A location fix as given to and reported by a {@link NavigationEngine}, so the engine doesn't depend
+ * on {@link android.location.Location}. Values which are unknown are {@link Float#NaN} or
+ * {@link Double#NaN}.
+ */
+@AutoValue
+abstract class NavigationFix {
+
+  static NavigationFix create(long time, double latitude, double longitude, float speed, float bearing,
+                              double altitude, float accuracy, @Nullable String provider) {
+    return new AutoValue_NavigationFix(time, latitude, longitude, speed, bearing, altitude, accuracy, provider);
+  }
+
+  /**
+   * @return time of the fix in milliseconds since epoch, or 0 if unknown
+   */
+  abstract long time();
+
+  abstract double latitude();
+
+  abstract double longitude();
+
+  /**
+   * @return speed in meters per second
+   */
+  abstract float speed();
+
+  /**
+   * @return bearing in degrees
+   */
+  abstract float bearing();
+
+  /**
+   * @return altitude in meters above the WGS 84 reference ellipsoid
+   */
+  abstract double altitude();
+
+  /**
+   * @return horizontal accuracy in meters
+   */
+  abstract float accuracy();
+
+  @Nullable
+  abstract String provider();
+
+  boolean hasSpeed() {
+    return !Float.isNaN(speed());
+  }
+
+  boolean hasBearing() {
+    return !Float.isNaN(bearing());
+  }
+
+  boolean hasAltitude() {
+    return !Double.isNaN(altitude());
+  }
+
+  boolean hasAccuracy() {
+    return !Float.isNaN(accuracy());
+  }
+}
@@ -13,7 +13,6 @@ import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.core.constants.Constants;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
@@ -25,8 +24,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import static com.mapbox.core.constants.Constants.PRECISION_6;
-
 /**
  * This contains several single purpose methods that help out when a new location update occurs and
  * calculations need to be performed on it.
@@ -130,45 +127,6 @@ public class NavigationHelper {
     return NavigationIndices.create(previousLegIndex, (previousStepIndex + 1));
   }
 
-  /**
-   * Given the current {@link DirectionsRoute} and leg / step index,
-   * return a list of {@link Point} representing the current step.
-   * <p>
-   * This method is only used on a per-step basis as {@link PolylineUtils#decode(String, int)}
-   * can be a heavy operation based on the length of the step.
-   * <p>
-   * Returns null if index is invalid.
-   *
-   * @param directionsRoute for list of steps
-   * @param legIndex        to get current step list
-   * @param stepIndex       to get current step
-   * @return list of {@link Point} representing the current step
-   */
-  static List<Point> decodeStepPoints(DirectionsRoute directionsRoute, List<Point> currentPoints,
-                                      int legIndex, int stepIndex) {
-    List<RouteLeg> legs = directionsRoute.legs();
-    if (hasInvalidLegs(legs)) {
-      return currentPoints;
-    }
-    List<LegStep> steps = legs.get(legIndex).steps();
-    if (hasInvalidSteps(steps)) {
-      return currentPoints;
-    }
-    boolean invalidStepIndex = stepIndex < 0 || stepIndex > steps.size() - 1;
-    if (invalidStepIndex) {
-      return currentPoints;
-    }
-    LegStep step = steps.get(stepIndex);
-    if (step == null) {
-      return currentPoints;
-    }
-    String stepGeometry = step.geometry();
-    if (stepGeometry != null) {
-      return PolylineUtils.decode(stepGeometry, PRECISION_6);
-    }
-    return currentPoints;
-  }
-
   /**
    * Given a current and upcoming step, this method assembles a list of {@link StepIntersection}
    * consisting of all of the current step intersections, as well as the first intersection of
@@ -241,11 +199,11 @@ public class NavigationHelper {
   public static StepIntersection findCurrentIntersection(@NonNull List<StepIntersection> intersections,
                                                   @NonNull List<Pair<StepIntersection, Double>> measuredIntersections,
                                                   double stepDistanceTraveled) {
-    for (Pair<StepIntersection, Double> measuredIntersection : measuredIntersections) {
+    int measuredIntersectionSize = measuredIntersections.size();
+    for (int intersectionIndex = 0; intersectionIndex < measuredIntersectionSize; intersectionIndex++) {
+      Pair<StepIntersection, Double> measuredIntersection = measuredIntersections.get(intersectionIndex);
       double intersectionDistance = measuredIntersection.second;
-      int intersectionIndex = measuredIntersections.indexOf(measuredIntersection);
       int nextIntersectionIndex = intersectionIndex + ONE_INDEX;
-      int measuredIntersectionSize = measuredIntersections.size();
       boolean hasValidNextIntersection = nextIntersectionIndex < measuredIntersectionSize;
 
       if (hasValidNextIntersection) {
@@ -262,6 +220,35 @@ public class NavigationHelper {
     return intersections.get(FIRST_INTERSECTION);
   }
 
+  /**
+   * Based on the sorted distances of each intersection along the step and the step distance
+   * traveled, finds the index of the current intersection a user is traveling along.
+   * <p>
+   * The current intersection is the last one the user has passed, found with a binary search.
+   * If no intersection has been passed, or no distances are given, the first index is returned.
+   *
+   * @param intersectionDistances sorted distances, in meters, of each intersection along the step
+   * @param stepDistanceTraveled  how far the user has traveled along the step
+   * @return the index of the current step intersection
+   * @since 0.23.0
+   */
+  public static int findCurrentIntersectionIndex(@NonNull double[] intersectionDistances,
+                                                 double stepDistanceTraveled) {
+    int currentIntersectionIndex = FIRST_INTERSECTION;
+    int low = FIRST_INTERSECTION;
+    int high = intersectionDistances.length - ONE_INDEX;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (intersectionDistances[middle] < stepDistanceTraveled) {
+        currentIntersectionIndex = middle;
+        low = middle + ONE_INDEX;
+      } else {
+        high = middle - ONE_INDEX;
+      }
+    }
+    return currentIntersectionIndex;
+  }
+
   /**
    * Based on the current intersection index, add one and try to get the upcoming.
    * <p>
@@ -278,7 +265,26 @@ public class NavigationHelper {
                                                    @Nullable LegStep upcomingStep,
                                                    StepIntersection currentIntersection) {
     int intersectionIndex = intersections.indexOf(currentIntersection);
-    int nextIntersectionIndex = intersectionIndex + ONE_INDEX;
+    return findUpcomingIntersection(intersections, upcomingStep, intersectionIndex);
+  }
+
+  /**
+   * Based on the current intersection index, add one and try to get the upcoming.
+   * <p>
+   * If there is not an upcoming intersection on the step, check for an upcoming step and
+   * return the first intersection from the upcoming step.
+   *
+   * @param intersections            for the current step
+   * @param upcomingStep             for the first intersection if needed
+   * @param currentIntersectionIndex of the intersection being traveled along
+   * @return the upcoming intersection on the step
+   * @since 0.23.0
+   */
+  @Nullable
+  public static StepIntersection findUpcomingIntersection(@NonNull List<StepIntersection> intersections,
+                                                          @Nullable LegStep upcomingStep,
+                                                          int currentIntersectionIndex) {
+    int nextIntersectionIndex = currentIntersectionIndex + ONE_INDEX;
     int intersectionSize = intersections.size();
     boolean isValidUpcomingIntersection = nextIntersectionIndex < intersectionSize;
     if (isValidUpcomingIntersection) {
@@ -292,6 +298,26 @@ public class NavigationHelper {
     return null;
   }
 
+  /**
+   * Pairs each {@link StepIntersection} with its already measured distance in meters along a step.
+   *
+   * @param intersections         along the step
+   * @param intersectionDistances measured distances, one for each intersection, or empty
+   * @return list of measured intersection pairs
+   */
+  @NonNull
+  static List<Pair<StepIntersection, Double>> pairIntersectionDistances(List<StepIntersection> intersections,
+                                                                        double[] intersectionDistances) {
+    if (intersectionDistances.length == 0) {
+      return Collections.emptyList();
+    }
+    List<Pair<StepIntersection, Double>> distancesToIntersections = new ArrayList<>(intersectionDistances.length);
+    for (int i = 0; i < intersectionDistances.length; i++) {
+      distancesToIntersections.add(new Pair<>(intersections.get(i), intersectionDistances[i]));
+    }
+    return distancesToIntersections;
+  }
+
   /**
    * Given a list of distance annotations, find the current annotation index.  This index retrieves the
    * current annotation from any provided annotation list in {@link LegAnnotation}.
@@ -354,7 +380,6 @@ public class NavigationHelper {
   private static int findAnnotationIndex(CurrentLegAnnotation currentLegAnnotation,
                                          CurrentLegAnnotation.Builder annotationBuilder, RouteLeg leg,
                                          double legDistanceRemaining, List<Double> distanceAnnotationList) {
-    List<Double> legDistances = new ArrayList<>(distanceAnnotationList);
     Double totalLegDistance = leg.distance();
     double distanceTraveled = totalLegDistance - legDistanceRemaining;
 
@@ -364,8 +389,8 @@ public class NavigationHelper {
       distanceIndex = currentLegAnnotation.index();
       annotationDistancesTraveled = currentLegAnnotation.distanceToAnnotation();
     }
-    for (int i = distanceIndex; i < legDistances.size(); i++) {
-      Double distance = legDistances.get(i);
+    for (int i = distanceIndex; i < distanceAnnotationList.size(); i++) {
+      Double distance = distanceAnnotationList.get(i);
       annotationDistancesTraveled += distance;
       if (annotationDistancesTraveled > distanceTraveled) {
         double distanceToAnnotation = annotationDistancesTraveled - distance;
@@ -375,12 +400,4 @@ public class NavigationHelper {
     }
     return INDEX_ZERO;
   }
-
-  private static boolean hasInvalidLegs(List<RouteLeg> legs) {
-    return legs == null || legs.isEmpty();
-  }
-
-  private static boolean hasInvalidSteps(List<LegStep> steps) {
-    return steps == null || steps.isEmpty();
-  }
 }
@@ -0,0 +1,18 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Receives the route processing timings recorded while
+ * {@link MapboxNavigationOptions#enablePerformanceMonitoring()} is enabled.
+ *
+ * @since 0.23.0
+ */
+public interface NavigationPerformanceListener {
+
+  /**
+   * Called on the main thread once every 60 route processing updates.
+   *
+   * @param snapshot of the timings recorded since navigation started
+   * @since 0.23.0
+   */
+  void onPerformanceSnapshot(NavigationPerformanceSnapshot snapshot);
+}
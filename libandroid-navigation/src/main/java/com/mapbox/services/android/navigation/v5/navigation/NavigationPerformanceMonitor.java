@@ -0,0 +1,132 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long each stage of a {@link NavigationEngine} update takes, and how late updates
+ * start compared to when they were scheduled.
+ * <p>
+ * Stages are timed with {@link System#nanoTime()}: {@link #startStage()} returns the start time,
+ * which is given back to {@link #endStage(int, long)} once the stage is done. Neither allocates, and
+ * both do nothing if monitoring is disabled. Updates must be recorded from a single thread, while
+ * dispatch delays and snapshots may come from any thread.
+ */
+class NavigationPerformanceMonitor {
+
+  static final int STAGE_UPDATE = 0;
+  static final int STAGE_ALTERNATIVE_STATUS = 1;
+  static final int STAGE_STATUS = 2;
+  static final int STAGE_ROUTE_PROGRESS = 3;
+  static final int STAGE_OFF_ROUTE = 4;
+  static final int STAGE_SNAP = 5;
+  static final int STAGE_FASTER_ROUTE = 6;
+  static final int STAGE_MILESTONES = 7;
+  static final int STAGE_DISPATCH = 8;
+  private static final int STAGE_COUNT = 9;
+  private static final long NOT_STARTED = 0;
+  private static final long NOT_SCHEDULED = -1;
+  private static final long NANOSECONDS_PER_MICROSECOND = 1000;
+
+  private final boolean isEnabled;
+  private final LatencyHistogram[] histograms = new LatencyHistogram[STAGE_COUNT];
+  private final AtomicLong updateCount = new AtomicLong();
+  private final AtomicLong lateUpdateCount = new AtomicLong();
+  private final AtomicLong droppedUpdateCount = new AtomicLong();
+  private long scheduledTime = NOT_SCHEDULED;
+  private long scheduledDelay;
+
+  NavigationPerformanceMonitor(boolean isEnabled) {
+    this.isEnabled = isEnabled;
+    for (int stage = 0; stage < STAGE_COUNT; stage++) {
+      histograms[stage] = new LatencyHistogram();
+    }
+  }
+
+  boolean isEnabled() {
+    return isEnabled;
+  }
+
+  /**
+   * Counts a new update, and whether it started later than scheduled by the previous one.
+   *
+   * @param elapsedTime in milliseconds at which the update started
+   * @return the start time of the update, to give to {@link #endUpdate(long, long, long)}
+   */
+  long startUpdate(long elapsedTime) {
+    if (!isEnabled) {
+      return NOT_STARTED;
+    }
+    updateCount.incrementAndGet();
+    if (scheduledTime != NOT_SCHEDULED) {
+      long lateness = elapsedTime - scheduledTime;
+      if (lateness > NavigationConstants.LATE_UPDATE_TOLERANCE_IN_MILLISECONDS) {
+        lateUpdateCount.incrementAndGet();
+        if (scheduledDelay > 0) {
+          droppedUpdateCount.addAndGet(lateness / scheduledDelay);
+        }
+      }
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * @param updateStart       returned by {@link #startUpdate(long)}
+   * @param elapsedTime       in milliseconds at which the update ended
+   * @param delayToNextUpdate in milliseconds, after which the next update is scheduled
+   */
+  void endUpdate(long updateStart, long elapsedTime, long delayToNextUpdate) {
+    if (!isEnabled) {
+      return;
+    }
+    endStage(STAGE_UPDATE, updateStart);
+    scheduledTime = elapsedTime + delayToNextUpdate;
+    scheduledDelay = delayToNextUpdate;
+  }
+
+  long startStage() {
+    if (!isEnabled) {
+      return NOT_STARTED;
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * @param stage      which ended
+   * @param stageStart returned by {@link #startStage()}
+   * @return the time the stage ended, which is the start of the next stage
+   */
+  long endStage(int stage, long stageStart) {
+    if (!isEnabled) {
+      return NOT_STARTED;
+    }
+    long stageEnd = System.nanoTime();
+    histograms[stage].record((stageEnd - stageStart) / NANOSECONDS_PER_MICROSECOND);
+    return stageEnd;
+  }
+
+  /**
+   * @return true if a snapshot should be given to the listeners after the current update
+   */
+  boolean isSnapshotDue() {
+    long count = updateCount.get();
+    return isEnabled && count > 0 && count % NavigationConstants.PERFORMANCE_SNAPSHOT_INTERVAL_IN_UPDATES == 0;
+  }
+
+  NavigationPerformanceSnapshot buildSnapshot(long droppedLocationCount) {
+    return NavigationPerformanceSnapshot.builder()
+      .updateCount(updateCount.get())
+      .lateUpdateCount(lateUpdateCount.get())
+      .droppedUpdateCount(droppedUpdateCount.get())
+      .droppedLocationCount(droppedLocationCount)
+      .updateLatency(histograms[STAGE_UPDATE].buildStageLatency())
+      .alternativeStatusLatency(histograms[STAGE_ALTERNATIVE_STATUS].buildStageLatency())
+      .statusLatency(histograms[STAGE_STATUS].buildStageLatency())
+      .routeProgressLatency(histograms[STAGE_ROUTE_PROGRESS].buildStageLatency())
+      .offRouteLatency(histograms[STAGE_OFF_ROUTE].buildStageLatency())
+      .snapLatency(histograms[STAGE_SNAP].buildStageLatency())
+      .fasterRouteLatency(histograms[STAGE_FASTER_ROUTE].buildStageLatency())
+      .milestoneLatency(histograms[STAGE_MILESTONES].buildStageLatency())
+      .dispatchDelay(histograms[STAGE_DISPATCH].buildStageLatency())
+      .build();
+  }
+}
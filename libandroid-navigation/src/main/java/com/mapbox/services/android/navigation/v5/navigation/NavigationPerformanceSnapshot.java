@@ -0,0 +1,159 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Timings of route processing recorded since navigation started, if
+ * {@link MapboxNavigationOptions#enablePerformanceMonitoring()} is enabled.
+ * <p>
+ * Each route processing update goes through the stages below in order. The snapshot is immutable
+ * and can be obtained with {@link MapboxNavigation#retrievePerformanceSnapshot()} or a
+ * {@link NavigationPerformanceListener}.
+ *
+ * @since 0.23.0
+ */
+@AutoValue
+public abstract class NavigationPerformanceSnapshot {
+
+  static Builder builder() {
+    return new AutoValue_NavigationPerformanceSnapshot.Builder();
+  }
+
+  /**
+   * Number of route processing updates.
+   *
+   * @return number of updates
+   * @since 0.23.0
+   */
+  public abstract long updateCount();
+
+  /**
+   * Number of updates which started later than they were scheduled, for instance because the
+   * previous update took too long.
+   *
+   * @return number of late updates
+   * @since 0.23.0
+   */
+  public abstract long lateUpdateCount();
+
+  /**
+   * Number of updates which would have run had the late updates started on time.
+   *
+   * @return number of skipped updates
+   * @since 0.23.0
+   */
+  public abstract long droppedUpdateCount();
+
+  /**
+   * Number of locations dropped before they could be processed, because more were received than
+   * the navigator could queue.
+   *
+   * @return number of dropped locations
+   * @since 0.23.0
+   */
+  public abstract long droppedLocationCount();
+
+  /**
+   * Total time of each update, from reading the navigator status until the results are posted.
+   *
+   * @return latency of whole updates
+   * @since 0.23.0
+   */
+  public abstract StageLatency updateLatency();
+
+  /**
+   * Time taken to read the status of the alternative routes tracked alongside the navigated route.
+   *
+   * @return latency of reading the status of the alternative routes
+   * @since 0.23.0
+   */
+  public abstract StageLatency alternativeStatusLatency();
+
+  /**
+   * Time taken to read the status of the navigated route from the navigator.
+   *
+   * @return latency of reading the status
+   * @since 0.23.0
+   */
+  public abstract StageLatency statusLatency();
+
+  /**
+   * Time taken to build a new {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress}.
+   *
+   * @return latency of building the route progress
+   * @since 0.23.0
+   */
+  public abstract StageLatency routeProgressLatency();
+
+  /**
+   * Time taken to detect whether the user is off route, including switching to an alternative route.
+   *
+   * @return latency of off route detection
+   * @since 0.23.0
+   */
+  public abstract StageLatency offRouteLatency();
+
+  /**
+   * Time taken to snap the location to the route.
+   *
+   * @return latency of snapping
+   * @since 0.23.0
+   */
+  public abstract StageLatency snapLatency();
+
+  /**
+   * Time taken to decide whether a faster route should be checked for.
+   *
+   * @return latency of faster route detection
+   * @since 0.23.0
+   */
+  public abstract StageLatency fasterRouteLatency();
+
+  /**
+   * Time taken to find the triggered milestones.
+   *
+   * @return latency of milestone evaluation
+   * @since 0.23.0
+   */
+  public abstract StageLatency milestoneLatency();
+
+  /**
+   * Time between posting the results of an update and the listeners being called on the main thread.
+   *
+   * @return delay of main thread dispatch
+   * @since 0.23.0
+   */
+  public abstract StageLatency dispatchDelay();
+
+  @AutoValue.Builder
+  abstract static class Builder {
+
+    abstract Builder updateCount(long updateCount);
+
+    abstract Builder lateUpdateCount(long lateUpdateCount);
+
+    abstract Builder droppedUpdateCount(long droppedUpdateCount);
+
+    abstract Builder droppedLocationCount(long droppedLocationCount);
+
+    abstract Builder updateLatency(StageLatency updateLatency);
+
+    abstract Builder alternativeStatusLatency(StageLatency alternativeStatusLatency);
+
+    abstract Builder statusLatency(StageLatency statusLatency);
+
+    abstract Builder routeProgressLatency(StageLatency routeProgressLatency);
+
+    abstract Builder offRouteLatency(StageLatency offRouteLatency);
+
+    abstract Builder snapLatency(StageLatency snapLatency);
+
+    abstract Builder fasterRouteLatency(StageLatency fasterRouteLatency);
+
+    abstract Builder milestoneLatency(StageLatency milestoneLatency);
+
+    abstract Builder dispatchDelay(StageLatency dispatchDelay);
+
+    abstract NavigationPerformanceSnapshot build();
+  }
+}
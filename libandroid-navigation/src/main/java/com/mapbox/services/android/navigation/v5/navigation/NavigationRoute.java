@@ -1,6 +1,8 @@
 package com.mapbox.services.android.navigation.v5.navigation;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.FloatRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -20,6 +22,8 @@ import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.utils.LocaleUtils;
 
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -39,16 +43,21 @@ import retrofit2.Callback;
  */
 public final class NavigationRoute {
 
+  private static final Executor DIRECTIONS_CACHE_EXECUTOR = Executors.newSingleThreadExecutor();
   private final MapboxDirections mapboxDirections;
+  @Nullable
+  private final DirectionsCache directionsCache;
 
   /**
    * Private constructor used for the {@link Builder#build()} method.
    *
    * @param mapboxDirections a new instance of a {@link MapboxDirections} class
+   * @param directionsCache  answering the request when the route was cached, or null
    * @since 0.5.0
    */
-  private NavigationRoute(MapboxDirections mapboxDirections) {
+  private NavigationRoute(MapboxDirections mapboxDirections, @Nullable DirectionsCache directionsCache) {
     this.mapboxDirections = mapboxDirections;
+    this.directionsCache = directionsCache;
   }
 
   /**
@@ -72,12 +81,27 @@ public final class NavigationRoute {
   /**
    * Call when you have constructed your navigation route with your desired parameters. A
    * {@link Callback} must be passed into the method to handle both the response and failure.
+   * <p>
+   * With a {@link DirectionsCache}, a route requested before is answered from the cache, without
+   * going to the network.
    *
    * @param callback a RetroFit callback which contains an onResponse and onFailure
    * @since 0.5.0
    */
   public void getRoute(Callback<DirectionsResponse> callback) {
-    mapboxDirections.enqueueCall(callback);
+    if (directionsCache == null) {
+      mapboxDirections.enqueueCall(callback);
+      return;
+    }
+    final Handler mainHandler = new Handler(Looper.getMainLooper());
+    Executor mainExecutor = new Executor() {
+      @Override
+      public void execute(@NonNull Runnable runnable) {
+        mainHandler.post(runnable);
+      }
+    };
+    new CachedRouteRequest(mapboxDirections, directionsCache, DIRECTIONS_CACHE_EXECUTOR, mainExecutor)
+      .enqueue(callback);
   }
 
   /**
@@ -91,8 +115,14 @@ public final class NavigationRoute {
     return mapboxDirections.cloneCall();
   }
 
+  /**
+   * Cancels the request sent with {@link #getRoute(Callback)}, whose callback then receives the
+   * failure of the canceled call, unless it was answered already.
+   *
+   * @since 0.5.0
+   */
   public void cancelCall() {
-    getCall().cancel();
+    mapboxDirections.cancelCall();
   }
 
   /**
@@ -110,6 +140,7 @@ public final class NavigationRoute {
   public static final class Builder {
 
     private final MapboxDirections.Builder directionsBuilder;
+    private DirectionsCache directionsCache;
 
     /**
      * Private constructor for initializing the raw MapboxDirections.Builder
@@ -538,6 +569,19 @@ public final class NavigationRoute {
       return this;
     }
 
+    /**
+     * Optionally answer the request from the given cache when the same route was requested before,
+     * and cache the response otherwise.
+     *
+     * @param directionsCache to answer the request from, or null to always go to the network
+     * @return this builder for chaining options together
+     * @since 0.23.0
+     */
+    public Builder directionsCache(@Nullable DirectionsCache directionsCache) {
+      this.directionsCache = directionsCache;
+      return this;
+    }
+
     /**
      * This uses the provided parameters set using the {@link Builder} and adds the required
      * settings for navigation to work correctly.
@@ -555,7 +599,7 @@ public final class NavigationRoute {
         .voiceInstructions(true)
         .bannerInstructions(true)
         .roundaboutExits(true);
-      return new NavigationRoute(directionsBuilder.build());
+      return new NavigationRoute(directionsBuilder.build(), directionsCache);
     }
   }
 }
\ No newline at end of file
@@ -15,32 +15,50 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
 import java.util.List;
 
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createCurrentAnnotation;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createDistancesToIntersections;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createIntersectionsList;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.decodeStepPoints;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findCurrentIntersection;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findCurrentIntersectionIndex;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findUpcomingIntersection;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.pairIntersectionDistances;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.routeDistanceRemaining;
 
 class NavigationRouteProcessor {
 
   private static final int ONE_INDEX = 1;
   private static final double ONE_SECOND_IN_MILLISECONDS = 1000.0;
+  private static final int INVALID_INDEX = -1;
   private RouteProgress previousRouteProgress;
+  private RouteGeometryIndex routeGeometryIndex;
   private DirectionsRoute route;
   private RouteLeg currentLeg;
   private LegStep currentStep;
   private List<Point> currentStepPoints;
   private LegStep upcomingStep;
   private List<Point> upcomingStepPoints;
+  private int stepDataLegIndex = INVALID_INDEX;
+  private int stepDataStepIndex = INVALID_INDEX;
   private List<StepIntersection> currentIntersections;
   private List<Pair<StepIntersection, Double>> currentIntersectionDistances;
+  private double[] currentIntersectionDistanceArray;
+  private LegAnnotationIndex currentLegAnnotationIndex;
   private CurrentLegAnnotation currentLegAnnotation;
-
-  RouteProgress buildNewRouteProgress(NavigationStatus status, DirectionsRoute route) {
-    updateRoute(route);
-    return buildRouteProgressFrom(status);
+  private NavigationStatus lastStatus;
+  private RouteProgress lastRouteProgress;
+
+  /**
+   * Builds a new {@link RouteProgress} from the given status.
+   * <p>
+   * The step data, intersections and annotations only change with the leg and step, so they are shared
+   * with the previous {@link RouteProgress}. If nothing has changed since the previous status, the previous
+   * {@link RouteProgress} is returned as is.
+   */
+  RouteProgress buildNewRouteProgress(NavigationStatus status, RouteGeometryIndex routeGeometryIndex) {
+    updateRoute(routeGeometryIndex);
+    if (isUnchangedStatus(status)) {
+      return lastRouteProgress;
+    }
+    lastRouteProgress = buildRouteProgressFrom(status);
+    lastStatus = status;
+    return lastRouteProgress;
   }
 
   void updatePreviousRouteProgress(RouteProgress routeProgress) {
@@ -52,10 +70,28 @@ class NavigationRouteProcessor {
     return previousRouteProgress;
   }
 
-  private void updateRoute(DirectionsRoute route) {
-    if (this.route == null || !this.route.equals(route)) {
-      this.route = route;
+  private void updateRoute(RouteGeometryIndex routeGeometryIndex) {
+    if (this.routeGeometryIndex != routeGeometryIndex) {
+      this.routeGeometryIndex = routeGeometryIndex;
+      route = routeGeometryIndex.route();
+      stepDataLegIndex = INVALID_INDEX;
+      stepDataStepIndex = INVALID_INDEX;
+      lastStatus = null;
+    }
+  }
+
+  private boolean isUnchangedStatus(NavigationStatus status) {
+    if (lastStatus == null) {
+      return false;
     }
+    boolean hasVoiceInstruction = status.getVoiceInstruction() != null || lastStatus.getVoiceInstruction() != null;
+    return !hasVoiceInstruction
+      && status.getLegIndex() == lastStatus.getLegIndex()
+      && status.getStepIndex() == lastStatus.getStepIndex()
+      && status.getRemainingLegDistance() == lastStatus.getRemainingLegDistance()
+      && status.getRemainingLegDuration() == lastStatus.getRemainingLegDuration()
+      && status.getRemainingStepDistance() == lastStatus.getRemainingStepDistance()
+      && status.getInTunnel() == lastStatus.getInTunnel();
   }
 
   private RouteProgress buildRouteProgressFrom(NavigationStatus status) {
@@ -63,8 +99,7 @@ class NavigationRouteProcessor {
     int stepIndex = status.getStepIndex();
     int upcomingStepIndex = stepIndex + ONE_INDEX;
     updateSteps(route, legIndex, stepIndex, upcomingStepIndex);
-    updateStepPoints(route, legIndex, stepIndex, upcomingStepIndex);
-    updateIntersections();
+    updateStepData(legIndex, stepIndex, upcomingStepIndex);
 
     double legDistanceRemaining = status.getRemainingLegDistance();
     double routeDistanceRemaining = routeDistanceRemaining(legDistanceRemaining, legIndex, route);
@@ -72,12 +107,13 @@ class NavigationRouteProcessor {
     double stepDistanceTraveled = currentStep.distance() - stepDistanceRemaining;
     double legDurationRemaining = status.getRemainingLegDuration() / ONE_SECOND_IN_MILLISECONDS;
 
-    currentLegAnnotation = createCurrentAnnotation(currentLegAnnotation, currentLeg, legDistanceRemaining);
-    StepIntersection currentIntersection = findCurrentIntersection(
-      currentIntersections, currentIntersectionDistances, stepDistanceTraveled
+    updateLegAnnotation(legDistanceRemaining);
+    int currentIntersectionIndex = findCurrentIntersectionIndex(
+      currentIntersectionDistanceArray, stepDistanceTraveled
     );
+    StepIntersection currentIntersection = currentIntersections.get(currentIntersectionIndex);
     StepIntersection upcomingIntersection = findUpcomingIntersection(
-      currentIntersections, upcomingStep, currentIntersection
+      currentIntersections, upcomingStep, currentIntersectionIndex
     );
 
     RouteProgress.Builder progressBuilder = RouteProgress.builder()
@@ -92,6 +128,7 @@ class NavigationRouteProcessor {
       .legIndex(legIndex)
       .intersections(currentIntersections)
       .currentIntersection(currentIntersection)
+      .currentIntersectionIndex(currentIntersectionIndex)
       .upcomingIntersection(upcomingIntersection)
       .intersectionDistancesAlongStep(currentIntersectionDistances)
       .currentLegAnnotation(currentLegAnnotation)
@@ -115,14 +152,45 @@ class NavigationRouteProcessor {
     upcomingStep = upcomingStepIndex < steps.size() - ONE_INDEX ? steps.get(upcomingStepIndex) : null;
   }
 
-  private void updateStepPoints(DirectionsRoute route, int legIndex, int stepIndex, int upcomingStepIndex) {
-    currentStepPoints = decodeStepPoints(route, currentStepPoints, legIndex, stepIndex);
-    upcomingStepPoints = decodeStepPoints(route, null, legIndex, upcomingStepIndex);
+  private void updateStepData(int legIndex, int stepIndex, int upcomingStepIndex) {
+    boolean isSameStep = legIndex == stepDataLegIndex && stepIndex == stepDataStepIndex;
+    if (isSameStep) {
+      return;
+    }
+    if (legIndex != stepDataLegIndex) {
+      currentLegAnnotationIndex = routeGeometryIndex.legAnnotation(legIndex);
+      currentLegAnnotation = null;
+    }
+    updateStepPoints(legIndex, stepIndex, upcomingStepIndex);
+    updateIntersections(legIndex, stepIndex);
+    stepDataLegIndex = legIndex;
+    stepDataStepIndex = stepIndex;
   }
 
-  private void updateIntersections() {
+  private void updateStepPoints(int legIndex, int stepIndex, int upcomingStepIndex) {
+    List<Point> stepPoints = routeGeometryIndex.stepPoints(legIndex, stepIndex);
+    if (stepPoints != null) {
+      currentStepPoints = stepPoints;
+    }
+    upcomingStepPoints = routeGeometryIndex.stepPoints(legIndex, upcomingStepIndex);
+  }
+
+  private void updateIntersections(int legIndex, int stepIndex) {
     currentIntersections = createIntersectionsList(currentStep, upcomingStep);
-    currentIntersectionDistances = createDistancesToIntersections(currentStepPoints, currentIntersections);
+    currentIntersectionDistanceArray = routeGeometryIndex.measureIntersectionDistances(
+      legIndex, stepIndex, currentIntersections
+    );
+    currentIntersectionDistances = pairIntersectionDistances(currentIntersections, currentIntersectionDistanceArray);
+  }
+
+  private void updateLegAnnotation(double legDistanceRemaining) {
+    if (currentLegAnnotationIndex == null) {
+      currentLegAnnotation = null;
+      return;
+    }
+    currentLegAnnotation = currentLegAnnotationIndex.createCurrentAnnotation(
+      currentLegAnnotation, legDistanceRemaining
+    );
   }
 
   private void addUpcomingStepPoints(RouteProgress.Builder progressBuilder) {
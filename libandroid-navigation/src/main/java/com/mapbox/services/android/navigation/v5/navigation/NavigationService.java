@@ -3,6 +3,7 @@ package com.mapbox.services.android.navigation.v5.navigation;
 import android.app.Notification;
 import android.app.Service;
 import android.content.Intent;
+import android.location.Location;
 import android.os.Binder;
 import android.os.Handler;
 import android.os.IBinder;
@@ -15,6 +16,8 @@ import com.mapbox.services.android.navigation.v5.navigation.notification.Navigat
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.RouteFetcher;
 
+import java.util.List;
+
 import timber.log.Timber;
 
 /**
@@ -72,6 +75,7 @@ public class NavigationService extends Service {
    * Removes the location / route listeners and  quits the thread.
    */
   void endNavigation() {
+    routeFetcher.cancelRouteCall();
     routeFetcher.clearListeners();
     locationUpdater.removeLocationEngineListener();
     notificationProvider.shutdown(getApplication());
@@ -88,6 +92,15 @@ public class NavigationService extends Service {
     locationUpdater.updateLocationEngine(locationEngine);
   }
 
+  /**
+   * Called with {@link MapboxNavigation#updateLocations(List)}.
+   *
+   * @param locations to give to the route processor, oldest first
+   */
+  void updateLocations(List<Location> locations) {
+    thread.updateRawLocations(locations);
+  }
+
   private void initialize(MapboxNavigation mapboxNavigation) {
     NavigationEventDispatcher dispatcher = mapboxNavigation.getEventDispatcher();
     String accessToken = mapboxNavigation.obtainAccessToken();
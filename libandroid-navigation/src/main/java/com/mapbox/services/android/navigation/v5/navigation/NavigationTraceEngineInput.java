@@ -0,0 +1,91 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Input of a {@link NavigationEngine} running one trace, with its own navigator and engines so
+ * traces can run in parallel. Alternative routes aren't tracked.
+ */
+class NavigationTraceEngineInput implements NavigationEngineInput {
+
+  private final MapboxNavigationOptions options;
+  private final MapboxNavigator mapboxNavigator;
+  private final RouteGeometryIndex routeGeometryIndex;
+  private final List<Milestone> milestones;
+  private final AlternativeRoutes alternativeRoutes = new AlternativeRoutes();
+  private final NavigationEngineChecks engineChecks = new NavigationEngineFactoryChecks(new NavigationEngineFactory());
+  private final NavigationPerformanceMonitor performanceMonitor = new NavigationPerformanceMonitor(false);
+
+  NavigationTraceEngineInput(MapboxNavigationOptions options, MapboxNavigator mapboxNavigator,
+                             DirectionsRoute route, String routeJson, List<Milestone> milestones) {
+    this.options = options;
+    this.mapboxNavigator = mapboxNavigator;
+    this.routeGeometryIndex = RouteGeometryIndex.create(route);
+    this.milestones = milestones;
+    mapboxNavigator.updateRoute(routeJson);
+  }
+
+  MapboxNavigator retrieveMapboxNavigator() {
+    return mapboxNavigator;
+  }
+
+  @Override
+  public MapboxNavigationOptions options() {
+    return options;
+  }
+
+  @Override
+  public NavigationStatus retrieveStatus(Date date, long lagInMilliseconds) {
+    return mapboxNavigator.retrieveStatus(date, lagInMilliseconds);
+  }
+
+  @Override
+  public RouteGeometryIndex retrieveRouteGeometryIndex() {
+    return routeGeometryIndex;
+  }
+
+  @Override
+  public boolean isRouteUpdatePending() {
+    return false;
+  }
+
+  @Override
+  public AlternativeRoutes retrieveAlternativeRoutes() {
+    return alternativeRoutes;
+  }
+
+  @Override
+  public NavigationEngineChecks retrieveEngineChecks() {
+    return engineChecks;
+  }
+
+  @Override
+  public List<Milestone> retrieveMilestones() {
+    return milestones;
+  }
+
+  @Override
+  public NavigationPerformanceMonitor retrievePerformanceMonitor() {
+    return performanceMonitor;
+  }
+
+  @Override
+  public long retrieveDroppedLocationCount() {
+    return mapboxNavigator.retrieveDroppedLocationCount();
+  }
+
+  @Override
+  public void switchToAlternativeRoute(AlternativeRoute alternativeRoute) {
+    // No alternatives are tracked
+  }
+
+  @Override
+  public void onAlternativeRouteTaken(DirectionsRoute directionsRoute) {
+    // No alternatives are tracked
+  }
+}
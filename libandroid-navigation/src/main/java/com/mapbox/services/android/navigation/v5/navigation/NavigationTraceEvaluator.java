@@ -0,0 +1,220 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.Navigator;
+import com.mapbox.services.android.navigation.v5.location.replay.ReplayTraceLoader;
+import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.VoiceInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.utils.ValidationUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import timber.log.Timber;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.BANNER_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.VOICE_INSTRUCTION_MILESTONE_ID;
+
+/**
+ * Runs recorded drives through route processing as fast as possible, to compare how different
+ * SDK versions handle the same field recordings.
+ * <p>
+ * A directory is evaluated by pairing each trace file, GPX, JSON or binary as read by {@link ReplayTraceLoader},
+ * with the route of the same name ending in {@code .route.json}: {@code drive.gpx} is run
+ * along {@code drive.route.json}. Traces run in parallel on a {@link ForkJoinPool}, each with its own
+ * navigator and engines, and every location is processed once, in order, at the time it was recorded.
+ * <p>
+ * The default milestones are used if {@link MapboxNavigationOptions#defaultMilestonesEnabled()} is
+ * enabled. Alternative routes aren't tracked.
+ * <p>
+ * Traces are read as Android {@link Location}s and processed by the native navigator, so the evaluator
+ * runs on a device or an emulator, for instance from an instrumentation test.
+ *
+ * @since 0.23.0
+ */
+@RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+public class NavigationTraceEvaluator {
+
+  private static final String ROUTE_FILE_SUFFIX = ".route.json";
+  private static final String UTF_8 = "UTF-8";
+  private static final String EXTENSION_SEPARATOR = ".";
+  private static final String INVALID_TRACE_DIRECTORY = "Trace directory not found: %s";
+  private static final String INVALID_PARALLELISM = "Parallelism must be greater than 0.";
+  private static final long NO_TIME = 0L;
+  private static final long ONE_SECOND_IN_MILLISECONDS = 1000L;
+  private static final int BUFFER_SIZE = 8192;
+  private static final Executor DIRECT_EXECUTOR = new Executor() {
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+      runnable.run();
+    }
+  };
+
+  static {
+    NavigationLibraryLoader.load();
+  }
+
+  private final MapboxNavigationOptions options;
+  private final int parallelism;
+  private final ReplayTraceLoader traceLoader = new ReplayTraceLoader();
+  private final RouteJsonCache routeJsonCache = new RouteJsonCache();
+
+  /**
+   * Creates an evaluator running one trace per available processor at a time.
+   *
+   * @param options used to process every trace
+   * @since 0.23.0
+   */
+  public NavigationTraceEvaluator(@NonNull MapboxNavigationOptions options) {
+    this(options, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param options     used to process every trace
+   * @param parallelism number of traces to run at the same time
+   * @since 0.23.0
+   */
+  public NavigationTraceEvaluator(@NonNull MapboxNavigationOptions options, int parallelism) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException(INVALID_PARALLELISM);
+    }
+    this.options = options;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Runs every trace of the given directory and blocks until all are done. A trace which can't be
+   * loaded or processed doesn't stop the others, its result holds the error instead.
+   *
+   * @param directory containing the trace and route files
+   * @return a report with the result of each trace, ordered by file name
+   * @since 0.23.0
+   */
+  @NonNull
+  public NavigationTraceReport evaluate(@NonNull File directory) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      throw new IllegalArgumentException(String.format(Locale.US, INVALID_TRACE_DIRECTORY, directory));
+    }
+    Arrays.sort(files);
+    List<TraceTask> tasks = new ArrayList<>();
+    for (File file : files) {
+      if (traceLoader.isTrace(file) && !file.getName().endsWith(ROUTE_FILE_SUFFIX)) {
+        tasks.add(new TraceTask(file));
+      }
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    List<NavigationTraceResult> results = new ArrayList<>(tasks.size());
+    try {
+      for (TraceTask task : tasks) {
+        pool.execute(task);
+      }
+      for (TraceTask task : tasks) {
+        results.add(task.join());
+      }
+    } finally {
+      pool.shutdown();
+    }
+    return new NavigationTraceReport(results);
+  }
+
+  /**
+   * Processes each location of a trace once with its own {@link NavigationEngine}, on the calling thread.
+   */
+  NavigationTraceResult evaluateTrace(String traceName, DirectionsRoute route, List<Location> locations,
+                                      MapboxNavigator mapboxNavigator) {
+    ValidationUtils.validDirectionsRoute(route, options.defaultMilestonesEnabled());
+    NavigationTraceEngineInput input = new NavigationTraceEngineInput(options, mapboxNavigator, route,
+      routeJsonCache.toJson(route), buildMilestones());
+    TraceNavigationClock clock = new TraceNavigationClock();
+    NavigationTraceRecorder recorder = new NavigationTraceRecorder(traceName);
+    NavigationEngine engine = new NavigationEngine(new NavigationRouteProcessor(), input, clock,
+      DIRECT_EXECUTOR, recorder);
+
+    long time = NO_TIME;
+    for (Location location : locations) {
+      // Locations without a time are assumed one second apart
+      time = location.getTime() != NO_TIME ? location.getTime() : time + ONE_SECOND_IN_MILLISECONDS;
+      location.setTime(time);
+      clock.updateTime(time);
+      mapboxNavigator.updateLocation(location);
+      engine.updateRawFix(LocationFixConverter.toFix(location));
+      engine.process();
+    }
+    return recorder.buildResult(locations.size());
+  }
+
+  private NavigationTraceResult evaluateTraceFile(File traceFile) {
+    String traceName = retrieveTraceName(traceFile);
+    File routeFile = new File(traceFile.getParentFile(), traceName + ROUTE_FILE_SUFFIX);
+    try {
+      DirectionsRoute route = routeJsonCache.fromJson(readFile(routeFile));
+      List<Location> locations = traceLoader.load(traceFile);
+      return evaluateTrace(traceName, route, locations, new MapboxNavigator(new Navigator()));
+    } catch (IOException | RuntimeException exception) {
+      Timber.e(exception, "Failed to evaluate trace %s", traceName);
+      return NavigationTraceRecorder.buildErrorResult(traceName, exception.toString());
+    }
+  }
+
+  private List<Milestone> buildMilestones() {
+    List<Milestone> milestones = new ArrayList<>();
+    if (options.defaultMilestonesEnabled()) {
+      milestones.add(new VoiceInstructionMilestone.Builder().setIdentifier(VOICE_INSTRUCTION_MILESTONE_ID).build());
+      milestones.add(new BannerInstructionMilestone.Builder().setIdentifier(BANNER_INSTRUCTION_MILESTONE_ID).build());
+    }
+    return milestones;
+  }
+
+  private String retrieveTraceName(File traceFile) {
+    String fileName = traceFile.getName();
+    int extensionIndex = fileName.lastIndexOf(EXTENSION_SEPARATOR);
+    return extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+  }
+
+  private String readFile(File file) throws IOException {
+    Reader reader = new InputStreamReader(new FileInputStream(file), UTF_8);
+    try {
+      StringBuilder builder = new StringBuilder();
+      char[] buffer = new char[BUFFER_SIZE];
+      int count;
+      while ((count = reader.read(buffer)) != -1) {
+        builder.append(buffer, 0, count);
+      }
+      return builder.toString();
+    } finally {
+      reader.close();
+    }
+  }
+
+  private class TraceTask extends RecursiveTask<NavigationTraceResult> {
+
+    private final File traceFile;
+
+    TraceTask(File traceFile) {
+      this.traceFile = traceFile;
+    }
+
+    @Override
+    protected NavigationTraceResult compute() {
+      return evaluateTraceFile(traceFile);
+    }
+  }
+}
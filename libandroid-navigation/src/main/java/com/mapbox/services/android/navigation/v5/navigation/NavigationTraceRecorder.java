@@ -0,0 +1,97 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Listens to the {@link NavigationEngine} running a trace and counts what happened, to build a
+ * {@link NavigationTraceResult} once the trace is done.
+ */
+class NavigationTraceRecorder implements NavigationEngineListener {
+
+  private static final int NO_COUNT = 0;
+  private static final double NO_DISTANCE = 0d;
+  private static final float NO_FRACTION = 0f;
+
+  private final String traceName;
+  private final List<Integer> milestoneIdentifiers = new ArrayList<>();
+  private int updateCount;
+  private int offRouteCount;
+  private int fasterRouteCheckCount;
+  private RouteProgress lastRouteProgress;
+  private double maximumDistanceRemainingIncrease;
+
+  NavigationTraceRecorder(String traceName) {
+    this.traceName = traceName;
+  }
+
+  static NavigationTraceResult buildErrorResult(String traceName, String error) {
+    return NavigationTraceResult.builder()
+      .traceName(traceName)
+      .error(error)
+      .locationCount(NO_COUNT)
+      .updateCount(NO_COUNT)
+      .offRouteCount(NO_COUNT)
+      .fasterRouteCheckCount(NO_COUNT)
+      .milestoneIdentifiers(Collections.<Integer>emptyList())
+      .distanceTraveled(NO_DISTANCE)
+      .fractionTraveled(NO_FRACTION)
+      .maximumDistanceRemainingIncrease(NO_DISTANCE)
+      .build();
+  }
+
+  @Override
+  public void onNewRouteProgress(NavigationFix fix, RouteProgress routeProgress) {
+    updateCount++;
+    if (lastRouteProgress != null) {
+      double distanceRemainingIncrease = routeProgress.distanceRemaining() - lastRouteProgress.distanceRemaining();
+      maximumDistanceRemainingIncrease = Math.max(maximumDistanceRemainingIncrease, distanceRemainingIncrease);
+    }
+    lastRouteProgress = routeProgress;
+  }
+
+  @Override
+  public void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress) {
+    for (Milestone milestone : triggeredMilestones) {
+      milestoneIdentifiers.add(milestone.getIdentifier());
+    }
+  }
+
+  @Override
+  public void onUserOffRoute(NavigationFix fix, boolean userOffRoute) {
+    if (userOffRoute) {
+      offRouteCount++;
+    }
+  }
+
+  @Override
+  public void onCheckFasterRoute(NavigationFix fix, RouteProgress routeProgress, boolean checkFasterRoute) {
+    if (checkFasterRoute) {
+      fasterRouteCheckCount++;
+    }
+  }
+
+  @Override
+  public void onPerformanceSnapshot(NavigationPerformanceSnapshot snapshot) {
+    // Not part of the result, timings of a batch run don't reflect a device
+  }
+
+  NavigationTraceResult buildResult(int locationCount) {
+    boolean hasProgress = lastRouteProgress != null;
+    return NavigationTraceResult.builder()
+      .traceName(traceName)
+      .locationCount(locationCount)
+      .updateCount(updateCount)
+      .offRouteCount(offRouteCount)
+      .fasterRouteCheckCount(fasterRouteCheckCount)
+      .milestoneIdentifiers(Collections.unmodifiableList(new ArrayList<>(milestoneIdentifiers)))
+      .distanceTraveled(hasProgress ? lastRouteProgress.distanceTraveled() : NO_DISTANCE)
+      .fractionTraveled(hasProgress ? lastRouteProgress.fractionTraveled() : NO_FRACTION)
+      .maximumDistanceRemainingIncrease(maximumDistanceRemainingIncrease)
+      .build();
+  }
+}
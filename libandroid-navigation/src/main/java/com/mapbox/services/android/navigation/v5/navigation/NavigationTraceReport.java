@@ -0,0 +1,98 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The results of a {@link NavigationTraceEvaluator} run, one per trace in the order of the trace
+ * file names, so the reports of two SDK versions can be compared line by line.
+ *
+ * @since 0.23.0
+ */
+public class NavigationTraceReport {
+
+  private static final String CSV_HEADER = "trace,error,locations,updates,off_route,faster_route_checks,"
+    + "milestones,distance_traveled,fraction_traveled,max_distance_remaining_increase\n";
+  private static final String CSV_LINE = "%s,%s,%d,%d,%d,%d,%s,%.1f,%.4f,%.1f\n";
+  private static final String MILESTONE_SEPARATOR = " ";
+  private static final String NO_ERROR = "";
+
+  private final List<NavigationTraceResult> results;
+
+  NavigationTraceReport(List<NavigationTraceResult> results) {
+    this.results = Collections.unmodifiableList(results);
+  }
+
+  /**
+   * @return the result of each trace
+   * @since 0.23.0
+   */
+  @NonNull
+  public List<NavigationTraceResult> retrieveResults() {
+    return results;
+  }
+
+  /**
+   * @return number of traces which could not be evaluated
+   * @since 0.23.0
+   */
+  public int retrieveErrorCount() {
+    int errorCount = 0;
+    for (NavigationTraceResult result : results) {
+      if (result.error() != null) {
+        errorCount++;
+      }
+    }
+    return errorCount;
+  }
+
+  /**
+   * Writes one comma separated line per trace, after a header line. Milestone identifiers are
+   * separated by spaces. The writer isn't closed.
+   *
+   * @param writer to write the report to
+   * @throws IOException if the writer fails
+   * @since 0.23.0
+   */
+  public void writeCsv(@NonNull Writer writer) throws IOException {
+    writer.write(CSV_HEADER);
+    for (NavigationTraceResult result : results) {
+      writer.write(String.format(Locale.US, CSV_LINE,
+        escape(result.traceName()),
+        escape(result.error() != null ? result.error() : NO_ERROR),
+        result.locationCount(),
+        result.updateCount(),
+        result.offRouteCount(),
+        result.fasterRouteCheckCount(),
+        joinMilestoneIdentifiers(result.milestoneIdentifiers()),
+        result.distanceTraveled(),
+        result.fractionTraveled(),
+        result.maximumDistanceRemainingIncrease()
+      ));
+    }
+    writer.flush();
+  }
+
+  private String joinMilestoneIdentifiers(List<Integer> milestoneIdentifiers) {
+    StringBuilder builder = new StringBuilder();
+    for (Integer identifier : milestoneIdentifiers) {
+      if (builder.length() > 0) {
+        builder.append(MILESTONE_SEPARATOR);
+      }
+      builder.append(identifier);
+    }
+    return builder.toString();
+  }
+
+  private String escape(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,118 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.google.auto.value.AutoValue;
+
+import java.util.List;
+
+/**
+ * What happened while one recorded drive was run through route processing by a
+ * {@link NavigationTraceEvaluator}.
+ *
+ * @since 0.23.0
+ */
+@AutoValue
+public abstract class NavigationTraceResult {
+
+  static Builder builder() {
+    return new AutoValue_NavigationTraceResult.Builder();
+  }
+
+  /**
+   * Name of the trace file, without its extension.
+   *
+   * @return name of the trace
+   * @since 0.23.0
+   */
+  public abstract String traceName();
+
+  /**
+   * Why the trace could not be evaluated, for instance because its file was invalid. All counts are
+   * 0 if this is set.
+   *
+   * @return the error message, or null if the trace was evaluated
+   * @since 0.23.0
+   */
+  @Nullable
+  public abstract String error();
+
+  /**
+   * @return number of locations in the trace
+   * @since 0.23.0
+   */
+  public abstract int locationCount();
+
+  /**
+   * @return number of route progress updates, one per location
+   * @since 0.23.0
+   */
+  public abstract int updateCount();
+
+  /**
+   * @return number of updates in which the user was off route
+   * @since 0.23.0
+   */
+  public abstract int offRouteCount();
+
+  /**
+   * @return number of updates in which a faster route would have been requested
+   * @since 0.23.0
+   */
+  public abstract int fasterRouteCheckCount();
+
+  /**
+   * Identifiers of the triggered milestones, in the order they were triggered.
+   *
+   * @return milestone identifiers
+   * @since 0.23.0
+   */
+  public abstract List<Integer> milestoneIdentifiers();
+
+  /**
+   * @return distance traveled along the route in meters at the last update
+   * @since 0.23.0
+   */
+  public abstract double distanceTraveled();
+
+  /**
+   * @return fraction of the route traveled at the last update, between 0 and 1
+   * @since 0.23.0
+   */
+  public abstract float fractionTraveled();
+
+  /**
+   * The largest increase of the remaining distance between two updates, which is 0 if the progress
+   * never went backwards.
+   *
+   * @return largest backwards progress in meters
+   * @since 0.23.0
+   */
+  public abstract double maximumDistanceRemainingIncrease();
+
+  @AutoValue.Builder
+  abstract static class Builder {
+
+    abstract Builder traceName(String traceName);
+
+    abstract Builder error(@Nullable String error);
+
+    abstract Builder locationCount(int locationCount);
+
+    abstract Builder updateCount(int updateCount);
+
+    abstract Builder offRouteCount(int offRouteCount);
+
+    abstract Builder fasterRouteCheckCount(int fasterRouteCheckCount);
+
+    abstract Builder milestoneIdentifiers(List<Integer> milestoneIdentifiers);
+
+    abstract Builder distanceTraveled(double distanceTraveled);
+
+    abstract Builder fractionTraveled(float fractionTraveled);
+
+    abstract Builder maximumDistanceRemainingIncrease(double maximumDistanceRemainingIncrease);
+
+    abstract NavigationTraceResult build();
+  }
+}
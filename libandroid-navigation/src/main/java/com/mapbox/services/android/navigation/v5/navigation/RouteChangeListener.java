@@ -0,0 +1,21 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+/**
+ * Receives the route being navigated when navigation continues on another route by itself, such as
+ * when the user takes one of the alternative routes given to
+ * {@link MapboxNavigation#startNavigation(DirectionsRoute, java.util.List)}.
+ *
+ * @since 0.23.0
+ */
+public interface RouteChangeListener {
+
+  /**
+   * Called on the main thread once the route being navigated has changed.
+   *
+   * @param directionsRoute now being navigated
+   * @since 0.23.0
+   */
+  void onRouteChange(DirectionsRoute directionsRoute);
+}
@@ -0,0 +1,312 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConversion;
+import com.mapbox.turf.TurfMeasurement;
+import com.mapbox.turf.TurfMisc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static com.mapbox.turf.TurfConstants.UNIT_METERS;
+
+/**
+ * Holds the geometry of every {@link LegStep} in a {@link DirectionsRoute}, decoded once
+ * into primitive coordinate arrays, along with the cumulative distance in meters from the
+ * beginning of the step to each coordinate.
+ * <p>
+ * The annotations of each {@link RouteLeg} are also held here, in a {@link LegAnnotationIndex}.
+ * <p>
+ * This is created when a new route is given to {@link MapboxNavigation} so the route processor
+ * does not need to decode step polylines with each new status update.
+ */
+class RouteGeometryIndex {
+
+  private static final int COORDINATE_PAIR = 2;
+  private static final int LONGITUDE_OFFSET = 0;
+  private static final int LATITUDE_OFFSET = 1;
+  private static final int ASCII_OFFSET = 63;
+  private static final int CHUNK_SIZE = 5;
+  private static final int CONTINUATION_THRESHOLD = 0x1f;
+  private static final int TWO_POINTS = 2;
+  private static final int NOT_FOUND = -1;
+  private static final double COORDINATE_TOLERANCE = 1E-7;
+  private static final String NEAREST_SEGMENT_INDEX = "index";
+  private static final double[] EMPTY_COORDINATES = new double[0];
+  private static final double[] EMPTY_DISTANCES = new double[0];
+
+  private final DirectionsRoute route;
+  private final double[][][] stepCoordinates;
+  private final double[][][] stepDistances;
+  private final LegAnnotationIndex[] legAnnotations;
+
+  private RouteGeometryIndex(DirectionsRoute route, double[][][] stepCoordinates, double[][][] stepDistances,
+                             LegAnnotationIndex[] legAnnotations) {
+    this.route = route;
+    this.stepCoordinates = stepCoordinates;
+    this.stepDistances = stepDistances;
+    this.legAnnotations = legAnnotations;
+  }
+
+  static RouteGeometryIndex create(@NonNull DirectionsRoute route) {
+    List<RouteLeg> legs = route.legs();
+    if (legs == null) {
+      return new RouteGeometryIndex(route, new double[0][][], new double[0][][], new LegAnnotationIndex[0]);
+    }
+    double[][][] stepCoordinates = new double[legs.size()][][];
+    double[][][] stepDistances = new double[legs.size()][][];
+    LegAnnotationIndex[] legAnnotations = new LegAnnotationIndex[legs.size()];
+    for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+      RouteLeg leg = legs.get(legIndex);
+      stepCoordinates[legIndex] = decodeLeg(leg);
+      stepDistances[legIndex] = measureLeg(stepCoordinates[legIndex]);
+      legAnnotations[legIndex] = LegAnnotationIndex.create(leg);
+    }
+    return new RouteGeometryIndex(route, stepCoordinates, stepDistances, legAnnotations);
+  }
+
+  DirectionsRoute route() {
+    return route;
+  }
+
+  /**
+   * @param legIndex of the leg holding the annotations
+   * @return annotations of the leg, or null if the leg was not requested with distance annotations
+   */
+  @Nullable
+  LegAnnotationIndex legAnnotation(int legIndex) {
+    if (legIndex < 0 || legIndex >= legAnnotations.length) {
+      return null;
+    }
+    return legAnnotations[legIndex];
+  }
+
+  int stepPointCount(int legIndex, int stepIndex) {
+    double[] coordinates = stepCoordinates(legIndex, stepIndex);
+    return coordinates == null ? 0 : coordinates.length / COORDINATE_PAIR;
+  }
+
+  double longitude(int legIndex, int stepIndex, int pointIndex) {
+    return stepCoordinates[legIndex][stepIndex][pointIndex * COORDINATE_PAIR + LONGITUDE_OFFSET];
+  }
+
+  double latitude(int legIndex, int stepIndex, int pointIndex) {
+    return stepCoordinates[legIndex][stepIndex][pointIndex * COORDINATE_PAIR + LATITUDE_OFFSET];
+  }
+
+  /**
+   * Distance in meters along the step geometry from its first coordinate to the
+   * coordinate at the given point index.
+   */
+  double distanceAlongStep(int legIndex, int stepIndex, int pointIndex) {
+    return stepDistances[legIndex][stepIndex][pointIndex];
+  }
+
+  /**
+   * Measures the distance in meters along a step to each of the given intersections.
+   * <p>
+   * Intersections are located on the step geometry by coordinate, so each distance is a lookup
+   * in the cumulative distances of the step rather than a measurement of a sliced line.
+   * Intersections which do not fall on a step coordinate are snapped to the step geometry.
+   * <p>
+   * The returned array is sorted in ascending order, so it can be binary searched with
+   * {@link NavigationHelper#findCurrentIntersectionIndex(double[], double)}. It will be empty if the
+   * step has less than two coordinates.
+   *
+   * @param legIndex      of the leg containing the step
+   * @param stepIndex     of the step within the leg
+   * @param intersections along the step to be measured, in order of travel
+   * @return distances along the step, one for each intersection
+   */
+  @NonNull
+  double[] measureIntersectionDistances(int legIndex, int stepIndex, List<StepIntersection> intersections) {
+    double[] coordinates = stepCoordinates(legIndex, stepIndex);
+    boolean lessThanTwoStepPoints = coordinates == null || coordinates.length < TWO_POINTS * COORDINATE_PAIR;
+    if (lessThanTwoStepPoints || intersections.isEmpty()) {
+      return EMPTY_DISTANCES;
+    }
+    double[] distances = stepDistances[legIndex][stepIndex];
+    double[] intersectionDistances = new double[intersections.size()];
+    int searchIndex = 0;
+    double previousDistance = 0;
+    for (int i = 0; i < intersectionDistances.length; i++) {
+      Point location = intersections.get(i).location();
+      int pointIndex = findPointIndex(coordinates, location, searchIndex);
+      double distanceToIntersection;
+      if (pointIndex == NOT_FOUND) {
+        distanceToIntersection = measureToNearestPoint(legIndex, stepIndex, location);
+      } else {
+        distanceToIntersection = distances[pointIndex];
+        searchIndex = pointIndex;
+      }
+      // Snapped intersections must not break the ordering of the distances
+      previousDistance = Math.max(previousDistance, distanceToIntersection);
+      intersectionDistances[i] = previousDistance;
+    }
+    return intersectionDistances;
+  }
+
+  /**
+   * Builds the list of {@link Point} representing the given step geometry.
+   * <p>
+   * Returns null if the leg or step index is invalid or the step has no geometry.
+   *
+   * @param legIndex  of the leg containing the step
+   * @param stepIndex of the step within the leg
+   * @return list of {@link Point} representing the step
+   */
+  @Nullable
+  List<Point> stepPoints(int legIndex, int stepIndex) {
+    double[] coordinates = stepCoordinates(legIndex, stepIndex);
+    if (coordinates == null) {
+      return null;
+    }
+    int pointCount = coordinates.length / COORDINATE_PAIR;
+    List<Point> points = new ArrayList<>(pointCount);
+    for (int i = 0; i < coordinates.length; i += COORDINATE_PAIR) {
+      points.add(Point.fromLngLat(coordinates[i + LONGITUDE_OFFSET], coordinates[i + LATITUDE_OFFSET]));
+    }
+    return points;
+  }
+
+  @Nullable
+  private double[] stepCoordinates(int legIndex, int stepIndex) {
+    boolean invalidLegIndex = legIndex < 0 || legIndex >= stepCoordinates.length;
+    if (invalidLegIndex) {
+      return null;
+    }
+    double[][] legCoordinates = stepCoordinates[legIndex];
+    boolean invalidStepIndex = stepIndex < 0 || stepIndex >= legCoordinates.length;
+    if (invalidStepIndex) {
+      return null;
+    }
+    return legCoordinates[stepIndex];
+  }
+
+  private int findPointIndex(double[] coordinates, Point location, int fromPointIndex) {
+    double longitude = location.longitude();
+    double latitude = location.latitude();
+    for (int i = fromPointIndex * COORDINATE_PAIR; i < coordinates.length; i += COORDINATE_PAIR) {
+      boolean isSameLongitude = Math.abs(coordinates[i + LONGITUDE_OFFSET] - longitude) < COORDINATE_TOLERANCE;
+      boolean isSameLatitude = Math.abs(coordinates[i + LATITUDE_OFFSET] - latitude) < COORDINATE_TOLERANCE;
+      if (isSameLongitude && isSameLatitude) {
+        return i / COORDINATE_PAIR;
+      }
+    }
+    return NOT_FOUND;
+  }
+
+  private double measureToNearestPoint(int legIndex, int stepIndex, Point location) {
+    List<Point> stepPoints = stepPoints(legIndex, stepIndex);
+    Feature nearestFeature = TurfMisc.nearestPointOnLine(location, stepPoints);
+    int segmentIndex = nearestFeature.getNumberProperty(NEAREST_SEGMENT_INDEX).intValue();
+    Point nearestPoint = (Point) nearestFeature.geometry();
+    double distanceToSegment = stepDistances[legIndex][stepIndex][segmentIndex];
+    return distanceToSegment + TurfMeasurement.distance(stepPoints.get(segmentIndex), nearestPoint, UNIT_METERS);
+  }
+
+  private static double[][] decodeLeg(RouteLeg leg) {
+    List<LegStep> steps = leg.steps();
+    if (steps == null) {
+      return new double[0][];
+    }
+    double[][] legCoordinates = new double[steps.size()][];
+    for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+      LegStep step = steps.get(stepIndex);
+      String geometry = step == null ? null : step.geometry();
+      legCoordinates[stepIndex] = geometry == null ? null : decode(geometry, PRECISION_6);
+    }
+    return legCoordinates;
+  }
+
+  private static double[][] measureLeg(double[][] legCoordinates) {
+    double[][] legDistances = new double[legCoordinates.length][];
+    for (int stepIndex = 0; stepIndex < legCoordinates.length; stepIndex++) {
+      double[] coordinates = legCoordinates[stepIndex];
+      legDistances[stepIndex] = coordinates == null ? null : measureStep(coordinates);
+    }
+    return legDistances;
+  }
+
+  private static double[] measureStep(double[] coordinates) {
+    int pointCount = coordinates.length / COORDINATE_PAIR;
+    double[] distances = new double[pointCount];
+    for (int pointIndex = 1; pointIndex < pointCount; pointIndex++) {
+      int current = pointIndex * COORDINATE_PAIR;
+      int previous = current - COORDINATE_PAIR;
+      distances[pointIndex] = distances[pointIndex - 1] + distance(
+        coordinates[previous + LONGITUDE_OFFSET], coordinates[previous + LATITUDE_OFFSET],
+        coordinates[current + LONGITUDE_OFFSET], coordinates[current + LATITUDE_OFFSET]
+      );
+    }
+    return distances;
+  }
+
+  /**
+   * Same haversine formula as {@link TurfMeasurement#distance(Point, Point, String)}, in meters,
+   * without creating a {@link Point} for each coordinate.
+   */
+  private static double distance(double fromLongitude, double fromLatitude, double toLongitude, double toLatitude) {
+    double deltaLatitude = TurfConversion.degreesToRadians(toLatitude - fromLatitude);
+    double deltaLongitude = TurfConversion.degreesToRadians(toLongitude - fromLongitude);
+    double fromLatitudeRadians = TurfConversion.degreesToRadians(fromLatitude);
+    double toLatitudeRadians = TurfConversion.degreesToRadians(toLatitude);
+    double a = Math.pow(Math.sin(deltaLatitude / 2), 2)
+      + Math.pow(Math.sin(deltaLongitude / 2), 2) * Math.cos(fromLatitudeRadians) * Math.cos(toLatitudeRadians);
+    return TurfConversion.radiansToLength(2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a)), UNIT_METERS);
+  }
+
+  /**
+   * Same algorithm as {@link com.mapbox.geojson.utils.PolylineUtils#decode(String, int)}, but
+   * writes into an interleaved longitude / latitude array instead of creating a {@link Point}
+   * for each coordinate.
+   */
+  private static double[] decode(String encodedPath, int precision) {
+    int length = encodedPath.length();
+    if (length == 0) {
+      return EMPTY_COORDINATES;
+    }
+    double factor = Math.pow(10, precision);
+    // Every encoded coordinate takes at least two characters, so this is the upper bound
+    double[] coordinates = new double[length];
+    int coordinateCount = 0;
+    int index = 0;
+    int lat = 0;
+    int lng = 0;
+    while (index < length) {
+      int result = 1;
+      int shift = 0;
+      int chunk;
+      do {
+        chunk = encodedPath.charAt(index++) - ASCII_OFFSET - 1;
+        result += chunk << shift;
+        shift += CHUNK_SIZE;
+      } while (chunk >= CONTINUATION_THRESHOLD);
+      lat += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+      result = 1;
+      shift = 0;
+      do {
+        chunk = encodedPath.charAt(index++) - ASCII_OFFSET - 1;
+        result += chunk << shift;
+        shift += CHUNK_SIZE;
+      } while (chunk >= CONTINUATION_THRESHOLD);
+      lng += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+      coordinates[coordinateCount + LONGITUDE_OFFSET] = lng / factor;
+      coordinates[coordinateCount + LATITUDE_OFFSET] = lat / factor;
+      coordinateCount += COORDINATE_PAIR;
+    }
+    return Arrays.copyOf(coordinates, coordinateCount);
+  }
+}
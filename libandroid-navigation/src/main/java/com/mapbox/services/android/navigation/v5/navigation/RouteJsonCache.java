@@ -0,0 +1,98 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.utils.RouteJsonUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Converts routes to and from JSON with {@link RouteJsonUtils}, and remembers the JSON of the last
+ * few routes so the same route isn't serialized twice.
+ * <p>
+ * {@link DirectionsRoute#toJson()} builds a new Gson and serializes the whole route each
+ * time, which takes long for long routes with annotations. A route parsed with
+ * {@link #fromJson(String)} keeps the JSON it was parsed from, and a route serialized with
+ * {@link #toJson(DirectionsRoute)} keeps its JSON, for as long as it is one of the last few routes.
+ * Routes are matched by identity and only weakly referenced, so the JSON of a route which isn't used
+ * anymore is dropped the next time this cache is used.
+ */
+class RouteJsonCache {
+
+  private static final int CAPACITY = 3;
+  private final Deque<CachedRouteJson> cachedRouteJsons = new ArrayDeque<>(CAPACITY);
+
+  /**
+   * Returns the JSON of the route, serialized only if it isn't one of the last few routes.
+   *
+   * @param route to convert
+   * @return the JSON of the route
+   */
+  @NonNull
+  String toJson(@NonNull DirectionsRoute route) {
+    String json = findJson(route);
+    if (json == null) {
+      json = RouteJsonUtils.toJson(route);
+      store(route, json);
+    }
+    return json;
+  }
+
+  /**
+   * Parses a route and keeps the given JSON as its own, so it doesn't need to be serialized again.
+   *
+   * @param json of a route
+   * @return the parsed route
+   */
+  DirectionsRoute fromJson(@NonNull String json) {
+    DirectionsRoute route = RouteJsonUtils.fromJson(json);
+    if (route != null) {
+      store(route, json);
+    }
+    return route;
+  }
+
+  /**
+   * Drops the JSON of every route.
+   */
+  synchronized void clear() {
+    cachedRouteJsons.clear();
+  }
+
+  private synchronized String findJson(DirectionsRoute route) {
+    String json = null;
+    Iterator<CachedRouteJson> iterator = cachedRouteJsons.iterator();
+    while (iterator.hasNext()) {
+      CachedRouteJson cachedRouteJson = iterator.next();
+      DirectionsRoute cachedRoute = cachedRouteJson.route.get();
+      if (cachedRoute == null) {
+        iterator.remove();
+      } else if (cachedRoute == route) {
+        json = cachedRouteJson.json;
+      }
+    }
+    return json;
+  }
+
+  private synchronized void store(DirectionsRoute route, String json) {
+    if (cachedRouteJsons.size() == CAPACITY) {
+      cachedRouteJsons.removeFirst();
+    }
+    cachedRouteJsons.addLast(new CachedRouteJson(route, json));
+  }
+
+  private static class CachedRouteJson {
+
+    private final WeakReference<DirectionsRoute> route;
+    private final String json;
+
+    CachedRouteJson(DirectionsRoute route, String json) {
+      this.route = new WeakReference<>(route);
+      this.json = json;
+    }
+  }
+}
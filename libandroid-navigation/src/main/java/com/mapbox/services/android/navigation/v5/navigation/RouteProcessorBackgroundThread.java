@@ -47,7 +47,7 @@ class RouteProcessorBackgroundThread extends HandlerThread {
   @Override
   public boolean quit() {
     if (isAlive()) {
-      workerHandler.removeCallbacks(runnable);
+      workerHandler.removeCallbacksAndMessages(null);
     }
     return super.quit();
   }
@@ -56,8 +56,25 @@ class RouteProcessorBackgroundThread extends HandlerThread {
     if (!isAlive()) {
       start();
     }
+    navigation.updateNavigatorLocation(rawLocation);
     runnable.updateRawLocation(rawLocation);
-    navigation.retrieveMapboxNavigator().updateLocation(rawLocation);
+  }
+
+  /**
+   * Gives every location of a burst to the navigator, in order, while only the most recent is
+   * used by the engines that need a raw location.
+   *
+   * @param rawLocations oldest first
+   */
+  void updateRawLocations(List<Location> rawLocations) {
+    if (rawLocations.isEmpty()) {
+      return;
+    }
+    if (!isAlive()) {
+      start();
+    }
+    navigation.updateNavigatorLocations(rawLocations);
+    runnable.updateRawLocation(rawLocations.get(rawLocations.size() - 1));
   }
 
   /**
@@ -76,5 +93,7 @@ class RouteProcessorBackgroundThread extends HandlerThread {
     void onUserOffRoute(Location location, boolean userOffRoute);
 
     void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute);
+
+    void onPerformanceSnapshot(NavigationPerformanceSnapshot snapshot);
   }
 }
@@ -0,0 +1,53 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Decides when {@link RouteProcessorRunnable} should run next.
+ * <p>
+ * By default, the route is processed once every second. If location driven processing is enabled in
+ * {@link MapboxNavigationOptions}, a new location schedules processing right away, limited by the minimum
+ * processing interval, and the idle interval is only used while no new locations are received.
+ */
+class RouteProcessorCadence {
+
+  private static final long ONE_SECOND_IN_MILLISECONDS = 1000;
+  private static final long NO_DELAY = 0;
+  private static final long NOT_PROCESSED = Long.MIN_VALUE;
+
+  private final boolean isLocationDriven;
+  private final long minimumInterval;
+  private final long idleInterval;
+  private long lastProcessedTime = NOT_PROCESSED;
+
+  RouteProcessorCadence(MapboxNavigationOptions options) {
+    this.isLocationDriven = options.enableLocationDrivenProcessing();
+    this.minimumInterval = options.minimumProcessingIntervalInMilliseconds();
+    this.idleInterval = options.idleProcessingIntervalInMilliseconds();
+  }
+
+  boolean isLocationDriven() {
+    return isLocationDriven;
+  }
+
+  void updateLastProcessedTime(long elapsedTime) {
+    lastProcessedTime = elapsedTime;
+  }
+
+  /**
+   * @return delay in milliseconds before processing again if nothing else schedules it
+   */
+  long retrieveDelayAfterProcessing() {
+    return isLocationDriven ? idleInterval : ONE_SECOND_IN_MILLISECONDS;
+  }
+
+  /**
+   * @param elapsedTime the time in milliseconds the new location was received
+   * @return delay in milliseconds before processing the new location
+   */
+  long retrieveDelayForNewLocation(long elapsedTime) {
+    if (lastProcessedTime == NOT_PROCESSED) {
+      return NO_DELAY;
+    }
+    long nextAllowedTime = lastProcessedTime + minimumInterval;
+    return Math.max(NO_DELAY, nextAllowedTime - elapsedTime);
+  }
+}
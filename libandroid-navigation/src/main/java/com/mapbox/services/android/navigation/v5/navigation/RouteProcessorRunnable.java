@@ -3,124 +3,94 @@ package com.mapbox.services.android.navigation.v5.navigation;
 import android.location.Location;
 import android.os.Handler;
 
-import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.navigator.NavigationStatus;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
-import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
-import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
-import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.snap.Snap;
-import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
 
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Executor;
 
+/**
+ * Runs a {@link NavigationEngine} on the route processor thread, posting results back with the
+ * response {@link Handler}. Locations are converted to {@link NavigationFix}es for the engine, and its
+ * results back to {@link Location}s for the listener.
+ */
 class RouteProcessorRunnable implements Runnable {
 
-  private static final int ONE_SECOND_IN_MILLISECONDS = 1000;
-  private final NavigationRouteProcessor routeProcessor;
-  private final MapboxNavigation navigation;
+  private final NavigationEngine engine;
   private final Handler workerHandler;
-  private final Handler responseHandler;
-  private final RouteProcessorBackgroundThread.Listener listener;
-  private Location rawLocation;
+  private final Runnable newLocationRunnable = new Runnable() {
+    @Override
+    public void run() {
+      scheduleNewLocation();
+    }
+  };
 
   RouteProcessorRunnable(NavigationRouteProcessor routeProcessor,
                          MapboxNavigation navigation,
                          Handler workerHandler,
-                         Handler responseHandler,
+                         final Handler responseHandler,
                          RouteProcessorBackgroundThread.Listener listener) {
-    this.routeProcessor = routeProcessor;
-    this.navigation = navigation;
     this.workerHandler = workerHandler;
-    this.responseHandler = responseHandler;
-    this.listener = listener;
+    Executor responseExecutor = new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        responseHandler.post(runnable);
+      }
+    };
+    this.engine = new NavigationEngine(routeProcessor, new MapboxNavigationEngineInput(navigation),
+      new SystemNavigationClock(), responseExecutor, new LocationListenerAdapter(listener));
   }
 
   @Override
   public void run() {
-    process();
+    long delay = engine.process();
+    workerHandler.postDelayed(this, delay);
   }
 
   void updateRawLocation(Location rawLocation) {
-    this.rawLocation = rawLocation;
+    engine.updateRawFix(LocationFixConverter.toFix(rawLocation));
+    if (engine.isLocationDriven()) {
+      workerHandler.post(newLocationRunnable);
+    }
   }
 
-  private void process() {
-    MapboxNavigator mapboxNavigator = navigation.retrieveMapboxNavigator();
-    MapboxNavigationOptions options = navigation.options();
-    DirectionsRoute route = navigation.getRoute();
-
-    NavigationStatus status = mapboxNavigator.retrieveStatus(new Date(),
-      options.navigationLocationEngineIntervalLagInMilliseconds());
-    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(status, route);
-
-    NavigationEngineFactory engineFactory = navigation.retrieveEngineFactory();
-    final boolean userOffRoute = isUserOffRoute(options, status, rawLocation, routeProgress, engineFactory);
-    final Location snappedLocation = findSnappedLocation(status, rawLocation, routeProgress, engineFactory);
-    final boolean checkFasterRoute = checkFasterRoute(options, snappedLocation, routeProgress, engineFactory,
-      userOffRoute);
-    final List<Milestone> milestones = findTriggeredMilestones(navigation, routeProgress);
-
-    sendUpdateToResponseHandler(userOffRoute, milestones, snappedLocation, checkFasterRoute, routeProgress);
-    routeProcessor.updatePreviousRouteProgress(routeProgress);
-    workerHandler.postDelayed(this, ONE_SECOND_IN_MILLISECONDS);
+  private void scheduleNewLocation() {
+    long delay = engine.retrieveDelayForNewLocation();
+    workerHandler.removeCallbacks(this);
+    workerHandler.postDelayed(this, delay);
   }
 
-  private boolean isUserOffRoute(MapboxNavigationOptions options, NavigationStatus status, Location rawLocation,
-                                 RouteProgress routeProgress, NavigationEngineFactory engineFactory) {
-    OffRoute offRoute = engineFactory.retrieveOffRouteEngine();
-    if (offRoute instanceof OffRouteDetector) {
-      return ((OffRouteDetector) offRoute).isUserOffRouteWith(status);
+  private static class LocationListenerAdapter implements NavigationEngineListener {
+
+    private final RouteProcessorBackgroundThread.Listener listener;
+
+    LocationListenerAdapter(RouteProcessorBackgroundThread.Listener listener) {
+      this.listener = listener;
     }
-    return offRoute.isUserOffRoute(rawLocation, routeProgress, options);
-  }
 
-  private Location findSnappedLocation(NavigationStatus status, Location rawLocation, RouteProgress routeProgress,
-                                       NavigationEngineFactory engineFactory) {
-    Snap snap = engineFactory.retrieveSnapEngine();
-    if (snap instanceof SnapToRoute) {
-      return ((SnapToRoute) snap).getSnappedLocationWith(status);
+    @Override
+    public void onNewRouteProgress(NavigationFix fix, RouteProgress routeProgress) {
+      listener.onNewRouteProgress(LocationFixConverter.toLocation(fix), routeProgress);
     }
-    return snap.getSnappedLocation(rawLocation, routeProgress);
-  }
 
-  private boolean checkFasterRoute(MapboxNavigationOptions options, Location rawLocation, RouteProgress routeProgress,
-                                   NavigationEngineFactory engineFactory, boolean userOffRoute) {
-    FasterRoute fasterRoute = engineFactory.retrieveFasterRouteEngine();
-    boolean fasterRouteDetectionEnabled = options.enableFasterRouteDetection();
-    return fasterRouteDetectionEnabled
-      && !userOffRoute
-      && fasterRoute.shouldCheckFasterRoute(rawLocation, routeProgress);
-  }
+    @Override
+    public void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress) {
+      listener.onMilestoneTrigger(triggeredMilestones, routeProgress);
+    }
 
-  private List<Milestone> findTriggeredMilestones(MapboxNavigation mapboxNavigation, RouteProgress routeProgress) {
-    RouteProgress previousRouteProgress = routeProcessor.retrievePreviousRouteProgress();
-    if (previousRouteProgress == null) {
-      previousRouteProgress = routeProgress;
+    @Override
+    public void onUserOffRoute(NavigationFix fix, boolean userOffRoute) {
+      listener.onUserOffRoute(LocationFixConverter.toLocation(fix), userOffRoute);
     }
-    List<Milestone> milestones = new ArrayList<>();
-    for (Milestone milestone : mapboxNavigation.getMilestones()) {
-      if (milestone.isOccurring(previousRouteProgress, routeProgress)) {
-        milestones.add(milestone);
-      }
+
+    @Override
+    public void onCheckFasterRoute(NavigationFix fix, RouteProgress routeProgress, boolean checkFasterRoute) {
+      listener.onCheckFasterRoute(LocationFixConverter.toLocation(fix), routeProgress, checkFasterRoute);
     }
-    return milestones;
-  }
 
-  private void sendUpdateToResponseHandler(final boolean userOffRoute, final List<Milestone> milestones,
-                                           final Location location, final boolean checkFasterRoute,
-                                           final RouteProgress finalRouteProgress) {
-    responseHandler.post(new Runnable() {
-      @Override
-      public void run() {
-        listener.onNewRouteProgress(location, finalRouteProgress);
-        listener.onMilestoneTrigger(milestones, finalRouteProgress);
-        listener.onUserOffRoute(location, userOffRoute);
-        listener.onCheckFasterRoute(location, finalRouteProgress, checkFasterRoute);
-      }
-    });
+    @Override
+    public void onPerformanceSnapshot(NavigationPerformanceSnapshot snapshot) {
+      listener.onPerformanceSnapshot(snapshot);
+    }
   }
 }
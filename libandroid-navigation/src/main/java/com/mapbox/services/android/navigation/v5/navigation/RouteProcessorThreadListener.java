@@ -72,4 +72,13 @@ class RouteProcessorThreadListener implements RouteProcessorBackgroundThread.Lis
       routeFetcher.findRouteFromRouteProgress(location, routeProgress);
     }
   }
+
+  /**
+   * Given every few updates while performance monitoring is enabled, passed on to the
+   * navigation event dispatcher.
+   */
+  @Override
+  public void onPerformanceSnapshot(NavigationPerformanceSnapshot snapshot) {
+    eventDispatcher.onPerformanceSnapshot(snapshot);
+  }
 }
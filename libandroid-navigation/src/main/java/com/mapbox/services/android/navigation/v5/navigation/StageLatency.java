@@ -0,0 +1,57 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Time taken by one stage of route processing, summarized over all the updates recorded since
+ * navigation started. All durations are in microseconds.
+ *
+ * @since 0.23.0
+ */
+@AutoValue
+public abstract class StageLatency {
+
+  static StageLatency create(long count, long p50, long p95, long p99, long max) {
+    return new AutoValue_StageLatency(count, p50, p95, p99, max);
+  }
+
+  /**
+   * Number of times the stage was recorded.
+   *
+   * @return number of recorded durations
+   * @since 0.23.0
+   */
+  public abstract long count();
+
+  /**
+   * The median duration of the stage.
+   *
+   * @return duration in microseconds which half of the recorded durations don't exceed
+   * @since 0.23.0
+   */
+  public abstract long p50();
+
+  /**
+   * The 95th percentile duration of the stage.
+   *
+   * @return duration in microseconds which 95% of the recorded durations don't exceed
+   * @since 0.23.0
+   */
+  public abstract long p95();
+
+  /**
+   * The 99th percentile duration of the stage.
+   *
+   * @return duration in microseconds which 99% of the recorded durations don't exceed
+   * @since 0.23.0
+   */
+  public abstract long p99();
+
+  /**
+   * The longest recorded duration of the stage.
+   *
+   * @return duration in microseconds
+   * @since 0.23.0
+   */
+  public abstract long max();
+}
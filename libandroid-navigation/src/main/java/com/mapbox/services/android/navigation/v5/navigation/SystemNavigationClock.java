@@ -0,0 +1,16 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.SystemClock;
+
+class SystemNavigationClock implements NavigationClock {
+
+  @Override
+  public long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  @Override
+  public long elapsedRealtime() {
+    return SystemClock.elapsedRealtime();
+  }
+}
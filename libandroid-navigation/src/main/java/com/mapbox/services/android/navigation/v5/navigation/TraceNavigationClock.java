@@ -0,0 +1,23 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * A {@link NavigationClock} set to the time of each location of a recorded trace.
+ */
+class TraceNavigationClock implements NavigationClock {
+
+  private long time;
+
+  @Override
+  public long currentTimeMillis() {
+    return time;
+  }
+
+  @Override
+  public long elapsedRealtime() {
+    return time;
+  }
+
+  void updateTime(long time) {
+    this.time = time;
+  }
+}
@@ -2,21 +2,30 @@ package com.mapbox.services.android.navigation.v5.route;
 
 import android.content.Context;
 import android.location.Location;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.RouteOptions;
 import com.mapbox.core.utils.TextUtils;
 import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -26,6 +35,18 @@ import timber.log.Timber;
 /**
  * This class can be used to fetch new routes given a {@link Location} origin and
  * {@link RouteOptions} provided by a {@link RouteProgress}.
+ * <p>
+ * Only one request is in flight at a time: a request for the same route and remaining waypoints
+ * from about the same origin as the request in flight is dropped, and any other request cancels
+ * the one in flight, so only the response of the latest request reaches the listeners. After a
+ * failed request, requests are held back for a delay doubling with each consecutive failure, and
+ * the latest one held back is sent once the delay is over.
+ * <p>
+ * With {@link #prefetchRoutesFromRouteProgress(RouteProgress)}, routes from the roads a driver could
+ * wrongly take at an upcoming complex maneuver are requested ahead of time, so going off route down
+ * one of them is answered right away, without a request.
+ * <p>
+ * Methods are expected to be called on the main thread, where responses are received.
  */
 public class RouteFetcher {
 
@@ -35,16 +56,47 @@ public class RouteFetcher {
   private static final int ORIGIN_APPROACH = 0;
   private static final int FIRST_POSITION = 0;
   private static final int SECOND_POSITION = 1;
+  private static final double SAME_ORIGIN_RADIUS_IN_METERS = 30d;
+  private static final long INITIAL_BACKOFF_IN_MILLIS = 1000L;
+  private static final long MAX_BACKOFF_IN_MILLIS = 60000L;
+  private static final int MAX_BACKOFF_DOUBLINGS = 6;
+  private static final double PREFETCH_DISTANCE_IN_METERS = 300d;
+  private static final int MAX_PREFETCHED_BRANCHES = 4;
 
   private final List<RouteListener> routeListeners = new CopyOnWriteArrayList<>();
+  private final List<RouteLatencyListener> latencyListeners = new CopyOnWriteArrayList<>();
   private final String accessToken;
   private final WeakReference<Context> contextWeakReference;
+  private final Handler handler;
+  private final SpeculativeRouteCache speculativeRoutes = new SpeculativeRouteCache();
+  private final List<NavigationRoute> speculativeRequests = new ArrayList<>();
+  private final Runnable backoffEndRunnable = new Runnable() {
+    @Override
+    public void run() {
+      onBackoffEnd();
+    }
+  };
 
   private RouteProgress routeProgress;
   private RouteUtils routeUtils;
+  private NavigationRoute inFlightRoute;
+  private Point inFlightOrigin;
+  private long inFlightStartNanos;
+  private int requestCount;
+  private int consecutiveFailureCount;
+  private boolean isBackingOff;
+  private Location heldBackLocation;
+  private RouteProgress heldBackRouteProgress;
+  private LegStep prefetchedStep;
 
   public RouteFetcher(Context context, String accessToken) {
+    this(context, accessToken, new Handler(Looper.getMainLooper()));
+  }
+
+  // For testing only
+  RouteFetcher(Context context, String accessToken, Handler handler) {
     this.accessToken = accessToken;
+    this.handler = handler;
     contextWeakReference = new WeakReference<>(context);
     routeUtils = new RouteUtils();
   }
@@ -55,8 +107,70 @@ public class RouteFetcher {
     }
   }
 
+  /**
+   * Adds a listener notified of the latency of each completed route request.
+   *
+   * @param listener to add
+   * @since 0.23.0
+   */
+  public void addRouteLatencyListener(RouteLatencyListener listener) {
+    if (!latencyListeners.contains(listener)) {
+      latencyListeners.add(listener);
+    }
+  }
+
   public void clearListeners() {
     routeListeners.clear();
+    latencyListeners.clear();
+  }
+
+  /**
+   * Cancels the request in flight, any request held back after a failure, and the prefetched routes.
+   *
+   * @since 0.23.0
+   */
+  public void cancelRouteCall() {
+    cancelInFlightRequest();
+    handler.removeCallbacks(backoffEndRunnable);
+    isBackingOff = false;
+    heldBackLocation = null;
+    heldBackRouteProgress = null;
+    for (NavigationRoute route : new ArrayList<>(speculativeRequests)) {
+      route.cancelCall();
+    }
+    speculativeRequests.clear();
+    speculativeRoutes.clear();
+    prefetchedStep = null;
+  }
+
+  /**
+   * Speculatively requests routes from the roads a driver could wrongly take at the upcoming
+   * maneuver, once it is close and is a complex decision point, such as a fork, an off ramp, a
+   * roundabout or an intersection with many exits. These routes are kept for a couple of minutes, and
+   * {@link #findRouteFromRouteProgress(Location, RouteProgress)} hands one of them to the listeners
+   * right away when the driver went off route down its road.
+   * <p>
+   * Meant to be called with each route progress. Routes are prefetched once per maneuver, and not
+   * while backing off after a failed request.
+   *
+   * @param routeProgress for the upcoming maneuver and the remaining waypoints
+   * @since 0.23.0
+   */
+  public void prefetchRoutesFromRouteProgress(RouteProgress routeProgress) {
+    if (routeProgress == null || isBackingOff) {
+      return;
+    }
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    LegStep upcomingStep = legProgress.upComingStep();
+    if (upcomingStep == null || upcomingStep.equals(prefetchedStep)
+      || legProgress.currentStepProgress().distanceRemaining() > PREFETCH_DISTANCE_IN_METERS) {
+      return;
+    }
+    prefetchedStep = upcomingStep;
+    List<WrongTurnBranch> branches = WrongTurnBranch.findBranches(upcomingStep);
+    for (int index = 0; index < branches.size() && index < MAX_PREFETCHED_BRANCHES; index++) {
+      prefetchRoute(branches.get(index), routeProgress);
+    }
   }
 
   /**
@@ -65,6 +179,10 @@ public class RouteFetcher {
    * <p>
    * Uses {@link RouteOptions#coordinates()} and {@link RouteProgress#remainingWaypoints()}
    * to determine the amount of remaining waypoints there are along the given route.
+   * <p>
+   * Answered right away with a prefetched route if the driver is on one of its roads. Otherwise,
+   * dropped if the request in flight is for the same route from about the same location, and held
+   * back while backing off after a failure.
    *
    * @param location      current location of the device
    * @param routeProgress for remaining waypoints along the route
@@ -74,19 +192,43 @@ public class RouteFetcher {
     if (isInvalidProgress(location, routeProgress)) {
       return;
     }
-    this.routeProgress = routeProgress;
-    NavigationRoute.Builder builder = buildRequestFromLocation(location, routeProgress);
-    executeRouteCall(builder);
+    Point origin = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    Double bearing = location.hasBearing() ? Float.valueOf(location.getBearing()).doubleValue() : null;
+    if (handOverSpeculativeRoute(origin, bearing, routeProgress)) {
+      return;
+    }
+    if (isBackingOff) {
+      heldBackLocation = location;
+      heldBackRouteProgress = routeProgress;
+      return;
+    }
+    if (isInFlight(origin, routeProgress)) {
+      return;
+    }
+    cancelInFlightRequest();
+    NavigationRoute route = buildRoute(origin, bearing, routeProgress);
+    if (route != null) {
+      this.routeProgress = routeProgress;
+      executeRouteCall(route, origin);
+    }
+  }
+
+  @Nullable
+  NavigationRoute buildRoute(Point origin, @Nullable Double bearing, RouteProgress routeProgress) {
+    NavigationRoute.Builder builder = buildRequestFromOrigin(origin, bearing, routeProgress);
+    if (builder == null) {
+      return null;
+    }
+    return builder.accessToken(accessToken).build();
   }
 
   @Nullable
-  private NavigationRoute.Builder buildRequestFromLocation(Location location, RouteProgress progress) {
+  private NavigationRoute.Builder buildRequestFromOrigin(Point origin, @Nullable Double bearing,
+                                                        RouteProgress progress) {
     Context context = contextWeakReference.get();
     if (context == null) {
       return null;
     }
-    Point origin = Point.fromLngLat(location.getLongitude(), location.getLatitude());
-    Double bearing = location.hasBearing() ? Float.valueOf(location.getBearing()).doubleValue() : null;
     RouteOptions options = progress.directionsRoute().routeOptions();
     NavigationRoute.Builder builder = NavigationRoute.builder(context)
       .origin(origin, bearing, BEARING_TOLERANCE)
@@ -153,31 +295,102 @@ public class RouteFetcher {
     return approaches;
   }
 
-  private void executeRouteCall(NavigationRoute.Builder builder) {
-    if (builder != null) {
-      builder.accessToken(accessToken);
-      builder.build().getRoute(directionsResponseCallback);
-    }
+  private void executeRouteCall(NavigationRoute route, Point origin) {
+    requestCount++;
+    inFlightRoute = route;
+    inFlightOrigin = origin;
+    inFlightStartNanos = System.nanoTime();
+    route.getRoute(new DirectionsResponseCallback(requestCount));
   }
 
   private boolean isInvalidProgress(Location location, RouteProgress routeProgress) {
     return location == null || routeProgress == null;
   }
 
-  private Callback<DirectionsResponse> directionsResponseCallback = new Callback<DirectionsResponse>() {
-    @Override
-    public void onResponse(@NonNull Call<DirectionsResponse> call, @NonNull Response<DirectionsResponse> response) {
-      if (!response.isSuccessful()) {
-        return;
+  private boolean isInFlight(Point origin, RouteProgress progress) {
+    return inFlightRoute != null
+      && progress.remainingWaypoints() == routeProgress.remainingWaypoints()
+      && progress.directionsRoute().equals(routeProgress.directionsRoute())
+      && TurfMeasurement.distance(origin, inFlightOrigin, TurfConstants.UNIT_METERS) <= SAME_ORIGIN_RADIUS_IN_METERS;
+  }
+
+  private void prefetchRoute(final WrongTurnBranch branch, RouteProgress progress) {
+    final NavigationRoute route = buildRoute(branch.retrieveOrigin(), branch.retrieveBearing(), progress);
+    if (route == null) {
+      return;
+    }
+    final DirectionsRoute navigatedRoute = progress.directionsRoute();
+    final int remainingWaypoints = progress.remainingWaypoints();
+    speculativeRequests.add(route);
+    route.getRoute(new Callback<DirectionsResponse>() {
+      @Override
+      public void onResponse(@NonNull Call<DirectionsResponse> call, @NonNull Response<DirectionsResponse> response) {
+        DirectionsResponse body = response.body();
+        boolean isPending = speculativeRequests.remove(route);
+        if (isPending && response.isSuccessful() && body != null && !body.routes().isEmpty()) {
+          speculativeRoutes.add(branch, navigatedRoute, remainingWaypoints, body, System.nanoTime());
+        }
       }
-      updateListeners(response.body(), routeProgress);
+
+      @Override
+      public void onFailure(@NonNull Call<DirectionsResponse> call, @NonNull Throwable throwable) {
+        speculativeRequests.remove(route);
+      }
+    });
+  }
+
+  private boolean handOverSpeculativeRoute(Point origin, @Nullable Double bearing, RouteProgress progress) {
+    DirectionsResponse response = speculativeRoutes.retrieve(origin, bearing, progress.directionsRoute(),
+      progress.remainingWaypoints(), System.nanoTime());
+    if (response == null) {
+      return false;
     }
+    cancelInFlightRequest();
+    this.routeProgress = progress;
+    updateListeners(response, progress);
+    return true;
+  }
 
-    @Override
-    public void onFailure(@NonNull Call<DirectionsResponse> call, @NonNull Throwable throwable) {
-      updateListenersWithError(throwable);
+  private void cancelInFlightRequest() {
+    if (inFlightRoute != null) {
+      // From now on, its callback is outdated
+      requestCount++;
+      inFlightRoute.cancelCall();
+      inFlightRoute = null;
     }
-  };
+  }
+
+  private void onRequestCompleted(boolean isSuccessful) {
+    inFlightRoute = null;
+    long latencyInMilliseconds = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inFlightStartNanos);
+    for (RouteLatencyListener listener : latencyListeners) {
+      listener.onRouteLatency(latencyInMilliseconds, isSuccessful);
+    }
+    if (isSuccessful) {
+      consecutiveFailureCount = 0;
+    } else {
+      startBackoff();
+    }
+  }
+
+  private void startBackoff() {
+    consecutiveFailureCount++;
+    int doublings = Math.min(consecutiveFailureCount - 1, MAX_BACKOFF_DOUBLINGS);
+    long backoffInMillis = Math.min(MAX_BACKOFF_IN_MILLIS, INITIAL_BACKOFF_IN_MILLIS << doublings);
+    isBackingOff = true;
+    handler.postDelayed(backoffEndRunnable, backoffInMillis);
+  }
+
+  private void onBackoffEnd() {
+    isBackingOff = false;
+    Location location = heldBackLocation;
+    RouteProgress progress = heldBackRouteProgress;
+    heldBackLocation = null;
+    heldBackRouteProgress = null;
+    if (location != null) {
+      findRouteFromRouteProgress(location, progress);
+    }
+  }
 
   private void updateListeners(DirectionsResponse response, RouteProgress routeProgress) {
     for (RouteListener listener : routeListeners) {
@@ -190,4 +403,37 @@ public class RouteFetcher {
       listener.onErrorReceived(throwable);
     }
   }
+
+  /**
+   * Hands the response of a request to the listeners, unless a newer request was sent since.
+   */
+  private class DirectionsResponseCallback implements Callback<DirectionsResponse> {
+
+    private final int requestNumber;
+
+    DirectionsResponseCallback(int requestNumber) {
+      this.requestNumber = requestNumber;
+    }
+
+    @Override
+    public void onResponse(@NonNull Call<DirectionsResponse> call, @NonNull Response<DirectionsResponse> response) {
+      if (requestNumber != requestCount) {
+        return;
+      }
+      onRequestCompleted(response.isSuccessful());
+      if (!response.isSuccessful()) {
+        return;
+      }
+      updateListeners(response.body(), routeProgress);
+    }
+
+    @Override
+    public void onFailure(@NonNull Call<DirectionsResponse> call, @NonNull Throwable throwable) {
+      if (requestNumber != requestCount) {
+        return;
+      }
+      onRequestCompleted(false);
+      updateListenersWithError(throwable);
+    }
+  }
 }
@@ -0,0 +1,17 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+/**
+ * Will fire when a route request of {@link RouteFetcher} completes, either successfully or not.
+ * Requests canceled or superseded by a newer request are not reported.
+ *
+ * @since 0.23.0
+ */
+public interface RouteLatencyListener {
+
+  /**
+   * @param latencyInMilliseconds between sending the request and receiving its response or error
+   * @param isSuccessful          true if a route response was received, false if the request failed
+   * @since 0.23.0
+   */
+  void onRouteLatency(long latencyInMilliseconds, boolean isSuccessful);
+}
@@ -0,0 +1,111 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the routes requested from {@link WrongTurnBranch}es for a short while, so a driver going
+ * off route down one of these branches gets a new route without waiting for the network.
+ * <p>
+ * A route is handed out once, for a location close to its origin, heading about the same way, and
+ * while navigating the same route with the same remaining waypoints as when it was requested.
+ */
+class SpeculativeRouteCache {
+
+  private static final long TIME_TO_LIVE_IN_NANOS = TimeUnit.MINUTES.toNanos(2);
+  private static final int MAX_ROUTE_COUNT = 8;
+  private static final double MATCH_RADIUS_IN_METERS = 75d;
+  private static final double MAX_BEARING_DIFFERENCE = 60d;
+  private static final double FULL_CIRCLE = 360d;
+
+  private final List<SpeculativeRoute> routes = new ArrayList<>();
+
+  void add(WrongTurnBranch branch, DirectionsRoute navigatedRoute, int remainingWaypoints,
+           DirectionsResponse response, long nowNanos) {
+    removeExpired(nowNanos);
+    if (routes.size() == MAX_ROUTE_COUNT) {
+      routes.remove(0);
+    }
+    routes.add(new SpeculativeRoute(branch, navigatedRoute, remainingWaypoints, response, nowNanos));
+  }
+
+  /**
+   * Removes and returns the response of the closest matching route, if any.
+   *
+   * @param location           of the driver off route
+   * @param bearing            of the driver, or null if unknown
+   * @param navigatedRoute     being navigated when going off route
+   * @param remainingWaypoints of the navigated route
+   * @param nowNanos           current monotonic time
+   * @return the response of the matching route, or null if there is none
+   */
+  @Nullable
+  DirectionsResponse retrieve(Point location, @Nullable Double bearing, DirectionsRoute navigatedRoute,
+                              int remainingWaypoints, long nowNanos) {
+    removeExpired(nowNanos);
+    SpeculativeRoute closestRoute = null;
+    double closestDistance = MATCH_RADIUS_IN_METERS;
+    for (SpeculativeRoute route : routes) {
+      double distance = TurfMeasurement.distance(location, route.branch.retrieveOrigin(), TurfConstants.UNIT_METERS);
+      if (distance <= closestDistance && route.remainingWaypoints == remainingWaypoints
+        && isHeadingAlong(bearing, route.branch.retrieveBearing()) && route.navigatedRoute.equals(navigatedRoute)) {
+        closestRoute = route;
+        closestDistance = distance;
+      }
+    }
+    if (closestRoute == null) {
+      return null;
+    }
+    routes.remove(closestRoute);
+    return closestRoute.response;
+  }
+
+  void clear() {
+    routes.clear();
+  }
+
+  private void removeExpired(long nowNanos) {
+    Iterator<SpeculativeRoute> iterator = routes.iterator();
+    while (iterator.hasNext()) {
+      if (nowNanos - iterator.next().createdNanos >= TIME_TO_LIVE_IN_NANOS) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private boolean isHeadingAlong(@Nullable Double bearing, double branchBearing) {
+    if (bearing == null) {
+      return true;
+    }
+    double difference = Math.abs(bearing - branchBearing) % FULL_CIRCLE;
+    return Math.min(difference, FULL_CIRCLE - difference) <= MAX_BEARING_DIFFERENCE;
+  }
+
+  private static class SpeculativeRoute {
+
+    private final WrongTurnBranch branch;
+    private final DirectionsRoute navigatedRoute;
+    private final int remainingWaypoints;
+    private final DirectionsResponse response;
+    private final long createdNanos;
+
+    SpeculativeRoute(WrongTurnBranch branch, DirectionsRoute navigatedRoute, int remainingWaypoints,
+                     DirectionsResponse response, long createdNanos) {
+      this.branch = branch;
+      this.navigatedRoute = navigatedRoute;
+      this.remainingWaypoints = remainingWaypoints;
+      this.response = response;
+      this.createdNanos = createdNanos;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_FORK;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_OFF_RAMP;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ROTARY;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ROUNDABOUT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .STEP_MANEUVER_TYPE_ROUNDABOUT_TURN;
+
+/**
+ * A road a driver could wrongly take at the maneuver of a step, starting a short distance past the
+ * intersection it leaves from, in its direction.
+ */
+class WrongTurnBranch {
+
+  private static final double BRANCH_OFFSET_IN_METERS = 25d;
+  private static final int MIN_COMPLEX_EXIT_COUNT = 3;
+  private static final List<String> MULTI_EXIT_MANEUVER_TYPES = Arrays.asList(
+    STEP_MANEUVER_TYPE_FORK,
+    STEP_MANEUVER_TYPE_OFF_RAMP,
+    STEP_MANEUVER_TYPE_ROUNDABOUT,
+    STEP_MANEUVER_TYPE_ROTARY,
+    STEP_MANEUVER_TYPE_ROUNDABOUT_TURN
+  );
+  private static final List<String> RING_MANEUVER_TYPES = Arrays.asList(
+    STEP_MANEUVER_TYPE_ROUNDABOUT,
+    STEP_MANEUVER_TYPE_ROTARY,
+    STEP_MANEUVER_TYPE_ROUNDABOUT_TURN
+  );
+
+  private final Point origin;
+  private final double bearing;
+
+  WrongTurnBranch(Point origin, double bearing) {
+    this.origin = origin;
+    this.bearing = bearing;
+  }
+
+  Point retrieveOrigin() {
+    return origin;
+  }
+
+  double retrieveBearing() {
+    return bearing;
+  }
+
+  /**
+   * Finds the branches a driver could wrongly take at the maneuver of the step, if the maneuver is
+   * a complex decision point: a fork, an off ramp, a roundabout, or an intersection with at least
+   * {@value #MIN_COMPLEX_EXIT_COUNT} exits. The exits of every intersection along a roundabout are
+   * considered, as a driver can leave it at any of them.
+   *
+   * @param step whose maneuver is approached
+   * @return the wrong-turn branches, empty if the maneuver isn't a complex decision point
+   */
+  @NonNull
+  static List<WrongTurnBranch> findBranches(LegStep step) {
+    List<StepIntersection> intersections = step.intersections();
+    if (intersections == null || intersections.isEmpty()) {
+      return Collections.emptyList();
+    }
+    String maneuverType = step.maneuver().type();
+    StepIntersection maneuverIntersection = intersections.get(0);
+    boolean isMultiExitManeuver = MULTI_EXIT_MANEUVER_TYPES.contains(maneuverType);
+    if (!isMultiExitManeuver && countExits(maneuverIntersection) < MIN_COMPLEX_EXIT_COUNT) {
+      return Collections.emptyList();
+    }
+    List<WrongTurnBranch> branches = new ArrayList<>();
+    if (RING_MANEUVER_TYPES.contains(maneuverType)) {
+      for (StepIntersection intersection : intersections) {
+        addBranches(intersection, branches);
+      }
+    } else {
+      addBranches(maneuverIntersection, branches);
+    }
+    return branches;
+  }
+
+  private static int countExits(StepIntersection intersection) {
+    List<Integer> bearings = intersection.bearings();
+    if (bearings == null) {
+      return 0;
+    }
+    int exitCount = 0;
+    for (int index = 0; index < bearings.size(); index++) {
+      if (isExit(intersection, index)) {
+        exitCount++;
+      }
+    }
+    return exitCount;
+  }
+
+  private static void addBranches(StepIntersection intersection, List<WrongTurnBranch> branches) {
+    List<Integer> bearings = intersection.bearings();
+    if (bearings == null) {
+      return;
+    }
+    for (int index = 0; index < bearings.size(); index++) {
+      Integer out = intersection.out();
+      if (isExit(intersection, index) && (out == null || out != index)) {
+        double bearing = bearings.get(index);
+        Point origin = TurfMeasurement.destination(intersection.location(), BRANCH_OFFSET_IN_METERS, bearing,
+          TurfConstants.UNIT_METERS);
+        branches.add(new WrongTurnBranch(origin, bearing));
+      }
+    }
+  }
+
+  private static boolean isExit(StepIntersection intersection, int index) {
+    List<Boolean> entry = intersection.entry();
+    Integer in = intersection.in();
+    boolean canEnter = entry != null && index < entry.size() && Boolean.TRUE.equals(entry.get(index));
+    return canEnter && (in == null || in != index);
+  }
+}
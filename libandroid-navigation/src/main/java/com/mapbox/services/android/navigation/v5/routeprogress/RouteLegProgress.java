@@ -199,6 +199,8 @@ public abstract class RouteLegProgress {
 
   abstract StepIntersection currentIntersection();
 
+  abstract int currentIntersectionIndex();
+
   @Nullable
   abstract StepIntersection upcomingIntersection();
 
@@ -243,6 +245,10 @@ public abstract class RouteLegProgress {
 
     abstract StepIntersection currentIntersection();
 
+    abstract Builder currentIntersectionIndex(int currentIntersectionIndex);
+
+    abstract int currentIntersectionIndex();
+
     abstract Builder upcomingIntersection(@Nullable StepIntersection upcomingIntersection);
 
     abstract StepIntersection upcomingIntersection();
@@ -264,6 +270,7 @@ public abstract class RouteLegProgress {
         .distanceRemaining(stepDistanceRemaining())
         .intersections(intersections())
         .currentIntersection(currentIntersection())
+        .currentIntersectionIndex(currentIntersectionIndex())
         .upcomingIntersection(upcomingIntersection())
         .intersectionDistancesAlongStep(intersectionDistancesAlongStep())
         .build();
@@ -274,6 +281,7 @@ public abstract class RouteLegProgress {
   }
 
   public static Builder builder() {
-    return new AutoValue_RouteLegProgress.Builder();
+    return new AutoValue_RouteLegProgress.Builder()
+      .currentIntersectionIndex(RouteStepProgress.INTERSECTION_INDEX_NOT_SET);
   }
 }
\ No newline at end of file
@@ -180,6 +180,8 @@ public abstract class RouteProgress {
 
   abstract StepIntersection currentIntersection();
 
+  abstract int currentIntersectionIndex();
+
   @Nullable
   abstract StepIntersection upcomingIntersection();
 
@@ -235,6 +237,10 @@ public abstract class RouteProgress {
 
     abstract StepIntersection currentIntersection();
 
+    public abstract Builder currentIntersectionIndex(int currentIntersectionIndex);
+
+    abstract int currentIntersectionIndex();
+
     public abstract Builder upcomingIntersection(@Nullable StepIntersection upcomingIntersection);
 
     abstract StepIntersection upcomingIntersection();
@@ -269,6 +275,7 @@ public abstract class RouteProgress {
         .upcomingStepPoints(upcomingStepPoints())
         .intersections(intersections())
         .currentIntersection(currentIntersection())
+        .currentIntersectionIndex(currentIntersectionIndex())
         .upcomingIntersection(upcomingIntersection())
         .intersectionDistancesAlongStep(intersectionDistancesAlongStep())
         .currentLegAnnotation(currentLegAnnotation())
@@ -280,6 +287,7 @@ public abstract class RouteProgress {
   }
 
   public static Builder builder() {
-    return new AutoValue_RouteProgress.Builder();
+    return new AutoValue_RouteProgress.Builder()
+      .currentIntersectionIndex(RouteStepProgress.INTERSECTION_INDEX_NOT_SET);
   }
 }
\ No newline at end of file
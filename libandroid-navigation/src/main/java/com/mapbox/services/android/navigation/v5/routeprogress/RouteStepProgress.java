@@ -25,8 +25,11 @@ import java.util.List;
 @AutoValue
 public abstract class RouteStepProgress {
 
+  static final int INTERSECTION_INDEX_NOT_SET = -1;
+
   public static Builder builder() {
-    return new AutoValue_RouteStepProgress.Builder();
+    return new AutoValue_RouteStepProgress.Builder()
+      .currentIntersectionIndex(INTERSECTION_INDEX_NOT_SET);
   }
 
   /**
@@ -86,6 +89,17 @@ public abstract class RouteStepProgress {
    */
   public abstract StepIntersection currentIntersection();
 
+  /**
+   * The index of {@link #currentIntersection()} in {@link #intersections()}.
+   * <p>
+   * This can be used to look up the current intersection, or the ones around it,
+   * without searching the list of intersections.
+   *
+   * @return index of the current intersection the user has passed through
+   * @since 0.23.0
+   */
+  public abstract int currentIntersectionIndex();
+
   /**
    * The intersection being traveled towards on the route.
    * <p>
@@ -136,6 +150,14 @@ public abstract class RouteStepProgress {
 
     abstract Builder currentIntersection(StepIntersection currentIntersection);
 
+    abstract StepIntersection currentIntersection();
+
+    abstract Builder currentIntersectionIndex(int currentIntersectionIndex);
+
+    abstract int currentIntersectionIndex();
+
+    abstract List<StepIntersection> intersections();
+
     abstract Builder upcomingIntersection(@Nullable StepIntersection upcomingIntersection);
 
     abstract Builder intersectionDistancesAlongStep(List<Pair<StepIntersection, Double>> intersections);
@@ -150,6 +172,9 @@ public abstract class RouteStepProgress {
       float fractionTraveled = calculateFractionTraveled(step, distanceTraveled);
       fractionTraveled(fractionTraveled);
       durationRemaining(calculateDurationRemaining(step, fractionTraveled));
+      if (currentIntersectionIndex() == INTERSECTION_INDEX_NOT_SET) {
+        currentIntersectionIndex(intersections().indexOf(currentIntersection()));
+      }
 
       return autoBuild();
     }
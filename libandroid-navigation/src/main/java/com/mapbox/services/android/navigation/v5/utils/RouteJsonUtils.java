@@ -0,0 +1,56 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.gson.PointDeserializer;
+import com.mapbox.geojson.gson.PointSerializer;
+
+/**
+ * Converts {@link DirectionsRoute}s to and from JSON with a single shared {@link Gson}, instead of the
+ * new one {@link DirectionsRoute#toJson()} and {@link DirectionsRoute#fromJson(String)} build with
+ * each call.
+ *
+ * @since 0.23.0
+ */
+public final class RouteJsonUtils {
+
+  private static final Gson GSON = new GsonBuilder()
+    .registerTypeAdapterFactory(DirectionsAdapterFactory.create())
+    .registerTypeAdapter(Point.class, new PointSerializer())
+    .registerTypeAdapter(Point.class, new PointDeserializer())
+    .create();
+
+  private RouteJsonUtils() {
+    // Class should not be initialized.
+  }
+
+  /**
+   * Serializes the route, as {@link DirectionsRoute#toJson()} does.
+   *
+   * @param route to convert
+   * @return the JSON of the route
+   * @since 0.23.0
+   */
+  @NonNull
+  public static String toJson(@NonNull DirectionsRoute route) {
+    return GSON.toJson(route);
+  }
+
+  /**
+   * Parses a route, as {@link DirectionsRoute#fromJson(String)} does.
+   *
+   * @param json of a route
+   * @return the parsed route, or null if the JSON is empty
+   * @since 0.23.0
+   */
+  @Nullable
+  public static DirectionsRoute fromJson(@NonNull String json) {
+    return GSON.fromJson(json, DirectionsRoute.class);
+  }
+}
@@ -0,0 +1,94 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class GpxLocationReaderTest {
+
+  private static final double DELTA = 1E-6;
+  private static final String GPX_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+    + "<gpx xmlns=\"http://www.topografix.com/GPX/1/1\" "
+    + "xmlns:gpxtpx=\"http://www.garmin.com/xmlschemas/TrackPointExtension/v2\"><trk><trkseg>";
+  private static final String GPX_END = "</trkseg></trk></gpx>";
+
+  @Test
+  public void nextLocation_returnsLocationsInOrder() throws IOException {
+    GpxLocationReader reader = buildReader("<trkpt lat=\"1.5\" lon=\"2.5\"/><trkpt lat=\"3.5\" lon=\"4.5\"/>");
+
+    Location first = reader.nextLocation();
+    Location second = reader.nextLocation();
+
+    assertEquals(1.5, first.getLatitude(), DELTA);
+    assertEquals(2.5, first.getLongitude(), DELTA);
+    assertEquals(3.5, second.getLatitude(), DELTA);
+    assertNull(reader.nextLocation());
+  }
+
+  @Test
+  public void nextLocation_readsElevationTimeAndDilution() throws IOException {
+    GpxLocationReader reader = buildReader("<trkpt lat=\"1\" lon=\"2\"><ele>34.5</ele>"
+      + "<time>2009-10-17T18:37:26Z</time><hdop>2</hdop></trkpt>");
+
+    Location location = reader.nextLocation();
+
+    assertEquals(34.5, location.getAltitude(), DELTA);
+    assertEquals(1255804646000L, location.getTime());
+    assertEquals(10f, location.getAccuracy(), DELTA);
+  }
+
+  @Test
+  public void nextLocation_readsSpeedAndCourseExtensions() throws IOException {
+    GpxLocationReader reader = buildReader("<trkpt lat=\"1\" lon=\"2\"><extensions><gpxtpx:TrackPointExtension>"
+      + "<gpxtpx:speed>12.5</gpxtpx:speed><gpxtpx:course>90</gpxtpx:course>"
+      + "</gpxtpx:TrackPointExtension></extensions></trkpt>");
+
+    Location location = reader.nextLocation();
+
+    assertEquals(12.5f, location.getSpeed(), DELTA);
+    assertEquals(90f, location.getBearing(), DELTA);
+  }
+
+  @Test
+  public void nextLocation_pointWithoutOptionalElementsHasNoTime() throws IOException {
+    GpxLocationReader reader = buildReader("<trkpt lat=\"1\" lon=\"2\"/>");
+
+    Location location = reader.nextLocation();
+
+    assertEquals(0L, location.getTime());
+    assertFalse(location.hasAltitude());
+    assertFalse(location.hasSpeed());
+  }
+
+  @Test(expected = IOException.class)
+  public void nextLocation_invalidTimeThrowsException() throws IOException {
+    GpxLocationReader reader = buildReader("<trkpt lat=\"1\" lon=\"2\"><time>yesterday</time></trkpt>");
+
+    reader.nextLocation();
+  }
+
+  @Test(expected = IOException.class)
+  public void nextLocation_pointWithoutLatitudeThrowsException() throws IOException {
+    GpxLocationReader reader = buildReader("<trkpt lon=\"2\"/>");
+
+    reader.nextLocation();
+  }
+
+  private GpxLocationReader buildReader(String trackPoints) throws IOException {
+    String gpx = GPX_START + trackPoints + GPX_END;
+    InputStream inputStream = new ByteArrayInputStream(gpx.getBytes(Charset.forName("UTF-8")));
+    return new GpxLocationReader(inputStream);
+  }
+}
@@ -0,0 +1,51 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+
+import static junit.framework.Assert.assertEquals;
+
+public class GpxTimeParserTest {
+
+  @Test
+  public void parse_utcTimeReturnsMilliseconds() throws ParseException {
+    assertEquals(1255804646000L, GpxTimeParser.parse("2009-10-17T18:37:26Z"));
+  }
+
+  @Test
+  public void parse_epochReturnsZero() throws ParseException {
+    assertEquals(0L, GpxTimeParser.parse("1970-01-01T00:00:00Z"));
+  }
+
+  @Test
+  public void parse_leapDayReturnsMilliseconds() throws ParseException {
+    assertEquals(951782400000L, GpxTimeParser.parse("2000-02-29T00:00:00Z"));
+  }
+
+  @Test
+  public void parse_fractionalSecondsAreRoundedDownToMilliseconds() throws ParseException {
+    assertEquals(1255804646120L, GpxTimeParser.parse("2009-10-17T18:37:26.1209Z"));
+  }
+
+  @Test
+  public void parse_offsetIsConvertedToUtc() throws ParseException {
+    assertEquals(1255804646000L, GpxTimeParser.parse("2009-10-17T20:37:26+02:00"));
+    assertEquals(1255804646000L, GpxTimeParser.parse("2009-10-17T13:37:26-05:00"));
+  }
+
+  @Test
+  public void parse_timeWithoutZoneIsUtc() throws ParseException {
+    assertEquals(1255804646000L, GpxTimeParser.parse(" 2009-10-17T18:37:26 "));
+  }
+
+  @Test(expected = ParseException.class)
+  public void parse_dateWithoutTimeThrowsException() throws ParseException {
+    GpxTimeParser.parse("2009-10-17");
+  }
+
+  @Test(expected = ParseException.class)
+  public void parse_invalidZoneThrowsException() throws ParseException {
+    GpxTimeParser.parse("2009-10-17T18:37:26CET");
+  }
+}
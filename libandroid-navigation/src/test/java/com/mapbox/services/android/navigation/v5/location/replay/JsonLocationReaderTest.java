@@ -0,0 +1,76 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class JsonLocationReaderTest {
+
+  private static final double DELTA = 1E-6;
+
+  @Test
+  public void nextLocation_returnsLocationsInOrder() throws IOException {
+    JsonLocationReader reader = buildReader("{\"locations\":[{\"lat\":1.5,\"lng\":2.5},{\"lat\":3.5,\"lng\":4.5}]}");
+
+    Location first = reader.nextLocation();
+    Location second = reader.nextLocation();
+
+    assertEquals(1.5, first.getLatitude(), DELTA);
+    assertEquals(2.5, first.getLongitude(), DELTA);
+    assertEquals(3.5, second.getLatitude(), DELTA);
+    assertNull(reader.nextLocation());
+    assertNull(reader.nextLocation());
+  }
+
+  @Test
+  public void nextLocation_skipsMembersBeforeLocations() throws IOException {
+    JsonLocationReader reader = buildReader("{\"route\":\"https://api.mapbox.com\",\"extra\":{\"a\":[1,2]},"
+      + "\"locations\":[{\"lat\":1.5,\"lng\":2.5,\"speed\":12.5,\"course\":90}]}");
+
+    Location location = reader.nextLocation();
+
+    assertEquals(12.5f, location.getSpeed(), DELTA);
+    assertEquals(90f, location.getBearing(), DELTA);
+  }
+
+  @Test
+  public void nextLocation_traceWithoutLocationsReturnsNull() throws IOException {
+    JsonLocationReader reader = buildReader("{\"route\":\"https://api.mapbox.com\"}");
+
+    assertNull(reader.nextLocation());
+  }
+
+  @Test
+  public void nextLocation_readsFirstLocationsOfTruncatedTrace() throws IOException {
+    JsonLocationReader reader = buildReader("{\"locations\":[{\"lat\":1.5,\"lng\":2.5},{\"lat\":3.5");
+
+    Location first = reader.nextLocation();
+
+    assertEquals(1.5, first.getLatitude(), DELTA);
+  }
+
+  @Test(expected = IOException.class)
+  public void nextLocation_invalidLocationThrowsException() throws IOException {
+    JsonLocationReader reader = buildReader("{\"locations\":[\"invalid\"]}");
+
+    reader.nextLocation();
+  }
+
+  private JsonLocationReader buildReader(String json) throws IOException {
+    InputStream inputStream = new ByteArrayInputStream(json.getBytes(Charset.forName("UTF-8")));
+    return new JsonLocationReader(inputStream, new Gson());
+  }
+}
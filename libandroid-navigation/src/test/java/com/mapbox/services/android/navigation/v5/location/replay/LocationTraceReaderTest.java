@@ -0,0 +1,155 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.location.LocationManager;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class LocationTraceReaderTest {
+
+  private static final double DELTA = 1E-6;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void nextLocation_returnsWrittenLocations() throws IOException {
+    File traceFile = writeTrace(1000L, 2000L, 3000L);
+    LocationTraceReader reader = new LocationTraceReader(traceFile);
+
+    Location first = reader.nextLocation();
+
+    assertEquals(3, reader.retrieveLocationCount());
+    assertEquals(1000L, first.getTime());
+    assertEquals(2000L, reader.nextLocation().getTime());
+    assertEquals(3000L, reader.nextLocation().getTime());
+    assertNull(reader.nextLocation());
+  }
+
+  @Test
+  public void readLocation_keepsLocationValues() throws IOException {
+    Location location = new Location(LocationManager.GPS_PROVIDER);
+    location.setTime(1000L);
+    location.setLatitude(48.1776966801359);
+    location.setLongitude(-122.326897);
+    location.setAltitude(34.5);
+    location.setSpeed(14.7f);
+    location.setBearing(277.3f);
+    location.setAccuracy(40f);
+    File traceFile = folder.newFile("drive.trace");
+    LocationTraceWriter writer = new LocationTraceWriter(traceFile);
+    writer.write(location);
+    writer.close();
+
+    Location readLocation = new LocationTraceReader(traceFile).readLocation(0);
+
+    assertEquals(LocationManager.GPS_PROVIDER, readLocation.getProvider());
+    assertEquals(48.1776967, readLocation.getLatitude(), DELTA);
+    assertEquals(-122.326897, readLocation.getLongitude(), DELTA);
+    assertEquals(34.5, readLocation.getAltitude(), DELTA);
+    assertEquals(14.7f, readLocation.getSpeed(), DELTA);
+    assertEquals(277.3f, readLocation.getBearing(), DELTA);
+    assertEquals(40f, readLocation.getAccuracy(), DELTA);
+  }
+
+  @Test
+  public void readLocation_unsetValuesStayUnset() throws IOException {
+    File traceFile = writeTrace(1000L);
+
+    Location location = new LocationTraceReader(traceFile).readLocation(0);
+
+    assertFalse(location.hasAltitude());
+    assertFalse(location.hasSpeed());
+    assertFalse(location.hasBearing());
+    assertFalse(location.hasAccuracy());
+  }
+
+  @Test
+  public void write_olderLocationsAreSkipped() throws IOException {
+    File traceFile = writeTrace(1000L, 3000L, 2000L, 3000L);
+
+    LocationTraceReader reader = new LocationTraceReader(traceFile);
+
+    assertEquals(3, reader.retrieveLocationCount());
+  }
+
+  @Test
+  public void seekTo_movesToFirstLocationAtOrAfterTime() throws IOException {
+    LocationTraceReader reader = new LocationTraceReader(writeTrace(1000L, 2000L, 2000L, 3000L, 4000L));
+
+    reader.seekTo(1500L);
+    long afterGapTime = reader.nextLocation().getTime();
+    reader.seekTo(3000L);
+    long exactTime = reader.nextLocation().getTime();
+    reader.seekTo(0L);
+    long startTime = reader.nextLocation().getTime();
+    reader.seekTo(5000L);
+
+    assertEquals(2000L, afterGapTime);
+    assertEquals(3000L, exactTime);
+    assertEquals(1000L, startTime);
+    assertNull(reader.nextLocation());
+  }
+
+  @Test
+  public void retrieveLocationCount_unclosedTraceIsReadToLastCompleteLocation() throws IOException {
+    File traceFile = writeTrace(1000L, 2000L, 3000L);
+    RandomAccessFile file = new RandomAccessFile(traceFile, "rw");
+    file.setLength(file.length() - 1);
+    file.close();
+
+    LocationTraceReader reader = new LocationTraceReader(traceFile);
+
+    assertEquals(2, reader.retrieveLocationCount());
+  }
+
+  @Test
+  public void close_writesLocationCountToHeader() throws IOException {
+    File traceFile = writeTrace(1000L, 2000L);
+
+    RandomAccessFile file = new RandomAccessFile(traceFile, "r");
+    file.seek(8);
+    int locationCount = file.readInt();
+    file.close();
+
+    assertEquals(2, locationCount);
+    assertTrue(traceFile.length() == LocationTraceFormat.HEADER_SIZE + 2 * LocationTraceFormat.RECORD_SIZE);
+  }
+
+  @Test(expected = IOException.class)
+  public void constructor_invalidTraceThrowsException() throws IOException {
+    File traceFile = folder.newFile("drive.trace");
+    FileOutputStream outputStream = new FileOutputStream(traceFile);
+    outputStream.write(new byte[LocationTraceFormat.HEADER_SIZE]);
+    outputStream.close();
+
+    new LocationTraceReader(traceFile);
+  }
+
+  private File writeTrace(long... times) throws IOException {
+    File traceFile = folder.newFile("drive.trace");
+    LocationTraceWriter writer = new LocationTraceWriter(traceFile);
+    for (long time : times) {
+      Location location = new Location(LocationManager.GPS_PROVIDER);
+      location.setTime(time);
+      writer.write(location);
+    }
+    writer.close();
+    return traceFile;
+  }
+}
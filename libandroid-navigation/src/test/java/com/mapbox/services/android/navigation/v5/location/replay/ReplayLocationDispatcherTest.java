@@ -4,11 +4,16 @@ import android.location.Location;
 import android.os.Handler;
 
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -18,8 +23,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+@RunWith(RobolectricTestRunner.class)
 public class ReplayLocationDispatcherTest {
 
+  private static final double DELTA = 1E-6;
+
   @Test(expected = IllegalArgumentException.class)
   public void checksNonNullLocationListRequired() {
     List<Location> nullLocations = null;
@@ -36,16 +44,30 @@ public class ReplayLocationDispatcherTest {
 
   @Test
   public void checksLocationDispatchedWhenIsNotLastLocation() {
-    List<Location> anyLocations = new ArrayList<>(1);
-    Location aLocation = createALocation();
-    anyLocations.add(aLocation);
-    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations);
+    List<Location> anyLocations = createLocations(1000L);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations,
+      mock(Handler.class));
+    ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
+    theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
+
+    theReplayLocationDispatcher.run();
+
+    assertEquals(0d, captureReplayedLocations(aReplayLocationListener, 1).get(0).getLatitude(), DELTA);
+  }
+
+  @Test
+  public void checksDispatchedLocationIsACopy() {
+    List<Location> anyLocations = createLocations(1000L);
+    Location aLocation = anyLocations.get(0);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations,
+      mock(Handler.class));
     ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
     theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
 
     theReplayLocationDispatcher.run();
 
-    verify(aReplayLocationListener).onLocationReplay(eq(aLocation));
+    assertNotSame(aLocation, captureReplayedLocations(aReplayLocationListener, 1).get(0));
+    assertEquals(1000L, aLocation.getTime());
   }
 
   @Test
@@ -156,6 +178,106 @@ public class ReplayLocationDispatcherTest {
     verify(anyLocations, times(1)).addAll(eq(locationsToReplay));
   }
 
+  @Test
+  public void checksAddKeepsScheduledLastLocation() {
+    List<Location> anyLocations = createLocations(1000L, 2000L);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+    ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
+    theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
+    theReplayLocationDispatcher.run();
+
+    theReplayLocationDispatcher.add(createLocations(3000L));
+    theReplayLocationDispatcher.run();
+
+    verify(aHandler, never()).removeCallbacks(eq(theReplayLocationDispatcher));
+    assertEquals(1d, captureReplayedLocations(aReplayLocationListener, 2).get(1).getLatitude(), DELTA);
+  }
+
+  @Test
+  public void checksAddSchedulesNextDispatchWhenIdle() {
+    List<Location> anyLocations = createLocations(1000L);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+    theReplayLocationDispatcher.run();
+
+    theReplayLocationDispatcher.add(createLocations(3000L));
+
+    verify(aHandler, times(1)).postDelayed(eq(theReplayLocationDispatcher), eq(2000L));
+  }
+
+  @Test
+  public void checksNextDispatchScaledByPlaybackRate() {
+    List<Location> anyLocations = createLocations(1000L, 2000L);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+    theReplayLocationDispatcher.updatePlaybackRate(4f);
+
+    theReplayLocationDispatcher.run();
+
+    verify(aHandler, times(1)).postDelayed(eq(theReplayLocationDispatcher), eq(250L));
+  }
+
+  @Test
+  public void checksNextDispatchThrottledWithUnlimitedPlaybackRate() {
+    List<Location> anyLocations = createLocations(1000L, 2000L);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+    theReplayLocationDispatcher.updatePlaybackRate(ReplayLocationDispatcher.UNLIMITED_PLAYBACK_RATE);
+
+    theReplayLocationDispatcher.run();
+
+    verify(aHandler, times(1)).postDelayed(eq(theReplayLocationDispatcher), eq(25L));
+  }
+
+  @Test
+  public void checksDispatchedLocationTimesScaledByPlaybackRate() {
+    List<Location> anyLocations = createLocations(1000L, 3000L);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+    ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
+    theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
+    theReplayLocationDispatcher.updatePlaybackRate(2f);
+
+    theReplayLocationDispatcher.run();
+    theReplayLocationDispatcher.run();
+
+    List<Location> replayedLocations = captureReplayedLocations(aReplayLocationListener, 2);
+    assertEquals(1000L, replayedLocations.get(1).getTime() - replayedLocations.get(0).getTime());
+  }
+
+  @Test
+  public void checksSeekToSkipsLocationsRecordedBefore() {
+    List<Location> anyLocations = createLocations(1000L, 2000L, 3000L);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+    ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
+    theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
+
+    theReplayLocationDispatcher.seekTo(2500L);
+    theReplayLocationDispatcher.run();
+
+    verify(aHandler, times(1)).postDelayed(eq(theReplayLocationDispatcher), eq(0L));
+    assertEquals(2d, captureReplayedLocations(aReplayLocationListener, 1).get(0).getLatitude(), DELTA);
+  }
+
+  private List<Location> captureReplayedLocations(ReplayLocationListener listener, int count) {
+    ArgumentCaptor<Location> captor = ArgumentCaptor.forClass(Location.class);
+    verify(listener, times(count)).onLocationReplay(captor.capture());
+    return captor.getAllValues();
+  }
+
+  private List<Location> createLocations(long... times) {
+    List<Location> locations = new ArrayList<>(times.length);
+    for (int i = 0; i < times.length; i++) {
+      Location location = new Location(ReplayLocationDispatcherTest.class.getSimpleName());
+      location.setTime(times[i]);
+      location.setLatitude(i);
+      locations.add(location);
+    }
+    return locations;
+  }
+
   private Location createALocation() {
     Location location = mock(Location.class);
     return location;
@@ -0,0 +1,142 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReplayLocationFeederTest {
+
+  private static final Executor DIRECT_EXECUTOR = new Executor() {
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+      runnable.run();
+    }
+  };
+
+  @Test
+  public void start_readsTwoBatchesAhead() throws IOException {
+    ReplayLocationReader reader = buildReader(1000);
+    ReplayLocationFeeder.Listener listener = mock(ReplayLocationFeeder.Listener.class);
+    ReplayLocationFeeder feeder = new ReplayLocationFeeder(reader, DIRECT_EXECUTOR, DIRECT_EXECUTOR, listener);
+
+    feeder.start();
+
+    verify(listener, times(2)).onLocationsRead(anyList());
+  }
+
+  @Test
+  public void onLocationReplayed_readsNextBatchOnceOneBatchIsLeft() throws IOException {
+    ReplayLocationReader reader = buildReader(1000);
+    ReplayLocationFeeder.Listener listener = mock(ReplayLocationFeeder.Listener.class);
+    ReplayLocationFeeder feeder = new ReplayLocationFeeder(reader, DIRECT_EXECUTOR, DIRECT_EXECUTOR, listener);
+    feeder.start();
+
+    for (int i = 0; i < ReplayLocationFeeder.BATCH_SIZE - 1; i++) {
+      feeder.onLocationReplayed();
+    }
+    verify(listener, times(2)).onLocationsRead(anyList());
+    feeder.onLocationReplayed();
+
+    verify(listener, times(3)).onLocationsRead(anyList());
+  }
+
+  @Test
+  public void start_closesReaderAfterLastBatch() throws IOException {
+    ReplayLocationReader reader = buildReader(10);
+    ReplayLocationFeeder.Listener listener = mock(ReplayLocationFeeder.Listener.class);
+    ReplayLocationFeeder feeder = new ReplayLocationFeeder(reader, DIRECT_EXECUTOR, DIRECT_EXECUTOR, listener);
+
+    feeder.start();
+
+    verify(listener).onLocationsRead(anyList());
+    verify(reader).close();
+  }
+
+  @Test
+  public void start_readErrorIsSentToListener() throws IOException {
+    ReplayLocationReader reader = mock(ReplayLocationReader.class);
+    IOException error = new IOException();
+    when(reader.nextLocation()).thenThrow(error);
+    ReplayLocationFeeder.Listener listener = mock(ReplayLocationFeeder.Listener.class);
+    ReplayLocationFeeder feeder = new ReplayLocationFeeder(reader, DIRECT_EXECUTOR, DIRECT_EXECUTOR, listener);
+
+    feeder.start();
+
+    verify(listener).onReadError(error);
+    verify(listener, never()).onLocationsRead(anyList());
+  }
+
+  @Test
+  public void close_dropsBatchesBeingRead() throws IOException {
+    ReplayLocationReader reader = buildReader(1000);
+    ReplayLocationFeeder.Listener listener = mock(ReplayLocationFeeder.Listener.class);
+    final Runnable[] pendingCallback = new Runnable[1];
+    Executor callbackExecutor = new Executor() {
+      @Override
+      public void execute(@NonNull Runnable runnable) {
+        pendingCallback[0] = runnable;
+      }
+    };
+    ReplayLocationFeeder feeder = new ReplayLocationFeeder(reader, DIRECT_EXECUTOR, callbackExecutor, listener);
+    feeder.start();
+
+    feeder.close();
+    pendingCallback[0].run();
+
+    verify(listener, never()).onLocationsRead(anyList());
+    verify(reader).close();
+  }
+
+  @Test
+  public void restartAfter_movesReaderAndDropsBatchesBeingRead() throws IOException {
+    ReplayLocationReader reader = buildReader(1000);
+    ReplayLocationFeeder.Listener listener = mock(ReplayLocationFeeder.Listener.class);
+    final List<Runnable> pendingCallbacks = new ArrayList<>();
+    Executor callbackExecutor = new Executor() {
+      @Override
+      public void execute(@NonNull Runnable runnable) {
+        pendingCallbacks.add(runnable);
+      }
+    };
+    ReplayLocationFeeder feeder = new ReplayLocationFeeder(reader, DIRECT_EXECUTOR, callbackExecutor, listener);
+    Runnable moveReader = mock(Runnable.class);
+    feeder.start();
+
+    feeder.restartAfter(moveReader);
+    for (Runnable callback : new ArrayList<>(pendingCallbacks)) {
+      callback.run();
+    }
+
+    verify(moveReader).run();
+    verify(listener, times(1)).onLocationsRead(anyList());
+  }
+
+  private ReplayLocationReader buildReader(final int locationCount) throws IOException {
+    ReplayLocationReader reader = mock(ReplayLocationReader.class);
+    final Location location = mock(Location.class);
+    when(reader.nextLocation()).thenAnswer(new Answer<Location>() {
+      private int readCount;
+
+      @Override
+      public Location answer(InvocationOnMock invocation) {
+        return readCount++ < locationCount ? location : null;
+      }
+    });
+    return reader;
+  }
+}
@@ -0,0 +1,93 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReplayTraceLoaderTest {
+
+  private static final double DELTA = 1E-10;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void load_gpxTraceReturnsLocations() throws IOException {
+    File traceFile = copyResource("test.gpx", "drive.gpx");
+    ReplayTraceLoader loader = new ReplayTraceLoader();
+
+    List<Location> locations = loader.load(traceFile);
+
+    assertEquals(3, locations.size());
+    assertEquals(47.644548, locations.get(0).getLatitude(), DELTA);
+  }
+
+  @Test
+  public void load_jsonTraceReturnsLocations() throws IOException {
+    File traceFile = copyResource("reroute.json", "drive.json");
+    ReplayTraceLoader loader = new ReplayTraceLoader();
+
+    List<Location> locations = loader.load(traceFile);
+
+    assertEquals(11.579233823791801, locations.get(0).getLongitude(), DELTA);
+  }
+
+  @Test(expected = IOException.class)
+  public void load_gpxTraceWithoutLocationsThrowsException() throws IOException {
+    File traceFile = copyResource("test_invalid.gpx", "drive.gpx");
+    ReplayTraceLoader loader = new ReplayTraceLoader();
+
+    loader.load(traceFile);
+  }
+
+  @Test(expected = IOException.class)
+  public void load_unsupportedFileThrowsException() throws IOException {
+    File traceFile = copyResource("test.gpx", "drive.txt");
+    ReplayTraceLoader loader = new ReplayTraceLoader();
+
+    loader.load(traceFile);
+  }
+
+  @Test
+  public void isTrace_onlyAcceptsSupportedExtensions() throws IOException {
+    ReplayTraceLoader loader = new ReplayTraceLoader();
+
+    assertTrue(loader.isTrace(copyResource("test.gpx", "drive.GPX")));
+    assertTrue(loader.isTrace(copyResource("reroute.json", "drive.json")));
+    assertFalse(loader.isTrace(copyResource("test.gpx", "drive.txt")));
+    assertFalse(loader.isTrace(folder.newFolder("traces.gpx")));
+  }
+
+  private File copyResource(String resourceName, String fileName) throws IOException {
+    File file = new File(folder.getRoot(), fileName);
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resourceName);
+    OutputStream outputStream = new FileOutputStream(file);
+    try {
+      byte[] buffer = new byte[1024];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, count);
+      }
+    } finally {
+      inputStream.close();
+      outputStream.close();
+    }
+    return file;
+  }
+}
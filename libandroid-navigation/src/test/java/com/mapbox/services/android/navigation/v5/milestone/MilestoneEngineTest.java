@@ -0,0 +1,88 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class MilestoneEngineTest extends BaseTest {
+
+  private static final String ROUTE_FIXTURE = "directions_v5_precision_6.json";
+
+  @Test
+  public void findTriggeredMilestones_returnsOccurringMilestonesInOrder() throws Exception {
+    RouteProgress routeProgress = buildTriggerRouteProgress(1);
+    Milestone firstMilestone = buildStepMilestone(Trigger.eq(TriggerProperty.STEP_INDEX, 1));
+    Milestone notOccurringMilestone = buildStepMilestone(Trigger.eq(TriggerProperty.STEP_INDEX, 2));
+    Milestone lastMilestone = buildStepMilestone(Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 0d));
+    List<Milestone> milestones = new ArrayList<>();
+    milestones.add(firstMilestone);
+    milestones.add(notOccurringMilestone);
+    milestones.add(lastMilestone);
+    MilestoneEngine engine = new MilestoneEngine();
+
+    List<Milestone> triggeredMilestones = engine.findTriggeredMilestones(milestones, routeProgress, routeProgress);
+
+    assertEquals(2, triggeredMilestones.size());
+    assertEquals(firstMilestone, triggeredMilestones.get(0));
+    assertEquals(lastMilestone, triggeredMilestones.get(1));
+  }
+
+  @Test
+  public void findTriggeredMilestones_stepMilestoneOnlyOccursOncePerStep() throws Exception {
+    RouteProgress firstStepProgress = buildTriggerRouteProgress(0);
+    RouteProgress secondStepProgress = buildTriggerRouteProgress(1);
+    List<Milestone> milestones = new ArrayList<>();
+    milestones.add(buildStepMilestone(Trigger.eq(TriggerProperty.FIRST_LEG, TriggerProperty.TRUE)));
+    MilestoneEngine engine = new MilestoneEngine();
+
+    int firstUpdateCount = engine.findTriggeredMilestones(milestones, firstStepProgress, firstStepProgress).size();
+    int secondUpdateCount = engine.findTriggeredMilestones(milestones, firstStepProgress, firstStepProgress).size();
+    int newStepCount = engine.findTriggeredMilestones(milestones, firstStepProgress, secondStepProgress).size();
+
+    assertEquals(1, firstUpdateCount);
+    assertEquals(0, secondUpdateCount);
+    assertEquals(1, newStepCount);
+  }
+
+  @Test
+  public void findTriggeredMilestones_newMilestonesAreCompiled() throws Exception {
+    RouteProgress routeProgress = buildTriggerRouteProgress(1);
+    List<Milestone> milestones = new ArrayList<>();
+    MilestoneEngine engine = new MilestoneEngine();
+    engine.findTriggeredMilestones(milestones, routeProgress, routeProgress);
+    milestones.add(buildStepMilestone(Trigger.eq(TriggerProperty.STEP_INDEX, 1)));
+
+    List<Milestone> triggeredMilestones = engine.findTriggeredMilestones(milestones, routeProgress, routeProgress);
+
+    assertTrue(triggeredMilestones.contains(milestones.get(0)));
+  }
+
+  private Milestone buildStepMilestone(Trigger.Statement trigger) {
+    return new StepMilestone.Builder()
+      .setTrigger(trigger)
+      .build();
+  }
+
+  private RouteProgress buildTriggerRouteProgress(int stepIndex) throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    double distanceRemaining = route.distance();
+    double legDistanceRemaining = route.legs().get(0).distance();
+    double stepDistanceRemaining = route.legs().get(0).steps().get(stepIndex).distance();
+    return buildTestRouteProgress(route, stepDistanceRemaining,
+      legDistanceRemaining, distanceRemaining, stepIndex, 0);
+  }
+}
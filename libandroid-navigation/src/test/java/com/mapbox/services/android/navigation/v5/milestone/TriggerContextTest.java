@@ -0,0 +1,112 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class TriggerContextTest extends BaseTest {
+
+  private static final String ROUTE_FIXTURE = "directions_v5_precision_6.json";
+  private static final int[] PROPERTIES = {
+    TriggerProperty.STEP_DURATION_REMAINING_SECONDS,
+    TriggerProperty.STEP_DISTANCE_REMAINING_METERS,
+    TriggerProperty.STEP_DISTANCE_TOTAL_METERS,
+    TriggerProperty.STEP_DURATION_TOTAL_SECONDS,
+    TriggerProperty.STEP_DISTANCE_TRAVELED_METERS,
+    TriggerProperty.STEP_INDEX,
+    TriggerProperty.NEW_STEP,
+    TriggerProperty.FIRST_STEP,
+    TriggerProperty.LAST_STEP,
+    TriggerProperty.NEXT_STEP_DISTANCE_METERS,
+    TriggerProperty.NEXT_STEP_DURATION_SECONDS,
+    TriggerProperty.FIRST_LEG,
+    TriggerProperty.LAST_LEG
+  };
+  private static final Object[] VALUES = {
+    TriggerProperty.TRUE, TriggerProperty.FALSE, 0, 1, 2, 0d, 1d, 100d, 250.5d, 1000d, 1L
+  };
+
+  @Test
+  public void isOccurring_primitiveEvaluationMatchesSparseArray() throws Exception {
+    RouteProgress previousRouteProgress = buildTriggerRouteProgress(0);
+    RouteProgress routeProgress = buildTriggerRouteProgress(1);
+    TriggerContext triggerContext = TriggerContext.create(previousRouteProgress, routeProgress);
+    SparseArray<Number[]> statementObjects = TriggerProperty.getSparseArray(previousRouteProgress, routeProgress);
+
+    for (int key : PROPERTIES) {
+      for (Object value : VALUES) {
+        Trigger.Statement[] statements = {
+          Trigger.eq(key, value), Trigger.neq(key, value), Trigger.gt(key, value),
+          Trigger.gte(key, value), Trigger.lt(key, value), Trigger.lte(key, value)
+        };
+        for (Trigger.Statement statement : statements) {
+          assertEquals(statement.isOccurring(statementObjects), statement.isOccurring(triggerContext));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void isOccurring_equalPropertyValuePasses() throws Exception {
+    RouteProgress routeProgress = buildTriggerRouteProgress(1);
+    TriggerContext triggerContext = TriggerContext.create(routeProgress, routeProgress);
+    double stepDistance = routeProgress.currentLegProgress().currentStep().distance();
+
+    assertTrue(Trigger.eq(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, stepDistance).isOccurring(triggerContext));
+    assertTrue(Trigger.eq(TriggerProperty.STEP_INDEX, 1).isOccurring(triggerContext));
+  }
+
+  @Test
+  public void isOccurring_differentNumberTypeDoesNotPassEqual() throws Exception {
+    RouteProgress routeProgress = buildTriggerRouteProgress(1);
+    TriggerContext triggerContext = TriggerContext.create(routeProgress, routeProgress);
+
+    assertFalse(Trigger.eq(TriggerProperty.STEP_INDEX, 1d).isOccurring(triggerContext));
+  }
+
+  @Test
+  public void isOccurring_newStepComparesPreviousStepIndex() throws Exception {
+    RouteProgress previousRouteProgress = buildTriggerRouteProgress(0);
+    RouteProgress routeProgress = buildTriggerRouteProgress(1);
+    TriggerContext triggerContext = TriggerContext.create(previousRouteProgress, routeProgress);
+
+    assertTrue(Trigger.neq(TriggerProperty.NEW_STEP, TriggerProperty.TRUE).isOccurring(triggerContext));
+  }
+
+  @Test
+  public void isOccurring_customStatementReceivesSparseArray() throws Exception {
+    RouteProgress routeProgress = buildTriggerRouteProgress(1);
+    TriggerContext triggerContext = TriggerContext.create(routeProgress, routeProgress);
+    Trigger.Statement customStatement = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        return statementObjects.get(TriggerProperty.STEP_INDEX)[0].intValue() == 1;
+      }
+    };
+
+    assertTrue(Trigger.all(customStatement).isOccurring(triggerContext));
+  }
+
+  private RouteProgress buildTriggerRouteProgress(int stepIndex) throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    double distanceRemaining = route.distance();
+    double legDistanceRemaining = route.legs().get(0).distance();
+    double stepDistanceRemaining = route.legs().get(0).steps().get(stepIndex).distance() / 2;
+    return buildTestRouteProgress(route, stepDistanceRemaining,
+      legDistanceRemaining, distanceRemaining, stepIndex, 0);
+  }
+}
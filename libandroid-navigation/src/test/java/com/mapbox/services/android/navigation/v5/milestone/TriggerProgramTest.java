@@ -0,0 +1,133 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class TriggerProgramTest extends BaseTest {
+
+  private static final String ROUTE_FIXTURE = "directions_v5_precision_6.json";
+
+  @Test
+  public void isOccurring_compiledProgramMatchesStatement() throws Exception {
+    RouteProgress previousRouteProgress = buildTriggerRouteProgress(0, 2);
+    RouteProgress routeProgress = buildTriggerRouteProgress(1, 2);
+    TriggerContext triggerContext = TriggerContext.create(previousRouteProgress, routeProgress);
+    Trigger.Statement[] statements = {
+      Trigger.all(),
+      Trigger.any(),
+      Trigger.none(),
+      Trigger.all(
+        Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 100d),
+        Trigger.eq(TriggerProperty.STEP_INDEX, 1)
+      ),
+      Trigger.any(
+        Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 10d),
+        Trigger.none(Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.FALSE))
+      ),
+      Trigger.all(
+        Trigger.gte(TriggerProperty.STEP_DURATION_REMAINING_SECONDS, 0d),
+        Trigger.any(
+          Trigger.lte(TriggerProperty.NEXT_STEP_DISTANCE_METERS, 15d),
+          Trigger.neq(TriggerProperty.LAST_LEG, TriggerProperty.TRUE)
+        ),
+        Trigger.none(Trigger.eq(TriggerProperty.FIRST_STEP, TriggerProperty.TRUE))
+      )
+    };
+
+    for (Trigger.Statement statement : statements) {
+      TriggerProgram program = TriggerProgram.compile(statement);
+
+      assertEquals(statement.isOccurring(triggerContext), program.isOccurring(triggerContext));
+    }
+  }
+
+  @Test
+  public void retrieveProperties_comparisonsSetTheirKeys() {
+    TriggerProgram program = TriggerProgram.compile(Trigger.all(
+      Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 100d),
+      Trigger.eq(TriggerProperty.STEP_INDEX, 1)
+    ));
+
+    int expectedProperties = 1 << TriggerProperty.STEP_DISTANCE_TOTAL_METERS | 1 << TriggerProperty.STEP_INDEX;
+    assertEquals(expectedProperties, program.retrieveProperties());
+  }
+
+  @Test
+  public void retrieveProperties_customStatementReadsAllProperties() {
+    Trigger.Statement customStatement = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        return true;
+      }
+    };
+
+    TriggerProgram program = TriggerProgram.compile(Trigger.all(customStatement));
+
+    assertEquals(TriggerProgram.ALL_PROPERTIES, program.retrieveProperties());
+  }
+
+  @Test
+  public void isOccurring_unchangedGroupReturnsPreviousResult() throws Exception {
+    Trigger.Statement statement = Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 100d);
+    TriggerProgram program = TriggerProgram.compile(statement);
+    TriggerGroup group = new TriggerGroup(program.retrieveProperties());
+    program.updateGroup(group);
+    RouteProgress farRouteProgress = buildTriggerRouteProgress(1, 1);
+    RouteProgress nearRouteProgress = buildTriggerRouteProgress(1, 1000);
+    group.update(TriggerProgram.ALL_PROPERTIES);
+    boolean firstResult = program.isOccurring(buildContext(farRouteProgress, 1));
+
+    group.update(TriggerProgram.NO_PROPERTIES);
+    boolean secondResult = program.isOccurring(buildContext(nearRouteProgress, 2));
+
+    assertFalse(firstResult);
+    assertFalse(secondResult);
+  }
+
+  @Test
+  public void isOccurring_changedGroupEvaluatesAgain() throws Exception {
+    Trigger.Statement statement = Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 100d);
+    TriggerProgram program = TriggerProgram.compile(statement);
+    TriggerGroup group = new TriggerGroup(program.retrieveProperties());
+    program.updateGroup(group);
+    RouteProgress farRouteProgress = buildTriggerRouteProgress(1, 1);
+    RouteProgress nearRouteProgress = buildTriggerRouteProgress(1, 1000);
+    TriggerContext farContext = buildContext(farRouteProgress, 1);
+    TriggerContext nearContext = buildContext(nearRouteProgress, 2);
+    group.update(TriggerProgram.ALL_PROPERTIES);
+    program.isOccurring(farContext);
+
+    group.update(nearContext.findChangedProperties(farContext));
+    boolean result = program.isOccurring(nearContext);
+
+    assertTrue(result);
+  }
+
+  private TriggerContext buildContext(RouteProgress routeProgress, long update) {
+    return TriggerContext.create(routeProgress, routeProgress, update, null);
+  }
+
+  private RouteProgress buildTriggerRouteProgress(int stepIndex, double stepDistanceDivisor) throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    double distanceRemaining = route.distance();
+    double legDistanceRemaining = route.legs().get(0).distance();
+    double stepDistanceRemaining = route.legs().get(0).steps().get(stepIndex).distance() / stepDistanceDivisor;
+    return buildTestRouteProgress(route, stepDistanceRemaining,
+      legDistanceRemaining, distanceRemaining, stepIndex, 0);
+  }
+}
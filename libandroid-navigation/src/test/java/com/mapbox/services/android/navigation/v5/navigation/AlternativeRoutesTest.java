@@ -0,0 +1,123 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AlternativeRoutesTest {
+
+  @Test
+  public void updateLocation_locationIsGivenToEachAlternative() {
+    AlternativeRoute firstRoute = buildAlternativeRoute();
+    AlternativeRoute secondRoute = buildAlternativeRoute();
+    AlternativeRoutes alternativeRoutes = buildAlternativeRoutes(firstRoute, secondRoute);
+    Location location = mock(Location.class);
+
+    alternativeRoutes.updateLocation(location);
+
+    verify(firstRoute.retrieveMapboxNavigator()).updateLocation(location);
+    verify(secondRoute.retrieveMapboxNavigator()).updateLocation(location);
+  }
+
+  @Test
+  public void updateLocations_locationsAreGivenToEachAlternative() {
+    AlternativeRoute firstRoute = buildAlternativeRoute();
+    AlternativeRoute secondRoute = buildAlternativeRoute();
+    AlternativeRoutes alternativeRoutes = buildAlternativeRoutes(firstRoute, secondRoute);
+    List<Location> locations = new ArrayList<>();
+    locations.add(mock(Location.class));
+
+    alternativeRoutes.updateLocations(locations);
+
+    verify(firstRoute.retrieveMapboxNavigator()).updateLocations(locations);
+    verify(secondRoute.retrieveMapboxNavigator()).updateLocations(locations);
+  }
+
+  @Test
+  public void replace_previousRouteTakesPlaceOfTakenRoute() {
+    AlternativeRoute firstRoute = buildAlternativeRoute();
+    AlternativeRoute takenRoute = buildAlternativeRoute();
+    AlternativeRoute previousRoute = buildAlternativeRoute();
+    AlternativeRoutes alternativeRoutes = buildAlternativeRoutes(firstRoute, takenRoute);
+
+    alternativeRoutes.replace(takenRoute, previousRoute);
+
+    List<AlternativeRoute> routes = alternativeRoutes.retrieveRoutes();
+    assertEquals(2, routes.size());
+    assertEquals(firstRoute, routes.get(0));
+    assertEquals(previousRoute, routes.get(1));
+  }
+
+  @Test
+  public void clear_noAlternativesAreTracked() {
+    AlternativeRoutes alternativeRoutes = buildAlternativeRoutes(buildAlternativeRoute());
+
+    alternativeRoutes.clear();
+
+    assertTrue(alternativeRoutes.isEmpty());
+  }
+
+  @Test
+  public void clear_navigatorsAreReleased() {
+    AlternativeRoute route = buildAlternativeRoute();
+    AlternativeRoutes alternativeRoutes = buildAlternativeRoutes(route);
+
+    alternativeRoutes.clear();
+
+    verify(route.retrieveMapboxNavigator()).release();
+  }
+
+  @Test
+  public void updateRoutes_onlyReplacedNavigatorsAreReleased() {
+    AlternativeRoute keptRoute = buildAlternativeRoute();
+    AlternativeRoute replacedRoute = buildAlternativeRoute();
+    AlternativeRoutes alternativeRoutes = buildAlternativeRoutes(keptRoute, replacedRoute);
+    List<AlternativeRoute> routes = new ArrayList<>();
+    routes.add(keptRoute);
+
+    alternativeRoutes.updateRoutes(routes);
+
+    verify(replacedRoute.retrieveMapboxNavigator()).release();
+    verify(keptRoute.retrieveMapboxNavigator(), never()).release();
+  }
+
+  @Test
+  public void updateHistoryRecording_onlyNavigatorsNotMatchingAreToggled() {
+    AlternativeRoute recordingRoute = buildAlternativeRoute();
+    when(recordingRoute.retrieveMapboxNavigator().isHistoryEnabled()).thenReturn(true);
+    AlternativeRoute route = buildAlternativeRoute();
+    AlternativeRoutes alternativeRoutes = buildAlternativeRoutes(recordingRoute, route);
+
+    alternativeRoutes.updateHistoryRecording(true);
+
+    verify(recordingRoute.retrieveMapboxNavigator(), never()).toggleHistory(true);
+    verify(route.retrieveMapboxNavigator()).toggleHistory(true);
+  }
+
+  private AlternativeRoutes buildAlternativeRoutes(AlternativeRoute... routes) {
+    List<AlternativeRoute> routeList = new ArrayList<>();
+    for (AlternativeRoute route : routes) {
+      routeList.add(route);
+    }
+    AlternativeRoutes alternativeRoutes = new AlternativeRoutes();
+    alternativeRoutes.updateRoutes(routeList);
+    return alternativeRoutes;
+  }
+
+  private AlternativeRoute buildAlternativeRoute() {
+    return new AlternativeRoute(mock(DirectionsRoute.class), mock(RouteGeometryIndex.class),
+      mock(MapboxNavigator.class));
+  }
+}
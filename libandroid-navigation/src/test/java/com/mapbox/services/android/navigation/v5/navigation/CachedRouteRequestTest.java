@@ -0,0 +1,124 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.MapboxDirections;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static junit.framework.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachedRouteRequestTest extends BaseTest {
+
+  private static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
+  private static final String REQUEST_URL = "https://api.mapbox.com/directions/v5/mapbox/driving-traffic/"
+    + "-77.0342110,38.9131750;-77.0320430,38.9108500?access_token=pk.XXX";
+  private static final String ACCESS_TOKEN = "pk.XXX";
+  private static final Executor DIRECT_EXECUTOR = new Executor() {
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+      runnable.run();
+    }
+  };
+
+  private MapboxDirections mapboxDirections;
+  private DirectionsCache directionsCache;
+  private Callback<DirectionsResponse> callback;
+  private String key;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    Call<DirectionsResponse> call = mock(Call.class);
+    when(call.request()).thenReturn(new Request.Builder().url(REQUEST_URL).build());
+    mapboxDirections = mock(MapboxDirections.class);
+    when(mapboxDirections.cloneCall()).thenReturn(call);
+    directionsCache = mock(DirectionsCache.class);
+    callback = mock(Callback.class);
+    key = DirectionsCache.buildKey(call.request().url());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void enqueue_cachedResponseIsReturnedWithoutNetwork() throws IOException {
+    DirectionsResponse response = buildResponse();
+    when(directionsCache.retrieve(key, ACCESS_TOKEN)).thenReturn(response);
+    CachedRouteRequest request = buildRequest();
+
+    request.enqueue(callback);
+
+    ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+    verify(callback).onResponse(any(Call.class), captor.capture());
+    assertSame(response, captor.getValue().body());
+    verify(mapboxDirections, never()).enqueueCall(any(Callback.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void enqueue_cachedResponseIsRevalidated() throws IOException {
+    when(directionsCache.retrieve(key, ACCESS_TOKEN)).thenReturn(buildResponse());
+    when(directionsCache.shouldRevalidate()).thenReturn(true);
+    CachedRouteRequest request = buildRequest();
+
+    request.enqueue(callback);
+
+    verify(mapboxDirections).enqueueCall(any(Callback.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void enqueue_networkResponseIsCached() throws IOException {
+    DirectionsResponse response = buildResponse();
+    CachedRouteRequest request = buildRequest();
+    request.enqueue(callback);
+    ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+    verify(mapboxDirections).enqueueCall(captor.capture());
+
+    captor.getValue().onResponse(mock(Call.class), Response.success(response));
+
+    verify(directionsCache).store(key, response);
+    verify(callback).onResponse(any(Call.class), any(Response.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void enqueue_networkFailureIsNotCached() {
+    CachedRouteRequest request = buildRequest();
+    request.enqueue(callback);
+    ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+    verify(mapboxDirections).enqueueCall(captor.capture());
+    Throwable throwable = new IOException();
+
+    captor.getValue().onFailure(mock(Call.class), throwable);
+
+    verify(directionsCache, never()).store(anyString(), any(DirectionsResponse.class));
+    verify(callback).onFailure(any(Call.class), eq(throwable));
+  }
+
+  private CachedRouteRequest buildRequest() {
+    return new CachedRouteRequest(mapboxDirections, directionsCache, DIRECT_EXECUTOR, DIRECT_EXECUTOR);
+  }
+
+  private DirectionsResponse buildResponse() throws IOException {
+    return DirectionsResponse.fromJson(loadJsonFixture(DIRECTIONS_PRECISION_6));
+  }
+}
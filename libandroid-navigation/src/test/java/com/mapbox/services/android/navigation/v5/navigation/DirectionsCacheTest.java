@@ -0,0 +1,222 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.DirectionsCriteria;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+
+import okhttp3.HttpUrl;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DirectionsCacheTest extends BaseTest {
+
+  private static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
+  private static final String REQUEST_URL = "https://api.mapbox.com/directions/v5/mapbox/driving-traffic/"
+    + "-77.0342110,38.9131750;-77.0320430,38.9108500?access_token=pk.XXX&steps=true&annotations=congestion";
+  private static final String ACCESS_TOKEN = "pk.XXX";
+  private static final String STORED_ACCESS_TOKEN = "pk.STORED";
+  private static final String STORED_REQUEST_UUID = "stored_uuid";
+  private static final long NO_LIMIT = Long.MAX_VALUE;
+  private static final long TIME_TO_LIVE = 1000L;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void buildKey_accessTokenIsIgnored() {
+    String key = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL));
+    String otherTokenKey = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL.replace("pk.XXX", "pk.YYY")));
+
+    assertEquals(key, otherTokenKey);
+  }
+
+  @Test
+  public void buildKey_nearbyCoordinatesAreEqual() {
+    String key = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL));
+    String nearbyKey = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL.replace("38.9131750", "38.9131760")));
+
+    assertEquals(key, nearbyKey);
+  }
+
+  @Test
+  public void buildKey_parameterOrderIsIgnored() {
+    String key = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL));
+    String reorderedKey = DirectionsCache.buildKey(HttpUrl.parse(
+      REQUEST_URL.replace("steps=true&annotations=congestion", "annotations=congestion&steps=true")));
+
+    assertEquals(key, reorderedKey);
+  }
+
+  @Test
+  public void buildKey_otherProfileIsDifferent() {
+    String key = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL));
+    String cyclingKey = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL.replace("driving-traffic", "cycling")));
+
+    assertFalse(key.equals(cyclingKey));
+  }
+
+  @Test
+  public void buildKey_otherAnnotationsAreDifferent() {
+    String key = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL));
+    String distanceKey = DirectionsCache.buildKey(HttpUrl.parse(REQUEST_URL.replace("congestion", "distance")));
+
+    assertFalse(key.equals(distanceKey));
+  }
+
+  @Test
+  public void retrieveAccessToken_accessTokenOfRequestIsReturned() {
+    assertEquals(ACCESS_TOKEN, DirectionsCache.retrieveAccessToken(HttpUrl.parse(REQUEST_URL)));
+  }
+
+  @Test
+  public void store_accessTokenAndRequestUuidAreNotWritten() throws IOException {
+    DirectionsCache cache = new DirectionsCache(folder.getRoot(), NO_LIMIT, TIME_TO_LIVE, false, buildClock(0L));
+
+    cache.store("key", buildResponseWithRouteOptions());
+
+    String storedResponse = readFile(folder.getRoot().listFiles()[0]);
+    assertFalse(storedResponse.contains(STORED_ACCESS_TOKEN));
+    assertFalse(storedResponse.contains(STORED_REQUEST_UUID));
+  }
+
+  @Test
+  public void retrieve_routeOptionsHaveRequestAccessTokenAndNoRequestUuid() throws IOException {
+    DirectionsCache cache = new DirectionsCache(folder.getRoot(), NO_LIMIT, TIME_TO_LIVE, false, buildClock(0L));
+    cache.store("key", buildResponseWithRouteOptions());
+
+    DirectionsResponse response = cache.retrieve("key", ACCESS_TOKEN);
+
+    RouteOptions routeOptions = response.routes().get(0).routeOptions();
+    assertEquals(ACCESS_TOKEN, routeOptions.accessToken());
+    assertTrue(routeOptions.requestUuid().isEmpty());
+  }
+
+  @Test
+  public void retrieve_storedResponseIsReturned() throws IOException {
+    NavigationClock clock = buildClock(0L);
+    DirectionsCache cache = new DirectionsCache(folder.getRoot(), NO_LIMIT, TIME_TO_LIVE, false, clock);
+    DirectionsResponse response = buildResponse();
+
+    cache.store("key", response);
+
+    assertEquals(response, cache.retrieve("key", ACCESS_TOKEN));
+  }
+
+  @Test
+  public void retrieve_unknownKeyReturnsNull() throws IOException {
+    DirectionsCache cache = new DirectionsCache(folder.getRoot(), NO_LIMIT, TIME_TO_LIVE, false, buildClock(0L));
+    cache.store("key", buildResponse());
+
+    assertNull(cache.retrieve("other key", ACCESS_TOKEN));
+  }
+
+  @Test
+  public void retrieve_expiredResponseIsDeleted() throws IOException {
+    NavigationClock clock = buildClock(0L);
+    DirectionsCache cache = new DirectionsCache(folder.getRoot(), NO_LIMIT, TIME_TO_LIVE, false, clock);
+    cache.store("key", buildResponse());
+    when(clock.currentTimeMillis()).thenReturn(TIME_TO_LIVE);
+
+    DirectionsResponse response = cache.retrieve("key", ACCESS_TOKEN);
+
+    assertNull(response);
+    assertEquals(0, folder.getRoot().listFiles().length);
+  }
+
+  @Test
+  public void store_leastRecentlyUsedResponseIsDeletedOverBudget() throws IOException {
+    NavigationClock clock = buildClock(0L);
+    File directory = folder.getRoot();
+    DirectionsCache cache = new DirectionsCache(directory, NO_LIMIT, NO_LIMIT, false, clock);
+    cache.store("first", buildResponse());
+    long responseSize = directory.listFiles()[0].length();
+    cache = new DirectionsCache(directory, responseSize * 2 + responseSize / 2, NO_LIMIT, false, clock);
+    when(clock.currentTimeMillis()).thenReturn(10000L);
+    cache.store("second", buildResponse());
+    when(clock.currentTimeMillis()).thenReturn(20000L);
+    cache.retrieve("first", ACCESS_TOKEN);
+    when(clock.currentTimeMillis()).thenReturn(30000L);
+
+    cache.store("third", buildResponse());
+
+    assertNotNull(cache.retrieve("first", ACCESS_TOKEN));
+    assertNull(cache.retrieve("second", ACCESS_TOKEN));
+    assertNotNull(cache.retrieve("third", ACCESS_TOKEN));
+  }
+
+  @Test
+  public void clear_responsesAreDeleted() throws IOException {
+    DirectionsCache cache = new DirectionsCache(folder.getRoot(), NO_LIMIT, TIME_TO_LIVE, false, buildClock(0L));
+    cache.store("key", buildResponse());
+
+    cache.clear();
+
+    assertNull(cache.retrieve("key", ACCESS_TOKEN));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void new_zeroSizeBudgetThrows() {
+    new DirectionsCache(folder.getRoot(), 0, TIME_TO_LIVE, false, buildClock(0L));
+  }
+
+  private DirectionsResponse buildResponse() throws IOException {
+    return DirectionsResponse.fromJson(loadJsonFixture(DIRECTIONS_PRECISION_6));
+  }
+
+  private DirectionsResponse buildResponseWithRouteOptions() throws IOException {
+    DirectionsResponse response = buildResponse();
+    List<Point> coordinates = Arrays.asList(Point.fromLngLat(-77.034211, 38.913175),
+      Point.fromLngLat(-77.032043, 38.91085));
+    RouteOptions routeOptions = RouteOptions.builder()
+      .accessToken(STORED_ACCESS_TOKEN)
+      .baseUrl("https://api.mapbox.com")
+      .requestUuid(STORED_REQUEST_UUID)
+      .profile(DirectionsCriteria.PROFILE_DRIVING_TRAFFIC)
+      .coordinates(coordinates)
+      .user("mapbox")
+      .geometries(DirectionsCriteria.GEOMETRY_POLYLINE6)
+      .build();
+    List<DirectionsRoute> routes = new ArrayList<>();
+    for (DirectionsRoute route : response.routes()) {
+      routes.add(route.toBuilder().routeOptions(routeOptions).build());
+    }
+    return response.toBuilder().routes(routes).build();
+  }
+
+  private String readFile(File file) throws IOException {
+    InputStream inputStream = new FileInputStream(file);
+    try {
+      return new Scanner(inputStream, "UTF-8").useDelimiter("\\A").next();
+    } finally {
+      inputStream.close();
+    }
+  }
+
+  private NavigationClock buildClock(long currentTimeMillis) {
+    NavigationClock clock = mock(NavigationClock.class);
+    when(clock.currentTimeMillis()).thenReturn(currentTimeMillis);
+    return clock;
+  }
+}
@@ -0,0 +1,105 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.navigator.FixLocation;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class FixLocationQueueTest {
+
+  @Test
+  public void capacity_roundedUpToPowerOfTwo() {
+    FixLocationQueue queue = new FixLocationQueue(5);
+
+    assertEquals(8, queue.capacity());
+  }
+
+  @Test
+  public void poll_emptyQueueReturnsNull() {
+    FixLocationQueue queue = new FixLocationQueue(4);
+
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void poll_returnsLocationsInOrder() {
+    FixLocationQueue queue = new FixLocationQueue(4);
+    FixLocation first = mock(FixLocation.class);
+    FixLocation second = mock(FixLocation.class);
+    queue.offer(first);
+    queue.offer(second);
+
+    assertSame(first, queue.poll());
+    assertSame(second, queue.poll());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void offer_fullQueueReturnsFalse() {
+    FixLocationQueue queue = new FixLocationQueue(2);
+    queue.offer(mock(FixLocation.class));
+    queue.offer(mock(FixLocation.class));
+
+    boolean isQueued = queue.offer(mock(FixLocation.class));
+
+    assertFalse(isQueued);
+    assertEquals(2, queue.size());
+  }
+
+  @Test
+  public void offer_wrapsAroundAfterPoll() {
+    FixLocationQueue queue = new FixLocationQueue(2);
+    queue.offer(mock(FixLocation.class));
+    queue.offer(mock(FixLocation.class));
+    queue.poll();
+    FixLocation last = mock(FixLocation.class);
+
+    boolean isQueued = queue.offer(last);
+    queue.poll();
+
+    assertTrue(isQueued);
+    assertSame(last, queue.poll());
+  }
+
+  @Test
+  public void poll_concurrentProducerKeepsOrder() throws Exception {
+    final FixLocationQueue queue = new FixLocationQueue(16);
+    final List<FixLocation> produced = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      produced.add(mock(FixLocation.class));
+    }
+    Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        for (FixLocation fixLocation : produced) {
+          while (!queue.offer(fixLocation)) {
+            Thread.yield();
+          }
+        }
+      }
+    });
+    List<FixLocation> consumed = new ArrayList<>();
+
+    producer.start();
+    while (consumed.size() < produced.size()) {
+      FixLocation fixLocation = queue.poll();
+      if (fixLocation != null) {
+        consumed.add(fixLocation);
+      }
+    }
+    producer.join();
+
+    for (int i = 0; i < produced.size(); i++) {
+      assertSame(produced.get(i), consumed.get(i));
+    }
+  }
+}
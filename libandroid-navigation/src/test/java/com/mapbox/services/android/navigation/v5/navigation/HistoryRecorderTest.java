@@ -0,0 +1,189 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HistoryRecorderTest {
+
+  private static final long NO_LIMIT = Long.MAX_VALUE;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void start_historyIsToggledOn() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    HistoryRecorder recorder = buildRecorder(navigator, NO_LIMIT, NO_LIMIT);
+
+    recorder.start();
+
+    verify(navigator).toggleHistory(true);
+  }
+
+  @Test
+  public void updateNavigator_historyIsToggledOnForNewNavigatorOnceStarted() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    MapboxNavigator newNavigator = mock(MapboxNavigator.class);
+    HistoryRecorder recorder = buildRecorder(navigator, NO_LIMIT, NO_LIMIT);
+    recorder.start();
+
+    recorder.updateNavigator(newNavigator);
+
+    verify(newNavigator).toggleHistory(true);
+  }
+
+  @Test
+  public void updateNavigator_historyIsNotToggledBeforeStart() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    MapboxNavigator newNavigator = mock(MapboxNavigator.class);
+    HistoryRecorder recorder = buildRecorder(navigator, NO_LIMIT, NO_LIMIT);
+
+    recorder.updateNavigator(newNavigator);
+
+    verify(newNavigator, never()).toggleHistory(true);
+  }
+
+  @Test
+  public void updateNavigator_recordingHistoryIsNotReset() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    MapboxNavigator newNavigator = mock(MapboxNavigator.class);
+    when(newNavigator.isHistoryEnabled()).thenReturn(true);
+    HistoryRecorder recorder = buildRecorder(navigator, NO_LIMIT, NO_LIMIT);
+    recorder.start();
+
+    recorder.updateNavigator(newNavigator);
+
+    verify(newNavigator, never()).toggleHistory(true);
+  }
+
+  @Test
+  public void drain_replacedNavigatorIsDrainedOnceBeforeNewNavigator() throws IOException {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    when(navigator.drainHistory()).thenReturn("{\"replaced\":1}", "{\"replaced\":2}");
+    MapboxNavigator newNavigator = mock(MapboxNavigator.class);
+    when(newNavigator.drainHistory()).thenReturn("{\"new\":1}", "{\"new\":2}");
+    HistoryRecorder recorder = buildRecorder(navigator, NO_LIMIT, NO_LIMIT);
+    recorder.updateNavigator(newNavigator);
+
+    recorder.drain();
+    recorder.drain();
+
+    verify(navigator, times(1)).drainHistory();
+    List<File> files = recorder.retrieveFiles();
+    assertEquals("{\"replaced\":1}\n{\"new\":1}\n{\"new\":2}\n", readCompressedFile(files.get(0)));
+  }
+
+  @Test
+  public void updateNavigator_replacedHistoryIsTakenBeforeNavigatorIsReleased() throws IOException {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    when(navigator.drainHistory()).thenReturn("{\"replaced\":1}", "");
+    MapboxNavigator newNavigator = mock(MapboxNavigator.class);
+    when(newNavigator.drainHistory()).thenReturn("");
+    HistoryRecorder recorder = buildRecorder(navigator, NO_LIMIT, NO_LIMIT);
+
+    recorder.updateNavigator(newNavigator);
+    navigator.release();
+    recorder.drain();
+
+    InOrder inOrder = inOrder(navigator);
+    inOrder.verify(navigator).drainHistory();
+    inOrder.verify(navigator).release();
+    List<File> files = recorder.retrieveFiles();
+    assertEquals("{\"replaced\":1}\n", readCompressedFile(files.get(0)));
+  }
+
+  @Test
+  public void drain_historyIsAppendedToCurrentFile() throws IOException {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    when(navigator.drainHistory()).thenReturn("{\"first\":1}", "{\"second\":2}");
+    HistoryRecorder recorder = buildRecorder(navigator, NO_LIMIT, NO_LIMIT);
+
+    recorder.drain();
+    recorder.drain();
+
+    List<File> files = recorder.retrieveFiles();
+    assertEquals(1, files.size());
+    assertEquals("{\"first\":1}\n{\"second\":2}\n", readCompressedFile(files.get(0)));
+  }
+
+  @Test
+  public void drain_emptyHistoryIsNotWritten() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    when(navigator.drainHistory()).thenReturn("");
+    HistoryRecorder recorder = buildRecorder(navigator, NO_LIMIT, NO_LIMIT);
+
+    recorder.drain();
+
+    assertTrue(recorder.retrieveFiles().isEmpty());
+  }
+
+  @Test
+  public void drain_newFileIsStartedOnceFileSizeLimitIsReached() throws IOException {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    when(navigator.drainHistory()).thenReturn("{\"first\":1}", "{\"second\":2}");
+    HistoryRecorder recorder = buildRecorder(navigator, 1, NO_LIMIT);
+
+    recorder.drain();
+    recorder.drain();
+
+    List<File> files = recorder.retrieveFiles();
+    assertEquals(2, files.size());
+    assertEquals("{\"second\":2}\n", readCompressedFile(files.get(1)));
+  }
+
+  @Test
+  public void drain_oldestFilesOverRetentionBudgetAreDeleted() throws IOException {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    when(navigator.drainHistory()).thenReturn("{\"first\":1}", "{\"second\":2}", "{\"third\":3}");
+    HistoryRecorder recorder = buildRecorder(navigator, 1, 1);
+
+    recorder.drain();
+    recorder.drain();
+    recorder.drain();
+
+    List<File> files = recorder.retrieveFiles();
+    assertEquals(1, files.size());
+    assertEquals("{\"third\":3}\n", readCompressedFile(files.get(0)));
+  }
+
+  private HistoryRecorder buildRecorder(MapboxNavigator navigator, long fileSizeLimit, long retentionBudget) {
+    NavigationClock clock = mock(NavigationClock.class);
+    when(clock.currentTimeMillis()).thenReturn(1000L);
+    File directory = new File(folder.getRoot(), "history");
+    return new HistoryRecorder(navigator, directory, fileSizeLimit, retentionBudget, clock);
+  }
+
+  private String readCompressedFile(File file) throws IOException {
+    InputStream inputStream = new GZIPInputStream(new FileInputStream(file));
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      byte[] buffer = new byte[1024];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, count);
+      }
+      return outputStream.toString("UTF-8");
+    } finally {
+      inputStream.close();
+    }
+  }
+}
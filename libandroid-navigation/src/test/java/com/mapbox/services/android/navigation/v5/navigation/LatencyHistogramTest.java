@@ -0,0 +1,81 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void findPercentile_emptyHistogramReturnsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.findPercentile(50));
+  }
+
+  @Test
+  public void findPercentile_smallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int value = 1; value <= 10; value++) {
+      histogram.record(value);
+    }
+
+    assertEquals(5, histogram.findPercentile(50));
+    assertEquals(10, histogram.findPercentile(95));
+  }
+
+  @Test
+  public void findPercentile_largeValuesAreWithinBucketWidth() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int value = 1; value <= 1000; value++) {
+      histogram.record(value * 100);
+    }
+
+    long median = histogram.findPercentile(50);
+
+    assertTrue(median >= 50000);
+    assertTrue(median <= 50000 * 9 / 8);
+  }
+
+  @Test
+  public void findPercentile_neverExceedsMax() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1000);
+
+    assertEquals(1000, histogram.findPercentile(99));
+  }
+
+  @Test
+  public void record_negativeValueCountsAsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+
+    assertEquals(1, histogram.retrieveCount());
+    assertEquals(0, histogram.findPercentile(50));
+  }
+
+  @Test
+  public void findUpperBound_boundsValuesOfTheirBucket() {
+    long[] values = {0, 15, 16, 17, 18, 31, 32, 1000, 123456789L, Long.MAX_VALUE};
+
+    for (long value : values) {
+      int bucket = LatencyHistogram.findBucket(value);
+
+      assertTrue(value <= LatencyHistogram.findUpperBound(bucket));
+      assertTrue(bucket == 0 || value > LatencyHistogram.findUpperBound(bucket - 1));
+    }
+  }
+
+  @Test
+  public void buildStageLatency_containsCountAndMax() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(3);
+    histogram.record(700);
+
+    StageLatency latency = histogram.buildStageLatency();
+
+    assertEquals(2, latency.count());
+    assertEquals(700, latency.max());
+  }
+}
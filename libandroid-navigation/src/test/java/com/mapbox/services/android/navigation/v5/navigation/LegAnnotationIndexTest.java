@@ -0,0 +1,107 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class LegAnnotationIndexTest extends BaseTest {
+
+  private static final String ANNOTATED_DISTANCE_CONGESTION_ROUTE_FIXTURE = "directions_distance_congestion_annotation.json";
+
+  @Test
+  public void create_nullAnnotationReturnsNull() {
+    LegAnnotationIndex legAnnotationIndex = LegAnnotationIndex.create(mock(RouteLeg.class));
+
+    assertNull(legAnnotationIndex);
+  }
+
+  @Test
+  public void createCurrentAnnotation_beginningOfLeg_correctAnnotationIsReturned() throws Exception {
+    RouteLeg leg = buildAnnotatedLeg();
+    LegAnnotationIndex legAnnotationIndex = LegAnnotationIndex.create(leg);
+
+    CurrentLegAnnotation currentLegAnnotation = legAnnotationIndex.createCurrentAnnotation(null, leg.distance());
+
+    assertEquals(0, currentLegAnnotation.index());
+    assertEquals(0d, currentLegAnnotation.distanceToAnnotation(), DELTA);
+    assertEquals("moderate", currentLegAnnotation.congestion());
+  }
+
+  @Test
+  public void createCurrentAnnotation_midLeg_correctAnnotationIsReturned() throws Exception {
+    RouteLeg leg = buildAnnotatedLeg();
+    LegAnnotationIndex legAnnotationIndex = LegAnnotationIndex.create(leg);
+
+    CurrentLegAnnotation currentLegAnnotation = legAnnotationIndex.createCurrentAnnotation(null, leg.distance() / 2);
+
+    assertEquals("heavy", currentLegAnnotation.congestion());
+  }
+
+  @Test
+  public void createCurrentAnnotation_matchesNavigationHelperAlongLeg() throws Exception {
+    RouteLeg leg = buildAnnotatedLeg();
+    LegAnnotationIndex legAnnotationIndex = LegAnnotationIndex.create(leg);
+    double legDistance = leg.distance();
+
+    for (double legDistanceRemaining = legDistance; legDistanceRemaining > 0; legDistanceRemaining -= 7.5) {
+      CurrentLegAnnotation expected = NavigationHelper.createCurrentAnnotation(null, leg, legDistanceRemaining);
+
+      CurrentLegAnnotation actual = legAnnotationIndex.createCurrentAnnotation(null, legDistanceRemaining);
+
+      assertEquals(expected.index(), actual.index());
+      assertEquals(expected.distance(), actual.distance(), DELTA);
+      assertEquals(expected.distanceToAnnotation(), actual.distanceToAnnotation(), LARGE_DELTA);
+      assertEquals(expected.congestion(), actual.congestion());
+    }
+  }
+
+  @Test
+  public void createCurrentAnnotation_sameAnnotationIsReused() throws Exception {
+    RouteLeg leg = buildAnnotatedLeg();
+    LegAnnotationIndex legAnnotationIndex = LegAnnotationIndex.create(leg);
+    double legDistanceRemaining = leg.distance() / 2;
+    CurrentLegAnnotation currentLegAnnotation = legAnnotationIndex.createCurrentAnnotation(null, legDistanceRemaining);
+    double halfAnnotationDistance = currentLegAnnotation.distance() / 2;
+
+    CurrentLegAnnotation nextLegAnnotation = legAnnotationIndex.createCurrentAnnotation(
+      currentLegAnnotation, leg.distance() - currentLegAnnotation.distanceToAnnotation() - halfAnnotationDistance
+    );
+
+    assertSame(currentLegAnnotation, nextLegAnnotation);
+  }
+
+  @Test
+  public void findAnnotationIndex_beyondLegReturnsFirstIndex() throws Exception {
+    RouteLeg leg = buildAnnotatedLeg();
+    LegAnnotationIndex legAnnotationIndex = LegAnnotationIndex.create(leg);
+
+    int annotationIndex = legAnnotationIndex.findAnnotationIndex(leg.distance() * 2);
+
+    assertEquals(0, annotationIndex);
+  }
+
+  @Test
+  public void findAnnotationIndex_annotationBoundaryReturnsNextIndex() throws Exception {
+    RouteLeg leg = buildAnnotatedLeg();
+    LegAnnotationIndex legAnnotationIndex = LegAnnotationIndex.create(leg);
+    List<Double> distances = leg.annotation().distance();
+    double firstAnnotationEnd = distances.get(0);
+
+    int annotationIndex = legAnnotationIndex.findAnnotationIndex(firstAnnotationEnd);
+
+    assertEquals(1, annotationIndex);
+  }
+
+  private RouteLeg buildAnnotatedLeg() throws Exception {
+    return buildTestDirectionsRoute(ANNOTATED_DISTANCE_CONGESTION_ROUTE_FIXTURE).legs().get(0);
+  }
+}
@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class LocationFixConverterTest {
+
+  private static final double DELTA = 1E-6;
+
+  @Test
+  public void toFix_locationValuesAreKept() {
+    Location location = new Location("gps");
+    location.setTime(1000L);
+    location.setLatitude(38.9);
+    location.setLongitude(-77.03);
+    location.setSpeed(12f);
+    location.setBearing(90f);
+    location.setAccuracy(5f);
+
+    NavigationFix fix = LocationFixConverter.toFix(location);
+
+    assertEquals(1000L, fix.time());
+    assertEquals(38.9, fix.latitude(), DELTA);
+    assertEquals(-77.03, fix.longitude(), DELTA);
+    assertEquals(12f, fix.speed(), DELTA);
+    assertEquals(90f, fix.bearing(), DELTA);
+    assertEquals(5f, fix.accuracy(), DELTA);
+    assertFalse(fix.hasAltitude());
+    assertEquals("gps", fix.provider());
+  }
+
+  @Test
+  public void toLocation_unknownValuesAreNotSet() {
+    NavigationFix fix = NavigationFix.create(1000L, 38.9, -77.03, Float.NaN, 90f, Double.NaN, Float.NaN, "gps");
+
+    Location location = LocationFixConverter.toLocation(fix);
+
+    assertEquals(1000L, location.getTime());
+    assertEquals(38.9, location.getLatitude(), DELTA);
+    assertEquals(-77.03, location.getLongitude(), DELTA);
+    assertTrue(location.hasBearing());
+    assertFalse(location.hasSpeed());
+    assertFalse(location.hasAltitude());
+    assertFalse(location.hasAccuracy());
+  }
+
+  @Test
+  public void toFix_nullLocationReturnsNull() {
+    assertNull(LocationFixConverter.toFix(null));
+  }
+
+  @Test
+  public void toLocation_nullFixReturnsNull() {
+    assertNull(LocationFixConverter.toLocation(null));
+  }
+}
@@ -0,0 +1,99 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.location.replay.LocationTraceWriter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+public class LocationTraceRecorderTest {
+
+  private static final long TIMEOUT_IN_SECONDS = 5;
+
+  @Test
+  public void record_copyOfLocationIsWrittenOnRecorderThread() throws Exception {
+    LocationTraceWriter writer = mock(LocationTraceWriter.class);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    LocationTraceRecorder recorder = new LocationTraceRecorder(writer, executor);
+    Location location = buildLocation(1000L);
+
+    recorder.record(location);
+    location.setTime(2000L);
+    stopAndWait(recorder, executor);
+
+    ArgumentCaptor<Location> captor = ArgumentCaptor.forClass(Location.class);
+    verify(writer).write(captor.capture());
+    assertNotSame(location, captor.getValue());
+    assertEquals(1000L, captor.getValue().getTime());
+  }
+
+  @Test
+  public void record_everyLocationOfBurstIsWritten() throws Exception {
+    LocationTraceWriter writer = mock(LocationTraceWriter.class);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    LocationTraceRecorder recorder = new LocationTraceRecorder(writer, executor);
+
+    recorder.record(Arrays.asList(buildLocation(1000L), buildLocation(2000L), buildLocation(3000L)));
+    stopAndWait(recorder, executor);
+
+    verify(writer, times(3)).write(any(Location.class));
+  }
+
+  @Test
+  public void stop_writerIsClosedAfterRecordedLocations() throws Exception {
+    LocationTraceWriter writer = mock(LocationTraceWriter.class);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    LocationTraceRecorder recorder = new LocationTraceRecorder(writer, executor);
+    recorder.record(buildLocation(1000L));
+
+    stopAndWait(recorder, executor);
+    recorder.record(buildLocation(2000L));
+
+    verify(writer, times(1)).write(any(Location.class));
+    verify(writer).close();
+  }
+
+  @Test
+  public void record_locationsAreSkippedAfterWriteFailure() throws Exception {
+    LocationTraceWriter writer = mock(LocationTraceWriter.class);
+    doThrow(new IOException()).when(writer).write(any(Location.class));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    LocationTraceRecorder recorder = new LocationTraceRecorder(writer, executor);
+    recorder.record(buildLocation(1000L));
+    executor.submit(mock(Runnable.class)).get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+
+    recorder.record(buildLocation(2000L));
+    stopAndWait(recorder, executor);
+
+    verify(writer, times(1)).write(any(Location.class));
+  }
+
+  private void stopAndWait(LocationTraceRecorder recorder, ExecutorService executor) throws InterruptedException {
+    recorder.stop();
+    executor.awaitTermination(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private Location buildLocation(long time) {
+    Location location = new Location(LocationTraceRecorderTest.class.getSimpleName());
+    location.setTime(time);
+    return location;
+  }
+}
@@ -0,0 +1,286 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.navigator.FixLocation;
+import com.mapbox.navigator.Navigator;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MapboxNavigatorTest {
+
+  @Test
+  public void updateLocation_doesNotWaitForNavigator() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+
+    mapboxNavigator.updateLocation(buildLocation());
+
+    verify(navigator, never()).updateLocation(any(FixLocation.class));
+  }
+
+  @Test
+  public void retrieveStatus_queuedLocationsAreGivenBeforeStatus() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    mapboxNavigator.updateLocation(buildLocation());
+    mapboxNavigator.updateLocation(buildLocation());
+
+    mapboxNavigator.retrieveStatus(new Date(), 0);
+
+    InOrder inOrder = inOrder(navigator);
+    inOrder.verify(navigator, times(2)).updateLocation(any(FixLocation.class));
+    inOrder.verify(navigator).getStatus(any(Date.class));
+  }
+
+  @Test
+  public void updateRoute_queuedLocationsAreGivenBeforeRoute() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    mapboxNavigator.updateLocation(buildLocation());
+
+    mapboxNavigator.updateRoute("{}");
+
+    InOrder inOrder = inOrder(navigator);
+    inOrder.verify(navigator).updateLocation(any(FixLocation.class));
+    inOrder.verify(navigator).setRoute("{}", 0, 0);
+  }
+
+  @Test
+  public void drainHistory_historyIsResetAfterItIsRetrieved() {
+    Navigator navigator = mock(Navigator.class);
+    when(navigator.getHistory()).thenReturn("{}");
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    mapboxNavigator.toggleHistory(true);
+
+    String history = mapboxNavigator.drainHistory();
+
+    assertEquals("{}", history);
+    InOrder inOrder = inOrder(navigator);
+    inOrder.verify(navigator).getHistory();
+    inOrder.verify(navigator).toggleHistory(false);
+    inOrder.verify(navigator).toggleHistory(true);
+  }
+
+  @Test
+  public void drainHistory_disabledHistoryIsNotTurnedOn() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    mapboxNavigator.toggleHistory(true);
+    mapboxNavigator.toggleHistory(false);
+
+    mapboxNavigator.drainHistory();
+
+    verify(navigator, times(1)).toggleHistory(true);
+    assertFalse(mapboxNavigator.isHistoryEnabled());
+  }
+
+  @Test
+  public void drainHistory_releasedNavigatorHistoryIsNotTurnedOn() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    mapboxNavigator.toggleHistory(true);
+    mapboxNavigator.release();
+
+    mapboxNavigator.drainHistory();
+
+    verify(navigator, times(1)).toggleHistory(true);
+  }
+
+  @Test
+  public void release_queuedLocationsAreDiscarded() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    mapboxNavigator.updateLocation(buildLocation());
+
+    mapboxNavigator.release();
+    mapboxNavigator.retrieveStatus(new Date(), 0);
+
+    verify(navigator, never()).updateLocation(any(FixLocation.class));
+  }
+
+  @Test
+  public void release_historyRecordingIsTurnedOff() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    mapboxNavigator.toggleHistory(true);
+
+    mapboxNavigator.release();
+
+    verify(navigator).toggleHistory(false);
+    assertFalse(mapboxNavigator.isHistoryEnabled());
+  }
+
+  @Test
+  public void updateLocation_fullQueueDropsLocation() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+
+    for (int i = 0; i < 65; i++) {
+      mapboxNavigator.updateLocation(buildLocation());
+    }
+
+    assertEquals(1, mapboxNavigator.retrieveDroppedLocationCount());
+  }
+
+  @Test
+  public void updateLocation_fullQueueDropsOldestLocation() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+
+    for (int i = 0; i < 65; i++) {
+      mapboxNavigator.updateLocation(buildLocation(i + 1));
+    }
+    mapboxNavigator.retrieveStatus(new Date(), 0);
+
+    ArgumentCaptor<FixLocation> captor = ArgumentCaptor.forClass(FixLocation.class);
+    verify(navigator, times(64)).updateLocation(captor.capture());
+    assertEquals(2L, captor.getAllValues().get(0).getTime().getTime());
+    assertEquals(65L, captor.getAllValues().get(63).getTime().getTime());
+  }
+
+  @Test
+  public void updateLocations_queuedLocationsAreDroppedForNewerBurst() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    for (int i = 0; i < 60; i++) {
+      mapboxNavigator.updateLocation(buildLocation(i + 1));
+    }
+    List<Location> locations = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      locations.add(buildLocation(i + 100));
+    }
+
+    mapboxNavigator.updateLocations(locations);
+    mapboxNavigator.retrieveStatus(new Date(), 0);
+
+    ArgumentCaptor<FixLocation> captor = ArgumentCaptor.forClass(FixLocation.class);
+    verify(navigator, times(64)).updateLocation(captor.capture());
+    assertEquals(6, mapboxNavigator.retrieveDroppedLocationCount());
+    assertEquals(7L, captor.getAllValues().get(0).getTime().getTime());
+    assertEquals(109L, captor.getAllValues().get(63).getTime().getTime());
+  }
+
+  @Test
+  public void updateLocations_concurrentProducersDoNotLoseLocations() throws Exception {
+    Navigator navigator = mock(Navigator.class);
+    final MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    final List<Location> locations = new ArrayList<>();
+    for (int i = 0; i < 32; i++) {
+      locations.add(buildLocation(i + 1));
+    }
+    final Location location = buildLocation(1000L);
+    Thread batchProducer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        mapboxNavigator.updateLocations(locations);
+      }
+    });
+
+    batchProducer.start();
+    for (int i = 0; i < 32; i++) {
+      mapboxNavigator.updateLocation(location);
+    }
+    batchProducer.join();
+    mapboxNavigator.retrieveStatus(new Date(), 0);
+
+    verify(navigator, times(64)).updateLocation(any(FixLocation.class));
+    assertEquals(0, mapboxNavigator.retrieveDroppedLocationCount());
+  }
+
+  @Test
+  public void retrieveStatus_uncontendedLockIsNotCounted() {
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(mock(Navigator.class));
+
+    mapboxNavigator.retrieveStatus(new Date(), 0);
+
+    assertEquals(0, mapboxNavigator.retrieveContendedLockCount());
+    assertEquals(0, mapboxNavigator.retrieveLockWaitTimeNanos());
+  }
+
+  @Test
+  public void updateLocations_locationsAreGivenInOrderBeforeStatus() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    List<Location> locations = new ArrayList<>();
+    locations.add(buildLocation(1000L));
+    locations.add(buildLocation(2000L));
+    mapboxNavigator.updateLocations(locations);
+
+    mapboxNavigator.retrieveStatus(new Date(), 0);
+
+    ArgumentCaptor<FixLocation> captor = ArgumentCaptor.forClass(FixLocation.class);
+    InOrder inOrder = inOrder(navigator);
+    inOrder.verify(navigator, times(2)).updateLocation(captor.capture());
+    inOrder.verify(navigator).getStatus(any(Date.class));
+    assertEquals(1000L, captor.getAllValues().get(0).getTime().getTime());
+    assertEquals(2000L, captor.getAllValues().get(1).getTime().getTime());
+  }
+
+  @Test
+  public void updateLocations_oldestLocationsBeyondCapacityAreDropped() {
+    Navigator navigator = mock(Navigator.class);
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(navigator);
+    List<Location> locations = new ArrayList<>();
+    for (int i = 0; i < 66; i++) {
+      locations.add(buildLocation(i + 1));
+    }
+
+    mapboxNavigator.updateLocations(locations);
+    mapboxNavigator.retrieveStatus(new Date(), 0);
+
+    ArgumentCaptor<FixLocation> captor = ArgumentCaptor.forClass(FixLocation.class);
+    verify(navigator, times(64)).updateLocation(captor.capture());
+    assertEquals(2, mapboxNavigator.retrieveDroppedLocationCount());
+    assertEquals(3L, captor.getAllValues().get(0).getTime().getTime());
+  }
+
+  @Test
+  public void buildFixLocationFromLocation_usesLocationTime() {
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(mock(Navigator.class));
+
+    FixLocation fixLocation = mapboxNavigator.buildFixLocationFromLocation(buildLocation(1234L));
+
+    assertEquals(1234L, fixLocation.getTime().getTime());
+  }
+
+  @Test
+  public void buildFixLocationFromLocation_missingTimeUsesCurrentTime() {
+    MapboxNavigator mapboxNavigator = new MapboxNavigator(mock(Navigator.class));
+    long before = System.currentTimeMillis();
+
+    FixLocation fixLocation = mapboxNavigator.buildFixLocationFromLocation(buildLocation());
+
+    assertTrue(fixLocation.getTime().getTime() >= before);
+  }
+
+  private Location buildLocation(long time) {
+    Location location = buildLocation();
+    when(location.getTime()).thenReturn(time);
+    return location;
+  }
+
+  private Location buildLocation() {
+    Location location = mock(Location.class);
+    when(location.getLongitude()).thenReturn(-77.0);
+    when(location.getLatitude()).thenReturn(38.9);
+    return location;
+  }
+}
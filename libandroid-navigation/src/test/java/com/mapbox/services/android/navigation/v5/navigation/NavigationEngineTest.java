@@ -0,0 +1,271 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NavigationEngineTest {
+
+  private static final long START_TIME = 1000000L;
+
+  @Test
+  public void process_statusIsRequestedAtClockTime() {
+    NavigationEngineInput input = buildInput(MapboxNavigationOptions.builder().build());
+    TestClock clock = new TestClock();
+    NavigationEngine engine = buildEngine(input, clock, new DirectExecutor(),
+      mock(NavigationEngineListener.class));
+
+    engine.process();
+
+    verify(input).retrieveStatus(eq(new Date(START_TIME)), anyLong());
+  }
+
+  @Test
+  public void process_listenerIsCalledWithExecutor() {
+    NavigationEngineInput input = buildInput(MapboxNavigationOptions.builder().build());
+    NavigationEngineListener listener = mock(NavigationEngineListener.class);
+    QueuedExecutor executor = new QueuedExecutor();
+    NavigationEngine engine = buildEngine(input, new TestClock(), executor, listener);
+
+    engine.process();
+    verify(listener, never()).onNewRouteProgress(any(NavigationFix.class), any(RouteProgress.class));
+    executor.runAll();
+
+    verify(listener).onNewRouteProgress(any(NavigationFix.class), any(RouteProgress.class));
+  }
+
+  @Test
+  public void process_returnsDelayAfterProcessing() {
+    NavigationEngineInput input = buildInput(MapboxNavigationOptions.builder().build());
+    NavigationEngine engine = buildEngine(input, new TestClock(), new DirectExecutor(),
+      mock(NavigationEngineListener.class));
+
+    long delay = engine.process();
+
+    assertEquals(1000L, delay);
+  }
+
+  @Test
+  public void process_isSkippedUntilRouteIsSet() {
+    NavigationEngineInput input = buildInput(MapboxNavigationOptions.builder().build());
+    when(input.retrieveRouteGeometryIndex()).thenReturn(null);
+    NavigationEngineListener listener = mock(NavigationEngineListener.class);
+    NavigationEngine engine = buildEngine(input, new TestClock(), new DirectExecutor(), listener);
+
+    long delay = engine.process();
+
+    assertEquals(1000L, delay);
+    verify(input, never()).retrieveStatus(any(Date.class), anyLong());
+    verify(listener, never()).onNewRouteProgress(any(NavigationFix.class), any(RouteProgress.class));
+  }
+
+  @Test
+  public void process_offRouteIsNotCheckedWhileRouteUpdateIsPending() {
+    NavigationEngineInput input = buildInput(MapboxNavigationOptions.builder().build());
+    when(input.isRouteUpdatePending()).thenReturn(true);
+    NavigationEngineChecks engineChecks = input.retrieveEngineChecks();
+    when(engineChecks.isUserOffRoute(any(MapboxNavigationOptions.class), any(NavigationStatus.class),
+      any(NavigationFix.class), any(RouteProgress.class))).thenReturn(true);
+    NavigationEngineListener listener = mock(NavigationEngineListener.class);
+    NavigationEngine engine = buildEngine(input, new TestClock(), new DirectExecutor(), listener);
+
+    engine.process();
+
+    verify(listener).onUserOffRoute(any(NavigationFix.class), eq(false));
+    verify(input, never()).retrieveMilestones();
+  }
+
+  @Test
+  public void process_alternativeProgressIsNotBuiltOnRoute() {
+    NavigationEngineInput input = buildInput(MapboxNavigationOptions.builder().build());
+    AlternativeRoute alternativeRoute = buildAlternativeRoute(input);
+    NavigationEngine engine = buildEngine(input, new TestClock(), new DirectExecutor(),
+      mock(NavigationEngineListener.class));
+
+    engine.process();
+
+    verify(alternativeRoute).updateStatus(anyLong(), anyLong());
+    verify(alternativeRoute, never()).retrieveRouteProgress();
+  }
+
+  @Test
+  public void process_alternativeProgressIsBuiltOffRoute() {
+    NavigationEngineInput input = buildInput(MapboxNavigationOptions.builder().build());
+    AlternativeRoute alternativeRoute = buildAlternativeRoute(input);
+    NavigationEngineChecks engineChecks = input.retrieveEngineChecks();
+    when(engineChecks.isUserOffRoute(any(MapboxNavigationOptions.class), any(NavigationStatus.class),
+      any(NavigationFix.class), any(RouteProgress.class))).thenReturn(true);
+    NavigationEngine engine = buildEngine(input, new TestClock(), new DirectExecutor(),
+      mock(NavigationEngineListener.class));
+
+    engine.process();
+
+    verify(alternativeRoute, atLeastOnce()).retrieveRouteProgress();
+  }
+
+  @Test
+  public void retrieveDelayForNewLocation_usesClockTime() {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .enableLocationDrivenProcessing(true)
+      .minimumProcessingIntervalInMilliseconds(100)
+      .build();
+    TestClock clock = new TestClock();
+    NavigationEngine engine = buildEngine(buildInput(options), clock, new DirectExecutor(),
+      mock(NavigationEngineListener.class));
+    engine.process();
+
+    clock.advance(40);
+    long delay = engine.retrieveDelayForNewLocation();
+
+    assertEquals(60L, delay);
+  }
+
+  @Test
+  public void process_performanceMonitoringRecordsEachStage() {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .enablePerformanceMonitoring(true)
+      .build();
+    NavigationEngineInput input = buildInput(options);
+    NavigationEngine engine = buildEngine(input, new TestClock(), new DirectExecutor(),
+      mock(NavigationEngineListener.class));
+
+    engine.process();
+
+    NavigationPerformanceSnapshot snapshot = input.retrievePerformanceMonitor().buildSnapshot(0);
+    assertEquals(1, snapshot.updateCount());
+    assertEquals(1, snapshot.alternativeStatusLatency().count());
+    assertEquals(1, snapshot.statusLatency().count());
+    assertEquals(1, snapshot.milestoneLatency().count());
+    assertEquals(1, snapshot.dispatchDelay().count());
+  }
+
+  @Test
+  public void process_performanceSnapshotIsSentToListener() {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .enablePerformanceMonitoring(true)
+      .build();
+    NavigationEngineListener listener = mock(NavigationEngineListener.class);
+    NavigationEngine engine = buildEngine(buildInput(options), new TestClock(), new DirectExecutor(), listener);
+
+    for (int update = 0; update < NavigationConstants.PERFORMANCE_SNAPSHOT_INTERVAL_IN_UPDATES; update++) {
+      engine.process();
+    }
+
+    verify(listener).onPerformanceSnapshot(any(NavigationPerformanceSnapshot.class));
+  }
+
+  @Test
+  public void process_performanceSnapshotIsNotSentWhenDisabled() {
+    NavigationEngineListener listener = mock(NavigationEngineListener.class);
+    NavigationEngine engine = buildEngine(buildInput(MapboxNavigationOptions.builder().build()), new TestClock(),
+      new DirectExecutor(), listener);
+
+    for (int update = 0; update < NavigationConstants.PERFORMANCE_SNAPSHOT_INTERVAL_IN_UPDATES; update++) {
+      engine.process();
+    }
+
+    verify(listener, never()).onPerformanceSnapshot(any(NavigationPerformanceSnapshot.class));
+  }
+
+  private NavigationEngine buildEngine(NavigationEngineInput input, NavigationClock clock, Executor executor,
+                                       NavigationEngineListener listener) {
+    NavigationRouteProcessor routeProcessor = mock(NavigationRouteProcessor.class);
+    when(routeProcessor.buildNewRouteProgress(any(NavigationStatus.class), any(RouteGeometryIndex.class)))
+      .thenReturn(mock(RouteProgress.class));
+    NavigationEngine engine = new NavigationEngine(routeProcessor, input, clock, executor, listener);
+    engine.updateRawFix(buildFix());
+    return engine;
+  }
+
+  private NavigationFix buildFix() {
+    return NavigationFix.create(START_TIME, 38.9, -77.03, 10f, 90f, Double.NaN, 5f, "test");
+  }
+
+  private AlternativeRoute buildAlternativeRoute(NavigationEngineInput input) {
+    AlternativeRoute alternativeRoute = mock(AlternativeRoute.class);
+    when(alternativeRoute.retrieveStatus()).thenReturn(mock(NavigationStatus.class));
+    AlternativeRoutes alternativeRoutes = new AlternativeRoutes();
+    List<AlternativeRoute> routes = new ArrayList<>();
+    routes.add(alternativeRoute);
+    alternativeRoutes.updateRoutes(routes);
+    when(input.retrieveAlternativeRoutes()).thenReturn(alternativeRoutes);
+    return alternativeRoute;
+  }
+
+  private NavigationEngineInput buildInput(MapboxNavigationOptions options) {
+    NavigationEngineInput input = mock(NavigationEngineInput.class);
+    when(input.options()).thenReturn(options);
+    when(input.retrieveStatus(any(Date.class), anyLong())).thenReturn(mock(NavigationStatus.class));
+    when(input.retrieveRouteGeometryIndex()).thenReturn(mock(RouteGeometryIndex.class));
+    when(input.retrieveAlternativeRoutes()).thenReturn(new AlternativeRoutes());
+    when(input.retrieveMilestones()).thenReturn(new ArrayList<Milestone>());
+    when(input.retrievePerformanceMonitor())
+      .thenReturn(new NavigationPerformanceMonitor(options.enablePerformanceMonitoring()));
+    NavigationEngineChecks engineChecks = mock(NavigationEngineChecks.class);
+    when(engineChecks.findSnappedFix(any(NavigationStatus.class), any(NavigationFix.class), any(RouteProgress.class)))
+      .thenReturn(buildFix());
+    when(input.retrieveEngineChecks()).thenReturn(engineChecks);
+    return input;
+  }
+
+  private static class TestClock implements NavigationClock {
+
+    private long time = START_TIME;
+
+    @Override
+    public long currentTimeMillis() {
+      return time;
+    }
+
+    @Override
+    public long elapsedRealtime() {
+      return time;
+    }
+
+    void advance(long milliseconds) {
+      time += milliseconds;
+    }
+  }
+
+  private static class DirectExecutor implements Executor {
+
+    @Override
+    public void execute(Runnable runnable) {
+      runnable.run();
+    }
+  }
+
+  private static class QueuedExecutor implements Executor {
+
+    private final List<Runnable> runnables = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable runnable) {
+      runnables.add(runnable);
+    }
+
+    void runAll() {
+      for (Runnable runnable : runnables) {
+        runnable.run();
+      }
+      runnables.clear();
+    }
+  }
+}
@@ -55,6 +55,8 @@ public class NavigationEventDispatcherTest extends BaseTest {
   @Mock
   FasterRouteListener fasterRouteListener;
   @Mock
+  RouteChangeListener routeChangeListener;
+  @Mock
   Location location;
   @Mock
   Milestone milestone;
@@ -301,6 +303,23 @@ public class NavigationEventDispatcherTest extends BaseTest {
     verify(fasterRouteListener, times(0)).fasterRouteFound(route);
   }
 
+  @Test
+  public void addRouteChangeListener_didAddListener() throws Exception {
+    navigationEventDispatcher.onRouteChange(route);
+    verify(routeChangeListener, times(0)).onRouteChange(route);
+
+    navigation.addRouteChangeListener(routeChangeListener);
+    navigationEventDispatcher.onRouteChange(route);
+    verify(routeChangeListener, times(1)).onRouteChange(route);
+  }
+
+  @Test
+  public void removeRouteChangeListener_didRemoveListener() throws Exception {
+    navigation.addRouteChangeListener(routeChangeListener);
+    navigation.removeRouteChangeListener(routeChangeListener);
+    navigationEventDispatcher.onRouteChange(route);
+    verify(routeChangeListener, times(0)).onRouteChange(route);
+  }
 
   @Test
   public void setNavigationMetricListener_didGetSet() throws Exception {
@@ -261,6 +261,78 @@ public class NavigationHelperTest extends BaseTest {
     assertTrue(currentIntersection.equals(intersections.get(1)));
   }
 
+  @Test
+  public void findCurrentIntersectionIndex_beginningOfStepReturnsFirstIndex() throws Exception {
+    double[] intersectionDistances = {0d, 50d, 120d};
+
+    int currentIntersectionIndex = NavigationHelper.findCurrentIntersectionIndex(intersectionDistances, 0);
+
+    assertEquals(0, currentIntersectionIndex);
+  }
+
+  @Test
+  public void findCurrentIntersectionIndex_endOfStepReturnsLastIndex() throws Exception {
+    double[] intersectionDistances = {0d, 50d, 120d};
+
+    int currentIntersectionIndex = NavigationHelper.findCurrentIntersectionIndex(intersectionDistances, 150);
+
+    assertEquals(2, currentIntersectionIndex);
+  }
+
+  @Test
+  public void findCurrentIntersectionIndex_emptyDistancesReturnsFirstIndex() throws Exception {
+    double[] intersectionDistances = {};
+
+    int currentIntersectionIndex = NavigationHelper.findCurrentIntersectionIndex(intersectionDistances, 150);
+
+    assertEquals(0, currentIntersectionIndex);
+  }
+
+  @Test
+  public void findCurrentIntersectionIndex_matchesFindCurrentIntersection() throws Exception {
+    RouteProgress routeProgress = buildMultiLegRouteProgress(100, 0, 0, 2, 0);
+    RouteStepProgress stepProgress = routeProgress.currentLegProgress().currentStepProgress();
+    List<StepIntersection> intersections = stepProgress.intersections();
+    List<Pair<StepIntersection, Double>> intersectionDistances = stepProgress.intersectionDistancesAlongStep();
+    double[] distances = new double[intersectionDistances.size()];
+    for (int i = 0; i < distances.length; i++) {
+      distances[i] = intersectionDistances.get(i).second;
+    }
+
+    int currentIntersectionIndex = NavigationHelper.findCurrentIntersectionIndex(distances, 130);
+
+    StepIntersection currentIntersection = NavigationHelper.findCurrentIntersection(
+      intersections, intersectionDistances, 130
+    );
+    assertEquals(currentIntersection, intersections.get(currentIntersectionIndex));
+  }
+
+  @Test
+  public void findUpcomingIntersection_withIndexReturnsNextIntersection() throws Exception {
+    RouteProgress routeProgress = buildMultiLegRouteProgress();
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    List<StepIntersection> intersections = legProgress.currentStepProgress().intersections();
+
+    StepIntersection upcomingIntersection = NavigationHelper.findUpcomingIntersection(
+      intersections, legProgress.upComingStep(), 0
+    );
+
+    assertEquals(intersections.get(1), upcomingIntersection);
+  }
+
+  @Test
+  public void findUpcomingIntersection_withLastIndexReturnsUpcomingStepFirstIntersection() throws Exception {
+    RouteProgress routeProgress = buildMultiLegRouteProgress();
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    List<StepIntersection> intersections = legProgress.currentStepProgress().intersections();
+
+    StepIntersection upcomingIntersection = NavigationHelper.findUpcomingIntersection(
+      intersections, legProgress.upComingStep(), intersections.size() - 1
+    );
+
+    assertEquals(legProgress.upComingStep().intersections().get(0), upcomingIntersection);
+  }
+
   @Test
   public void findUpcomingIntersection_beginningOfStepReturnsSecondIntersection() throws Exception {
     RouteProgress routeProgress = buildMultiLegRouteProgress();
@@ -0,0 +1,97 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class NavigationPerformanceMonitorTest {
+
+  private static final long UPDATE_INTERVAL = 1000;
+
+  @Test
+  public void startUpdate_onTimeUpdateIsNotLate() {
+    NavigationPerformanceMonitor monitor = new NavigationPerformanceMonitor(true);
+    runUpdate(monitor, 0);
+
+    runUpdate(monitor, UPDATE_INTERVAL + NavigationConstants.LATE_UPDATE_TOLERANCE_IN_MILLISECONDS);
+
+    NavigationPerformanceSnapshot snapshot = monitor.buildSnapshot(0);
+    assertEquals(2, snapshot.updateCount());
+    assertEquals(0, snapshot.lateUpdateCount());
+  }
+
+  @Test
+  public void startUpdate_lateUpdateCountsDroppedUpdates() {
+    NavigationPerformanceMonitor monitor = new NavigationPerformanceMonitor(true);
+    runUpdate(monitor, 0);
+
+    runUpdate(monitor, 3 * UPDATE_INTERVAL + 500);
+
+    NavigationPerformanceSnapshot snapshot = monitor.buildSnapshot(0);
+    assertEquals(1, snapshot.lateUpdateCount());
+    assertEquals(2, snapshot.droppedUpdateCount());
+  }
+
+  @Test
+  public void endStage_recordsStageLatency() {
+    NavigationPerformanceMonitor monitor = new NavigationPerformanceMonitor(true);
+
+    long stageStart = monitor.startStage();
+    monitor.endStage(NavigationPerformanceMonitor.STAGE_SNAP, stageStart);
+
+    NavigationPerformanceSnapshot snapshot = monitor.buildSnapshot(0);
+    assertEquals(1, snapshot.snapLatency().count());
+    assertEquals(0, snapshot.statusLatency().count());
+  }
+
+  @Test
+  public void buildSnapshot_containsDroppedLocationCount() {
+    NavigationPerformanceMonitor monitor = new NavigationPerformanceMonitor(true);
+
+    NavigationPerformanceSnapshot snapshot = monitor.buildSnapshot(7);
+
+    assertEquals(7, snapshot.droppedLocationCount());
+  }
+
+  @Test
+  public void disabledMonitor_recordsNothing() {
+    NavigationPerformanceMonitor monitor = new NavigationPerformanceMonitor(false);
+
+    runUpdate(monitor, 0);
+    monitor.endStage(NavigationPerformanceMonitor.STAGE_SNAP, monitor.startStage());
+
+    NavigationPerformanceSnapshot snapshot = monitor.buildSnapshot(0);
+    assertEquals(0, snapshot.updateCount());
+    assertEquals(0, snapshot.snapLatency().count());
+  }
+
+  @Test
+  public void isSnapshotDue_trueOnceEveryInterval() {
+    NavigationPerformanceMonitor monitor = new NavigationPerformanceMonitor(true);
+    int dueCount = 0;
+
+    for (int update = 0; update < 2 * NavigationConstants.PERFORMANCE_SNAPSHOT_INTERVAL_IN_UPDATES; update++) {
+      runUpdate(monitor, update * UPDATE_INTERVAL);
+      if (monitor.isSnapshotDue()) {
+        dueCount++;
+      }
+    }
+
+    assertEquals(2, dueCount);
+  }
+
+  @Test
+  public void isSnapshotDue_falseBeforeFirstUpdate() {
+    NavigationPerformanceMonitor monitor = new NavigationPerformanceMonitor(true);
+
+    assertFalse(monitor.isSnapshotDue());
+    assertTrue(monitor.isEnabled());
+  }
+
+  private void runUpdate(NavigationPerformanceMonitor monitor, long elapsedTime) {
+    long updateStart = monitor.startUpdate(elapsedTime);
+    monitor.endUpdate(updateStart, elapsedTime, UPDATE_INTERVAL);
+  }
+}
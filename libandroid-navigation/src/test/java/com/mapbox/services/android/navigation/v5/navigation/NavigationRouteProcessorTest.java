@@ -4,24 +4,55 @@ import com.mapbox.navigator.NavigationStatus;
 import com.mapbox.services.android.navigation.v5.BaseTest;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
-import org.junit.Ignore;
 import org.junit.Test;
 
 import java.io.IOException;
 
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
-@Ignore
 public class NavigationRouteProcessorTest extends BaseTest {
 
   @Test
   public void buildNewRouteProgress_routeProgressReturned() throws IOException {
     NavigationRouteProcessor processor = new NavigationRouteProcessor();
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
 
-    // TODO mock final status
-    RouteProgress progress = processor.buildNewRouteProgress(mock(NavigationStatus.class), buildTestDirectionsRoute());
+    RouteProgress progress = processor.buildNewRouteProgress(mock(NavigationStatus.class), routeGeometryIndex);
 
     assertNotNull(progress);
   }
+
+  @Test
+  public void buildNewRouteProgress_unchangedStatusReturnsPreviousRouteProgress() throws IOException {
+    NavigationRouteProcessor processor = new NavigationRouteProcessor();
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
+    RouteProgress previousProgress = processor.buildNewRouteProgress(buildStatus(100f), routeGeometryIndex);
+
+    RouteProgress progress = processor.buildNewRouteProgress(buildStatus(100f), routeGeometryIndex);
+
+    assertSame(previousProgress, progress);
+  }
+
+  @Test
+  public void buildNewRouteProgress_newDistanceRemainingReturnsNewRouteProgress() throws IOException {
+    NavigationRouteProcessor processor = new NavigationRouteProcessor();
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
+    RouteProgress previousProgress = processor.buildNewRouteProgress(buildStatus(100f), routeGeometryIndex);
+
+    RouteProgress progress = processor.buildNewRouteProgress(buildStatus(90f), routeGeometryIndex);
+
+    assertNotSame(previousProgress, progress);
+    assertSame(previousProgress.currentStepPoints(), progress.currentStepPoints());
+  }
+
+  private NavigationStatus buildStatus(float remainingStepDistance) {
+    NavigationStatus status = mock(NavigationStatus.class);
+    when(status.getRemainingStepDistance()).thenReturn(remainingStepDistance);
+    when(status.getRemainingLegDistance()).thenReturn(remainingStepDistance);
+    return status;
+  }
 }
@@ -0,0 +1,90 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NavigationTraceRecorderTest {
+
+  private static final double DELTA = 1E-5;
+
+  @Test
+  public void buildResult_countsEveryUpdate() {
+    NavigationTraceRecorder recorder = new NavigationTraceRecorder("drive");
+    NavigationFix fix = NavigationFix.create(0L, 38.9, -77.03, Float.NaN, Float.NaN, Double.NaN, Float.NaN, null);
+
+    recorder.onNewRouteProgress(fix, buildRouteProgress(100d, 10d));
+    recorder.onUserOffRoute(fix, true);
+    recorder.onCheckFasterRoute(fix, buildRouteProgress(100d, 10d), false);
+    recorder.onNewRouteProgress(fix, buildRouteProgress(90d, 20d));
+    recorder.onUserOffRoute(fix, false);
+    recorder.onCheckFasterRoute(fix, buildRouteProgress(90d, 20d), true);
+
+    NavigationTraceResult result = recorder.buildResult(3);
+    assertEquals("drive", result.traceName());
+    assertNull(result.error());
+    assertEquals(3, result.locationCount());
+    assertEquals(2, result.updateCount());
+    assertEquals(1, result.offRouteCount());
+    assertEquals(1, result.fasterRouteCheckCount());
+    assertEquals(20d, result.distanceTraveled(), DELTA);
+  }
+
+  @Test
+  public void buildResult_milestonesAreInTriggerOrder() {
+    NavigationTraceRecorder recorder = new NavigationTraceRecorder("drive");
+    List<Milestone> milestones = new ArrayList<>();
+    milestones.add(buildMilestone(2));
+    milestones.add(buildMilestone(1));
+
+    recorder.onMilestoneTrigger(milestones, buildRouteProgress(100d, 0d));
+
+    List<Integer> identifiers = recorder.buildResult(1).milestoneIdentifiers();
+    assertEquals(2, (int) identifiers.get(0));
+    assertEquals(1, (int) identifiers.get(1));
+  }
+
+  @Test
+  public void buildResult_largestBackwardsProgressIsKept() {
+    NavigationTraceRecorder recorder = new NavigationTraceRecorder("drive");
+    NavigationFix fix = NavigationFix.create(0L, 38.9, -77.03, Float.NaN, Float.NaN, Double.NaN, Float.NaN, null);
+
+    recorder.onNewRouteProgress(fix, buildRouteProgress(100d, 0d));
+    recorder.onNewRouteProgress(fix, buildRouteProgress(130d, 0d));
+    recorder.onNewRouteProgress(fix, buildRouteProgress(80d, 0d));
+    recorder.onNewRouteProgress(fix, buildRouteProgress(90d, 0d));
+
+    assertEquals(30d, recorder.buildResult(4).maximumDistanceRemainingIncrease(), DELTA);
+  }
+
+  @Test
+  public void buildErrorResult_hasErrorAndNoCounts() {
+    NavigationTraceResult result = NavigationTraceRecorder.buildErrorResult("drive", "Invalid trace");
+
+    assertEquals("Invalid trace", result.error());
+    assertEquals(0, result.updateCount());
+    assertEquals(0, result.milestoneIdentifiers().size());
+  }
+
+  private RouteProgress buildRouteProgress(double distanceRemaining, double distanceTraveled) {
+    RouteProgress routeProgress = mock(RouteProgress.class);
+    when(routeProgress.distanceRemaining()).thenReturn(distanceRemaining);
+    when(routeProgress.distanceTraveled()).thenReturn(distanceTraveled);
+    return routeProgress;
+  }
+
+  private Milestone buildMilestone(int identifier) {
+    Milestone milestone = mock(Milestone.class);
+    when(milestone.getIdentifier()).thenReturn(identifier);
+    return milestone;
+  }
+}
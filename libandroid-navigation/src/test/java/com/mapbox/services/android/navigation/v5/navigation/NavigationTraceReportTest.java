@@ -0,0 +1,51 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+
+public class NavigationTraceReportTest {
+
+  @Test
+  public void writeCsv_writesHeaderAndOneLinePerTrace() throws IOException {
+    NavigationTraceReport report = new NavigationTraceReport(buildResults());
+    StringWriter writer = new StringWriter();
+
+    report.writeCsv(writer);
+
+    String[] lines = writer.toString().split("\n");
+    assertEquals(3, lines.length);
+    assertEquals("first,,10,10,1,0,1 2,120.5,0.2500,3.0", lines[1]);
+    assertEquals("second,\"Invalid, trace\",0,0,0,0,,0.0,0.0000,0.0", lines[2]);
+  }
+
+  @Test
+  public void retrieveErrorCount_countsFailedTraces() {
+    NavigationTraceReport report = new NavigationTraceReport(buildResults());
+
+    assertEquals(1, report.retrieveErrorCount());
+  }
+
+  private List<NavigationTraceResult> buildResults() {
+    List<NavigationTraceResult> results = new ArrayList<>();
+    results.add(NavigationTraceResult.builder()
+      .traceName("first")
+      .locationCount(10)
+      .updateCount(10)
+      .offRouteCount(1)
+      .fasterRouteCheckCount(0)
+      .milestoneIdentifiers(Arrays.asList(1, 2))
+      .distanceTraveled(120.5)
+      .fractionTraveled(0.25f)
+      .maximumDistanceRemainingIncrease(3d)
+      .build());
+    results.add(NavigationTraceRecorder.buildErrorResult("second", "Invalid, trace"));
+    return results;
+  }
+}
@@ -0,0 +1,153 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.v4.util.Pair;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteGeometryIndexTest extends BaseTest {
+
+  private static final String MULTI_LEG_ROUTE_FIXTURE = "directions_two_leg_route.json";
+  private static final String LONG_STEP_ROUTE_FIXTURE = "long_step.json";
+
+  @Test
+  public void stepPoints_matchDecodedStepGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+
+    for (int legIndex = 0; legIndex < route.legs().size(); legIndex++) {
+      List<LegStep> steps = route.legs().get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+        List<Point> expectedPoints = PolylineUtils.decode(steps.get(stepIndex).geometry(), Constants.PRECISION_6);
+
+        List<Point> stepPoints = routeGeometryIndex.stepPoints(legIndex, stepIndex);
+
+        assertEquals(expectedPoints, stepPoints);
+      }
+    }
+  }
+
+  @Test
+  public void stepPointCount_equalsDecodedStepGeometrySize() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+    LegStep step = route.legs().get(1).steps().get(2);
+    List<Point> expectedPoints = PolylineUtils.decode(step.geometry(), Constants.PRECISION_6);
+
+    int pointCount = routeGeometryIndex.stepPointCount(1, 2);
+
+    assertEquals(expectedPoints.size(), pointCount);
+    assertEquals(expectedPoints.get(0).longitude(), routeGeometryIndex.longitude(1, 2, 0), DELTA);
+    assertEquals(expectedPoints.get(0).latitude(), routeGeometryIndex.latitude(1, 2, 0), DELTA);
+  }
+
+  @Test
+  public void stepPoints_invalidStepIndexReturnsNull() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+    int invalidStepIndex = route.legs().get(0).steps().size();
+
+    List<Point> stepPoints = routeGeometryIndex.stepPoints(0, invalidStepIndex);
+
+    assertNull(stepPoints);
+  }
+
+  @Test
+  public void stepPoints_invalidLegIndexReturnsNull() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+
+    List<Point> stepPoints = routeGeometryIndex.stepPoints(route.legs().size(), 0);
+
+    assertNull(stepPoints);
+  }
+
+  @Test
+  public void distanceAlongStep_firstPointIsZero() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+
+    double distanceAlongStep = routeGeometryIndex.distanceAlongStep(0, 1, 0);
+
+    assertEquals(0d, distanceAlongStep, DELTA);
+  }
+
+  @Test
+  public void distanceAlongStep_lastPointMatchesStepLength() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(LONG_STEP_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+    LegStep step = route.legs().get(0).steps().get(0);
+    LineString stepLineString = LineString.fromPolyline(step.geometry(), Constants.PRECISION_6);
+    int lastPointIndex = routeGeometryIndex.stepPointCount(0, 0) - 1;
+
+    double distanceAlongStep = routeGeometryIndex.distanceAlongStep(0, 0, lastPointIndex);
+
+    assertEquals(TurfMeasurement.length(stepLineString, TurfConstants.UNIT_METERS), distanceAlongStep, LARGE_DELTA);
+  }
+
+  @Test
+  public void measureIntersectionDistances_matchesMeasuredIntersections() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+
+    for (int legIndex = 0; legIndex < route.legs().size(); legIndex++) {
+      List<LegStep> steps = route.legs().get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+        LegStep currentStep = steps.get(stepIndex);
+        LegStep upcomingStep = stepIndex + 1 < steps.size() ? steps.get(stepIndex + 1) : null;
+        List<StepIntersection> intersections = NavigationHelper.createIntersectionsList(currentStep, upcomingStep);
+        List<Pair<StepIntersection, Double>> expectedDistances = NavigationHelper.createDistancesToIntersections(
+          routeGeometryIndex.stepPoints(legIndex, stepIndex), intersections
+        );
+
+        double[] distances = routeGeometryIndex.measureIntersectionDistances(legIndex, stepIndex, intersections);
+
+        assertEquals(expectedDistances.size(), distances.length);
+        for (int i = 0; i < distances.length; i++) {
+          assertEquals(expectedDistances.get(i).second, distances[i], LARGE_DELTA);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void measureIntersectionDistances_emptyIntersectionsReturnsEmptyArray() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+
+    double[] distances = routeGeometryIndex.measureIntersectionDistances(0, 0, new ArrayList<StepIntersection>());
+
+    assertEquals(0, distances.length);
+  }
+
+  @Test
+  public void measureIntersectionDistances_distancesAreSorted() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex routeGeometryIndex = RouteGeometryIndex.create(route);
+    List<LegStep> steps = route.legs().get(0).steps();
+    List<StepIntersection> intersections = NavigationHelper.createIntersectionsList(steps.get(2), steps.get(3));
+
+    double[] distances = routeGeometryIndex.measureIntersectionDistances(0, 2, intersections);
+
+    for (int i = 1; i < distances.length; i++) {
+      assertTrue(distances[i - 1] <= distances[i]);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+
+public class RouteJsonCacheTest extends BaseTest {
+
+  @Test
+  public void toJson_sameRouteReturnsSameJson() throws Exception {
+    RouteJsonCache cache = new RouteJsonCache();
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    String json = cache.toJson(route);
+
+    assertSame(json, cache.toJson(route));
+  }
+
+  @Test
+  public void toJson_matchesRouteToJson() throws Exception {
+    RouteJsonCache cache = new RouteJsonCache();
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    String json = cache.toJson(route);
+
+    assertEquals(route, DirectionsRoute.fromJson(json));
+  }
+
+  @Test
+  public void fromJson_parsedRouteReturnsOriginalJson() throws Exception {
+    RouteJsonCache cache = new RouteJsonCache();
+    String json = buildTestDirectionsRoute().toJson();
+
+    DirectionsRoute route = cache.fromJson(json);
+
+    assertSame(json, cache.toJson(route));
+  }
+
+  @Test
+  public void fromJson_roundTripsRoute() throws Exception {
+    RouteJsonCache cache = new RouteJsonCache();
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    DirectionsRoute parsedRoute = cache.fromJson(route.toJson());
+
+    assertEquals(route, parsedRoute);
+  }
+
+  @Test
+  public void toJson_evictsOldestRoute() throws Exception {
+    RouteJsonCache cache = new RouteJsonCache();
+    DirectionsRoute firstRoute = buildTestDirectionsRoute();
+    String firstJson = cache.toJson(firstRoute);
+    for (int route = 0; route < 3; route++) {
+      cache.toJson(buildTestDirectionsRoute());
+    }
+
+    String json = cache.toJson(firstRoute);
+
+    assertEquals(firstJson, json);
+    assertNotSame(firstJson, json);
+  }
+
+  @Test
+  public void toJson_routeIsNotSharedBetweenCaches() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    String json = new RouteJsonCache().toJson(route);
+
+    assertNotSame(json, new RouteJsonCache().toJson(route));
+  }
+
+  @Test
+  public void clear_routeIsSerializedAgain() throws Exception {
+    RouteJsonCache cache = new RouteJsonCache();
+    DirectionsRoute route = buildTestDirectionsRoute();
+    String json = cache.toJson(route);
+
+    cache.clear();
+
+    assertNotSame(json, cache.toJson(route));
+  }
+}
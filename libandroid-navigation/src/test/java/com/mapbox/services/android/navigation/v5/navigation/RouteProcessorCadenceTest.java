@@ -0,0 +1,64 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteProcessorCadenceTest {
+
+  @Test
+  public void isLocationDriven_disabledByDefault() {
+    RouteProcessorCadence cadence = new RouteProcessorCadence(MapboxNavigationOptions.builder().build());
+
+    assertFalse(cadence.isLocationDriven());
+  }
+
+  @Test
+  public void retrieveDelayAfterProcessing_defaultIsOneSecond() {
+    RouteProcessorCadence cadence = new RouteProcessorCadence(MapboxNavigationOptions.builder().build());
+
+    assertEquals(1000, cadence.retrieveDelayAfterProcessing());
+  }
+
+  @Test
+  public void retrieveDelayAfterProcessing_locationDrivenUsesIdleInterval() {
+    RouteProcessorCadence cadence = buildLocationDrivenCadence(100, 3000);
+
+    assertTrue(cadence.isLocationDriven());
+    assertEquals(3000, cadence.retrieveDelayAfterProcessing());
+  }
+
+  @Test
+  public void retrieveDelayForNewLocation_notProcessedReturnsNoDelay() {
+    RouteProcessorCadence cadence = buildLocationDrivenCadence(100, 3000);
+
+    assertEquals(0, cadence.retrieveDelayForNewLocation(50));
+  }
+
+  @Test
+  public void retrieveDelayForNewLocation_withinMinimumIntervalReturnsRemainingTime() {
+    RouteProcessorCadence cadence = buildLocationDrivenCadence(100, 3000);
+    cadence.updateLastProcessedTime(1000);
+
+    assertEquals(60, cadence.retrieveDelayForNewLocation(1040));
+  }
+
+  @Test
+  public void retrieveDelayForNewLocation_afterMinimumIntervalReturnsNoDelay() {
+    RouteProcessorCadence cadence = buildLocationDrivenCadence(100, 3000);
+    cadence.updateLastProcessedTime(1000);
+
+    assertEquals(0, cadence.retrieveDelayForNewLocation(1250));
+  }
+
+  private RouteProcessorCadence buildLocationDrivenCadence(int minimumInterval, int idleInterval) {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .enableLocationDrivenProcessing(true)
+      .minimumProcessingIntervalInMilliseconds(minimumInterval)
+      .idleProcessingIntervalInMilliseconds(idleInterval)
+      .build();
+    return new RouteProcessorCadence(options);
+  }
+}
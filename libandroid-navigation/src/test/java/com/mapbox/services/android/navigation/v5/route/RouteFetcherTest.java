@@ -0,0 +1,279 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.content.Context;
+import android.location.Location;
+import android.os.Handler;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RouteFetcherTest extends BaseTest {
+
+  private static final int COMPLEX_TURN_STEP = 8;
+
+  private Handler handler;
+  private TestRouteFetcher routeFetcher;
+  private RouteListener routeListener;
+  private RouteProgress routeProgress;
+
+  @Before
+  public void setup() {
+    handler = mock(Handler.class);
+    routeFetcher = new TestRouteFetcher(handler);
+    routeListener = mock(RouteListener.class);
+    routeFetcher.addRouteListener(routeListener);
+    routeProgress = mock(RouteProgress.class);
+    when(routeProgress.directionsRoute()).thenReturn(mock(DirectionsRoute.class));
+    when(routeProgress.remainingWaypoints()).thenReturn(1);
+  }
+
+  @Test
+  public void findRouteFromRouteProgress_sameRequestInFlightIsDropped() {
+    NavigationRoute route = mockRoute();
+
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0.00001d), routeProgress);
+
+    verify(route, times(1)).getRoute(any(Callback.class));
+    verify(route, never()).cancelCall();
+  }
+
+  @Test
+  public void findRouteFromRouteProgress_requestFromOtherOriginCancelsRequestInFlight() {
+    NavigationRoute firstRoute = mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+    NavigationRoute secondRoute = mockRoute();
+
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0.001d), routeProgress);
+
+    verify(firstRoute).cancelCall();
+    verify(secondRoute).getRoute(any(Callback.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onResponse_supersededResponseIsIgnored() {
+    NavigationRoute firstRoute = mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+    Callback<DirectionsResponse> firstCallback = captureCallback(firstRoute);
+    mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0.001d), routeProgress);
+
+    firstCallback.onResponse(mock(Call.class), Response.success(mock(DirectionsResponse.class)));
+
+    verify(routeListener, never()).onResponseReceived(any(DirectionsResponse.class), any(RouteProgress.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onResponse_latestResponseIsHandedToListeners() {
+    NavigationRoute route = mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+    DirectionsResponse response = mock(DirectionsResponse.class);
+
+    captureCallback(route).onResponse(mock(Call.class), Response.success(response));
+
+    verify(routeListener).onResponseReceived(response, routeProgress);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onResponse_latencyIsReported() {
+    RouteLatencyListener latencyListener = mock(RouteLatencyListener.class);
+    routeFetcher.addRouteLatencyListener(latencyListener);
+    NavigationRoute route = mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+
+    captureCallback(route).onResponse(mock(Call.class), Response.success(mock(DirectionsResponse.class)));
+
+    verify(latencyListener).onRouteLatency(anyLong(), eq(true));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onFailure_requestsAreHeldBackUntilBackoffEnds() {
+    NavigationRoute route = mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+    captureCallback(route).onFailure(mock(Call.class), new IOException());
+    NavigationRoute heldBackRoute = mockRoute();
+
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0.001d), routeProgress);
+
+    verify(heldBackRoute, never()).getRoute(any(Callback.class));
+    captureBackoffEnd(1000L).run();
+    verify(heldBackRoute).getRoute(any(Callback.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onFailure_backoffDoublesWithConsecutiveFailures() {
+    NavigationRoute route = mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+    captureCallback(route).onFailure(mock(Call.class), new IOException());
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0.001d), routeProgress);
+    NavigationRoute retriedRoute = mockRoute();
+    captureBackoffEnd(1000L).run();
+
+    captureCallback(retriedRoute).onFailure(mock(Call.class), new IOException());
+
+    verify(handler).postDelayed(any(Runnable.class), eq(2000L));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void cancelRouteCall_requestInFlightIsCanceled() {
+    NavigationRoute route = mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+    Callback<DirectionsResponse> callback = captureCallback(route);
+
+    routeFetcher.cancelRouteCall();
+    callback.onFailure(mock(Call.class), new IOException());
+
+    verify(route).cancelCall();
+    verify(routeListener, never()).onErrorReceived(any(Throwable.class));
+    verify(handler, never()).postDelayed(any(Runnable.class), anyLong());
+  }
+
+  @Test
+  public void prefetchRoutesFromRouteProgress_complexManeuverPrefetchesWrongTurnRoutes() throws IOException {
+    NavigationRoute route = mockRoute();
+    RouteProgress progress = buildProgressApproaching(findStep(COMPLEX_TURN_STEP), 100d);
+
+    routeFetcher.prefetchRoutesFromRouteProgress(progress);
+    routeFetcher.prefetchRoutesFromRouteProgress(progress);
+
+    verify(route, times(2)).getRoute(any(Callback.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void prefetchRoutesFromRouteProgress_isSkippedWhileBackingOff() throws IOException {
+    NavigationRoute failedRoute = mockRoute();
+    routeFetcher.findRouteFromRouteProgress(buildLocation(0d), routeProgress);
+    captureCallback(failedRoute).onFailure(mock(Call.class), new IOException());
+    NavigationRoute route = mockRoute();
+    RouteProgress progress = buildProgressApproaching(findStep(COMPLEX_TURN_STEP), 100d);
+
+    routeFetcher.prefetchRoutesFromRouteProgress(progress);
+    verify(route, never()).getRoute(any(Callback.class));
+    captureBackoffEnd(1000L).run();
+    routeFetcher.prefetchRoutesFromRouteProgress(progress);
+
+    verify(route, times(2)).getRoute(any(Callback.class));
+  }
+
+  @Test
+  public void prefetchRoutesFromRouteProgress_distantManeuverIsNotPrefetched() throws IOException {
+    NavigationRoute route = mockRoute();
+    RouteProgress progress = buildProgressApproaching(findStep(COMPLEX_TURN_STEP), 1000d);
+
+    routeFetcher.prefetchRoutesFromRouteProgress(progress);
+
+    verify(route, never()).getRoute(any(Callback.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void findRouteFromRouteProgress_offRouteOnPrefetchedBranchIsAnsweredLocally() throws IOException {
+    LegStep step = findStep(COMPLEX_TURN_STEP);
+    RouteProgress progress = buildProgressApproaching(step, 100d);
+    NavigationRoute prefetchedRoute = mockRoute();
+    routeFetcher.prefetchRoutesFromRouteProgress(progress);
+    ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+    verify(prefetchedRoute, times(2)).getRoute(captor.capture());
+    DirectionsResponse response = mock(DirectionsResponse.class);
+    when(response.routes()).thenReturn(Collections.singletonList(mock(DirectionsRoute.class)));
+    captor.getAllValues().get(0).onResponse(mock(Call.class), Response.success(response));
+    NavigationRoute offRouteRoute = mockRoute();
+    Point branchOrigin = WrongTurnBranch.findBranches(step).get(0).retrieveOrigin();
+    Location location = mock(Location.class);
+    when(location.getLatitude()).thenReturn(branchOrigin.latitude());
+    when(location.getLongitude()).thenReturn(branchOrigin.longitude());
+
+    routeFetcher.findRouteFromRouteProgress(location, progress);
+
+    verify(routeListener).onResponseReceived(response, progress);
+    verify(offRouteRoute, never()).getRoute(any(Callback.class));
+  }
+
+  private LegStep findStep(int stepIndex) throws IOException {
+    return buildTestDirectionsRoute().legs().get(0).steps().get(stepIndex);
+  }
+
+  private RouteProgress buildProgressApproaching(LegStep upcomingStep, double distanceRemaining) {
+    RouteStepProgress stepProgress = mock(RouteStepProgress.class);
+    when(stepProgress.distanceRemaining()).thenReturn(distanceRemaining);
+    RouteLegProgress legProgress = mock(RouteLegProgress.class);
+    when(legProgress.upComingStep()).thenReturn(upcomingStep);
+    when(legProgress.currentStepProgress()).thenReturn(stepProgress);
+    when(routeProgress.currentLegProgress()).thenReturn(legProgress);
+    return routeProgress;
+  }
+
+  private NavigationRoute mockRoute() {
+    NavigationRoute route = mock(NavigationRoute.class);
+    routeFetcher.nextRoute = route;
+    return route;
+  }
+
+  private Location buildLocation(double latitude) {
+    Location location = mock(Location.class);
+    when(location.getLatitude()).thenReturn(latitude);
+    when(location.getLongitude()).thenReturn(0d);
+    return location;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Callback<DirectionsResponse> captureCallback(NavigationRoute route) {
+    ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+    verify(route).getRoute(captor.capture());
+    return captor.getValue();
+  }
+
+  private Runnable captureBackoffEnd(long delayInMillis) {
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(handler).postDelayed(captor.capture(), eq(delayInMillis));
+    return captor.getValue();
+  }
+
+  private static class TestRouteFetcher extends RouteFetcher {
+
+    private NavigationRoute nextRoute;
+
+    TestRouteFetcher(Handler handler) {
+      super(mock(Context.class), "pk.XXX", handler);
+    }
+
+    @Override
+    NavigationRoute buildRoute(Point origin, Double bearing, RouteProgress routeProgress) {
+      return nextRoute;
+    }
+  }
+}
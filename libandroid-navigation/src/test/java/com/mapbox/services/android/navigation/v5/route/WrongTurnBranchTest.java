@@ -0,0 +1,80 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static com.mapbox.turf.TurfConstants.UNIT_METERS;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class WrongTurnBranchTest extends BaseTest {
+
+  private static final int SIMPLE_TURN_STEP = 1;
+  private static final int OFF_RAMP_STEP = 2;
+  private static final int COMPLEX_TURN_STEP = 8;
+
+  @Test
+  public void findBranches_simpleTurnHasNoBranches() throws IOException {
+    LegStep step = findStep(SIMPLE_TURN_STEP);
+
+    List<WrongTurnBranch> branches = WrongTurnBranch.findBranches(step);
+
+    assertTrue(branches.isEmpty());
+  }
+
+  @Test
+  public void findBranches_offRampBranchesOffTheOtherExit() throws IOException {
+    LegStep step = findStep(OFF_RAMP_STEP);
+
+    List<WrongTurnBranch> branches = WrongTurnBranch.findBranches(step);
+
+    assertEquals(1, branches.size());
+    assertEquals(180d, branches.get(0).retrieveBearing());
+  }
+
+  @Test
+  public void findBranches_intersectionWithManyExitsBranchesOffEveryOtherExit() throws IOException {
+    LegStep step = findStep(COMPLEX_TURN_STEP);
+
+    List<WrongTurnBranch> branches = WrongTurnBranch.findBranches(step);
+
+    assertEquals(2, branches.size());
+    assertEquals(240d, branches.get(0).retrieveBearing());
+    assertEquals(315d, branches.get(1).retrieveBearing());
+  }
+
+  @Test
+  public void findBranches_branchStartsPastTheIntersection() throws IOException {
+    LegStep step = findStep(COMPLEX_TURN_STEP);
+
+    WrongTurnBranch branch = WrongTurnBranch.findBranches(step).get(0);
+
+    double distance = TurfMeasurement.distance(step.maneuver().location(), branch.retrieveOrigin(), UNIT_METERS);
+    assertEquals(25d, distance, 0.5d);
+  }
+
+  @Test
+  public void findBranches_intersectionWithoutBearingsHasNoBranches() throws IOException {
+    LegStep step = findStep(COMPLEX_TURN_STEP);
+    StepIntersection intersection = step.intersections().get(0).toBuilder().bearings(null).build();
+    LegStep stepWithoutBearings = step.toBuilder().intersections(Collections.singletonList(intersection)).build();
+
+    List<WrongTurnBranch> branches = WrongTurnBranch.findBranches(stepWithoutBearings);
+
+    assertTrue(branches.isEmpty());
+  }
+
+  private LegStep findStep(int stepIndex) throws IOException {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    return route.legs().get(0).steps().get(stepIndex);
+  }
+}
@@ -42,6 +42,18 @@ public class RouteStepProgressTest extends BaseTest {
     assertNotNull(routeProgress.currentLegProgress().currentStepProgress());
   }
 
+  @Test
+  public void currentIntersectionIndex_resolvedFromCurrentIntersectionWhenNotProvided() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteProgress routeProgress = buildTestRouteProgress(route, 0, 0, 0, 1, 0);
+    RouteStepProgress routeStepProgress = routeProgress.currentLegProgress().currentStepProgress();
+
+    int currentIntersectionIndex = routeStepProgress.currentIntersectionIndex();
+
+    assertEquals(routeStepProgress.currentIntersection(),
+      routeStepProgress.intersections().get(currentIntersectionIndex));
+  }
+
   @Test
   public void stepDistance_equalsZeroOnOneCoordSteps() throws Exception {
     DirectionsRoute route = loadChipotleTestRoute();
@@ -0,0 +1,35 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+public class RouteJsonUtilsTest extends BaseTest {
+
+  @Test
+  public void toJson_isParsedBackToSameRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    String json = RouteJsonUtils.toJson(route);
+
+    assertEquals(route, DirectionsRoute.fromJson(json));
+  }
+
+  @Test
+  public void fromJson_matchesRouteFromJson() throws Exception {
+    String json = buildTestDirectionsRoute().toJson();
+
+    DirectionsRoute route = RouteJsonUtils.fromJson(json);
+
+    assertEquals(DirectionsRoute.fromJson(json), route);
+  }
+
+  @Test
+  public void fromJson_emptyJsonReturnsNull() {
+    assertNull(RouteJsonUtils.fromJson(""));
+  }
+}